@@ -0,0 +1,51 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.function;
+
+import java.util.Map;
+
+/**
+ * Function that applies a set of changes to a map.
+ * Each entry of the operand is put into the map, unless its value is null, in which case the corresponding key is removed.
+ * @param <K> the map key type
+ * @param <V> the map value type
+ */
+public class MapComputeFunction<K, V> extends MapFunction<K, V, Map<K, V>> {
+
+    public MapComputeFunction(Map<K, V> operand, Operations<Map<K, V>> operations) {
+        super(operand, operations, operations);
+    }
+
+    @Override
+    public void accept(Map<K, V> map, Map<K, V> delta) {
+        for (Map.Entry<K, V> entry : delta.entrySet()) {
+            K key = entry.getKey();
+            V value = entry.getValue();
+            if (value != null) {
+                map.put(key, value);
+            } else {
+                map.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Hashed timing wheel that expires keys with a granularity of one second.
+ * Unlike a {@link java.util.concurrent.ScheduledExecutorService}, scheduling a key does not create a task nor a future:
+ * each key is recorded in the bucket of its expiration tick, and a single task sweeps the bucket of each elapsed tick,
+ * passing all of its expired keys at once to the expiration consumer.
+ * Keys expiring beyond one revolution of the wheel share the bucket of earlier ticks, and are skipped until they are due.
+ * @param <K> the key type
+ */
+public class TimingWheel<K> implements AutoCloseable {
+
+    // No logger interface for this module and no reason to create one for this class only
+    private static final Logger LOGGER = Logger.getLogger(TimingWheel.class);
+
+    // One revolution spans ~8.5 minutes
+    static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final Map<K, Long> deadlines = new ConcurrentHashMap<>();
+    private final List<Set<K>> buckets = new ArrayList<>(WHEEL_SIZE);
+    private final Consumer<List<K>> expiration;
+    private final Supplier<Instant> clock;
+    // Only shutdown on close if created by this wheel
+    private final ScheduledThreadPoolExecutor executor;
+    private final Future<?> sweeper;
+    // The last tick whose bucket was swept
+    private volatile long sweptTick;
+    private volatile long sweepNanos;
+
+    /**
+     * Creates a new timing wheel.
+     * @param expiration consumes the keys expired by a single tick, which must not throw
+     * @param factory a factory for the thread sweeping the wheel
+     */
+    public TimingWheel(Consumer<List<K>> expiration, ThreadFactory factory) {
+        this(expiration, factory, Instant::now);
+    }
+
+    /**
+     * Creates a new timing wheel swept by a shared executor, which is not shutdown when this wheel is closed.
+     * @param expiration consumes the keys expired by a single tick, which must not throw
+     * @param executor a shared scheduled executor
+     */
+    public TimingWheel(Consumer<List<K>> expiration, ScheduledExecutorService executor) {
+        this(expiration, executor, null, Instant::now);
+    }
+
+    TimingWheel(Consumer<List<K>> expiration, ThreadFactory factory, Supplier<Instant> clock) {
+        this(expiration, createExecutor(factory), clock);
+    }
+
+    private TimingWheel(Consumer<List<K>> expiration, ScheduledThreadPoolExecutor executor, Supplier<Instant> clock) {
+        this(expiration, executor, executor, clock);
+    }
+
+    private TimingWheel(Consumer<List<K>> expiration, ScheduledExecutorService executor, ScheduledThreadPoolExecutor ownedExecutor, Supplier<Instant> clock) {
+        this.expiration = expiration;
+        this.clock = clock;
+        for (int i = 0; i < WHEEL_SIZE; ++i) {
+            this.buckets.add(ConcurrentHashMap.newKeySet());
+        }
+        this.sweptTick = clock.get().getEpochSecond();
+        this.executor = ownedExecutor;
+        this.sweeper = executor.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.SECONDS);
+    }
+
+    private static ScheduledThreadPoolExecutor createExecutor(ThreadFactory factory) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, factory);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    /**
+     * Schedules the specified key to expire at the specified time, replacing any previous expiration of this key.
+     * @param key a key
+     * @param expiration the time at which the key expires
+     */
+    public void schedule(K key, Instant expiration) {
+        // Keys are never added to the bucket being swept, and expire no later than the next sweep
+        long deadline = Math.max(expiration.getEpochSecond() + 1, this.sweptTick + 2);
+        this.deadlines.compute(key, (k, previous) -> {
+            if (previous != null) {
+                this.bucket(previous).remove(k);
+            }
+            this.bucket(deadline).add(k);
+            return deadline;
+        });
+    }
+
+    /**
+     * Schedules the specified key to expire at the specified time, unless this key is already scheduled.
+     * @param key a key
+     * @param expiration the time at which the key expires
+     */
+    public void scheduleIfAbsent(K key, Instant expiration) {
+        long deadline = Math.max(expiration.getEpochSecond() + 1, this.sweptTick + 2);
+        this.deadlines.computeIfAbsent(key, k -> {
+            this.bucket(deadline).add(k);
+            return deadline;
+        });
+    }
+
+    /**
+     * Cancels the expiration of the specified key.
+     * @param key a key
+     */
+    public void cancel(K key) {
+        this.deadlines.computeIfPresent(key, (k, deadline) -> {
+            this.bucket(deadline).remove(k);
+            return null;
+        });
+    }
+
+    /**
+     * Cancels the expiration of the keys matching the specified predicate.
+     * @param predicate a key predicate
+     */
+    public void cancel(Predicate<K> predicate) {
+        for (K key : this.deadlines.keySet()) {
+            if (Thread.currentThread().isInterrupted()) break;
+            if (predicate.test(key)) {
+                this.cancel(key);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the specified key is scheduled to expire.
+     * @param key a key
+     * @return true, if the key is scheduled, false otherwise
+     */
+    public boolean contains(K key) {
+        return this.deadlines.containsKey(key);
+    }
+
+    /**
+     * Returns the number of keys currently scheduled to expire.
+     * @return the number of scheduled keys
+     */
+    public int getBacklog() {
+        return this.deadlines.size();
+    }
+
+    /**
+     * Returns the duration of the most recent sweep, including the expiration of its keys.
+     * @return the duration of the last sweep
+     */
+    public Duration getSweepDuration() {
+        return Duration.ofNanos(this.sweepNanos);
+    }
+
+    /**
+     * Sweeps the buckets of all ticks elapsed since the previous sweep.
+     */
+    synchronized void sweep() {
+        long start = System.nanoTime();
+        long now = this.clock.get().getEpochSecond();
+        // Every bucket is swept at most once, since a sweep also expires the overdue keys of a bucket
+        long tick = Math.max(this.sweptTick, now - WHEEL_SIZE);
+        while (tick < now) {
+            tick += 1;
+            List<K> expired = this.sweep(tick);
+            this.sweptTick = tick;
+            if (!expired.isEmpty()) {
+                try {
+                    this.expiration.accept(expired);
+                } catch (RuntimeException e) {
+                    // Keep sweeping, a periodic task that throws is never run again
+                    LOGGER.warn(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+        this.sweepNanos = System.nanoTime() - start;
+    }
+
+    private List<K> sweep(long tick) {
+        Set<K> bucket = this.bucket(tick);
+        List<K> expired = new ArrayList<>();
+        for (K key : bucket) {
+            this.deadlines.computeIfPresent(key, (k, deadline) -> {
+                if (deadline > tick) {
+                    // Expires in a later revolution
+                    return deadline;
+                }
+                bucket.remove(k);
+                expired.add(k);
+                return null;
+            });
+        }
+        return expired;
+    }
+
+    private Set<K> bucket(long tick) {
+        return this.buckets.get((int) (tick & WHEEL_MASK));
+    }
+
+    @Override
+    public void close() {
+        this.sweeper.cancel(false);
+        if (this.executor != null) {
+            PrivilegedAction<Void> action = () -> {
+                this.executor.shutdown();
+                return null;
+            };
+            AccessController.doPrivileged(action);
+            try {
+                this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Wait for any sweep in progress
+        synchronized (this) {
+            this.deadlines.clear();
+            this.buckets.forEach(Set::clear);
+        }
+    }
+}
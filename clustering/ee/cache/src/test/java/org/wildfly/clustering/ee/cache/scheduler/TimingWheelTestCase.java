@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimingWheelTestCase {
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.ofEpochSecond(1000L));
+    private final List<List<String>> expired = Collections.synchronizedList(new ArrayList<>());
+    private final TimingWheel<String> wheel = new TimingWheel<>(this.expired::add, Executors.defaultThreadFactory(), this.now::get);
+
+    @After
+    public void destroy() {
+        this.wheel.close();
+    }
+
+    private void advance(Duration duration) {
+        this.now.updateAndGet(instant -> instant.plus(duration));
+        this.wheel.sweep();
+    }
+
+    @Test
+    public void expire() {
+        Instant start = this.now.get();
+        this.wheel.schedule("a", start.plusSeconds(10L));
+        this.wheel.schedule("b", start.plusMillis(10500L));
+        this.wheel.schedule("c", start.plusSeconds(20L));
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertTrue(this.expired.isEmpty());
+
+        this.advance(Duration.ofSeconds(1L));
+        // Keys expiring within the same second are expired together
+        Assert.assertEquals(Collections.singletonList(Arrays.asList("a", "b")), this.sortedExpired());
+        Assert.assertFalse(this.wheel.contains("a"));
+        Assert.assertTrue(this.wheel.contains("c"));
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertEquals(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("c")), this.sortedExpired());
+    }
+
+    @Test
+    public void cancel() {
+        Instant start = this.now.get();
+        this.wheel.schedule("a", start.plusSeconds(5L));
+        this.wheel.schedule("b", start.plusSeconds(5L));
+        this.wheel.cancel("a");
+        this.wheel.cancel(key -> key.equals("b"));
+
+        Assert.assertFalse(this.wheel.contains("a"));
+        Assert.assertFalse(this.wheel.contains("b"));
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertTrue(this.expired.isEmpty());
+    }
+
+    @Test
+    public void reschedule() {
+        Instant start = this.now.get();
+        this.wheel.schedule("a", start.plusSeconds(5L));
+        this.wheel.schedule("a", start.plusSeconds(15L));
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertTrue(this.expired.isEmpty());
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList("a")), this.expired);
+    }
+
+    @Test
+    public void scheduleIfAbsent() {
+        Instant start = this.now.get();
+        this.wheel.schedule("a", start.plusSeconds(15L));
+        // Does not replace the existing expiration
+        this.wheel.scheduleIfAbsent("a", start.plusSeconds(5L));
+        this.wheel.scheduleIfAbsent("b", start.plusSeconds(5L));
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList("b")), this.expired);
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertEquals(Arrays.asList(Collections.singletonList("b"), Collections.singletonList("a")), this.expired);
+    }
+
+    @Test
+    public void laterRevolution() {
+        Instant start = this.now.get();
+        // Shares the bucket of a key expiring one revolution earlier
+        this.wheel.schedule("a", start.plusSeconds(10L));
+        this.wheel.schedule("b", start.plusSeconds(10L + TimingWheel.WHEEL_SIZE));
+
+        this.advance(Duration.ofSeconds(11L));
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList("a")), this.expired);
+        Assert.assertTrue(this.wheel.contains("b"));
+
+        this.advance(Duration.ofSeconds(TimingWheel.WHEEL_SIZE));
+        Assert.assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b")), this.expired);
+    }
+
+    @Test
+    public void overdue() {
+        this.wheel.schedule("a", this.now.get().minusSeconds(60L));
+
+        this.advance(Duration.ofSeconds(2L));
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList("a")), this.expired);
+    }
+
+    @Test
+    public void missedRevolutions() {
+        this.wheel.schedule("a", this.now.get().plusSeconds(10L));
+
+        // Sweeper did not run for longer than a revolution
+        this.advance(Duration.ofSeconds(10L * TimingWheel.WHEEL_SIZE));
+        Assert.assertEquals(Collections.singletonList(Collections.singletonList("a")), this.expired);
+    }
+
+    @Test
+    public void backlog() {
+        Instant start = this.now.get();
+        this.wheel.schedule("a", start.plusSeconds(5L));
+        this.wheel.schedule("b", start.plusSeconds(15L));
+        this.wheel.schedule("b", start.plusSeconds(20L));
+        Assert.assertEquals(2, this.wheel.getBacklog());
+
+        this.advance(Duration.ofSeconds(10L));
+        Assert.assertEquals(1, this.wheel.getBacklog());
+        Assert.assertFalse(this.wheel.getSweepDuration().isNegative());
+
+        this.wheel.cancel("b");
+        Assert.assertEquals(0, this.wheel.getBacklog());
+    }
+
+    private List<List<String>> sortedExpired() {
+        List<List<String>> result = new ArrayList<>();
+        for (List<String> keys : this.expired) {
+            List<String> sorted = new ArrayList<>(keys);
+            Collections.sort(sorted);
+            result.add(sorted);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb.infinispan;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheel;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.ejb.RemoveListener;
+import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Schedules beans for expiration, with a granularity of one second.
+ * Unlike {@link BeanExpirationScheduler}, beans are tracked by a {@link TimingWheel} rather than by a future per bean,
+ * swept by the shared expiration executor, and the beans expiring in the same second are removed within a single batch.
+ * If that batch fails, each of its beans is removed within its own batch instead.
+ *
+ * @param <I> the bean identifier type
+ * @param <T> the bean type
+ */
+public class BucketedBeanExpirationScheduler<I, T> implements Scheduler<I>, Consumer<List<I>> {
+
+    private final Batcher<TransactionBatch> batcher;
+    private final BeanRemover<I, T> remover;
+    private final ExpirationConfiguration<T> expiration;
+    private final TimingWheel<I> wheel;
+
+    public BucketedBeanExpirationScheduler(Batcher<TransactionBatch> batcher, BeanRemover<I, T> remover, ExpirationConfiguration<T> expiration) {
+        this.batcher = batcher;
+        this.remover = remover;
+        this.expiration = expiration;
+        this.wheel = new TimingWheel<>(this, expiration.getExecutor());
+    }
+
+    @Override
+    public void schedule(I id) {
+        Duration timeout = this.expiration.getTimeout();
+        if (!timeout.isNegative()) {
+            InfinispanEjbLogger.ROOT_LOGGER.tracef("Scheduling stateful session bean %s to expire in %s", id, timeout);
+            this.wheel.schedule(id, Instant.now().plus(timeout));
+        }
+    }
+
+    @Override
+    public void cancel(I id) {
+        this.wheel.cancel(id);
+    }
+
+    @Override
+    public void cancel(Locality locality) {
+        this.wheel.cancel(id -> !locality.isLocal(id));
+    }
+
+    @Override
+    public int getBacklog() {
+        return this.wheel.getBacklog();
+    }
+
+    @Override
+    public Duration getSweepDuration() {
+        return this.wheel.getSweepDuration();
+    }
+
+    @Override
+    public void close() {
+        this.wheel.close();
+    }
+
+    @Override
+    public void accept(List<I> ids) {
+        if ((ids.size() > 1) && this.expireAll(ids)) {
+            return;
+        }
+        // Fall back to a batch per bean, so that one failure does not prevent the expiration of the other beans
+        for (I id : ids) {
+            // If a bean failed to expire, likely due to a lock timeout, or was accessed since it was scheduled, just reschedule it
+            if (!this.expire(id)) {
+                this.schedule(id);
+            }
+        }
+    }
+
+    /**
+     * Expires the specified beans within a single batch.
+     * The remove listener is only notified once the batch has committed, so that it is never notified twice of the
+     * removal of the same bean if the batch fails and its beans are expired again, each within its own batch.
+     * @param ids the beans to expire
+     * @return false, if the batch was discarded or failed to commit, true otherwise
+     */
+    private boolean expireAll(List<I> ids) {
+        Map<I, T> removed = new LinkedHashMap<>();
+        List<I> unexpired = new ArrayList<>();
+        try (Batch batch = this.batcher.createBatch()) {
+            try {
+                for (I id : ids) {
+                    InfinispanEjbLogger.ROOT_LOGGER.tracef("Expiring stateful session bean %s", id);
+                    if (!this.remover.remove(id, bean -> removed.put(id, bean))) {
+                        unexpired.add(id);
+                    }
+                }
+            } catch (Throwable e) {
+                InfinispanEjbLogger.ROOT_LOGGER.debugf(e, "Failed to expire %d stateful session beans within a single batch", ids.size());
+                batch.discard();
+                return false;
+            }
+        } catch (RuntimeException e) {
+            // Batch failed to commit
+            InfinispanEjbLogger.ROOT_LOGGER.debugf(e, "Failed to expire %d stateful session beans within a single batch", ids.size());
+            return false;
+        }
+        RemoveListener<T> listener = this.expiration.getRemoveListener();
+        if (listener != null) {
+            for (Map.Entry<I, T> entry : removed.entrySet()) {
+                try {
+                    listener.removed(entry.getValue());
+                } catch (RuntimeException e) {
+                    InfinispanEjbLogger.ROOT_LOGGER.failedToExpireBean(e, entry.getKey());
+                }
+            }
+        }
+        // Beans accessed since they were scheduled
+        for (I id : unexpired) {
+            this.schedule(id);
+        }
+        return true;
+    }
+
+    /**
+     * Expires the specified bean within its own batch, so that a failure neither affects nor repeats the removal of other beans.
+     * @param id the bean to expire
+     * @return true, if the bean was removed, false otherwise
+     */
+    private boolean expire(I id) {
+        InfinispanEjbLogger.ROOT_LOGGER.tracef("Expiring stateful session bean %s", id);
+        try (Batch batch = this.batcher.createBatch()) {
+            try {
+                return this.remover.remove(id, this.expiration.getRemoveListener());
+            } catch (Throwable e) {
+                InfinispanEjbLogger.ROOT_LOGGER.failedToExpireBean(e, id);
+                batch.discard();
+                return false;
+            }
+        } catch (RuntimeException e) {
+            // Batch failed to commit
+            InfinispanEjbLogger.ROOT_LOGGER.failedToExpireBean(e, id);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb.infinispan;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheel;
+import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Scheduler for eager eviction of beans, with a granularity of one second.
+ * Unlike {@link EagerEvictionScheduler}, beans are tracked by a {@link TimingWheel} rather than by a future per bean,
+ * and the groups of all beans idle since the same second are evicted via a single broadcast.
+ *
+ * @param <I> the bean identifier type
+ * @param <T> the bean type
+ */
+public class BucketedEagerEvictionScheduler<I, T> implements Scheduler<I>, Consumer<List<I>> {
+
+    private final BeanFactory<I, T> factory;
+    private final Duration idleTimeout;
+    private final CommandDispatcher<BeanGroupEvictor<I>> dispatcher;
+    private final TimingWheel<I> wheel;
+
+    public BucketedEagerEvictionScheduler(BeanFactory<I, T> factory, BeanGroupEvictor<I> evictor, ScheduledExecutorService executor, Duration idleTimeout, CommandDispatcherFactory dispatcherFactory, String dispatcherName) {
+        this.factory = factory;
+        this.idleTimeout = idleTimeout;
+        this.dispatcher = dispatcherFactory.createCommandDispatcher(dispatcherName + "/eviction", evictor);
+        this.wheel = new TimingWheel<>(this, executor);
+    }
+
+    @Override
+    public void schedule(I id) {
+        if (this.factory.findValue(id) != null) {
+            InfinispanEjbLogger.ROOT_LOGGER.tracef("Scheduling stateful session bean %s to passivate in %s", id, this.idleTimeout);
+            this.wheel.schedule(id, Instant.now().plus(this.idleTimeout));
+        }
+    }
+
+    @Override
+    public void cancel(I id) {
+        this.wheel.cancel(id);
+    }
+
+    @Override
+    public void cancel(Locality locality) {
+        this.wheel.cancel(id -> !locality.isLocal(id));
+    }
+
+    @Override
+    public int getBacklog() {
+        return this.wheel.getBacklog();
+    }
+
+    @Override
+    public Duration getSweepDuration() {
+        return this.wheel.getSweepDuration();
+    }
+
+    @Override
+    public void close() {
+        this.wheel.close();
+        this.dispatcher.close();
+    }
+
+    @Override
+    public void accept(List<I> ids) {
+        // Beans of the same group need only be evicted once
+        Set<I> groupIds = new LinkedHashSet<>();
+        for (I id : ids) {
+            BeanEntry<I> entry = this.factory.findValue(id);
+            // Skip beans removed since they were scheduled
+            if (entry != null) {
+                groupIds.add(entry.getGroupId());
+            }
+        }
+        if (!groupIds.isEmpty()) {
+            try {
+                // Cache eviction is a local operation, so we need to broadcast this to the cluster
+                this.dispatcher.executeOnGroup(new EvictAllCommand<>(new ArrayList<>(groupIds)));
+            } catch (CommandDispatcherException e) {
+                InfinispanEjbLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    static class EvictAllCommand<I> implements Command<Void, BeanGroupEvictor<I>> {
+        private static final long serialVersionUID = 2318403530418327567L;
+
+        private final Collection<I> ids;
+
+        EvictAllCommand(Collection<I> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public Void execute(BeanGroupEvictor<I> evictor) throws Exception {
+            for (I id : this.ids) {
+                InfinispanEjbLogger.ROOT_LOGGER.tracef("Passivating stateful session bean %s", id);
+                evictor.evict(id);
+            }
+            return null;
+        }
+    }
+}
@@ -22,6 +22,7 @@
 
 package org.wildfly.clustering.ejb.infinispan;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
@@ -59,6 +60,19 @@ public class CompositeScheduler<I> implements Scheduler<I> {
         }
     }
 
+    @Override
+    public Duration getSweepDuration() {
+        // Schedulers sweep independently, so report the slowest
+        Duration duration = Duration.ZERO;
+        for (Scheduler<I> scheduler : this.schedulers) {
+            Duration sweepDuration = scheduler.getSweepDuration();
+            if (sweepDuration.compareTo(duration) > 0) {
+                duration = sweepDuration;
+            }
+        }
+        return duration;
+    }
+
     @Override
     public void close() {
         for (Scheduler<I> scheduler : this.schedulers) {
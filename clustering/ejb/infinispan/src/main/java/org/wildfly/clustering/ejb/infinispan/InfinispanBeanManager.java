@@ -119,6 +119,9 @@ public class InfinispanBeanManager<I, T> implements BeanManager<I, T, Transactio
     private final AtomicReference<Future<?>> rehashFuture = new AtomicReference<>();
 
     private volatile Scheduler<I> scheduler;
+    // The schedulers composing the above, if enabled, whose backlogs are reported separately
+    private volatile Scheduler<I> expirationScheduler;
+    private volatile Scheduler<I> evictionScheduler;
     private volatile ExecutorService executor;
     private volatile CommandDispatcher<Scheduler<I>> dispatcher;
 
@@ -150,7 +153,8 @@ public class InfinispanBeanManager<I, T> implements BeanManager<I, T, Transactio
         List<Scheduler<I>> schedulers = new ArrayList<>(2);
         Duration timeout = this.expiration.getTimeout();
         if ((timeout != null) && !timeout.isNegative()) {
-            schedulers.add(new BeanExpirationScheduler<>(this.batcher, new ExpiredBeanRemover<>(this.beanFactory), this.expiration));
+            this.expirationScheduler = new BucketedBeanExpirationScheduler<>(this.batcher, new ExpiredBeanRemover<>(this.beanFactory), this.expiration);
+            schedulers.add(this.expirationScheduler);
         }
 
         String dispatcherName = String.join("/", this.cache.getName(), this.filter.toString());
@@ -159,7 +163,8 @@ public class InfinispanBeanManager<I, T> implements BeanManager<I, T, Transactio
         if (idleTimeout != null) {
             Duration idleDuration = Duration.parse(idleTimeout);
             if (!idleDuration.isNegative()) {
-                schedulers.add(new EagerEvictionScheduler<>(this.beanFactory, this.groupFactory, this.expiration.getExecutor(), idleDuration, this.dispatcherFactory, dispatcherName + "/eager-passivation"));
+                this.evictionScheduler = new BucketedEagerEvictionScheduler<>(this.beanFactory, this.groupFactory, this.expiration.getExecutor(), idleDuration, this.dispatcherFactory, dispatcherName + "/eager-passivation");
+                schedulers.add(this.evictionScheduler);
             }
         }
 
@@ -308,6 +313,24 @@ public class InfinispanBeanManager<I, T> implements BeanManager<I, T, Transactio
         return this.groupFactory.getPassiveCount();
     }
 
+    @Override
+    public int getExpirationBacklog() {
+        Scheduler<I> scheduler = this.expirationScheduler;
+        return (scheduler != null) ? scheduler.getBacklog() : 0;
+    }
+
+    @Override
+    public int getPassivationBacklog() {
+        Scheduler<I> scheduler = this.evictionScheduler;
+        return (scheduler != null) ? scheduler.getBacklog() : 0;
+    }
+
+    @Override
+    public Duration getSchedulerSweepDuration() {
+        Scheduler<I> scheduler = this.scheduler;
+        return (scheduler != null) ? scheduler.getSweepDuration() : Duration.ZERO;
+    }
+
     @DataRehashed
     public void dataRehashed(DataRehashedEvent<BeanKey<I>, BeanEntry<I>> event) {
         Locality newLocality = new ConsistentHashLocality(event.getCache(), event.getConsistentHashAtEnd());
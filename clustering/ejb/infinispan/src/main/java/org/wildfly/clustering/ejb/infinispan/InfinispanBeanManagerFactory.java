@@ -41,6 +41,7 @@ import org.wildfly.clustering.ejb.RemoveListener;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanFactory;
 import org.wildfly.clustering.ejb.infinispan.group.InfinispanBeanGroupFactory;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
+import org.wildfly.clustering.marshalling.jboss.CompressingMarshallingContext;
 import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
 import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValueFactory;
 import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContextFactory;
@@ -67,13 +68,15 @@ public class InfinispanBeanManagerFactory<I, T> implements BeanManagerFactory<I,
 
     @Override
     public BeanManager<I, T, TransactionBatch> createBeanManager(IdentifierFactory<I> identifierFactory, PassivationListener<T> passivationListener, RemoveListener<T> removeListener) {
-        MarshallingContext context = new SimpleMarshallingContextFactory().createMarshallingContext(this.configuration.getMarshallingConfigurationRepository(), this.configuration.getBeanContext().getClassLoader());
+        BeanPassivationConfiguration passivationConfig = this.configuration.getPassivationConfiguration();
+        Integer compressionThreshold = passivationConfig.getCompressionThreshold();
+        MarshallingContext simpleContext = new SimpleMarshallingContextFactory().createMarshallingContext(this.configuration.getMarshallingConfigurationRepository(), this.configuration.getBeanContext().getClassLoader());
+        MarshallingContext context = (compressionThreshold != null) ? new CompressingMarshallingContext(simpleContext, compressionThreshold, passivationConfig.getCompressionStatistics()) : simpleContext;
         MarshalledValueFactory<MarshallingContext> factory = new SimpleMarshalledValueFactory(context);
         Cache<BeanKey<I>, BeanEntry<I>> beanCache = this.configuration.getCache();
         Cache<BeanGroupKey<I>, BeanGroupEntry<I, T>> groupCache = this.configuration.getCache();
         CacheProperties properties = new InfinispanCacheProperties(groupCache.getCacheConfiguration());
         String beanName = this.configuration.getBeanContext().getBeanName();
-        BeanPassivationConfiguration passivationConfig = this.configuration.getPassivationConfiguration();
         PassivationConfiguration<T> passivation = new PassivationConfiguration<T>() {
             @Override
             public PassivationListener<T> getPassivationListener() {
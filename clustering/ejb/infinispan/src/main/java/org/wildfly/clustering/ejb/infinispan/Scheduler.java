@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.ejb.infinispan;
 
+import java.time.Duration;
+
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 
 /**
@@ -47,6 +49,22 @@ public interface Scheduler<I> extends AutoCloseable {
      */
     void cancel(Locality locality);
 
+    /**
+     * Returns the number of beans with a pending task.
+     * @return the number of scheduled beans
+     */
+    default int getBacklog() {
+        return 0;
+    }
+
+    /**
+     * Returns the duration of the most recent sweep of due tasks, for schedulers that process them in bulk.
+     * @return the duration of the last sweep
+     */
+    default Duration getSweepDuration() {
+        return Duration.ZERO;
+    }
+
     /**
      * Closes any resources used by this scheduler.
      */
@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ejb.infinispan;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.ejb.RemoveListener;
+
+public class BucketedBeanExpirationSchedulerTestCase {
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testImmortal() throws InterruptedException {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        BeanRemover<String, Object> remover = mock(BeanRemover.class);
+        ExpirationConfiguration<Object> config = mock(ExpirationConfiguration.class);
+        RemoveListener<Object> listener = mock(RemoveListener.class);
+        String beanId = "immortal";
+
+        // Fun fact: the EJB specification allows a timeout value of 0, so only negative timeouts are treated as immortal
+        when(config.getTimeout()).thenReturn(Duration.ofMinutes(-1L));
+        when(config.getRemoveListener()).thenReturn(listener);
+        when(config.getExecutor()).thenReturn(this.executor);
+
+        try (Scheduler<String> scheduler = new BucketedBeanExpirationScheduler<>(batcher, remover, config)) {
+            scheduler.schedule(beanId);
+
+            Thread.sleep(1000);
+        }
+
+        verify(batcher, never()).createBatch();
+        verify(remover, never()).remove(beanId, listener);
+    }
+
+    @Test
+    public void testExpire() throws InterruptedException {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        BeanRemover<String, Object> remover = mock(BeanRemover.class);
+        ExpirationConfiguration<Object> config = mock(ExpirationConfiguration.class);
+        RemoveListener<Object> listener = mock(RemoveListener.class);
+        String beanId = "expiring";
+
+        when(batcher.createBatch()).thenReturn(batch);
+
+        when(config.getTimeout()).thenReturn(Duration.ofMillis(1L));
+        when(config.getRemoveListener()).thenReturn(listener);
+        when(config.getExecutor()).thenReturn(this.executor);
+        when(remover.remove(beanId, listener)).thenReturn(true);
+
+        try (Scheduler<String> scheduler = new BucketedBeanExpirationScheduler<>(batcher, remover, config)) {
+            scheduler.schedule(beanId);
+
+            // Beans expire within the first or second sweep
+            Thread.sleep(3000);
+        }
+
+        verify(remover).remove(beanId, listener);
+        verify(batch).close();
+    }
+
+    @Test
+    public void testExpireBucket() throws InterruptedException {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        ExpirationConfiguration<Object> config = mock(ExpirationConfiguration.class);
+        RemoveListener<Object> listener = mock(RemoveListener.class);
+        Object bean = new Object();
+        Object otherBean = new Object();
+        // Removes the beans, notifying the specified listener
+        BeanRemover<String, Object> remover = (id, removeListener) -> {
+            removeListener.removed(id.equals("expired") ? bean : otherBean);
+            return true;
+        };
+
+        when(batcher.createBatch()).thenReturn(batch);
+
+        when(config.getTimeout()).thenReturn(Duration.ofMillis(1L));
+        when(config.getRemoveListener()).thenReturn(listener);
+        when(config.getExecutor()).thenReturn(this.executor);
+
+        try (Scheduler<String> scheduler = new BucketedBeanExpirationScheduler<>(batcher, remover, config)) {
+            scheduler.schedule("expired");
+            scheduler.schedule("other-expired");
+
+            Assert.assertEquals(2, scheduler.getBacklog());
+
+            Thread.sleep(3000);
+
+            Assert.assertEquals(0, scheduler.getBacklog());
+        }
+
+        // Beans expiring in the same second are removed within a single batch
+        verify(batcher).createBatch();
+        verify(batch).close();
+        verify(batch, never()).discard();
+        verify(listener).removed(bean);
+        verify(listener).removed(otherBean);
+    }
+
+    @Test
+    public void testExpireBucketFailure() throws InterruptedException {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        BeanRemover<String, Object> remover = mock(BeanRemover.class);
+        ExpirationConfiguration<Object> config = mock(ExpirationConfiguration.class);
+        RemoveListener<Object> listener = mock(RemoveListener.class);
+        String expiredBeanId = "expired";
+        String failedBeanId = "failed";
+
+        when(batcher.createBatch()).thenReturn(batch);
+
+        when(config.getTimeout()).thenReturn(Duration.ofMillis(1L));
+        when(config.getRemoveListener()).thenReturn(listener);
+        when(config.getExecutor()).thenReturn(this.executor);
+        when(remover.remove(eq(expiredBeanId), any())).thenReturn(true);
+        when(remover.remove(eq(failedBeanId), any())).thenThrow(new IllegalStateException()).thenThrow(new IllegalStateException()).thenReturn(true);
+
+        try (Scheduler<String> scheduler = new BucketedBeanExpirationScheduler<>(batcher, remover, config)) {
+            scheduler.schedule(expiredBeanId);
+            scheduler.schedule(failedBeanId);
+
+            Assert.assertEquals(2, scheduler.getBacklog());
+
+            // The failed batch of both beans is followed by a batch per bean, and the failed bean is rescheduled
+            Thread.sleep(5000);
+
+            Assert.assertEquals(0, scheduler.getBacklog());
+        }
+
+        verify(remover, atLeastOnce()).remove(expiredBeanId, listener);
+        verify(remover, times(3)).remove(eq(failedBeanId), any());
+        verify(remover, times(2)).remove(failedBeanId, listener);
+        verify(batcher, times(4)).createBatch();
+        verify(batch, times(2)).discard();
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        BeanRemover<String, Object> remover = mock(BeanRemover.class);
+        ExpirationConfiguration<Object> config = mock(ExpirationConfiguration.class);
+        RemoveListener<Object> listener = mock(RemoveListener.class);
+        String beanId = "canceled";
+
+        when(config.getTimeout()).thenReturn(Duration.ofMinutes(1L));
+        when(config.getRemoveListener()).thenReturn(listener);
+        when(config.getExecutor()).thenReturn(this.executor);
+        when(remover.remove(beanId, listener)).thenReturn(true);
+
+        try (Scheduler<String> scheduler = new BucketedBeanExpirationScheduler<>(batcher, remover, config)) {
+            scheduler.schedule(beanId);
+
+            Thread.sleep(1000);
+
+            scheduler.cancel(beanId);
+            scheduler.schedule(beanId);
+        }
+
+        verify(remover, never()).remove(beanId, listener);
+        verify(batcher, never()).createBatch();
+    }
+}
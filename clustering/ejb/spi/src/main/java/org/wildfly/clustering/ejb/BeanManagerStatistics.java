@@ -21,8 +21,28 @@
  */
 package org.wildfly.clustering.ejb;
 
+import java.time.Duration;
+
 public interface BeanManagerStatistics {
     int getActiveCount();
 
     int getPassiveCount();
+
+    /**
+     * Returns the number of beans scheduled for expiration on this node.
+     * @return the number of beans scheduled for expiration
+     */
+    int getExpirationBacklog();
+
+    /**
+     * Returns the number of beans scheduled for eager passivation on this node.
+     * @return the number of beans scheduled for eager passivation
+     */
+    int getPassivationBacklog();
+
+    /**
+     * Returns the duration of the most recent sweep of beans due for expiration or eager passivation.
+     * @return the duration of the last sweep
+     */
+    Duration getSchedulerSweepDuration();
 }
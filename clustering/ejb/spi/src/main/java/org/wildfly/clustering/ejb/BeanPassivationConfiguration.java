@@ -21,6 +21,24 @@
  */
 package org.wildfly.clustering.ejb;
 
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
+
 public interface BeanPassivationConfiguration {
     int getMaxSize();
+
+    /**
+     * Returns the minimum size, in bytes, of a serialized bean group above which it is compressed.
+     * @return a number of bytes, or null, if bean groups are never compressed
+     */
+    default Integer getCompressionThreshold() {
+        return null;
+    }
+
+    /**
+     * Returns the statistics to which the compression of bean groups is recorded.
+     * @return compression statistics
+     */
+    default CompressionStatistics getCompressionStatistics() {
+        return new CompressionStatistics();
+    }
 }
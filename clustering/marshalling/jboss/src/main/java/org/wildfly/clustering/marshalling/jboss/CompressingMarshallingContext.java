@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.jboss;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.Unmarshaller;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
+
+/**
+ * A {@link MarshallingContext} decorator that deflates the serialized form of any object whose size reaches a given threshold.
+ * Smaller objects, and objects whose deflated form would not be any smaller, are written exactly as by the decorated context.
+ * Deflated objects are prefixed by a marker byte that cannot begin the version prefix of any marshalling version below 255,
+ * so that objects written by the decorated context, e.g. prior to enabling compression, remain readable.
+ */
+public class CompressingMarshallingContext implements MarshallingContext {
+
+    static final int DEFLATED = 0xFF;
+    private static final int BUFFER_SIZE = 512;
+
+    private final MarshallingContext context;
+    private final int threshold;
+    private final CompressionStatistics statistics;
+
+    /**
+     * Creates a compressing marshalling context.
+     * @param context the decorated marshalling context
+     * @param threshold the minimum size, in bytes, of a serialized object to be compressed
+     * @param statistics the statistics to which compression and decompression are recorded
+     */
+    public CompressingMarshallingContext(MarshallingContext context, int threshold, CompressionStatistics statistics) {
+        this.context = context;
+        this.threshold = threshold;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return this.context.getClassLoader();
+    }
+
+    @Override
+    public int getCurrentVersion() {
+        return this.context.getCurrentVersion();
+    }
+
+    @Override
+    public Unmarshaller createUnmarshaller(int version) throws IOException {
+        return this.context.createUnmarshaller(version);
+    }
+
+    @Override
+    public Marshaller createMarshaller(int version) throws IOException {
+        return this.context.createMarshaller(version);
+    }
+
+    @Override
+    public boolean isMarshallable(Object object) {
+        return this.context.isMarshallable(object);
+    }
+
+    @Override
+    public void writeObject(Object object, OutputStream output) throws IOException {
+        try (PooledByteOutput buffer = PooledByteOutput.acquire(0)) {
+            this.context.writeObject(object, buffer);
+            int size = buffer.size();
+            if (size >= this.threshold) {
+                long start = System.nanoTime();
+                try (PooledByteOutput deflated = PooledByteOutput.acquire(size)) {
+                    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                    try {
+                        DeflaterOutputStream deflaterOutput = new DeflaterOutputStream(deflated, deflater, BUFFER_SIZE);
+                        buffer.transferTo(deflaterOutput);
+                        deflaterOutput.finish();
+                    } finally {
+                        deflater.end();
+                    }
+                    if (deflated.size() < size) {
+                        output.write(DEFLATED);
+                        deflated.transferTo(output);
+                        this.statistics.recordCompression(size, deflated.size(), System.nanoTime() - start);
+                        return;
+                    }
+                }
+            }
+            buffer.transferTo(output);
+        }
+    }
+
+    @Override
+    public Object readObject(InputStream input) throws IOException, ClassNotFoundException {
+        PushbackInputStream pushbackInput = new PushbackInputStream(input, 1);
+        int marker = pushbackInput.read();
+        if (marker != DEFLATED) {
+            if (marker >= 0) {
+                pushbackInput.unread(marker);
+            }
+            return this.context.readObject(pushbackInput);
+        }
+        long start = System.nanoTime();
+        try (PooledByteOutput inflated = PooledByteOutput.acquire(0)) {
+            Inflater inflater = new Inflater();
+            try {
+                // N.B. Do not close, since this would close the specified input
+                InputStream inflaterInput = new InflaterInputStream(pushbackInput, inflater, BUFFER_SIZE);
+                byte[] bytes = new byte[BUFFER_SIZE];
+                int read = inflaterInput.read(bytes);
+                while (read >= 0) {
+                    inflated.write(bytes, 0, read);
+                    read = inflaterInput.read(bytes);
+                }
+            } finally {
+                inflater.end();
+            }
+            this.statistics.recordDecompression(System.nanoTime() - start);
+            return this.context.readObject(inflated.toInputStream());
+        }
+    }
+}
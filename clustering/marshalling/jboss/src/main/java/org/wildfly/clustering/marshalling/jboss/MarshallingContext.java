@@ -22,6 +22,8 @@
 package org.wildfly.clustering.marshalling.jboss;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 import org.jboss.marshalling.Marshaller;
 import org.jboss.marshalling.Unmarshaller;
@@ -40,4 +42,21 @@ public interface MarshallingContext extends Marshallability {
     Unmarshaller createUnmarshaller(int version) throws IOException;
 
     Marshaller createMarshaller(int version) throws IOException;
+
+    /**
+     * Writes the specified object to the specified output, prefixed by the current marshalling version.
+     * @param object the object to marshal
+     * @param output the target output
+     * @throws IOException if the object could not be marshalled
+     */
+    void writeObject(Object object, OutputStream output) throws IOException;
+
+    /**
+     * Reads an object, prefixed by its marshalling version, from the specified input.
+     * @param input the source input
+     * @return the unmarshalled object
+     * @throws IOException if the object could not be unmarshalled
+     * @throws ClassNotFoundException if the class of the object, or of one of the objects it references, could not be found
+     */
+    Object readObject(InputStream input) throws IOException, ClassNotFoundException;
 }
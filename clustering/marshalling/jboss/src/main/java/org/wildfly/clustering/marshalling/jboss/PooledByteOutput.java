@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.marshalling.jboss;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.marshalling.ByteOutput;
+
+/**
+ * A growable heap buffer, whose instances are pooled across threads.
+ * Closing a buffer returns it to the pool, after which it must no longer be used.
+ */
+class PooledByteOutput extends OutputStream implements ByteOutput {
+
+    static final int DEFAULT_CAPACITY = 512;
+    // Larger buffers are left to the garbage collector, so that a single large object does not pin memory indefinitely
+    static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    private static final int MAX_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private static final Queue<PooledByteOutput> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    /**
+     * Acquires a buffer from the pool, or creates a new buffer if the pool is empty.
+     * @param expectedSize an estimate of the number of bytes to be written, or 0 if unknown
+     * @return an empty buffer
+     */
+    static PooledByteOutput acquire(int expectedSize) {
+        PooledByteOutput output = POOL.poll();
+        if (output == null) {
+            return new PooledByteOutput(Math.max(DEFAULT_CAPACITY, expectedSize));
+        }
+        POOL_SIZE.decrementAndGet();
+        output.ensureCapacity(expectedSize);
+        return output;
+    }
+
+    private byte[] buffer;
+    private int size = 0;
+
+    PooledByteOutput(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Returns the number of bytes written to this buffer.
+     * @return a number of bytes
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a copy of the bytes written to this buffer.
+     * @return a byte array
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.size);
+    }
+
+    /**
+     * Writes the bytes written to this buffer to the specified output, without copying them.
+     * @param output a data output
+     * @throws IOException if the bytes could not be written
+     */
+    void writeTo(DataOutput output) throws IOException {
+        output.write(this.buffer, 0, this.size);
+    }
+
+    /**
+     * Writes the bytes written to this buffer to the specified output stream, without copying them.
+     * @param output an output stream
+     * @throws IOException if the bytes could not be written
+     */
+    void transferTo(OutputStream output) throws IOException {
+        output.write(this.buffer, 0, this.size);
+    }
+
+    /**
+     * Returns an input stream of the bytes written to this buffer, without copying them.
+     * The returned stream must not be used once this buffer is closed.
+     * @return an input stream
+     */
+    InputStream toInputStream() {
+        return new ByteArrayInputStream(this.buffer, 0, this.size);
+    }
+
+    @Override
+    public void write(int value) {
+        this.ensureCapacity(this.size + 1);
+        this.buffer[this.size++] = (byte) value;
+    }
+
+    @Override
+    public void write(byte[] bytes) {
+        this.write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        this.ensureCapacity(this.size + length);
+        System.arraycopy(bytes, offset, this.buffer, this.size, length);
+        this.size += length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(capacity, this.buffer.length << 1));
+        }
+    }
+
+    @Override
+    public void close() {
+        this.size = 0;
+        if (this.buffer.length <= MAX_POOLED_CAPACITY) {
+            if (POOL_SIZE.incrementAndGet() <= MAX_POOL_SIZE) {
+                POOL.offer(this);
+            } else {
+                POOL_SIZE.decrementAndGet();
+            }
+        }
+    }
+}
@@ -23,20 +23,15 @@
 package org.wildfly.clustering.marshalling.jboss;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
 
-import org.jboss.marshalling.Marshaller;
-import org.jboss.marshalling.Marshalling;
-import org.jboss.marshalling.SimpleDataInput;
-import org.jboss.marshalling.SimpleDataOutput;
-import org.jboss.marshalling.Unmarshaller;
 import org.wildfly.clustering.marshalling.spi.IndexSerializer;
+import org.wildfly.clustering.marshalling.spi.IntSerializer;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
-import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A marshalled value that is lazily serialized and deserialized on demand.
@@ -49,6 +44,8 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
     private transient volatile MarshallingContext context;
     private transient volatile T object;
     private transient volatile byte[] bytes;
+    // Size of the last serialized form of this object, used to presize the buffer of the next
+    private transient volatile int size;
 
     public SimpleMarshalledValue(T object, MarshallingContext context) {
         this.context = context;
@@ -68,22 +65,45 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         byte[] bytes = this.bytes;
         if (bytes != null) return bytes;
         if (this.object == null) return null;
-        int version = this.context.getCurrentVersion();
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        ClassLoader loader = setThreadContextClassLoader(this.context.getClassLoader());
-        try (SimpleDataOutput data = new SimpleDataOutput(Marshalling.createByteOutput(output))) {
-            IndexSerializer.VARIABLE.writeInt(data, version);
-            try (Marshaller marshaller = this.context.createMarshaller(version)) {
-                marshaller.start(data);
-                marshaller.writeObject(this.object);
-                marshaller.finish();
-                return output.toByteArray();
+        try (PooledByteOutput output = this.marshal()) {
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Writes the serialized form of this value to the specified output, prefixed by its size.
+     * Unlike {@link #getBytes()}, this does not need to copy the serialized form of the object.
+     * @param output a data output
+     * @param sizeSerializer the serializer of the size prefix
+     * @throws IOException if the object could not be marshalled
+     */
+    void writeTo(DataOutput output, IntSerializer sizeSerializer) throws IOException {
+        byte[] bytes = this.bytes;
+        if (bytes != null) {
+            sizeSerializer.writeInt(output, bytes.length);
+            output.write(bytes);
+        } else if (this.object == null) {
+            sizeSerializer.writeInt(output, 0);
+        } else {
+            try (PooledByteOutput buffer = this.marshal()) {
+                sizeSerializer.writeInt(output, buffer.size());
+                buffer.writeTo(output);
             }
-        } finally {
-            setThreadContextClassLoader(loader);
         }
     }
 
+    private PooledByteOutput marshal() throws IOException {
+        PooledByteOutput output = PooledByteOutput.acquire(this.size);
+        try {
+            this.context.writeObject(this.object, output);
+        } catch (IOException | RuntimeException | Error e) {
+            output.close();
+            throw e;
+        }
+        this.size = output.size();
+        return output;
+    }
+
     /**
      * {@inheritDoc}
      * @see org.wildfly.clustering.marshalling.spi.MarshalledValue#get(java.lang.Object)
@@ -94,19 +114,8 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         if (this.object == null) {
             this.context = context;
             if (this.bytes != null) {
-                ByteArrayInputStream input = new ByteArrayInputStream(this.bytes);
-                ClassLoader loader = setThreadContextClassLoader(this.context.getClassLoader());
-                try (SimpleDataInput data = new SimpleDataInput(Marshalling.createByteInput(input))) {
-                    int version = IndexSerializer.VARIABLE.readInt(data);
-                    try (Unmarshaller unmarshaller = context.createUnmarshaller(version)) {
-                        unmarshaller.start(data);
-                        this.object = (T) unmarshaller.readObject();
-                        unmarshaller.finish();
-                        this.bytes = null; // Free up memory
-                    }
-                } finally {
-                    setThreadContextClassLoader(loader);
-                }
+                this.object = (T) context.readObject(new ByteArrayInputStream(this.bytes));
+                this.bytes = null; // Free up memory
             }
         }
         return this.object;
@@ -149,13 +158,7 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
 
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
-        byte[] bytes = this.getBytes();
-        if (bytes != null) {
-            out.writeInt(bytes.length);
-            out.write(bytes);
-        } else {
-            out.writeInt(0);
-        }
+        this.writeTo(out, IndexSerializer.INTEGER);
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -168,8 +171,4 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         }
         this.bytes = bytes;
     }
-
-    private static ClassLoader setThreadContextClassLoader(ClassLoader loader) {
-        return (loader != null) ? WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader) : null;
-    }
 }
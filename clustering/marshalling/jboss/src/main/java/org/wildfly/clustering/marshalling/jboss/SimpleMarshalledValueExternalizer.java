@@ -48,11 +48,7 @@ public class SimpleMarshalledValueExternalizer<T> implements Externalizer<Simple
 
     @Override
     public void writeObject(ObjectOutput output, SimpleMarshalledValue<T> object) throws IOException {
-        byte[] bytes = object.getBytes();
-        IndexSerializer.VARIABLE.writeInt(output, (bytes != null) ? bytes.length : 0);
-        if (bytes != null) {
-            output.write(bytes);
-        }
+        object.writeTo(output, IndexSerializer.VARIABLE);
     }
 
     @SuppressWarnings("unchecked")
@@ -22,18 +22,29 @@
 
 package org.wildfly.clustering.marshalling.jboss;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.ref.WeakReference;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.jboss.marshalling.ClassExternalizerFactory;
 import org.jboss.marshalling.Marshaller;
 import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.Marshalling;
 import org.jboss.marshalling.MarshallingConfiguration;
 import org.jboss.marshalling.ObjectTable;
 import org.jboss.marshalling.SerializabilityChecker;
 import org.jboss.marshalling.Unmarshaller;
+import org.wildfly.clustering.marshalling.spi.IndexSerializer;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
@@ -41,9 +52,17 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 public class SimpleMarshallingContext implements MarshallingContext {
 
+    // Marshallers and unmarshallers are reusable once finished.
+    // They are pooled per context, rather than per thread, so that they never outlive the class loader referenced by their configuration.
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    private static final Function<Integer, BlockingQueue<Marshaller>> MARSHALLER_POOL_FACTORY = version -> new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final Function<Integer, BlockingQueue<Unmarshaller>> UNMARSHALLER_POOL_FACTORY = version -> new ArrayBlockingQueue<>(POOL_SIZE);
+
     private final MarshallerFactory factory;
     private final MarshallingConfigurationRepository repository;
     private final WeakReference<ClassLoader> loader;
+    private final Map<Integer, BlockingQueue<Marshaller>> marshallers = new ConcurrentHashMap<>();
+    private final Map<Integer, BlockingQueue<Unmarshaller>> unmarshallers = new ConcurrentHashMap<>();
 
     public SimpleMarshallingContext(MarshallerFactory factory, MarshallingConfigurationRepository repository, ClassLoader loader) {
         this.factory = factory;
@@ -82,6 +101,53 @@ public class SimpleMarshallingContext implements MarshallingContext {
         }
     }
 
+    @Override
+    public void writeObject(Object object, OutputStream output) throws IOException {
+        int version = this.getCurrentVersion();
+        // Writes directly to the target output, rather than via a buffered data output
+        IndexSerializer.VARIABLE.writeInt(new DataOutputStream(output), version);
+        BlockingQueue<Marshaller> pool = this.marshallers.computeIfAbsent(version, MARSHALLER_POOL_FACTORY);
+        Marshaller pooled = pool.poll();
+        Marshaller marshaller = (pooled != null) ? pooled : this.createMarshaller(version);
+        ClassLoader loader = setThreadContextClassLoader(this.getClassLoader());
+        try {
+            marshaller.start(Marshalling.createByteOutput(output));
+            marshaller.writeObject(object);
+            marshaller.finish();
+        } finally {
+            setThreadContextClassLoader(loader);
+        }
+        // Only reuse a marshaller that finished cleanly
+        pool.offer(marshaller);
+    }
+
+    @Override
+    public Object readObject(InputStream input) throws IOException, ClassNotFoundException {
+        int version = IndexSerializer.VARIABLE.readInt(new DataInputStream(input));
+        BlockingQueue<Unmarshaller> pool = this.unmarshallers.computeIfAbsent(version, UNMARSHALLER_POOL_FACTORY);
+        Unmarshaller pooled = pool.poll();
+        Unmarshaller unmarshaller = (pooled != null) ? pooled : this.createUnmarshaller(version);
+        ClassLoader loader = setThreadContextClassLoader(this.getClassLoader());
+        try {
+            unmarshaller.start(Marshalling.createByteInput(input));
+            Object object = unmarshaller.readObject();
+            unmarshaller.finish();
+            // Only reuse an unmarshaller that finished cleanly
+            pool.offer(unmarshaller);
+            return object;
+        } finally {
+            setThreadContextClassLoader(loader);
+        }
+    }
+
+    /**
+     * Sets the context class loader of the current thread, unless it is already the specified loader.
+     * @return the previous context class loader, or null, if the context class loader was not changed
+     */
+    private static ClassLoader setThreadContextClassLoader(ClassLoader loader) {
+        return ((loader != null) && (loader != WildFlySecurityManager.getCurrentContextClassLoaderPrivileged())) ? WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader) : null;
+    }
+
     private MarshallingConfiguration getMarshallingConfiguration(int version) {
         return this.repository.getMarshallingConfiguration(version);
     }
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.jboss;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.Unmarshaller;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
+
+/**
+ * Unit test for {@link CompressingMarshallingContext}.
+ */
+public class CompressingMarshallingContextTestCase {
+    private static final int THRESHOLD = 256;
+
+    private final MarshallingContext context = new SerializationMarshallingContext();
+    private final CompressionStatistics statistics = new CompressionStatistics();
+    private final MarshallingContext compressingContext = new CompressingMarshallingContext(this.context, THRESHOLD, this.statistics);
+
+    @Test
+    public void belowThreshold() throws IOException, ClassNotFoundException {
+        String value = "foo";
+
+        byte[] bytes = write(this.compressingContext, value);
+
+        // Small values must be written exactly as by the decorated context
+        assertArrayEquals(write(this.context, value), bytes);
+        assertEquals(value, this.compressingContext.readObject(new ByteArrayInputStream(bytes)));
+        assertEquals(0, this.statistics.getCompressions());
+        assertEquals(0, this.statistics.getDecompressions());
+    }
+
+    @Test
+    public void aboveThreshold() throws IOException, ClassNotFoundException {
+        char[] chars = new char[THRESHOLD * 16];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+
+        byte[] uncompressed = write(this.context, value);
+        byte[] bytes = write(this.compressingContext, value);
+
+        assertEquals(CompressingMarshallingContext.DEFLATED, bytes[0] & 0xFF);
+        assertTrue(bytes.length < uncompressed.length);
+        assertEquals(value, this.compressingContext.readObject(new ByteArrayInputStream(bytes)));
+
+        assertEquals(1, this.statistics.getCompressions());
+        assertEquals(1, this.statistics.getDecompressions());
+        assertEquals((double) uncompressed.length / (bytes.length - 1), this.statistics.getCompressionRatio(), 0.001);
+        assertTrue(this.statistics.getCompressionTime(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(this.statistics.getDecompressionTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    public void incompressible() throws IOException, ClassNotFoundException {
+        byte[] value = new byte[THRESHOLD * 4];
+        new Random().nextBytes(value);
+
+        byte[] bytes = write(this.compressingContext, value);
+
+        // Values that do not deflate must be written exactly as by the decorated context
+        assertArrayEquals(write(this.context, value), bytes);
+        assertArrayEquals(value, (byte[]) this.compressingContext.readObject(new ByteArrayInputStream(bytes)));
+        assertEquals(0, this.statistics.getCompressions());
+        assertEquals(0.0, this.statistics.getCompressionRatio(), 0.0);
+    }
+
+    private static byte[] write(MarshallingContext context, Object value) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        context.writeObject(value, output);
+        return output.toByteArray();
+    }
+
+    private static class SerializationMarshallingContext implements MarshallingContext {
+
+        @Override
+        public boolean isMarshallable(Object object) {
+            return true;
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return CompressingMarshallingContextTestCase.class.getClassLoader();
+        }
+
+        @Override
+        public int getCurrentVersion() {
+            return 1;
+        }
+
+        @Override
+        public Unmarshaller createUnmarshaller(int version) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Marshaller createMarshaller(int version) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeObject(Object object, OutputStream output) throws IOException {
+            output.write(this.getCurrentVersion());
+            // Like a marshaller, do not close the target output
+            ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+            objectOutput.writeObject(object);
+            objectOutput.flush();
+        }
+
+        @Override
+        public Object readObject(InputStream input) throws IOException, ClassNotFoundException {
+            assertEquals(this.getCurrentVersion(), input.read());
+            return new ObjectInputStream(input).readObject();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.marshalling.jboss;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class PooledByteOutputTestCase {
+
+    @Test
+    public void grow() throws IOException {
+        byte[] expected = new byte[PooledByteOutput.DEFAULT_CAPACITY * 3 + 1];
+        for (int i = 0; i < expected.length; ++i) {
+            expected[i] = (byte) i;
+        }
+        try (PooledByteOutput output = PooledByteOutput.acquire(0)) {
+            output.write(expected[0]);
+            output.write(expected, 1, expected.length - 1);
+
+            assertEquals(expected.length, output.size());
+            assertArrayEquals(expected, output.toByteArray());
+
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            output.writeTo(new DataOutputStream(copy));
+            assertArrayEquals(expected, copy.toByteArray());
+        }
+    }
+
+    @Test
+    public void reuse() {
+        PooledByteOutput output = PooledByteOutput.acquire(0);
+        output.write(new byte[] { 1, 2, 3 });
+        output.close();
+
+        // A reused buffer must be empty, and large enough for the expected size
+        try (PooledByteOutput reused = PooledByteOutput.acquire(PooledByteOutput.DEFAULT_CAPACITY * 2)) {
+            assertEquals(0, reused.size());
+            assertEquals(0, reused.toByteArray().length);
+            reused.write(new byte[PooledByteOutput.DEFAULT_CAPACITY * 2]);
+            assertEquals(PooledByteOutput.DEFAULT_CAPACITY * 2, reused.size());
+        }
+    }
+}
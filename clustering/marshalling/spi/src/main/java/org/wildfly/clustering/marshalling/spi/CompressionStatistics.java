@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the compression and decompression of serialized values.
+ */
+public class CompressionStatistics {
+
+    private final LongAdder compressions = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressionNanos = new LongAdder();
+    private final LongAdder decompressions = new LongAdder();
+    private final LongAdder decompressionNanos = new LongAdder();
+
+    /**
+     * Records the compression of a serialized value.
+     * @param uncompressedSize the size of the serialized value, in bytes
+     * @param compressedSize the size of the compressed value, in bytes
+     * @param nanos the duration of the compression, in nanoseconds
+     */
+    public void recordCompression(int uncompressedSize, int compressedSize, long nanos) {
+        this.compressions.increment();
+        this.uncompressedBytes.add(uncompressedSize);
+        this.compressedBytes.add(compressedSize);
+        this.compressionNanos.add(nanos);
+    }
+
+    /**
+     * Records the decompression of a serialized value.
+     * @param nanos the duration of the decompression, in nanoseconds
+     */
+    public void recordDecompression(long nanos) {
+        this.decompressions.increment();
+        this.decompressionNanos.add(nanos);
+    }
+
+    /**
+     * Returns the number of compressed values.
+     * @return a number of values
+     */
+    public long getCompressions() {
+        return this.compressions.sum();
+    }
+
+    /**
+     * Returns the ratio of the uncompressed to the compressed size of all compressed values.
+     * @return a compression ratio, or 0, if no values were compressed
+     */
+    public double getCompressionRatio() {
+        long compressed = this.compressedBytes.sum();
+        return (compressed > 0) ? (double) this.uncompressedBytes.sum() / compressed : 0;
+    }
+
+    /**
+     * Returns the cumulative duration of all compressions.
+     * @param unit the unit of the duration
+     * @return a duration
+     */
+    public long getCompressionTime(TimeUnit unit) {
+        return unit.convert(this.compressionNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of decompressed values.
+     * @return a number of values
+     */
+    public long getDecompressions() {
+        return this.decompressions.sum();
+    }
+
+    /**
+     * Returns the cumulative duration of all decompressions.
+     * @param unit the unit of the duration
+     * @return a duration
+     */
+    public long getDecompressionTime(TimeUnit unit) {
+        return unit.convert(this.decompressionNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+}
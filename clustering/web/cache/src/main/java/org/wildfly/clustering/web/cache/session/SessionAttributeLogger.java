@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session;
+
+/**
+ * Reports session attributes that could not be read from the cache.
+ * Implemented by the message loggers of the modules that provide cache-specific session attributes.
+ */
+public interface SessionAttributeLogger {
+
+    /**
+     * Reports an attribute whose serialized form could not be read.
+     * @param cause the reason the attribute could not be read
+     * @param sessionId a session identifier
+     * @param attribute an attribute name
+     */
+    void failedToActivateSessionAttribute(Throwable cause, String sessionId, String attribute);
+
+    /**
+     * Reports an attribute name whose cache entry no longer exists.
+     * @param sessionId a session identifier
+     * @param attribute an attribute name
+     */
+    void missingSessionAttributeCacheEntry(String sessionId, String attribute);
+}
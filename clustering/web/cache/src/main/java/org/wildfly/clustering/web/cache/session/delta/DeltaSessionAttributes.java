@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.delta;
+
+import java.io.NotSerializableException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.cache.function.ConcurrentMapComputeFunction;
+import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapComputeFunction;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
+
+/**
+ * Exposes session attributes for delta granularity sessions.
+ * Like coarse granularity, all session attributes are stored within a single cache entry,
+ * but each attribute is marshalled separately and only those attributes modified during a request are replicated on {@link #close()}.
+ * @param <K> the cache key type
+ * @param <V> the marshalled attribute type
+ */
+public class DeltaSessionAttributes<K, V> extends CoarseImmutableSessionAttributes implements SessionAttributes {
+    private final K key;
+    private final Map<String, Object> attributes;
+    private final Map<K, Map<String, V>> cache;
+    private final Set<String> updates = ConcurrentHashMap.newKeySet();
+    private final Marshaller<Object, V> marshaller;
+    private final Immutability immutability;
+    private final CacheProperties properties;
+
+    public DeltaSessionAttributes(K key, Map<String, Object> attributes, Map<K, Map<String, V>> cache, Marshaller<Object, V> marshaller, Immutability immutability, CacheProperties properties) {
+        super(attributes);
+        this.key = key;
+        this.attributes = attributes;
+        this.cache = cache;
+        this.marshaller = marshaller;
+        this.immutability = immutability;
+        this.properties = properties;
+    }
+
+    @Override
+    public Object removeAttribute(String name) {
+        Object value = this.attributes.remove(name);
+        if (value != null) {
+            this.updates.add(name);
+        }
+        return value;
+    }
+
+    @Override
+    public Object setAttribute(String name, Object value) {
+        if (value == null) {
+            return this.removeAttribute(name);
+        }
+        if (this.properties.isMarshalling() && !this.marshaller.isMarshallable(value)) {
+            throw new IllegalArgumentException(new NotSerializableException(value.getClass().getName()));
+        }
+        Object old = this.attributes.put(name, value);
+        this.updates.add(name);
+        return old;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        Object value = this.attributes.get(name);
+        // If the object is mutable, we need to replicate it on close
+        if ((value != null) && !this.immutability.test(value)) {
+            this.updates.add(name);
+        }
+        return value;
+    }
+
+    @Override
+    public void close() {
+        if (this.updates.isEmpty()) return;
+
+        // A null value indicates a removed attribute
+        Map<String, V> delta = new HashMap<>();
+        Iterator<String> names = this.updates.iterator();
+        while (names.hasNext()) {
+            String name = names.next();
+            names.remove();
+            Object value = this.attributes.get(name);
+            delta.put(name, (value != null) ? this.marshaller.write(value) : null);
+        }
+        this.cache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteMapComputeFunction<>(delta) : new ConcurrentMapComputeFunction<>(delta));
+    }
+}
@@ -29,23 +29,29 @@ import java.util.function.Function;
 
 import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeLogger;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 
 /**
  * Exposes session attributes for fine granularity sessions.
+ * Attribute values remain in their serialized form until requested via {@link #getAttribute(String)}.
  * @author Paul Ferraro
  */
 public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAttributes {
+    private final String id;
     private final Map<String, UUID> names;
     private final Function<UUID, K> keyFactory;
     private final Map<K, V> attributeCache;
     private final Marshaller<Object, V> marshaller;
+    private final SessionAttributeLogger logger;
 
-    public FineImmutableSessionAttributes(Map<String, UUID> names, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller) {
+    public FineImmutableSessionAttributes(String id, Map<String, UUID> names, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, SessionAttributeLogger logger) {
+        this.id = id;
         this.names = Collections.unmodifiableMap(names);
         this.keyFactory = keyFactory;
         this.attributeCache = attributeCache;
         this.marshaller = marshaller;
+        this.logger = logger;
     }
 
     @Override
@@ -58,15 +64,18 @@ public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAtt
         UUID attributeId = this.names.get(name);
         if (attributeId == null) return null;
         K key = this.keyFactory.apply(attributeId);
-        return this.read(this.attributeCache.get(key));
-    }
-
-    private Object read(V value) {
+        V value = this.attributeCache.get(key);
+        if (value == null) {
+            // Immutable attributes cannot remove the stale name; the next mutable access will
+            this.logger.missingSessionAttributeCacheEntry(this.id, name);
+            return null;
+        }
         try {
             return this.marshaller.read(value);
         } catch (InvalidSerializedFormException e) {
-            // This should not happen here, since attributes were pre-activated when session was constructed
-            throw new IllegalStateException(e);
+            // Attributes are not pre-activated, thus an invalid serialized form is only detected on access
+            this.logger.failedToActivateSessionAttribute(e, this.id, name);
+            return null;
         }
     }
 }
@@ -39,13 +39,17 @@ import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapPutFunction;
 import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapRemoveFunction;
 import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeLogger;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 
 /**
  * Exposes session attributes for fine granularity sessions.
+ * Attribute values remain in their serialized form until requested via {@link #getAttribute(String)},
+ * and only those attributes that were set, or mutable attributes that were read, are written back on {@link #close()}.
  * @author Paul Ferraro
  */
 public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
+    private final String id;
     private final NK key;
     private final Map<NK, Map<String, UUID>> namesCache;
     private final Function<UUID, K> keyFactory;
@@ -55,10 +59,12 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
     private final BiFunction<K, V, Mutator> mutatorFactory;
     private final Immutability immutability;
     private final CacheProperties properties;
+    private final SessionAttributeLogger logger;
 
     private volatile Map<String, UUID> names;
 
-    public FineSessionAttributes(NK key, Map<String, UUID> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, BiFunction<K, V, Mutator> mutatorFactory, Immutability immutability, CacheProperties properties) {
+    public FineSessionAttributes(String id, NK key, Map<String, UUID> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, BiFunction<K, V, Mutator> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeLogger logger) {
+        this.id = id;
         this.key = key;
         this.setNames(names);
         this.namesCache = namesCache;
@@ -68,6 +74,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         this.mutatorFactory = mutatorFactory;
         this.immutability = immutability;
         this.properties = properties;
+        this.logger = logger;
     }
 
     @Override
@@ -77,7 +84,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
         this.setNames(this.namesCache.computeIfPresent(this.key, this.properties.isTransactional() ? new CopyOnWriteMapRemoveFunction<>(name) : new ConcurrentMapRemoveFunction<>(name)));
 
-        Object result = this.read(this.attributeCache.remove(this.keyFactory.apply(attributeId)));
+        Object result = this.read(name, this.attributeCache.remove(this.keyFactory.apply(attributeId)));
         this.mutations.remove(attributeId);
         return result;
     }
@@ -100,7 +107,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         }
 
         K key = this.keyFactory.apply(attributeId);
-        Object result = this.read(this.attributeCache.put(key, value));
+        Object result = this.read(name, this.attributeCache.put(key, value));
         if (this.properties.isTransactional()) {
             // Add a passive mutation to prevent any subsequent mutable getAttribute(...) from triggering a redundant mutation on close.
             this.mutations.put(attributeId, Mutator.PASSIVE);
@@ -122,14 +129,26 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
         K key = this.keyFactory.apply(attributeId);
         V value = this.attributeCache.get(key);
-        Object attribute = this.read(value);
-        if (attribute != null) {
-            // If the object is mutable, we need to trigger a mutation on close
-            if (!this.immutability.test(attribute)) {
-                this.mutations.putIfAbsent(attributeId, this.mutatorFactory.apply(key, value));
+        if (value == null) {
+            this.logger.missingSessionAttributeCacheEntry(this.id, name);
+            this.discard(name, attributeId);
+            return null;
+        }
+        try {
+            Object attribute = this.marshaller.read(value);
+            if (attribute != null) {
+                // If the object is mutable, we need to trigger a mutation on close
+                if (!this.immutability.test(attribute)) {
+                    this.mutations.putIfAbsent(attributeId, this.mutatorFactory.apply(key, value));
+                }
             }
+            return attribute;
+        } catch (InvalidSerializedFormException e) {
+            // Attributes are not pre-activated, thus an invalid serialized form is only detected on access
+            this.logger.failedToActivateSessionAttribute(e, this.id, name);
+            this.discard(name, attributeId);
+            return null;
         }
-        return attribute;
     }
 
     @Override
@@ -149,12 +168,19 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         this.names = (names != null) ? Collections.unmodifiableMap(names) : Collections.emptyMap();
     }
 
-    private Object read(V value) {
+    private void discard(String name, UUID attributeId) {
+        this.setNames(this.namesCache.computeIfPresent(this.key, this.properties.isTransactional() ? new CopyOnWriteMapRemoveFunction<>(name) : new ConcurrentMapRemoveFunction<>(name)));
+        this.attributeCache.remove(this.keyFactory.apply(attributeId));
+        this.mutations.remove(attributeId);
+    }
+
+    private Object read(String name, V value) {
         try {
             return this.marshaller.read(value);
         } catch (InvalidSerializedFormException e) {
-            // This should not happen here, since attributes were pre-activated during session construction
-            throw new IllegalStateException(e);
+            // A previous value that cannot be read must not prevent its replacement or removal
+            this.logger.failedToActivateSessionAttribute(e, this.id, name);
+            return null;
         }
     }
 }
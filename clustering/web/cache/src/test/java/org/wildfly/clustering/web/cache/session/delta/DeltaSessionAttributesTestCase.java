@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.delta;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+
+/**
+ * Unit test for {@link DeltaSessionAttributes}.
+ */
+public class DeltaSessionAttributesTestCase {
+    private final String key = "session";
+    private final Map<String, Map<String, Object>> cache = new HashMap<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+
+    private final SessionAttributes sessionAttributes = new DeltaSessionAttributes<>(this.key, this.attributes, this.cache, this.marshaller, this.immutability, this.properties);
+
+    @Test
+    public void close() {
+        Object foo = new Object();
+        Object bar = new Object();
+        Object marshalledFoo = new Object();
+        Object marshalledBar = new Object();
+
+        when(this.marshaller.write(foo)).thenReturn(marshalledFoo);
+        when(this.marshaller.write(bar)).thenReturn(marshalledBar);
+        when(this.immutability.test(foo)).thenReturn(true);
+        when(this.immutability.test(bar)).thenReturn(false);
+
+        // No mutations
+        this.sessionAttributes.close();
+
+        assertTrue(this.cache.isEmpty());
+
+        assertNull(this.sessionAttributes.setAttribute("foo", foo));
+        assertNull(this.sessionAttributes.setAttribute("bar", bar));
+
+        this.sessionAttributes.close();
+
+        Map<String, Object> values = this.cache.get(this.key);
+        assertNotNull(values);
+        assertEquals(2, values.size());
+        assertSame(marshalledFoo, values.get("foo"));
+        assertSame(marshalledBar, values.get("bar"));
+
+        // Only mutable attributes should replicate on read
+        assertSame(foo, this.sessionAttributes.getAttribute("foo"));
+        assertSame(bar, this.sessionAttributes.getAttribute("bar"));
+
+        reset(this.marshaller);
+        Object newMarshalledBar = new Object();
+        when(this.marshaller.write(bar)).thenReturn(newMarshalledBar);
+
+        this.sessionAttributes.close();
+
+        verify(this.marshaller, never()).write(foo);
+        assertSame(marshalledFoo, values.get("foo"));
+        assertSame(newMarshalledBar, values.get("bar"));
+
+        assertSame(foo, this.sessionAttributes.removeAttribute("foo"));
+
+        this.sessionAttributes.close();
+
+        assertFalse(values.containsKey("foo"));
+        assertTrue(values.containsKey("bar"));
+
+        assertSame(bar, this.sessionAttributes.setAttribute("bar", null));
+
+        this.sessionAttributes.close();
+
+        assertFalse(this.cache.containsKey(this.key));
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.fine;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeLogger;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+
+/**
+ * Unit test for {@link FineSessionAttributes} and {@link FineImmutableSessionAttributes}.
+ */
+public class FineSessionAttributesTestCase {
+    private final String id = "ABC123";
+    private final String key = "session";
+    private final UUID fooId = UUID.randomUUID();
+    private final UUID barId = UUID.randomUUID();
+    private final Map<String, Map<String, UUID>> namesCache = new HashMap<>();
+    private final Map<UUID, Object> attributeCache = new HashMap<>();
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionAttributeLogger logger = mock(SessionAttributeLogger.class);
+    private final Set<UUID> mutated = new HashSet<>();
+
+    private final Object foo = new Object();
+    private final Object bar = new Object();
+    private final Object marshalledFoo = new Object();
+    private final Object marshalledBar = new Object();
+
+    private Map<String, UUID> names() {
+        Map<String, UUID> names = new HashMap<>();
+        names.put("foo", this.fooId);
+        names.put("bar", this.barId);
+        this.namesCache.put(this.key, names);
+        this.attributeCache.put(this.fooId, this.marshalledFoo);
+        this.attributeCache.put(this.barId, this.marshalledBar);
+        return names;
+    }
+
+    @Test
+    public void getAttribute() throws InvalidSerializedFormException {
+        Function<UUID, UUID> keyFactory = Function.identity();
+        BiFunction<UUID, Object, Mutator> mutatorFactory = (id, value) -> () -> this.mutated.add(id);
+        SessionAttributes attributes = new FineSessionAttributes<>(this.id, this.key, this.names(), this.namesCache, keyFactory, this.attributeCache, this.marshaller, mutatorFactory, this.immutability, this.properties, this.logger);
+
+        when(this.marshaller.read(this.marshalledFoo)).thenReturn(this.foo);
+        when(this.immutability.test(this.foo)).thenReturn(false);
+
+        assertEquals(2, attributes.getAttributeNames().size());
+
+        // Enumerating attribute names must not deserialize any values
+        verify(this.marshaller, never()).read(any());
+
+        assertSame(this.foo, attributes.getAttribute("foo"));
+
+        // Only the requested attribute is deserialized
+        verify(this.marshaller).read(this.marshalledFoo);
+        verify(this.marshaller, never()).read(this.marshalledBar);
+
+        attributes.close();
+
+        // Only the mutable attribute that was read is written back, the unread attribute is left untouched
+        assertEquals(1, this.mutated.size());
+        assertTrue(this.mutated.contains(this.fooId));
+        assertSame(this.marshalledBar, this.attributeCache.get(this.barId));
+        verify(this.marshaller, never()).write(any());
+    }
+
+    @Test
+    public void getImmutableAttribute() throws InvalidSerializedFormException {
+        Function<UUID, UUID> keyFactory = Function.identity();
+        ImmutableSessionAttributes attributes = new FineImmutableSessionAttributes<>(this.id, this.names(), keyFactory, this.attributeCache, this.marshaller, this.logger);
+
+        when(this.marshaller.read(this.marshalledBar)).thenReturn(this.bar);
+
+        assertEquals(2, attributes.getAttributeNames().size());
+
+        verify(this.marshaller, never()).read(any());
+
+        assertSame(this.bar, attributes.getAttribute("bar"));
+
+        verify(this.marshaller).read(this.marshalledBar);
+        verify(this.marshaller, never()).read(this.marshalledFoo);
+    }
+
+    @Test
+    public void getInvalidAttribute() throws InvalidSerializedFormException {
+        Function<UUID, UUID> keyFactory = Function.identity();
+        ImmutableSessionAttributes attributes = new FineImmutableSessionAttributes<>(this.id, this.names(), keyFactory, this.attributeCache, this.marshaller, this.logger);
+
+        when(this.marshaller.read(this.marshalledFoo)).thenThrow(new InvalidSerializedFormException("foo"));
+        when(this.marshaller.read(this.marshalledBar)).thenReturn(this.bar);
+
+        // An invalid attribute is only detected when accessed, and is then ignored
+        assertSame(this.bar, attributes.getAttribute("bar"));
+        assertNull(attributes.getAttribute("foo"));
+        assertNull(attributes.getAttribute("foo"));
+        verify(this.logger, times(2)).failedToActivateSessionAttribute(any(InvalidSerializedFormException.class), eq(this.id), eq("foo"));
+    }
+
+    @Test
+    public void removeInvalidAttribute() throws InvalidSerializedFormException {
+        Function<UUID, UUID> keyFactory = Function.identity();
+        BiFunction<UUID, Object, Mutator> mutatorFactory = (id, value) -> () -> this.mutated.add(id);
+        SessionAttributes attributes = new FineSessionAttributes<>(this.id, this.key, this.names(), this.namesCache, keyFactory, this.attributeCache, this.marshaller, mutatorFactory, this.immutability, this.properties, this.logger);
+
+        when(this.marshaller.read(this.marshalledFoo)).thenThrow(new InvalidSerializedFormException("foo"));
+        when(this.marshaller.read(this.marshalledBar)).thenReturn(this.bar);
+        when(this.immutability.test(this.bar)).thenReturn(true);
+
+        // An invalid attribute is removed from the session on access
+        assertNull(attributes.getAttribute("foo"));
+        assertFalse(attributes.getAttributeNames().contains("foo"));
+        assertFalse(this.namesCache.get(this.key).containsKey("foo"));
+        assertFalse(this.attributeCache.containsKey(this.fooId));
+
+        // Subsequent requests no longer attempt to read it
+        assertNull(attributes.getAttribute("foo"));
+        verify(this.marshaller).read(this.marshalledFoo);
+        verify(this.logger).failedToActivateSessionAttribute(any(InvalidSerializedFormException.class), eq(this.id), eq("foo"));
+
+        // Other attributes are unaffected
+        assertSame(this.bar, attributes.getAttribute("bar"));
+
+        attributes.close();
+
+        assertTrue(this.mutated.isEmpty());
+    }
+
+    @Test
+    public void removeMissingAttribute() throws InvalidSerializedFormException {
+        Function<UUID, UUID> keyFactory = Function.identity();
+        BiFunction<UUID, Object, Mutator> mutatorFactory = (id, value) -> () -> this.mutated.add(id);
+        SessionAttributes attributes = new FineSessionAttributes<>(this.id, this.key, this.names(), this.namesCache, keyFactory, this.attributeCache, this.marshaller, mutatorFactory, this.immutability, this.properties, this.logger);
+
+        this.attributeCache.remove(this.fooId);
+
+        // A name without a cache entry is removed from the session on access
+        assertNull(attributes.getAttribute("foo"));
+        assertFalse(attributes.getAttributeNames().contains("foo"));
+        assertFalse(this.namesCache.get(this.key).containsKey("foo"));
+        assertTrue(attributes.getAttributeNames().contains("bar"));
+
+        verify(this.marshaller, never()).read(any());
+        verify(this.logger).missingSessionAttributeCacheEntry(this.id, "foo");
+    }
+
+    @Test
+    public void replaceInvalidAttribute() throws InvalidSerializedFormException {
+        Function<UUID, UUID> keyFactory = Function.identity();
+        BiFunction<UUID, Object, Mutator> mutatorFactory = (id, value) -> () -> this.mutated.add(id);
+        SessionAttributes attributes = new FineSessionAttributes<>(this.id, this.key, this.names(), this.namesCache, keyFactory, this.attributeCache, this.marshaller, mutatorFactory, this.immutability, this.properties, this.logger);
+        Object newFoo = new Object();
+        Object marshalledNewFoo = new Object();
+
+        when(this.marshaller.read(this.marshalledFoo)).thenThrow(new InvalidSerializedFormException("foo"));
+        when(this.marshaller.write(newFoo)).thenReturn(marshalledNewFoo);
+        when(this.immutability.test(newFoo)).thenReturn(true);
+
+        // An unreadable previous value does not prevent its replacement
+        assertNull(attributes.setAttribute("foo", newFoo));
+        assertSame(marshalledNewFoo, this.attributeCache.get(this.fooId));
+    }
+}
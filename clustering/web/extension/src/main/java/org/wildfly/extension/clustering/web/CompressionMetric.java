@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
+
+/**
+ * Compression metrics of a session management provider.
+ */
+public enum CompressionMetric implements Metric<CompressionStatistics> {
+
+    COMPRESSIONS("compressions", ModelType.LONG, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getCompressions());
+        }
+    },
+    COMPRESSION_RATIO("compression-ratio", ModelType.DOUBLE, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getCompressionRatio());
+        }
+    },
+    COMPRESSION_TIME("compression-time", ModelType.LONG, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getCompressionTime(TimeUnit.MILLISECONDS));
+        }
+    },
+    DECOMPRESSIONS("decompressions", ModelType.LONG, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getDecompressions());
+        }
+    },
+    DECOMPRESSION_TIME("decompression-time", ModelType.LONG, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getDecompressionTime(TimeUnit.MILLISECONDS));
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    CompressionMetric(String name, ModelType type, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type, true).setMeasurementUnit(unit).setStorageRuntime().build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
@@ -32,8 +32,9 @@ import org.jboss.as.clustering.controller.Schema;
  */
 public enum DistributableWebSchema implements Schema<DistributableWebSchema> {
     VERSION_1_0(1, 0),
+    VERSION_2_0(2, 0),
     ;
-    static final Schema<DistributableWebSchema> CURRENT = VERSION_1_0;
+    static final Schema<DistributableWebSchema> CURRENT = VERSION_2_0;
 
     private final int major;
     private final int minor;
@@ -24,6 +24,8 @@ package org.wildfly.extension.clustering.web;
 
 import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
 
+import java.util.EnumSet;
+
 import org.jboss.as.clustering.controller.Schema;
 import org.jboss.as.clustering.controller.persistence.AttributeXMLBuilderOperator;
 import org.jboss.as.controller.PersistentResourceXMLDescription;
@@ -47,14 +49,14 @@ public class DistributableWebXMLParser extends PersistentResourceXMLParser {
                 .addAttribute(DistributableWebResourceDefinition.Attribute.DEFAULT_SESSION_MANAGEMENT.getDefinition())
                 .addAttribute(DistributableWebResourceDefinition.Attribute.DEFAULT_SSO_MANAGEMENT.getDefinition())
                 .addChild(new AttributeXMLBuilderOperator()
-                        .addAttributes(SessionManagementResourceDefinition.Attribute.class)
-                        .addAttributes(InfinispanSessionManagementResourceDefinition.Attribute.class)
+                        .addAttributes(this.schema.since(DistributableWebSchema.VERSION_2_0) ? EnumSet.allOf(SessionManagementResourceDefinition.Attribute.class) : EnumSet.complementOf(EnumSet.of(SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD)))
+                        .addAttributes(this.schema.since(DistributableWebSchema.VERSION_2_0) ? EnumSet.allOf(InfinispanSessionManagementResourceDefinition.Attribute.class) : EnumSet.complementOf(EnumSet.of(InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE)))
                         .apply(builder(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH))
                         .addChild(builder(NoAffinityResourceDefinition.PATH).setXmlElementName("no-affinity"))
                         .addChild(builder(LocalAffinityResourceDefinition.PATH).setXmlElementName("local-affinity"))
                         .addChild(builder(PrimaryOwnerAffinityResourceDefinition.PATH).setXmlElementName("primary-owner-affinity")))
                 .addChild(new AttributeXMLBuilderOperator()
-                        .addAttributes(SessionManagementResourceDefinition.Attribute.class)
+                        .addAttributes(this.schema.since(DistributableWebSchema.VERSION_2_0) ? EnumSet.allOf(SessionManagementResourceDefinition.Attribute.class) : EnumSet.complementOf(EnumSet.of(SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD)))
                         .addAttributes(HotRodSessionManagementResourceDefinition.Attribute.class)
                         .apply(builder(HotRodSessionManagementResourceDefinition.WILDCARD_PATH))
                         .addChild(builder(NoAffinityResourceDefinition.PATH).setXmlElementName("no-affinity"))
@@ -25,12 +25,18 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
+import org.jboss.as.clustering.controller.validation.IntRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.spi.InfinispanDefaultCacheRequirement;
@@ -61,6 +67,12 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
                         ;
             }
         },
+        NEAR_CACHE_SIZE("near-cache-size", ModelType.INT) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setValidator(new IntRangeValidatorBuilder().min(1).configure(builder).build());
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -87,6 +99,19 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
         }
     };
 
+    static void buildTransformation(ModelVersion version, ResourceTransformationDescriptionBuilder parent) {
+        ResourceTransformationDescriptionBuilder builder = parent.addChildResource(WILDCARD_PATH);
+
+        if (DistributableWebModel.VERSION_2_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, Attribute.NEAR_CACHE_SIZE.getDefinition())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.NEAR_CACHE_SIZE.getDefinition())
+                .end();
+        }
+
+        SessionManagementResourceDefinition.buildTransformation(version, builder);
+    }
+
     InfinispanSessionManagementResourceDefinition() {
         super(WILDCARD_PATH, CONFIGURATOR, InfinispanSessionManagementServiceConfigurator::new);
     }
@@ -97,6 +122,10 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
 
         new PrimaryOwnerAffinityResourceDefinition().register(registration);
 
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new NearCacheMetricExecutor(), NearCacheMetric.class).register(registration);
+        }
+
         return registration;
     }
 }
@@ -24,6 +24,7 @@ package org.wildfly.extension.clustering.web;
 
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE_CONTAINER;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -42,6 +43,7 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
 
     private volatile String containerName;
     private volatile String cacheName;
+    private volatile Integer nearCacheSize;
 
     public InfinispanSessionManagementServiceConfigurator(PathAddress address) {
         super(address);
@@ -51,6 +53,8 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.cacheName = CACHE.resolveModelAttribute(context, model).asStringOrNull();
+        ModelNode nearCacheSize = NEAR_CACHE_SIZE.resolveModelAttribute(context, model);
+        this.nearCacheSize = nearCacheSize.isDefined() ? nearCacheSize.asInt() : null;
         return super.configure(context, model);
     }
 
@@ -68,4 +72,9 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public String getCacheName() {
         return this.cacheName;
     }
+
+    @Override
+    public Integer getNearCacheSize() {
+        return this.nearCacheSize;
+    }
 }
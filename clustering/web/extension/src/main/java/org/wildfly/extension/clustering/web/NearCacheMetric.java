@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.web.infinispan.session.NearCacheStatistics;
+
+/**
+ * Near-cache metrics of an Infinispan session management provider.
+ */
+public enum NearCacheMetric implements Metric<NearCacheStatistics> {
+
+    HITS("near-cache-hits", ModelType.LONG) {
+        @Override
+        public ModelNode execute(NearCacheStatistics statistics) {
+            return new ModelNode(statistics.getHits());
+        }
+    },
+    MISSES("near-cache-misses", ModelType.LONG) {
+        @Override
+        public ModelNode execute(NearCacheStatistics statistics) {
+            return new ModelNode(statistics.getMisses());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    NearCacheMetric(String name, ModelType type) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type, true).setStorageRuntime().build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
@@ -31,6 +31,7 @@ import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 public enum SessionGranularity {
 
     SESSION(SessionAttributePersistenceStrategy.COARSE),
+    DELTA(SessionAttributePersistenceStrategy.DELTA),
     ATTRIBUTE(SessionAttributePersistenceStrategy.FINE),
     ;
     private final SessionAttributePersistenceStrategy strategy;
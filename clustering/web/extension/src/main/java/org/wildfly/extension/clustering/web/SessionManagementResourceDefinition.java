@@ -26,6 +26,7 @@ import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityProvider;
 import org.jboss.as.clustering.controller.ChildResourceDefinition;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
 import org.jboss.as.clustering.controller.ResourceServiceConfiguratorFactory;
 import org.jboss.as.clustering.controller.ResourceServiceHandler;
@@ -34,12 +35,18 @@ import org.jboss.as.clustering.controller.SimpleResourceServiceHandler;
 import org.jboss.as.clustering.controller.UnaryCapabilityNameResolver;
 import org.jboss.as.clustering.controller.UnaryRequirementCapability;
 import org.jboss.as.clustering.controller.validation.EnumValidator;
+import org.jboss.as.clustering.controller.validation.IntRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.service.UnaryRequirement;
 import org.wildfly.clustering.web.WebProviderRequirement;
@@ -79,6 +86,14 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
                 return builder.setValidator(new EnumValidator<>(SessionGranularity.class));
             }
         },
+        COMPRESSION_THRESHOLD("compression-threshold", ModelType.INT) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setRequired(false)
+                        .setValidator(new IntRangeValidatorBuilder().min(1).configure(builder).build())
+                        ;
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -96,6 +111,16 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
         }
     }
 
+    static void buildTransformation(ModelVersion version, ResourceTransformationDescriptionBuilder builder) {
+        if (DistributableWebModel.VERSION_2_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                .addRejectCheck(new RejectAttributeChecker.SimpleRejectAttributeChecker(new ModelNode(SessionGranularity.DELTA.name())), Attribute.GRANULARITY.getDefinition())
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, Attribute.COMPRESSION_THRESHOLD.getDefinition())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.COMPRESSION_THRESHOLD.getDefinition())
+                .end();
+        }
+    }
+
     private final UnaryOperator<ResourceDescriptor> configurator;
     private final ResourceServiceConfiguratorFactory factory;
 
@@ -118,6 +143,10 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
         new NoAffinityResourceDefinition().register(registration);
         new LocalAffinityResourceDefinition().register(registration);
 
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new CompressionMetricExecutor(), CompressionMetric.class).register(registration);
+        }
+
         return registration;
     }
 }
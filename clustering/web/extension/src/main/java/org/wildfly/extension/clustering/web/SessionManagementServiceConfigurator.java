@@ -22,6 +22,7 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD;
 import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.GRANULARITY;
 
 import java.util.function.Consumer;
@@ -56,6 +57,7 @@ import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 public abstract class SessionManagementServiceConfigurator<C extends DistributableSessionManagementConfiguration> extends CapabilityServiceNameProvider implements ResourceServiceConfigurator, DistributableSessionManagementConfiguration, Supplier<DistributableSessionManagementProvider> {
 
     private volatile SessionGranularity granularity;
+    private volatile Integer compressionThreshold;
     private volatile SupplierDependency<RouteLocatorServiceConfiguratorFactory<C>> factory;
 
     SessionManagementServiceConfigurator(PathAddress address) {
@@ -65,6 +67,8 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
     @Override
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.granularity = ModelNodes.asEnum(GRANULARITY.resolveModelAttribute(context, model), SessionGranularity.class);
+        ModelNode compressionThreshold = COMPRESSION_THRESHOLD.resolveModelAttribute(context, model);
+        this.compressionThreshold = compressionThreshold.isDefined() ? compressionThreshold.asInt() : null;
         this.factory = new ServiceSupplierDependency<>(new AffinityServiceNameProvider(context.getCurrentAddress()));
         return this;
     }
@@ -83,6 +87,11 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
         return this.granularity.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public Integer getCompressionThreshold() {
+        return this.compressionThreshold;
+    }
+
     public RouteLocatorServiceConfiguratorFactory<C> getRouteLocatorServiceConfiguratorFactory() {
         return this.factory.get();
     }
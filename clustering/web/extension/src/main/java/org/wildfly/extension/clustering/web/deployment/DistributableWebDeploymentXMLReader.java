@@ -43,6 +43,7 @@ import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagement
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementProvider;
 import org.wildfly.clustering.web.routing.RouteLocatorServiceConfiguratorFactory;
 import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 
 /**
  * Parser for both jboss-all.xml distributable-web namespace parsing its standalone deployment descriptor counterpart.
@@ -64,7 +65,6 @@ public class DistributableWebDeploymentXMLReader implements XMLElementReader<Mut
     private static final String PRIMARY_OWNER_AFFINITY = "primary-owner-affinity";
     private static final String IMMUTABLE_CLASS = "immutable-class";
 
-    @SuppressWarnings("unused")
     private final DistributableWebDeploymentSchema schema;
 
     public DistributableWebDeploymentXMLReader(DistributableWebDeploymentSchema schema) {
@@ -138,7 +138,6 @@ public class DistributableWebDeploymentXMLReader implements XMLElementReader<Mut
         this.readImmutability(reader, configuration);
     }
 
-    @SuppressWarnings("static-method")
     private void readSessionManagementAttribute(XMLExtendedStreamReader reader, int index, MutableSessionManagementConfiguration configuration) throws XMLStreamException {
         String value = reader.getAttributeValue(index);
 
@@ -149,6 +148,10 @@ public class DistributableWebDeploymentXMLReader implements XMLElementReader<Mut
                 } catch (IllegalArgumentException e) {
                     throw ParseUtils.invalidAttributeValue(reader, index);
                 }
+                // DELTA granularity was introduced in version 2.0 of the schema
+                if ((configuration.getAttributePersistenceStrategy() == SessionAttributePersistenceStrategy.DELTA) && !this.schema.since(DistributableWebDeploymentSchema.VERSION_2_0)) {
+                    throw ParseUtils.invalidAttributeValue(reader, index);
+                }
                 break;
             }
             default: {
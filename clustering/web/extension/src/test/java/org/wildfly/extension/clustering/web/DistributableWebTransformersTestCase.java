@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.clustering.web;
+
+import java.util.List;
+
+import org.jboss.as.clustering.subsystem.AdditionalInitialization;
+import org.jboss.as.clustering.subsystem.RejectedValueConfig;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.model.test.FailedOperationTransformationConfig;
+import org.jboss.as.model.test.ModelTestControllerVersion;
+import org.jboss.as.model.test.ModelTestUtils;
+import org.jboss.as.subsystem.test.AbstractSubsystemTest;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.infinispan.client.InfinispanClientRequirement;
+import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
+import org.wildfly.clustering.infinispan.spi.InfinispanDefaultCacheRequirement;
+
+/**
+ * Unit test for the transformers of the distributable-web subsystem.
+ * Model version 1.0.0 was released with WildFly 17, which shares the current core version, so the legacy controller is booted from the WildFly 17 artifacts.
+ */
+public class DistributableWebTransformersTestCase extends AbstractSubsystemTest {
+
+    private static final PathAddress INFINISPAN_SESSION_MANAGEMENT_ADDRESS = PathAddress.pathAddress(DistributableWebResourceDefinition.PATH, PathElement.pathElement(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "session"));
+    private static final PathAddress HOTROD_SESSION_MANAGEMENT_ADDRESS = PathAddress.pathAddress(DistributableWebResourceDefinition.PATH, PathElement.pathElement(HotRodSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "remote"));
+    private static final String WILDFLY_17_VERSION = "17.0.0.Final";
+
+    public DistributableWebTransformersTestCase() {
+        super(DistributableWebExtension.SUBSYSTEM_NAME, new DistributableWebExtension());
+    }
+
+    private static String formatArtifact(String pattern, String version) {
+        return String.format(pattern, version);
+    }
+
+    private static String[] getDependencies(String version) {
+        return new String[] {
+                formatArtifact("org.wildfly:wildfly-clustering-web-extension:%s", version),
+                formatArtifact("org.wildfly:wildfly-clustering-web-spi:%s", version),
+                formatArtifact("org.wildfly:wildfly-clustering-infinispan-spi:%s", version),
+                formatArtifact("org.wildfly:wildfly-clustering-common:%s", version),
+                formatArtifact("org.wildfly:wildfly-clustering-service:%s", version),
+                formatArtifact("org.wildfly:wildfly-clustering-spi:%s", version),
+        };
+    }
+
+    private static AdditionalInitialization createAdditionalInitialization() {
+        return new AdditionalInitialization()
+                .require(InfinispanDefaultCacheRequirement.CONFIGURATION, "foo")
+                .require(InfinispanCacheRequirement.CONFIGURATION, "foo", "bar")
+                .require(InfinispanClientRequirement.REMOTE_CONTAINER, "foo")
+                ;
+    }
+
+    private KernelServices buildKernelServices() throws Exception {
+        KernelServices services = this.createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXmlResource("wildfly-distributable-web-2_0.xml")
+                .build();
+        Assert.assertTrue(services.isSuccessfulBoot());
+        return services;
+    }
+
+    private KernelServicesBuilder createLegacyKernelServicesBuilder(ModelVersion version, String... mavenResourceURLs) {
+        KernelServicesBuilder builder = this.createKernelServicesBuilder(createAdditionalInitialization());
+
+        builder.createLegacyKernelServicesBuilder(createAdditionalInitialization(), ModelTestControllerVersion.MASTER, version)
+                .addSingleChildFirstClass(AdditionalInitialization.class)
+                .addMavenResourceURL(mavenResourceURLs)
+                .skipReverseControllerCheck()
+                .dontPersistXml();
+
+        return builder;
+    }
+
+    @Test
+    public void testTransformerWildFly17() throws Exception {
+        ModelVersion version = DistributableWebModel.VERSION_1_0_0.getVersion();
+        KernelServicesBuilder builder = this.createLegacyKernelServicesBuilder(version, getDependencies(WILDFLY_17_VERSION))
+                .setSubsystemXmlResource("wildfly-distributable-web-1_0.xml");
+
+        KernelServices services = builder.build();
+        Assert.assertTrue(ModelTestControllerVersion.MASTER + " boot failed", services.isSuccessfulBoot());
+        Assert.assertTrue(WILDFLY_17_VERSION + " boot failed", services.getLegacyServices(version).isSuccessfulBoot());
+
+        checkSubsystemModelTransformation(services, version, null, false);
+    }
+
+    @Test
+    public void testRejectionsWildFly17() throws Exception {
+        ModelVersion version = DistributableWebModel.VERSION_1_0_0.getVersion();
+        KernelServicesBuilder builder = this.createLegacyKernelServicesBuilder(version, getDependencies(WILDFLY_17_VERSION));
+
+        KernelServices services = builder.build();
+        Assert.assertTrue(ModelTestControllerVersion.MASTER + " boot failed", services.isSuccessfulBoot());
+        Assert.assertTrue(WILDFLY_17_VERSION + " boot failed", services.getLegacyServices(version).isSuccessfulBoot());
+
+        List<ModelNode> operations = builder.parseXmlResource("wildfly-distributable-web-2_0.xml");
+        ModelTestUtils.checkFailedTransformedBootOperations(services, version, operations, createFailedOperationTransformationConfig(version));
+    }
+
+    private static FailedOperationTransformationConfig createFailedOperationTransformationConfig(ModelVersion version) {
+        FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
+        PathAddress subsystemAddress = PathAddress.pathAddress(DistributableWebResourceDefinition.PATH);
+
+        if (DistributableWebModel.VERSION_2_0_0.requiresTransformation(version)) {
+            RejectedValueConfig granularity = new RejectedValueConfig(SessionManagementResourceDefinition.Attribute.GRANULARITY, value -> value.isDefined() && SessionGranularity.valueOf(value.asString()) == SessionGranularity.DELTA, value -> new ModelNode(SessionGranularity.SESSION.name()));
+            String granularityName = SessionManagementResourceDefinition.Attribute.GRANULARITY.getName();
+            String compressionThresholdName = SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD.getName();
+            String nearCacheSizeName = InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE.getName();
+
+            config.addFailedAttribute(subsystemAddress.append(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH), FailedOperationTransformationConfig.ChainedConfig.createBuilder(granularityName, compressionThresholdName, nearCacheSizeName)
+                    .addConfig(granularity)
+                    .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(compressionThresholdName, nearCacheSizeName))
+                    .build());
+            config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.WILDCARD_PATH), FailedOperationTransformationConfig.ChainedConfig.createBuilder(granularityName, compressionThresholdName)
+                    .addConfig(granularity)
+                    .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(compressionThresholdName))
+                    .build());
+        }
+
+        return config;
+    }
+
+    @Test
+    public void testRejectDeltaGranularity() throws Exception {
+        KernelServices services = this.buildKernelServices();
+        ModelVersion version = DistributableWebModel.VERSION_1_0_0.getVersion();
+
+        for (PathAddress address : new PathAddress[] { INFINISPAN_SESSION_MANAGEMENT_ADDRESS, HOTROD_SESSION_MANAGEMENT_ADDRESS }) {
+            ModelNode operation = Util.getWriteAttributeOperation(address, SessionManagementResourceDefinition.Attribute.GRANULARITY.getName(), new ModelNode(SessionGranularity.DELTA.name()));
+            assertRejected(services.transformOperation(version, operation));
+
+            operation = Util.getWriteAttributeOperation(address, SessionManagementResourceDefinition.Attribute.GRANULARITY.getName(), new ModelNode(SessionGranularity.SESSION.name()));
+            assertAccepted(services.transformOperation(version, operation));
+        }
+    }
+
+    @Test
+    public void testRejectNearCacheSize() throws Exception {
+        KernelServices services = this.buildKernelServices();
+        ModelVersion version = DistributableWebModel.VERSION_1_0_0.getVersion();
+        String name = InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_SIZE.getName();
+
+        assertRejected(services.transformOperation(version, Util.getWriteAttributeOperation(INFINISPAN_SESSION_MANAGEMENT_ADDRESS, name, new ModelNode(100))));
+        assertAccepted(services.transformOperation(version, Util.getUndefineAttributeOperation(INFINISPAN_SESSION_MANAGEMENT_ADDRESS, name)));
+    }
+
+    @Test
+    public void testRejectCompressionThreshold() throws Exception {
+        KernelServices services = this.buildKernelServices();
+        ModelVersion version = DistributableWebModel.VERSION_1_0_0.getVersion();
+        String name = SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD.getName();
+
+        for (PathAddress address : new PathAddress[] { INFINISPAN_SESSION_MANAGEMENT_ADDRESS, HOTROD_SESSION_MANAGEMENT_ADDRESS }) {
+            assertRejected(services.transformOperation(version, Util.getWriteAttributeOperation(address, name, new ModelNode(1024))));
+            assertAccepted(services.transformOperation(version, Util.getUndefineAttributeOperation(address, name)));
+        }
+    }
+
+    static void assertRejected(OperationTransformer.TransformedOperation operation) {
+        Assert.assertTrue(operation.rejectOperation(success()));
+    }
+
+    static void assertAccepted(OperationTransformer.TransformedOperation operation) {
+        Assert.assertFalse(operation.getFailureDescription(), operation.rejectOperation(success()));
+    }
+
+    private static ModelNode success() {
+        ModelNode result = new ModelNode();
+        result.get(ModelDescriptionConstants.OUTCOME).set(ModelDescriptionConstants.SUCCESS);
+        result.get(ModelDescriptionConstants.RESULT);
+        return result;
+    }
+}
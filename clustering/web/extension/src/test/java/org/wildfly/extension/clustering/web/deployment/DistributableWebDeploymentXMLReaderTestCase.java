@@ -100,7 +100,7 @@ public class DistributableWebDeploymentXMLReaderTestCase {
             InfinispanSessionManagementConfiguration configuration = ((InfinispanSessionManagementProvider) result).getSessionManagementConfiguration();
             Assert.assertEquals("foo", configuration.getContainerName());
             Assert.assertEquals("bar", configuration.getCacheName());
-            Assert.assertSame(SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
+            Assert.assertSame(this.schema.since(DistributableWebDeploymentSchema.VERSION_2_0) ? SessionAttributePersistenceStrategy.DELTA : SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
 
             Assert.assertNotNull(config.getImmutableClasses());
             Assert.assertEquals(Arrays.asList(Locale.class.getName(), UUID.class.getName()), config.getImmutableClasses());
@@ -29,12 +29,13 @@ import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
+import org.wildfly.clustering.web.cache.session.SessionAttributeLogger;
 
 /**
  * @author Paul Ferraro
  */
 @MessageLogger(projectCode = "WFLYCLWEBHR", length = 4)
-public interface Logger extends BasicLogger {
+public interface Logger extends BasicLogger, SessionAttributeLogger {
     String ROOT_LOGGER_CATEGORY = "org.wildfly.clustering.web.hotrod";
 
     Logger ROOT_LOGGER = org.jboss.logging.Logger.getMessageLogger(Logger.class, ROOT_LOGGER_CATEGORY);
@@ -60,4 +61,8 @@ public interface Logger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 11, value = "Session %s is missing cache entry for attribute %s")
     void missingSessionAttributeCacheEntry(String sessionId, String attribute);
+
+    @LogMessage(level = WARN)
+    @Message(id = 12, value = "Failed to expire session %s")
+    void failedToExpireSession(@Cause Throwable cause, String sessionId);
 }
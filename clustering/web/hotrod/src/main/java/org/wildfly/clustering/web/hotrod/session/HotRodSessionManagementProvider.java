@@ -23,6 +23,7 @@
 package org.wildfly.clustering.web.hotrod.session;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
 import org.wildfly.clustering.marshalling.spi.Marshallability;
 import org.wildfly.clustering.web.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.cache.routing.LocalRouteLocatorServiceConfigurator;
@@ -35,6 +36,7 @@ import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
 public class HotRodSessionManagementProvider implements DistributableSessionManagementProvider {
 
     private final HotRodSessionManagementConfiguration configuration;
+    private final CompressionStatistics compressionStatistics = new CompressionStatistics();
 
     public HotRodSessionManagementProvider(HotRodSessionManagementConfiguration configuration) {
         this.configuration = configuration;
@@ -50,7 +52,13 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
         return new LocalRouteLocatorServiceConfigurator(configuration);
     }
 
+    @Override
     public HotRodSessionManagementConfiguration getSessionManagementConfiguration() {
         return this.configuration;
     }
+
+    @Override
+    public CompressionStatistics getCompressionStatistics() {
+        return this.compressionStatistics;
+    }
 }
@@ -65,8 +65,8 @@ public class HotRodSessionManagerFactory<L, C extends Marshallability> implement
         this.sessionFactory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config, properties), config.getLocalContextFactory());
         ExpiredSessionRemover<CompositeSessionMetaDataEntry<L>, ?, L> remover = new ExpiredSessionRemover<>(this.sessionFactory);
         this.expirationRegistrar = remover;
-        this.expirationScheduler = new SessionExpirationScheduler(remover);
         this.batcher = new HotRodBatcher(config.getCache());
+        this.expirationScheduler = new TimingWheelExpirationScheduler(this.batcher, remover);
         this.transactionTimeout = Duration.ofMillis(config.getCache().getRemoteCacheManager().getConfiguration().transaction().timeout());
     }
 
@@ -124,6 +124,8 @@ public class HotRodSessionManagerFactory<L, C extends Marshallability> implement
             case FINE: {
                 return new FineSessionAttributesFactory<>(configuration.getCache(), configuration.getCache(), new MarshalledValueMarshaller<>(factory, context), configuration.getImmutability(), properties);
             }
+            // Remote caches cannot execute compute functions on the server, so delta granularity degrades to coarse granularity
+            case DELTA:
             case COARSE: {
                 return new CoarseSessionAttributesFactory<>(configuration.getCache(), new MarshalledValueMarshaller<>(factory, context), configuration.getImmutability(), properties);
             }
@@ -89,6 +89,7 @@ public class SessionManagerNearCacheFactory<K, V> implements Function<ClientList
             List<Object> keys = new LinkedList<>();
             keys.add(new SessionAccessMetaDataKey(id));
             switch (this.strategy) {
+                case DELTA:
                 case COARSE: {
                     keys.add(new SessionAttributesKey(id));
                     break;
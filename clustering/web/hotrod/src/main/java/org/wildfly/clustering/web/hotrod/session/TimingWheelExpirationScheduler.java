@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.Remover;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheel;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.web.hotrod.Logger;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Session expiration scheduler that eagerly expires sessions as soon as they are eligible, with a granularity of one second.
+ * Unlike {@link SessionExpirationScheduler}, sessions are tracked by a {@link TimingWheel} rather than by a future per session,
+ * and the sessions expiring in the same second are removed within a single batch.
+ * If that batch fails, each of its sessions is removed within its own batch instead, and sessions that still fail to expire are retried later.
+ */
+public class TimingWheelExpirationScheduler implements Scheduler {
+
+    private static final Duration RETRY_INTERVAL = Duration.ofMinutes(1);
+
+    private final Batcher<TransactionBatch> batcher;
+    private final Remover<String> remover;
+    private final TimingWheel<String> wheel;
+
+    public TimingWheelExpirationScheduler(Batcher<TransactionBatch> batcher, Remover<String> remover) {
+        this.batcher = batcher;
+        this.remover = remover;
+        this.wheel = new TimingWheel<>(this::expire, createThreadFactory());
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        PrivilegedAction<ThreadFactory> action = () -> new JBossThreadFactory(new ThreadGroup(TimingWheelExpirationScheduler.class.getSimpleName()), Boolean.FALSE, null, "%G - %t", null, null);
+        return WildFlySecurityManager.doUnchecked(action);
+    }
+
+    @Override
+    public void schedule(String sessionId, ImmutableSessionMetaData metaData) {
+        Duration maxInactiveInterval = metaData.getMaxInactiveInterval();
+        if (!maxInactiveInterval.isZero()) {
+            Instant expiration = metaData.getLastAccessedTime().plus(maxInactiveInterval);
+            Logger.ROOT_LOGGER.tracef("Session %s will expire at %s", sessionId, expiration);
+            this.wheel.schedule(sessionId, expiration);
+        }
+    }
+
+    @Override
+    public void cancel(String sessionId) {
+        this.wheel.cancel(sessionId);
+    }
+
+    @Override
+    public void close() {
+        this.wheel.close();
+    }
+
+    private void expire(List<String> sessionIds) {
+        if ((sessionIds.size() > 1) && this.expireAll(sessionIds)) {
+            return;
+        }
+        // Fall back to a batch per session, so that one failure does not prevent the expiration of the other sessions
+        for (String sessionId : sessionIds) {
+            if (!this.expire(sessionId)) {
+                // Retry later, unless the session was rescheduled in the meantime
+                this.wheel.scheduleIfAbsent(sessionId, Instant.now().plus(RETRY_INTERVAL));
+            }
+        }
+    }
+
+    /**
+     * Expires the specified sessions within a single batch.
+     * @return false, if the batch was discarded or failed to commit, true otherwise
+     */
+    private boolean expireAll(List<String> sessionIds) {
+        try (Batch batch = this.batcher.createBatch()) {
+            try {
+                for (String sessionId : sessionIds) {
+                    Logger.ROOT_LOGGER.tracef("Expiring session %s", sessionId);
+                    this.remover.remove(sessionId);
+                }
+                return true;
+            } catch (Throwable e) {
+                Logger.ROOT_LOGGER.debugf(e, "Failed to expire %d sessions within a single batch", sessionIds.size());
+                batch.discard();
+                return false;
+            }
+        } catch (RuntimeException e) {
+            // Batch failed to commit
+            Logger.ROOT_LOGGER.debugf(e, "Failed to expire %d sessions within a single batch", sessionIds.size());
+            return false;
+        }
+    }
+
+    /**
+     * Expires the specified session within its own batch, so that a failure neither affects nor repeats the expiration of other sessions.
+     * @return false, if the session failed to expire, true otherwise
+     */
+    private boolean expire(String sessionId) {
+        Logger.ROOT_LOGGER.tracef("Expiring session %s", sessionId);
+        try (Batch batch = this.batcher.createBatch()) {
+            try {
+                this.remover.remove(sessionId);
+                return true;
+            } catch (Throwable e) {
+                Logger.ROOT_LOGGER.failedToExpireSession(e, sessionId);
+                batch.discard();
+                return false;
+            }
+        } catch (RuntimeException e) {
+            // Batch failed to commit
+            Logger.ROOT_LOGGER.failedToExpireSession(e, sessionId);
+            return false;
+        }
+    }
+}
@@ -34,7 +34,6 @@ import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.hotrod.RemoteCacheEntryMutator;
-import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
@@ -77,26 +76,9 @@ public class FineSessionAttributesFactory<V> implements SessionAttributesFactory
 
     @Override
     public Map<String, UUID> findValue(String id) {
+        // Attribute values are not pre-activated, but remain in their serialized form until requested via getAttribute(...)
         Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
-        if (names != null) {
-            for (Map.Entry<String, UUID> nameEntry : names.entrySet()) {
-                V value = this.attributeCache.get(new SessionAttributeKey(id, nameEntry.getValue()));
-                if (value != null) {
-                    try {
-                        this.marshaller.read(value);
-                        continue;
-                    } catch (InvalidSerializedFormException e) {
-                        Logger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, nameEntry.getKey());
-                    }
-                } else {
-                    Logger.ROOT_LOGGER.missingSessionAttributeCacheEntry(id, nameEntry.getKey());
-                }
-                this.remove(id);
-                return null;
-            }
-            return names;
-        }
-        return Collections.emptyMap();
+        return (names != null) ? names : Collections.emptyMap();
     }
 
     @Override
@@ -112,12 +94,12 @@ public class FineSessionAttributesFactory<V> implements SessionAttributesFactory
 
     @Override
     public SessionAttributes createSessionAttributes(String id, Map<String, UUID> names) {
-        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.withFlags(Flag.FORCE_RETURN_VALUE), this.marshaller, this, this.immutability, this.properties);
+        return new FineSessionAttributes<>(id, new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.withFlags(Flag.FORCE_RETURN_VALUE), this.marshaller, this, this.immutability, this.properties, Logger.ROOT_LOGGER);
     }
 
     @Override
     public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, UUID> names) {
-        return new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
+        return new FineImmutableSessionAttributes<>(id, names, getKeyFactory(id), this.attributeCache, this.marshaller, Logger.ROOT_LOGGER);
     }
 
     private static Function<UUID, SessionAttributeKey> getKeyFactory(String id) {
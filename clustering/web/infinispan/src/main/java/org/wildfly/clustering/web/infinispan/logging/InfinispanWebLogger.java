@@ -30,6 +30,7 @@ import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
+import org.wildfly.clustering.web.cache.session.SessionAttributeLogger;
 
 /**
  * InfinispanWebLogger
@@ -39,7 +40,7 @@ import org.jboss.logging.annotations.MessageLogger;
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 @MessageLogger(projectCode = "WFLYCLWEBINF", length = 4)
-public interface InfinispanWebLogger extends BasicLogger {
+public interface InfinispanWebLogger extends BasicLogger, SessionAttributeLogger {
     String ROOT_LOGGER_CATEGORY = "org.wildfly.clustering.web.infinispan";
 
     InfinispanWebLogger ROOT_LOGGER = Logger.getMessageLogger(InfinispanWebLogger.class, ROOT_LOGGER_CATEGORY);
@@ -93,4 +94,8 @@ public interface InfinispanWebLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 13, value = "Disabling expiration for cache '%s'. Web session expiration should be configured per \u00A77.5 of the servlet specification.")
     void expirationDisabled(String cacheName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 14, value = "Disabling session near-cache for cache '%s'. A near-cache requires a distributed cache that does not lock on read, and SESSION or DELTA granularity.")
+    void nearCacheDisabled(String cacheName);
 }
@@ -30,4 +30,12 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface InfinispanSessionManagementConfiguration extends DistributableSessionManagementConfiguration, InfinispanCacheConfiguration {
+
+    /**
+     * Returns the maximum number of sessions to retain in the near-cache of non-owning members.
+     * @return a number of sessions, or null, if near-caching is disabled.
+     */
+    default Integer getNearCacheSize() {
+        return null;
+    }
 }
@@ -23,6 +23,7 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
 import org.wildfly.clustering.marshalling.spi.Marshallability;
 import org.wildfly.clustering.web.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.routing.RouteLocatorServiceConfiguratorFactory;
@@ -37,6 +38,8 @@ public class InfinispanSessionManagementProvider implements DistributableSession
 
     private final InfinispanSessionManagementConfiguration configuration;
     private final RouteLocatorServiceConfiguratorFactory<InfinispanSessionManagementConfiguration> factory;
+    private final NearCacheStatistics nearCacheStatistics = new NearCacheStatistics();
+    private final CompressionStatistics compressionStatistics = new CompressionStatistics();
 
     public InfinispanSessionManagementProvider(InfinispanSessionManagementConfiguration configuration, RouteLocatorServiceConfiguratorFactory<InfinispanSessionManagementConfiguration> factory) {
         this.configuration = configuration;
@@ -45,7 +48,7 @@ public class InfinispanSessionManagementProvider implements DistributableSession
 
     @Override
     public <C extends Marshallability, L> CapabilityServiceConfigurator getSessionManagerFactoryServiceConfigurator(SessionManagerFactoryConfiguration<C, L> config) {
-        return new InfinispanSessionManagerFactoryServiceConfigurator<>(this.configuration, config);
+        return new InfinispanSessionManagerFactoryServiceConfigurator<>(this.configuration, config, this.nearCacheStatistics);
     }
 
     @Override
@@ -53,6 +56,7 @@ public class InfinispanSessionManagementProvider implements DistributableSession
         return this.factory.createRouteLocatorServiceConfigurator(this.configuration, config);
     }
 
+    @Override
     public InfinispanSessionManagementConfiguration getSessionManagementConfiguration() {
         return this.configuration;
     }
@@ -60,4 +64,13 @@ public class InfinispanSessionManagementProvider implements DistributableSession
     public RouteLocatorServiceConfiguratorFactory<InfinispanSessionManagementConfiguration> getRouteLocatorServiceConfiguratorFactory() {
         return this.factory;
     }
+
+    public NearCacheStatistics getNearCacheStatistics() {
+        return this.nearCacheStatistics;
+    }
+
+    @Override
+    public CompressionStatistics getCompressionStatistics() {
+        return this.compressionStatistics;
+    }
 }
@@ -34,6 +34,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import javax.servlet.ServletContext;
 
 import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.context.Flag;
@@ -71,9 +72,12 @@ import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.SessionFactory;
 import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.infinispan.AffinityIdentifierFactory;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.infinispan.session.coarse.CoarseSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.delta.DeltaSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.fine.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
@@ -102,6 +106,7 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
 
     private final KeyAffinityServiceFactory affinityFactory;
     private final SessionFactory<CompositeSessionMetaDataEntry<L>, ?, L> factory;
+    private final NearCacheSessionFactory<CompositeSessionMetaDataEntry<L>, ?, L> nearCacheFactory;
     private final Scheduler scheduler;
     private final SessionCreationMetaDataKeyFilter filter = new SessionCreationMetaDataKeyFilter();
     private final ExecutorService executor = Executors.newSingleThreadExecutor(createThreadFactory());
@@ -114,14 +119,19 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
         this.batcher = new InfinispanBatcher(this.cache);
         this.properties = new InfinispanCacheProperties(this.cache.getCacheConfiguration());
         SessionMetaDataFactory<CompositeSessionMetaDataEntry<L>, L> metaDataFactory = new InfinispanSessionMetaDataFactory<>(config.getCache(), this.properties);
-        this.factory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
+        SessionFactory<CompositeSessionMetaDataEntry<L>, ?, L> factory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
+        this.nearCacheFactory = this.createNearCacheSessionFactory(config, factory);
+        this.factory = (this.nearCacheFactory != null) ? this.nearCacheFactory : factory;
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         ExpiredSessionRemover<?, ?, L> remover = new ExpiredSessionRemover<>(this.factory);
         this.expirationRegistrar = remover;
-        this.scheduler = new SessionExpirationScheduler(this.batcher, remover);
+        this.scheduler = new TimingWheelExpirationScheduler(this.batcher, remover);
         this.dispatcher = dispatcherFactory.createCommandDispatcher(this.cache.getName(), this.scheduler);
         this.group = dispatcherFactory.getGroup();
         this.cache.addListener(this);
+        if (this.nearCacheFactory != null) {
+            this.nearCacheFactory.start();
+        }
         this.schedule(new SimpleLocality(false), new CacheLocality(this.cache));
     }
 
@@ -199,6 +209,9 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
             case COARSE: {
                 return new CoarseSessionAttributesFactory<>(configuration.getCache(), new MarshalledValueMarshaller<>(factory, context), immutability, this.properties);
             }
+            case DELTA: {
+                return new DeltaSessionAttributesFactory<>(configuration.getCache(), new MarshalledValueMarshaller<>(factory, context), immutability, this.properties);
+            }
             default: {
                 // Impossible
                 throw new IllegalStateException();
@@ -206,8 +219,25 @@ public class InfinispanSessionManagerFactory<C extends Marshallability, L> imple
         }
     }
 
+    private <V> NearCacheSessionFactory<CompositeSessionMetaDataEntry<L>, V, L> createNearCacheSessionFactory(InfinispanSessionManagerFactoryConfiguration<C, L> configuration, SessionFactory<CompositeSessionMetaDataEntry<L>, V, L> factory) {
+        Integer size = configuration.getNearCacheSize();
+        if ((size == null) || (size.intValue() <= 0)) return null;
+
+        CacheMode mode = this.cache.getCacheConfiguration().clustering().cacheMode();
+        // Cached sessions are shared by concurrent requests, so we cannot support caches that lock on read
+        // Fine granularity replaces, rather than mutates, its attribute names on write, so local writes would require invalidation
+        if (!mode.isDistributed() || this.properties.isLockOnRead() || (configuration.getAttributePersistenceStrategy() == SessionAttributePersistenceStrategy.FINE)) {
+            InfinispanWebLogger.ROOT_LOGGER.nearCacheDisabled(this.cache.getName());
+            return null;
+        }
+        return new NearCacheSessionFactory<>(factory, this.cache, size.intValue(), configuration.getNearCacheStatistics());
+    }
+
     @Override
     public void close() {
+        if (this.nearCacheFactory != null) {
+            this.nearCacheFactory.stop();
+        }
         this.cache.removeListener(this);
         PrivilegedAction<List<Runnable>> action = () -> this.executor.shutdownNow();
         WildFlySecurityManager.doUnchecked(action);
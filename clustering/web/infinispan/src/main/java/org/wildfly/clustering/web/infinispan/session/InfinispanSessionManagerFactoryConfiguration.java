@@ -38,4 +38,6 @@ public interface InfinispanSessionManagerFactoryConfiguration<C extends Marshall
     CommandDispatcherFactory getCommandDispatcherFactory();
 
     NodeFactory<Address> getMemberFactory();
+
+    NearCacheStatistics getNearCacheStatistics();
 }
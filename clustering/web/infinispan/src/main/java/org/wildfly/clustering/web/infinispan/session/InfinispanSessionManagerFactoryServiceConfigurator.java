@@ -71,6 +71,7 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<C extends Marsha
 
     private final InfinispanSessionManagementConfiguration configuration;
     private final SessionManagerFactoryConfiguration<C, L> factoryConfiguration;
+    private final NearCacheStatistics nearCacheStatistics;
 
     private volatile ServiceConfigurator configurationConfigurator;
     private volatile ServiceConfigurator cacheConfigurator;
@@ -81,10 +82,11 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<C extends Marsha
     @SuppressWarnings("rawtypes")
     private volatile Supplier<Cache> cache;
 
-    public InfinispanSessionManagerFactoryServiceConfigurator(InfinispanSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<C, L> factoryConfiguration) {
+    public InfinispanSessionManagerFactoryServiceConfigurator(InfinispanSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<C, L> factoryConfiguration, NearCacheStatistics nearCacheStatistics) {
         super(ServiceName.JBOSS.append("clustering", "web", factoryConfiguration.getDeploymentName()));
         this.configuration = configuration;
         this.factoryConfiguration = factoryConfiguration;
+        this.nearCacheStatistics = nearCacheStatistics;
     }
 
     @Override
@@ -177,6 +179,16 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<C extends Marsha
         return this.configuration.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public Integer getNearCacheSize() {
+        return this.configuration.getNearCacheSize();
+    }
+
+    @Override
+    public NearCacheStatistics getNearCacheStatistics() {
+        return this.nearCacheStatistics;
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.infinispan.Cache;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.SessionFactory;
+import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+import org.wildfly.clustering.web.session.Session;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@link SessionFactory} decorator that retains a bounded number of sessions for which the current node is not an owner.
+ * This avoids a remote read per request when a session is accessed repeatedly by a non-owner, e.g. following failover or behind a non-sticky load balancer.
+ * Cached sessions are invalidated via an asynchronous cluster listener, once another member commits a modification to any cache entry of that session.
+ * Committed modifications originating from this member need not invalidate, since the cached session objects are those that were mutated.
+ * Sessions returned within a transaction that does not commit are invalidated on completion, since their cached objects may contain changes that were never stored.
+ */
+@Listener(clustered = true, sync = false)
+public class NearCacheSessionFactory<MV, AV, L> implements SessionFactory<MV, AV, L> {
+
+    private final SessionFactory<MV, AV, L> factory;
+    private final Cache<? extends Key<String>, ?> cache;
+    private final ConcurrentMap<String, Map.Entry<MV, AV>> entries;
+    private final NearCacheStatistics statistics;
+
+    public NearCacheSessionFactory(SessionFactory<MV, AV, L> factory, Cache<? extends Key<String>, ?> cache, int size, NearCacheStatistics statistics) {
+        this.factory = factory;
+        this.cache = cache;
+        this.entries = Caffeine.newBuilder().executor(Runnable::run).maximumSize(size).<String, Map.Entry<MV, AV>>build().asMap();
+        this.statistics = statistics;
+    }
+
+    public void start() {
+        SessionKeyFilterConverter filter = new SessionKeyFilterConverter();
+        this.cache.addListener(this, filter, filter);
+    }
+
+    public void stop() {
+        this.cache.removeListener(this);
+        this.entries.clear();
+    }
+
+    @Override
+    public Map.Entry<MV, AV> createValue(String id, Void context) {
+        return this.factory.createValue(id, context);
+    }
+
+    @Override
+    public Map.Entry<MV, AV> findValue(String id) {
+        if (!this.isRemote(id)) {
+            return this.factory.findValue(id);
+        }
+        Map.Entry<MV, AV> entry = this.entries.get(id);
+        if ((entry != null) && (entry.getKey() != null)) {
+            this.statistics.recordHit();
+            this.enlist(id, entry);
+            return entry;
+        }
+        this.statistics.recordMiss();
+        // Reserve the cache slot, so that we can detect any invalidation that occurs while we read from the cache
+        Map.Entry<MV, AV> reservation = new SimpleImmutableEntry<>(null, null);
+        boolean reserved = (entry == null) && (this.entries.putIfAbsent(id, reservation) == null);
+        Map.Entry<MV, AV> result = this.factory.findValue(id);
+        if (reserved) {
+            if (result != null) {
+                if (this.entries.replace(id, reservation, result)) {
+                    this.enlist(id, result);
+                }
+            } else {
+                this.entries.remove(id, reservation);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map.Entry<MV, AV> tryValue(String id) {
+        return this.factory.tryValue(id);
+    }
+
+    @Override
+    public boolean remove(String id) {
+        this.entries.remove(id);
+        return this.factory.remove(id);
+    }
+
+    @Override
+    public boolean purge(String id) {
+        this.entries.remove(id);
+        return this.factory.purge(id);
+    }
+
+    @Override
+    public SessionMetaDataFactory<MV, L> getMetaDataFactory() {
+        return this.factory.getMetaDataFactory();
+    }
+
+    @Override
+    public SessionAttributesFactory<AV> getAttributesFactory() {
+        return this.factory.getAttributesFactory();
+    }
+
+    @Override
+    public Session<L> createSession(String id, Map.Entry<MV, AV> entry) {
+        return this.factory.createSession(id, entry);
+    }
+
+    @Override
+    public ImmutableSession createImmutableSession(String id, Map.Entry<MV, AV> entry) {
+        return this.factory.createImmutableSession(id, entry);
+    }
+
+    @Override
+    public ImmutableSession createImmutableSession(String id, ImmutableSessionMetaData metaData, ImmutableSessionAttributes attributes) {
+        return this.factory.createImmutableSession(id, metaData, attributes);
+    }
+
+    @CacheEntryCreated
+    @CacheEntryModified
+    @CacheEntryRemoved
+    public void modified(CacheEntryEvent<Key<String>, ?> event) {
+        // Sessions removed by this member (e.g. via Session.invalidate()) bypass this factory, so removals must always invalidate
+        if (!event.isOriginLocal() || (event instanceof CacheEntryRemovedEvent)) {
+            this.entries.remove(event.getKey().getValue());
+        }
+    }
+
+    private void enlist(String id, Map.Entry<MV, AV> entry) {
+        TransactionManager tm = this.cache.getAdvancedCache().getTransactionManager();
+        if (tm == null) {
+            return;
+        }
+        try {
+            Transaction tx = tm.getTransaction();
+            if (tx != null) {
+                tx.registerSynchronization(new Synchronization() {
+                    @Override
+                    public void beforeCompletion() {
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != Status.STATUS_COMMITTED) {
+                            NearCacheSessionFactory.this.entries.remove(id, entry);
+                        }
+                    }
+                });
+            }
+        } catch (RollbackException | SystemException e) {
+            // Transaction will not commit, so any changes to this entry will not be stored
+            this.entries.remove(id, entry);
+        }
+    }
+
+    private boolean isRemote(String id) {
+        DistributionManager dist = this.cache.getAdvancedCache().getDistributionManager();
+        return (dist != null) && !dist.getCacheTopology().isReadOwner(new SessionCreationMetaDataKey(id));
+    }
+}
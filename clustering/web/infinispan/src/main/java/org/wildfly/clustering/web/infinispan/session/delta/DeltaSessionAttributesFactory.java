@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.delta;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
+import org.wildfly.clustering.web.cache.session.delta.DeltaSessionAttributes;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
+import org.wildfly.clustering.web.infinispan.session.coarse.SessionAttributesKey;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+
+/**
+ * {@link SessionAttributesFactory} for delta granularity sessions.
+ * A given session's attributes are stored in a single cache entry, as a map of individually marshalled attribute values.
+ * Modified attributes are applied to this map on the primary owner via a compute function, so only the changed attributes are replicated.
+ */
+@Listener(sync = false)
+public class DeltaSessionAttributesFactory<V> implements SessionAttributesFactory<Map<String, Object>> {
+
+    private final Cache<SessionAttributesKey, Map<String, V>> cache;
+    private final Marshaller<Object, V> marshaller;
+    private final Immutability immutability;
+    private final CacheProperties properties;
+
+    public DeltaSessionAttributesFactory(Cache<SessionAttributesKey, Map<String, V>> cache, Marshaller<Object, V> marshaller, Immutability immutability, CacheProperties properties) {
+        this.cache = cache;
+        this.marshaller = marshaller;
+        this.immutability = immutability;
+        this.properties = properties;
+    }
+
+    @Override
+    public Map<String, Object> createValue(String id, Void context) {
+        // Cache entry is created lazily, on first attribute mutation
+        return this.createMap();
+    }
+
+    @Override
+    public Map<String, Object> findValue(String id) {
+        Map<String, Object> attributes = this.createMap();
+        Map<String, V> values = this.cache.get(new SessionAttributesKey(id));
+        if (values != null) {
+            for (Map.Entry<String, V> entry : values.entrySet()) {
+                try {
+                    attributes.put(entry.getKey(), this.marshaller.read(entry.getValue()));
+                } catch (InvalidSerializedFormException e) {
+                    InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, entry.getKey());
+                    this.remove(id);
+                    return null;
+                }
+            }
+        }
+        return attributes;
+    }
+
+    @Override
+    public boolean remove(String id) {
+        this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(new SessionAttributesKey(id));
+        return true;
+    }
+
+    @Override
+    public SessionAttributes createSessionAttributes(String id, Map<String, Object> attributes) {
+        return new DeltaSessionAttributes<>(new SessionAttributesKey(id), attributes, this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES), this.marshaller, this.immutability, this.properties);
+    }
+
+    @Override
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, Object> attributes) {
+        return new CoarseImmutableSessionAttributes(attributes);
+    }
+
+    private Map<String, Object> createMap() {
+        return this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
+    }
+
+    @CacheEntriesEvicted
+    public void evicted(CacheEntriesEvictedEvent<Key<String>, ?> event) {
+        if (!event.isPre()) {
+            Cache<SessionAttributesKey, Map<String, V>> cache = this.cache.getAdvancedCache().withFlags(Flag.SKIP_LISTENER_NOTIFICATION);
+            for (Key<String> key : event.getEntries().keySet()) {
+                // Workaround for ISPN-8324
+                if (key instanceof SessionCreationMetaDataKey) {
+                    cache.evict(new SessionAttributesKey(key.getValue()));
+                }
+            }
+        }
+    }
+}
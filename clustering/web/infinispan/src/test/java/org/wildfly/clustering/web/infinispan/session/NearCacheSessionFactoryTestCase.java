@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+import org.wildfly.clustering.web.cache.session.SessionFactory;
+
+/**
+ * Unit test for {@link NearCacheSessionFactory}.
+ */
+public class NearCacheSessionFactoryTestCase {
+    private final SessionFactory<UUID, UUID, Object> factory = mock(SessionFactory.class);
+    private final Cache<Key<String>, Object> cache = mock(Cache.class);
+    private final AdvancedCache<Key<String>, Object> advancedCache = mock(AdvancedCache.class);
+    private final DistributionManager dist = mock(DistributionManager.class);
+    private final LocalizedCacheTopology topology = mock(LocalizedCacheTopology.class);
+    private final NearCacheStatistics statistics = new NearCacheStatistics();
+
+    private final SessionFactory<UUID, UUID, Object> subject = new NearCacheSessionFactory<>(this.factory, this.cache, 10, this.statistics);
+
+    @Test
+    public void findValue() {
+        String localId = "local";
+        String remoteId = "remote";
+        Map.Entry<UUID, UUID> localEntry = new SimpleImmutableEntry<>(UUID.randomUUID(), UUID.randomUUID());
+        Map.Entry<UUID, UUID> remoteEntry = new SimpleImmutableEntry<>(UUID.randomUUID(), UUID.randomUUID());
+
+        when(this.cache.getAdvancedCache()).thenReturn(this.advancedCache);
+        when(this.advancedCache.getDistributionManager()).thenReturn(this.dist);
+        when(this.dist.getCacheTopology()).thenReturn(this.topology);
+        when(this.topology.isReadOwner(new SessionCreationMetaDataKey(localId))).thenReturn(true);
+        when(this.topology.isReadOwner(new SessionCreationMetaDataKey(remoteId))).thenReturn(false);
+        when(this.factory.findValue(localId)).thenReturn(localEntry);
+        when(this.factory.findValue(remoteId)).thenReturn(remoteEntry);
+
+        // Sessions owned by the local member are never near-cached
+        assertSame(localEntry, this.subject.findValue(localId));
+        assertSame(localEntry, this.subject.findValue(localId));
+        verify(this.factory, times(2)).findValue(localId);
+        assertEquals(0L, this.statistics.getHits());
+        assertEquals(0L, this.statistics.getMisses());
+
+        assertSame(remoteEntry, this.subject.findValue(remoteId));
+        assertSame(remoteEntry, this.subject.findValue(remoteId));
+        verify(this.factory, times(1)).findValue(remoteId);
+        assertEquals(1L, this.statistics.getHits());
+        assertEquals(1L, this.statistics.getMisses());
+
+        // Local modifications should not invalidate
+        CacheEntryModifiedEvent<Key<String>, Object> localEvent = mock(CacheEntryModifiedEvent.class);
+        when(localEvent.isOriginLocal()).thenReturn(true);
+        when(localEvent.getKey()).thenReturn(new SessionAccessMetaDataKey(remoteId));
+        ((NearCacheSessionFactory<UUID, UUID, Object>) this.subject).modified(localEvent);
+
+        assertSame(remoteEntry, this.subject.findValue(remoteId));
+        verify(this.factory, times(1)).findValue(remoteId);
+        assertEquals(2L, this.statistics.getHits());
+
+        // Remote modifications should invalidate
+        CacheEntryModifiedEvent<Key<String>, Object> remoteEvent = mock(CacheEntryModifiedEvent.class);
+        when(remoteEvent.isOriginLocal()).thenReturn(false);
+        when(remoteEvent.getKey()).thenReturn(new SessionAccessMetaDataKey(remoteId));
+        ((NearCacheSessionFactory<UUID, UUID, Object>) this.subject).modified(remoteEvent);
+
+        assertSame(remoteEntry, this.subject.findValue(remoteId));
+        verify(this.factory, times(2)).findValue(remoteId);
+        assertEquals(2L, this.statistics.getMisses());
+
+        // Removals should always invalidate
+        CacheEntryRemovedEvent<Key<String>, Object> removedEvent = mock(CacheEntryRemovedEvent.class);
+        when(removedEvent.isOriginLocal()).thenReturn(true);
+        when(removedEvent.getKey()).thenReturn(new SessionCreationMetaDataKey(remoteId));
+        ((NearCacheSessionFactory<UUID, UUID, Object>) this.subject).modified(removedEvent);
+        when(this.factory.findValue(remoteId)).thenReturn(null);
+
+        assertNull(this.subject.findValue(remoteId));
+        assertNull(this.subject.findValue(remoteId));
+        verify(this.factory, times(4)).findValue(remoteId);
+        assertEquals(4L, this.statistics.getMisses());
+    }
+
+    @Test
+    public void remove() {
+        String id = "remote";
+        Map.Entry<UUID, UUID> entry = new SimpleImmutableEntry<>(UUID.randomUUID(), UUID.randomUUID());
+
+        when(this.cache.getAdvancedCache()).thenReturn(this.advancedCache);
+        when(this.advancedCache.getDistributionManager()).thenReturn(this.dist);
+        when(this.dist.getCacheTopology()).thenReturn(this.topology);
+        when(this.topology.isReadOwner(new SessionCreationMetaDataKey(id))).thenReturn(false);
+        when(this.factory.findValue(id)).thenReturn(entry);
+        when(this.factory.remove(id)).thenReturn(true);
+
+        assertSame(entry, this.subject.findValue(id));
+
+        assertTrue(this.subject.remove(id));
+
+        assertSame(entry, this.subject.findValue(id));
+        verify(this.factory, times(2)).findValue(id);
+    }
+
+    @Test
+    public void rollback() throws Exception {
+        String id = "remote";
+        Map.Entry<UUID, UUID> entry = new SimpleImmutableEntry<>(UUID.randomUUID(), UUID.randomUUID());
+        TransactionManager tm = mock(TransactionManager.class);
+        Transaction tx = mock(Transaction.class);
+        ArgumentCaptor<Synchronization> capturedSynchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+        when(this.cache.getAdvancedCache()).thenReturn(this.advancedCache);
+        when(this.advancedCache.getDistributionManager()).thenReturn(this.dist);
+        when(this.advancedCache.getTransactionManager()).thenReturn(tm);
+        when(tm.getTransaction()).thenReturn(tx);
+        when(this.dist.getCacheTopology()).thenReturn(this.topology);
+        when(this.topology.isReadOwner(new SessionCreationMetaDataKey(id))).thenReturn(false);
+        when(this.factory.findValue(id)).thenReturn(entry);
+
+        assertSame(entry, this.subject.findValue(id));
+
+        verify(tx).registerSynchronization(capturedSynchronization.capture());
+
+        // Committed changes were applied to the cached entry
+        capturedSynchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        assertSame(entry, this.subject.findValue(id));
+        verify(this.factory, times(1)).findValue(id);
+
+        verify(tx, times(2)).registerSynchronization(capturedSynchronization.capture());
+
+        // Changes to the cached entry were never stored
+        capturedSynchronization.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        assertSame(entry, this.subject.findValue(id));
+        verify(this.factory, times(2)).findValue(id);
+    }
+}
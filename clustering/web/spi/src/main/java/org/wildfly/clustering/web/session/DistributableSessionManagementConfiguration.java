@@ -29,4 +29,12 @@ package org.wildfly.clustering.web.session;
 public interface DistributableSessionManagementConfiguration {
 
     SessionAttributePersistenceStrategy getAttributePersistenceStrategy();
+
+    /**
+     * Returns the minimum size, in bytes, of a serialized session attribute value, above which it is compressed.
+     * @return a number of bytes, or null, if session attribute values are never compressed
+     */
+    default Integer getCompressionThreshold() {
+        return null;
+    }
 }
@@ -25,6 +25,7 @@ package org.wildfly.clustering.web.session;
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
 import org.jboss.as.server.deployment.AttachmentKey;
 import org.jboss.as.server.deployment.AttachmentList;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
 import org.wildfly.clustering.marshalling.spi.Marshallability;
 import org.wildfly.clustering.web.WebDeploymentConfiguration;
 
@@ -49,4 +50,16 @@ public interface DistributableSessionManagementProvider {
      * @return a service configurator
      */
     CapabilityServiceConfigurator getRouteLocatorServiceConfigurator(WebDeploymentConfiguration configuration);
+
+    /**
+     * Returns the configuration of this provider.
+     * @return the configuration of this provider
+     */
+    DistributableSessionManagementConfiguration getSessionManagementConfiguration();
+
+    /**
+     * Returns the compression statistics of all session managers created by this provider.
+     * @return compression statistics
+     */
+    CompressionStatistics getCompressionStatistics();
 }
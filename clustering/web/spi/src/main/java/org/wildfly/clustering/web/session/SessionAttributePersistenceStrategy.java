@@ -26,5 +26,5 @@ package org.wildfly.clustering.web.session;
  * @author Paul Ferraro
  */
 public enum SessionAttributePersistenceStrategy {
-    COARSE, FINE
+    COARSE, DELTA, FINE
 }
\ No newline at end of file
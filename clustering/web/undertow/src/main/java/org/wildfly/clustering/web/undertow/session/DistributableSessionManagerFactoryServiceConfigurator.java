@@ -85,7 +85,7 @@ public class DistributableSessionManagerFactoryServiceConfigurator extends Simpl
     public DistributableSessionManagerFactoryServiceConfigurator(ServiceName name, SessionManagerFactoryConfiguration configuration, DistributableSessionManagementProvider provider, Immutability immutability) {
         super(name);
         this.configuration = configuration;
-        this.configurator = provider.getSessionManagerFactoryServiceConfigurator(new SessionManagerFactoryConfigurationAdapter(configuration, immutability));
+        this.configurator = provider.getSessionManagerFactoryServiceConfigurator(new SessionManagerFactoryConfigurationAdapter(configuration, provider, immutability));
     }
 
     @Override
@@ -94,6 +94,14 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
             .setRequired(false)
             .build();
 
+    static final SimpleAttributeDefinition STATEMENT_CACHE_SIZE_ATTRIBUTE = create("statement-cache-size", ModelType.INT)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(0))
+            .setRequired(false)
+            .setRestartAllServices()
+            .setValidator(new IntRangeValidator(0))
+            .build();
+
     // --- connection-factory attributes //
 
     static final SimpleAttributeDefinition DRIVER_ATTRIBUTE = create("driver", ModelType.STRING)
@@ -314,7 +322,15 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
             .setStorageRuntime()
             .build();
 
-    private static final ObjectTypeAttributeDefinition STATISTICS = ObjectTypeAttributeDefinition.create("statistics", STATISTICS_ACQUIRE_COUNT_ATTRIBUTE, STATISTICS_ACTIVE_COUNT_ATTRIBUTE, STATISTICS_AVAILABLE_COUNT_ATTRIBUTE, STATISTICS_AWAITING_COUNT_ATTRIBUTE, STATISTICS_CREATION_COUNT_ATTRIBUTE, STATISTICS_DESTOY_COUNT_ATTRIBUTE, STATISTICS_FLUSH_COUNT_ATTRIBUTE, STATISTICS_INVALID_COUNT_ATTRIBUTE, STATISTICS_LEAK_DETECTION_COUNT_ATTRIBUTE, STATISTICS_MAX_USED_COUNT_ATTRIBUTE, STATISTICS_REAP_COUNT_ATTRIBUTE, STATISTICS_BLOCKING_TIME_AVERAGE_ATTRIBUTE, STATISTICS_BLOCKING_TIME_MAX_ATTRIBUTE, STATISTICS_BLOCKING_TIME_TOTAL_ATTRIBUTE, STATISTICS_CREATION_TIME_AVERAGE_ATTRIBUTE, STATISTICS_CREATION_TIME_MAX_ATTRIBUTE, STATISTICS_CREATION_TIME_TOTAL_ATTRIBUTE)
+    static final SimpleAttributeDefinition STATISTICS_STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE = create("statement-cache-hit-count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATISTICS_STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE = create("statement-cache-miss-count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    private static final ObjectTypeAttributeDefinition STATISTICS = ObjectTypeAttributeDefinition.create("statistics", STATISTICS_ACQUIRE_COUNT_ATTRIBUTE, STATISTICS_ACTIVE_COUNT_ATTRIBUTE, STATISTICS_AVAILABLE_COUNT_ATTRIBUTE, STATISTICS_AWAITING_COUNT_ATTRIBUTE, STATISTICS_CREATION_COUNT_ATTRIBUTE, STATISTICS_DESTOY_COUNT_ATTRIBUTE, STATISTICS_FLUSH_COUNT_ATTRIBUTE, STATISTICS_INVALID_COUNT_ATTRIBUTE, STATISTICS_LEAK_DETECTION_COUNT_ATTRIBUTE, STATISTICS_MAX_USED_COUNT_ATTRIBUTE, STATISTICS_REAP_COUNT_ATTRIBUTE, STATISTICS_BLOCKING_TIME_AVERAGE_ATTRIBUTE, STATISTICS_BLOCKING_TIME_MAX_ATTRIBUTE, STATISTICS_BLOCKING_TIME_TOTAL_ATTRIBUTE, STATISTICS_CREATION_TIME_AVERAGE_ATTRIBUTE, STATISTICS_CREATION_TIME_MAX_ATTRIBUTE, STATISTICS_CREATION_TIME_TOTAL_ATTRIBUTE, STATISTICS_STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE, STATISTICS_STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE)
             .setRequired(false)
             .setStorageRuntime()
             .build();
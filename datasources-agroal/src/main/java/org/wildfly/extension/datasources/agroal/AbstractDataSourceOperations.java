@@ -147,16 +147,21 @@ class AbstractDataSourceOperations {
     // --- //
 
     private static AgroalDataSource getDataSource(OperationContext context) throws OperationFailedException {
+        return ((DataSourceService) getDataSourceController(context).getService()).getAgroalDataSource();
+    }
+
+    private static StatementCachingDataSource getStatementCachingDataSource(OperationContext context) throws OperationFailedException {
+        return ((DataSourceService) getDataSourceController(context).getService()).getStatementCachingDataSource();
+    }
+
+    private static ServiceController<?> getDataSourceController(OperationContext context) throws OperationFailedException {
         ServiceRegistry registry = context.getServiceRegistry(false);
         String dataSourceName = context.getCurrentAddressValue();
 
         switch (context.getCurrentAddress().getLastElement().getKey()) {
             case DataSourceOperations.DATASOURCE_SERVICE_NAME:
-                ServiceController<?> controller = registry.getRequiredService(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.getCapabilityServiceName(dataSourceName));
-                return ((AgroalDataSource) controller.getValue());
             case XADataSourceOperations.XADATASOURCE_SERVICE_NAME:
-                ServiceController<?> xaController = registry.getRequiredService(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.getCapabilityServiceName(dataSourceName));
-                return ((AgroalDataSource) xaController.getValue());
+                return registry.getRequiredService(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.getCapabilityServiceName(dataSourceName));
             default:
                 throw AgroalLogger.SERVICE_LOGGER.unknownDatasourceServiceType(context.getCurrentAddress().getLastElement().getKey());
         }
@@ -301,6 +306,10 @@ class AbstractDataSourceOperations {
                 result.get(AbstractDataSourceDefinition.STATISTICS_CREATION_TIME_MAX_ATTRIBUTE.getName()).set(metrics.creationTimeMax().toMillis());
                 result.get(AbstractDataSourceDefinition.STATISTICS_CREATION_TIME_TOTAL_ATTRIBUTE.getName()).set(metrics.creationTimeTotal().toMillis());
 
+                StatementCachingDataSource statementCache = getStatementCachingDataSource(context);
+                result.get(AbstractDataSourceDefinition.STATISTICS_STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE.getName()).set(statementCache != null ? statementCache.getHitCount() : 0L);
+                result.get(AbstractDataSourceDefinition.STATISTICS_STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE.getName()).set(statementCache != null ? statementCache.getMissCount() : 0L);
+
                 context.getResult().set(result);
             }
         }
@@ -312,6 +321,11 @@ class AbstractDataSourceOperations {
         public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
             if (context.isNormalServer()) {
                 getDataSource(context).getMetrics().reset();
+
+                StatementCachingDataSource statementCache = getStatementCachingDataSource(context);
+                if (statementCache != null) {
+                    statementCache.resetStatistics();
+                }
             }
         }
     }
@@ -44,13 +44,17 @@ class AgroalSubsystemParser_1_0 extends PersistentResourceXMLParser {
 
         PersistentResourceXMLBuilder datasourceXMLBuilder = builder(DataSourceDefinition.INSTANCE.getPathElement());
         for (AttributeDefinition attributeDefinition : DataSourceDefinition.ATTRIBUTES) {
-            datasourceXMLBuilder.addAttribute(attributeDefinition);
+            if (attributeDefinition != AbstractDataSourceDefinition.STATEMENT_CACHE_SIZE_ATTRIBUTE) {
+                datasourceXMLBuilder.addAttribute(attributeDefinition);
+            }
         }
         subsystemXMLBuilder.addChild(datasourceXMLBuilder);
 
         PersistentResourceXMLBuilder xaDatasourceXMLBuilder = builder(XADataSourceDefinition.INSTANCE.getPathElement());
         for (AttributeDefinition attributeDefinition : XADataSourceDefinition.ATTRIBUTES) {
-            xaDatasourceXMLBuilder.addAttribute(attributeDefinition);
+            if (attributeDefinition != AbstractDataSourceDefinition.STATEMENT_CACHE_SIZE_ATTRIBUTE) {
+                xaDatasourceXMLBuilder.addAttribute(attributeDefinition);
+            }
         }
         subsystemXMLBuilder.addChild(xaDatasourceXMLBuilder);
 
@@ -76,11 +76,12 @@ class DataSourceOperations {
             dataSourceConfiguration.metricsEnabled(AbstractDataSourceDefinition.STATISTICS_ENABLED_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean());
 
             String jndiName = AbstractDataSourceDefinition.JNDI_NAME_ATTRIBUTE.resolveModelAttribute(context, model).asString();
+            int statementCacheSize = AbstractDataSourceDefinition.STATEMENT_CACHE_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt();
             boolean jta = DataSourceDefinition.JTA_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
             boolean connectable = DataSourceDefinition.CONNECTABLE_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
             String driverName = AbstractDataSourceDefinition.DRIVER_ATTRIBUTE.resolveModelAttribute(context, factoryModel).asString();
 
-            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, jta, connectable, false, dataSourceConfiguration);
+            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, jta, connectable, false, statementCacheSize, dataSourceConfiguration);
 
             CapabilityServiceBuilder serviceBuilder = context.getCapabilityServiceTarget().addCapability(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.fromBaseCapability(datasourceName))
                     .setInstance(dataSourceService)
@@ -71,7 +71,7 @@ import java.util.function.Supplier;
  *
  * @author <a href="lbarreiro@redhat.com">Luis Barreiro</a>
  */
-public class DataSourceService implements Service<AgroalDataSource>, Supplier<AgroalDataSource> {
+public class DataSourceService implements Service<DataSource>, Supplier<DataSource> {
 
     private static final AuthenticationContextConfigurationClient AUTH_CONFIG_CLIENT = AccessController.doPrivileged(AuthenticationContextConfigurationClient.ACTION);
 
@@ -80,21 +80,24 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
     private final boolean jta;
     private final boolean connectable;
     private final boolean xa;
+    private final int statementCacheSize;
 
     private final AgroalDataSourceConfigurationSupplier dataSourceConfiguration;
     private AgroalDataSource agroalDataSource;
+    private StatementCachingDataSource statementCachingDataSource;
 
     private InjectedValue<Class> driverInjector = new InjectedValue<>();
     private InjectedValue<AuthenticationContext> authenticationContextInjector = new InjectedValue<>();
     private InjectedValue<ExceptionSupplier<CredentialSource, Exception>> credentialSourceSupplierInjector = new InjectedValue<>();
     private InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistryInjector = new InjectedValue<>();
 
-    public DataSourceService(String dataSourceName, String jndiName, boolean jta, boolean connectable, boolean xa, AgroalDataSourceConfigurationSupplier dataSourceConfiguration) {
+    public DataSourceService(String dataSourceName, String jndiName, boolean jta, boolean connectable, boolean xa, int statementCacheSize, AgroalDataSourceConfigurationSupplier dataSourceConfiguration) {
         this.dataSourceName = dataSourceName;
         this.jndiName = jndiName;
         this.jta = jta;
         this.connectable = connectable;
         this.xa = xa;
+        this.statementCacheSize = statementCacheSize;
         this.dataSourceConfiguration = dataSourceConfiguration;
     }
 
@@ -174,11 +177,16 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         }
 
         try {
-            agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName));
+            if (statementCacheSize > 0) {
+                statementCachingDataSource = new StatementCachingDataSource(listener -> AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName), listener), statementCacheSize);
+                agroalDataSource = statementCachingDataSource.getDelegate();
+            } else {
+                agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName));
+            }
 
             ContextNames.BindInfo bindInfo = ContextNames.bindInfoFor(jndiName);
             BinderService binderService = new BinderService(bindInfo.getBindName());
-            binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(agroalDataSource));
+            binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(get()));
             context.getChildTarget().addService(bindInfo.getBinderServiceName(), binderService)
                    .addDependency(bindInfo.getParentContextServiceName(), ServiceBasedNamingStore.class, binderService.getNamingStoreInjector())
                    .install();
@@ -200,6 +208,10 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
 
     @Override
     public void stop(StopContext context) {
+        if (statementCachingDataSource != null) {
+            statementCachingDataSource.close();
+            statementCachingDataSource = null;
+        }
         agroalDataSource.close();
         if (xa) {
             AgroalLogger.SERVICE_LOGGER.stoppedXADataSource(dataSourceName);
@@ -208,16 +220,33 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         }
     }
 
+    /**
+     * The DataSource bound in JNDI, which is the statement cache when statement caching is enabled
+     */
     @Override
-    public AgroalDataSource getValue() throws IllegalStateException, IllegalArgumentException {
-        return agroalDataSource;
+    public DataSource getValue() throws IllegalStateException, IllegalArgumentException {
+        return get();
     }
 
     @Override
-    public AgroalDataSource get() {
+    public DataSource get() {
+        return statementCachingDataSource != null ? statementCachingDataSource : agroalDataSource;
+    }
+
+    /**
+     * The underlying pool, used by the management operations
+     */
+    AgroalDataSource getAgroalDataSource() {
         return agroalDataSource;
     }
 
+    /**
+     * The statement cache layered over the pool, or null if statement caching is disabled
+     */
+    StatementCachingDataSource getStatementCachingDataSource() {
+        return statementCachingDataSource;
+    }
+
     // --- //
 
     public InjectedValue<Class> getDriverInjector() {
@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
+
+/**
+ * LRU cache of the prepared statements of a single physical connection.
+ * A statement is removed from the cache while it is in use, so it is never handed to two callers at the same time.
+ */
+final class PreparedStatementCache {
+
+    private final int maxSize;
+    private final Map<Key, PreparedStatement> statements;
+
+    PreparedStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<Key, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > PreparedStatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Removes the cached statement for the given key, if any.
+     */
+    synchronized PreparedStatement checkout(Key key) {
+        return statements.remove(key);
+    }
+
+    /**
+     * Returns a statement to the cache, possibly evicting the least recently used one.
+     */
+    synchronized void checkin(Key key, PreparedStatement statement) {
+        PreparedStatement previous = statements.put(key, statement);
+        if (previous != null) {
+            // The same statement was prepared twice on this connection, keep only the latest
+            closeQuietly(previous);
+        }
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    synchronized void close() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            AgroalLogger.POOL_LOGGER.debugf(e, "Failed to close cached statement %s", statement);
+        }
+    }
+
+    // --- //
+
+    enum Kind {
+        STATEMENT,
+        CALL,
+    }
+
+    /**
+     * Identifies a cacheable statement by its kind, SQL and result set type and concurrency.
+     */
+    static final class Key {
+
+        private final Kind kind;
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+
+        Key(Kind kind, String sql) {
+            this(kind, sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        }
+
+        Key(Kind kind, String sql, int resultSetType, int resultSetConcurrency) {
+            this.kind = kind;
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        PreparedStatement prepare(Connection connection) throws SQLException {
+            switch (kind) {
+                case CALL:
+                    return connection.prepareCall(sql, resultSetType, resultSetConcurrency);
+                default:
+                    return connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+            }
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) object;
+            return kind == key.kind && resultSetType == key.resultSetType && resultSetConcurrency == key.resultSetConcurrency && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = sql.hashCode();
+            result = 31 * result + kind.hashCode();
+            result = 31 * result + resultSetType;
+            return 31 * result + resultSetConcurrency;
+        }
+
+        @Override
+        public String toString() {
+            return kind + ":" + sql;
+        }
+    }
+}
@@ -0,0 +1,511 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceListener;
+import org.wildfly.common.function.ExceptionFunction;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * DataSource that keeps a {@link PreparedStatementCache} per physical connection of an Agroal pool.
+ * <p>
+ * Statements are prepared on the physical connection, so they survive the connection being returned to the pool.
+ * Within a JTA transaction Agroal hands out the connection already enlisted with the transaction, so every lookup
+ * made by the transaction hits the same cache.
+ * The pool is created with a listener that closes and discards the cache of a physical connection once Agroal
+ * destroys it, so caches never hold on to connections that are no longer pooled.
+ * Settings a caller changes on a statement are restored before it goes back to the cache. Statements whose changes
+ * cannot be undone, such as a cursor name, are closed instead of cached.
+ */
+final class StatementCachingDataSource implements DataSource {
+
+    private final AgroalDataSource delegate;
+    private final int cacheSize;
+
+    private final Map<Connection, PreparedStatementCache> caches = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param poolFactory creates the Agroal pool, registering the given listener with it
+     * @param cacheSize the maximum number of statements cached per physical connection
+     */
+    StatementCachingDataSource(ExceptionFunction<AgroalDataSourceListener, AgroalDataSource, SQLException> poolFactory, int cacheSize) throws SQLException {
+        this.cacheSize = cacheSize;
+        this.delegate = poolFactory.apply(new CacheEvictionListener());
+    }
+
+    AgroalDataSource getDelegate() {
+        return delegate;
+    }
+
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    void close() {
+        for (PreparedStatementCache cache : caches.values()) {
+            cache.close();
+        }
+        caches.clear();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(delegate.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) throws SQLException {
+        Connection physicalConnection = connection.unwrap(Connection.class);
+        if (physicalConnection == null || physicalConnection == connection) {
+            // The driver does not expose the pooled connection, so there is nothing to key the cache on
+            return connection;
+        }
+        PreparedStatementCache cache = caches.computeIfAbsent(physicalConnection, key -> new PreparedStatementCache(cacheSize));
+        return (Connection) Proxy.newProxyInstance(StatementCachingDataSource.class.getClassLoader(), new Class<?>[] { Connection.class }, new ConnectionHandler(connection, physicalConnection, cache));
+    }
+
+    private boolean evict(Connection physicalConnection) {
+        PreparedStatementCache cache = caches.remove(physicalConnection);
+        if (cache != null) {
+            cache.close();
+        }
+        return cache != null;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    // --- //
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static PreparedStatementCache.Key cacheKey(Method method, Object[] args) {
+        PreparedStatementCache.Kind kind;
+        switch (method.getName()) {
+            case "prepareStatement":
+                kind = PreparedStatementCache.Kind.STATEMENT;
+                break;
+            case "prepareCall":
+                kind = PreparedStatementCache.Kind.CALL;
+                break;
+            default:
+                return null;
+        }
+        // Only the variants that differ by result set type and concurrency are cached
+        switch (args.length) {
+            case 1:
+                return new PreparedStatementCache.Key(kind, (String) args[0]);
+            case 3:
+                return new PreparedStatementCache.Key(kind, (String) args[0], (Integer) args[1], (Integer) args[2]);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Statement settings that are restored to the value they had when the statement was checked out of the cache.
+     */
+    private enum StatementSetting {
+        MAX_ROWS("setMaxRows") {
+            @Override
+            Object get(Statement statement) throws SQLException {
+                return statement.getMaxRows();
+            }
+
+            @Override
+            void set(Statement statement, Object value) throws SQLException {
+                statement.setMaxRows((Integer) value);
+            }
+        },
+        LARGE_MAX_ROWS("setLargeMaxRows") {
+            @Override
+            Object get(Statement statement) throws SQLException {
+                return statement.getLargeMaxRows();
+            }
+
+            @Override
+            void set(Statement statement, Object value) throws SQLException {
+                statement.setLargeMaxRows((Long) value);
+            }
+        },
+        FETCH_SIZE("setFetchSize") {
+            @Override
+            Object get(Statement statement) throws SQLException {
+                return statement.getFetchSize();
+            }
+
+            @Override
+            void set(Statement statement, Object value) throws SQLException {
+                statement.setFetchSize((Integer) value);
+            }
+        },
+        FETCH_DIRECTION("setFetchDirection") {
+            @Override
+            Object get(Statement statement) throws SQLException {
+                return statement.getFetchDirection();
+            }
+
+            @Override
+            void set(Statement statement, Object value) throws SQLException {
+                statement.setFetchDirection((Integer) value);
+            }
+        },
+        QUERY_TIMEOUT("setQueryTimeout") {
+            @Override
+            Object get(Statement statement) throws SQLException {
+                return statement.getQueryTimeout();
+            }
+
+            @Override
+            void set(Statement statement, Object value) throws SQLException {
+                statement.setQueryTimeout((Integer) value);
+            }
+        },
+        MAX_FIELD_SIZE("setMaxFieldSize") {
+            @Override
+            Object get(Statement statement) throws SQLException {
+                return statement.getMaxFieldSize();
+            }
+
+            @Override
+            void set(Statement statement, Object value) throws SQLException {
+                statement.setMaxFieldSize((Integer) value);
+            }
+        },
+        POOLABLE("setPoolable") {
+            @Override
+            Object get(Statement statement) throws SQLException {
+                return statement.isPoolable();
+            }
+
+            @Override
+            void set(Statement statement, Object value) throws SQLException {
+                statement.setPoolable((Boolean) value);
+            }
+        };
+
+        private static final Map<String, StatementSetting> SETTERS = new HashMap<>();
+        static {
+            for (StatementSetting setting : values()) {
+                SETTERS.put(setting.setter, setting);
+            }
+        }
+
+        private final String setter;
+
+        StatementSetting(String setter) {
+            this.setter = setter;
+        }
+
+        abstract Object get(Statement statement) throws SQLException;
+
+        abstract void set(Statement statement, Object value) throws SQLException;
+
+        static StatementSetting forSetter(String methodName) {
+            return SETTERS.get(methodName);
+        }
+    }
+
+    /**
+     * Discards the statements of a physical connection destroyed by the pool.
+     */
+    private final class CacheEvictionListener implements AgroalDataSourceListener {
+
+        @Override
+        public void onConnectionDestroy(Connection connection) {
+            // Agroal delegates unwrap() to this connection, which drivers usually implement by returning itself
+            if (!evict(connection)) {
+                try {
+                    Connection unwrapped = connection.unwrap(Connection.class);
+                    if (unwrapped != null) {
+                        evict(unwrapped);
+                    }
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles a connection leased from the pool, serving prepared statements from the cache of its physical connection.
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Connection physicalConnection;
+        private final PreparedStatementCache cache;
+        private final Set<StatementHandler> openStatements = new HashSet<>();
+        private boolean closed;
+
+        ConnectionHandler(Connection connection, Connection physicalConnection, PreparedStatementCache cache) {
+            this.connection = connection;
+            this.physicalConnection = physicalConnection;
+            this.cache = cache;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    releaseStatements();
+                    break;
+                case "prepareStatement":
+                case "prepareCall":
+                    PreparedStatementCache.Key key = cacheKey(method, args);
+                    if (key != null && !isClosed()) {
+                        return prepare((Connection) proxy, key);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return StatementCachingDataSource.invoke(connection, method, args);
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+
+        private PreparedStatement prepare(Connection proxy, PreparedStatementCache.Key key) throws SQLException {
+            PreparedStatement statement = cache.checkout(key);
+            if (statement != null && !statement.isClosed()) {
+                hitCount.increment();
+            } else {
+                missCount.increment();
+                statement = key.prepare(physicalConnection);
+            }
+            StatementHandler handler = new StatementHandler(this, proxy, key, statement);
+            synchronized (this) {
+                openStatements.add(handler);
+            }
+            Class<?> type = (key.getKind() == PreparedStatementCache.Kind.CALL) ? CallableStatement.class : PreparedStatement.class;
+            return (PreparedStatement) Proxy.newProxyInstance(StatementCachingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+        }
+
+        private void releaseStatements() {
+            Set<StatementHandler> statements;
+            synchronized (this) {
+                closed = true;
+                statements = new HashSet<>(openStatements);
+                openStatements.clear();
+            }
+            for (StatementHandler statement : statements) {
+                statement.release();
+            }
+        }
+
+        synchronized void closed(StatementHandler statement) {
+            openStatements.remove(statement);
+        }
+
+        void checkin(PreparedStatementCache.Key key, PreparedStatement statement) {
+            cache.checkin(key, statement);
+        }
+    }
+
+    /**
+     * Handles a statement served from the cache, putting it back in the cache when closed instead of closing it.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final ConnectionHandler connectionHandler;
+        private final Connection connection;
+        private final PreparedStatementCache.Key key;
+        private final PreparedStatement statement;
+        private volatile boolean closed;
+        private volatile boolean batched;
+        // Set once a caller changes a setting that has no getter to restore it from, or that cannot be reverted
+        private volatile boolean discard;
+        private final Map<StatementSetting, Object> originalSettings = new EnumMap<>(StatementSetting.class);
+
+        StatementHandler(ConnectionHandler connectionHandler, Connection connection, PreparedStatementCache.Key key, PreparedStatement statement) {
+            this.connectionHandler = connectionHandler;
+            this.connection = connection;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return statement.toString();
+                case "close":
+                    if (!closed) {
+                        connectionHandler.closed(this);
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "getConnection":
+                    if (closed) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    return connection;
+                case "addBatch":
+                    batched = true;
+                    break;
+                case "setCursorName":
+                case "setEscapeProcessing":
+                case "closeOnCompletion":
+                    discard = true;
+                    break;
+                default:
+                    StatementSetting setting = StatementSetting.forSetter(method.getName());
+                    if (setting != null && !closed) {
+                        record(setting);
+                    }
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            return StatementCachingDataSource.invoke(statement, method, args);
+        }
+
+        private synchronized void record(StatementSetting setting) throws SQLException {
+            if (!originalSettings.containsKey(setting)) {
+                originalSettings.put(setting, setting.get(statement));
+            }
+        }
+
+        private synchronized void restoreSettings() throws SQLException {
+            for (Map.Entry<StatementSetting, Object> entry : originalSettings.entrySet()) {
+                entry.getKey().set(statement, entry.getValue());
+            }
+            originalSettings.clear();
+        }
+
+        void release() {
+            closed = true;
+            try {
+                if (statement.isClosed()) {
+                    return;
+                }
+                if (discard) {
+                    PreparedStatementCache.closeQuietly(statement);
+                    return;
+                }
+                ResultSet resultSet = statement.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                statement.clearParameters();
+                statement.clearWarnings();
+                if (batched) {
+                    statement.clearBatch();
+                }
+                restoreSettings();
+                connectionHandler.checkin(key, statement);
+            } catch (SQLException e) {
+                PreparedStatementCache.closeQuietly(statement);
+            }
+        }
+    }
+}
@@ -39,7 +39,7 @@ import org.jboss.as.controller.access.management.ApplicationTypeAccessConstraint
  */
 class XADataSourceDefinition extends AbstractDataSourceDefinition {
 
-    static final Collection<AttributeDefinition> ATTRIBUTES = unmodifiableList(asList(JNDI_NAME_ATTRIBUTE, STATISTICS_ENABLED_ATTRIBUTE, CONNECTION_FACTORY_ATTRIBUTE, CONNECTION_POOL_ATTRIBUTE));
+    static final Collection<AttributeDefinition> ATTRIBUTES = unmodifiableList(asList(JNDI_NAME_ATTRIBUTE, STATISTICS_ENABLED_ATTRIBUTE, STATEMENT_CACHE_SIZE_ATTRIBUTE, CONNECTION_FACTORY_ATTRIBUTE, CONNECTION_POOL_ATTRIBUTE));
 
     static final XADataSourceDefinition INSTANCE = new XADataSourceDefinition();
 
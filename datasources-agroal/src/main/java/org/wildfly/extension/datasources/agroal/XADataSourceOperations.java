@@ -79,9 +79,10 @@ class XADataSourceOperations extends AbstractAddStepHandler {
             dataSourceConfiguration.metricsEnabled(AbstractDataSourceDefinition.STATISTICS_ENABLED_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean());
 
             String jndiName = AbstractDataSourceDefinition.JNDI_NAME_ATTRIBUTE.resolveModelAttribute(context, model).asString();
+            int statementCacheSize = AbstractDataSourceDefinition.STATEMENT_CACHE_SIZE_ATTRIBUTE.resolveModelAttribute(context, model).asInt();
             String driverName = AbstractDataSourceDefinition.DRIVER_ATTRIBUTE.resolveModelAttribute(context, factoryModel).asString();
 
-            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, false, false, true, dataSourceConfiguration);
+            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, false, false, true, statementCacheSize, dataSourceConfiguration);
 
             CapabilityServiceBuilder serviceBuilder = context.getCapabilityServiceTarget().addCapability(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.fromBaseCapability(datasourceName))
                     .setInstance(dataSourceService)
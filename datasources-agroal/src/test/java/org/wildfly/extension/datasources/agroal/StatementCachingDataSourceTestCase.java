@@ -0,0 +1,264 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.datasources.agroal;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceListener;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the prepared statement cache layered over the connections of an Agroal pool
+ */
+public class StatementCachingDataSourceTestCase {
+
+    private final List<PreparedStatement> prepared = new ArrayList<>();
+    private final List<PreparedStatement> closed = new ArrayList<>();
+    private Connection physicalConnection;
+    private Connection leasedConnection;
+    private AgroalDataSourceListener listener;
+
+    @Before
+    public void setup() {
+        physicalConnection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "prepareCall":
+                    PreparedStatement statement = statement();
+                    prepared.add(statement);
+                    return statement;
+                case "isClosed":
+                    return false;
+                case "unwrap":
+                    return proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return null;
+            }
+        });
+        leasedConnection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "unwrap":
+                    return physicalConnection;
+                case "prepareStatement":
+                    return statement();
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private PreparedStatement statement() {
+        boolean[] isClosed = new boolean[1];
+        int[] maxRows = new int[1];
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getMaxRows":
+                    return maxRows[0];
+                case "setMaxRows":
+                    maxRows[0] = (Integer) args[0];
+                    return null;
+                case "close":
+                    isClosed[0] = true;
+                    closed.add((PreparedStatement) proxy);
+                    return null;
+                case "isClosed":
+                    return isClosed[0];
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "executeUpdate":
+                    return 1;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private StatementCachingDataSource createDataSource(int cacheSize) throws SQLException {
+        AgroalDataSource pool = (AgroalDataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { AgroalDataSource.class }, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return leasedConnection;
+            }
+            return null;
+        });
+        return new StatementCachingDataSource(listener -> {
+            this.listener = listener;
+            return pool;
+        }, cacheSize);
+    }
+
+    @Test
+    public void testStatementReusedAcrossLeases() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(10);
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+                Assert.assertEquals(1, statement.executeUpdate());
+                Assert.assertSame(connection, statement.getConnection());
+            }
+        }
+
+        Assert.assertEquals(1, prepared.size());
+        Assert.assertTrue(closed.isEmpty());
+        Assert.assertEquals(2, dataSource.getHitCount());
+        Assert.assertEquals(1, dataSource.getMissCount());
+
+        dataSource.resetStatistics();
+        Assert.assertEquals(0, dataSource.getHitCount());
+        Assert.assertEquals(0, dataSource.getMissCount());
+    }
+
+    @Test
+    public void testStatementInUseIsNotShared() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(10);
+
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement first = connection.prepareStatement("SELECT 1");
+            PreparedStatement second = connection.prepareStatement("SELECT 1");
+            Assert.assertEquals(2, prepared.size());
+            first.close();
+            second.close();
+        }
+        // Only one of the two statements fits in the cache slot for this SQL
+        Assert.assertEquals(1, closed.size());
+        Assert.assertEquals(2, dataSource.getMissCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementEvicted() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(1);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+            connection.prepareStatement("SELECT 2").close();
+        }
+
+        Assert.assertEquals(2, prepared.size());
+        Assert.assertEquals(1, closed.size());
+        Assert.assertSame(prepared.get(0), closed.get(0));
+    }
+
+    @Test
+    public void testConnectionCloseReleasesStatements() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(10);
+
+        PreparedStatement statement;
+        try (Connection connection = dataSource.getConnection()) {
+            statement = connection.prepareStatement("SELECT 1");
+        }
+        Assert.assertTrue(statement.isClosed());
+        try {
+            statement.executeUpdate();
+            Assert.fail("Statement should be closed");
+        } catch (SQLException expected) {
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+        }
+        Assert.assertEquals(1, prepared.size());
+        Assert.assertEquals(1, dataSource.getHitCount());
+    }
+
+    @Test
+    public void testDestroyedConnectionEvicted() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(10);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+        }
+        Assert.assertTrue(closed.isEmpty());
+
+        // The pool destroys the physical connection while it is idle
+        listener.onConnectionDestroy(physicalConnection);
+
+        Assert.assertEquals(1, closed.size());
+        Assert.assertSame(prepared.get(0), closed.get(0));
+
+        // A connection that is leased again is no longer served from the discarded cache
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+        }
+        Assert.assertEquals(2, prepared.size());
+        Assert.assertEquals(0, dataSource.getHitCount());
+        Assert.assertEquals(2, dataSource.getMissCount());
+    }
+
+    @Test
+    public void testChangedSettingsRestored() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(10);
+
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.setMaxRows(1);
+            Assert.assertEquals(1, statement.getMaxRows());
+        }
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            Assert.assertEquals(0, statement.getMaxRows());
+        }
+
+        Assert.assertEquals(1, prepared.size());
+        Assert.assertTrue(closed.isEmpty());
+        Assert.assertEquals(1, dataSource.getHitCount());
+    }
+
+    @Test
+    public void testIrreversibleSettingsNotCached() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(10);
+
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.setCursorName("c1");
+        }
+        Assert.assertEquals(1, closed.size());
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").close();
+        }
+        Assert.assertEquals(2, prepared.size());
+        Assert.assertEquals(0, dataSource.getHitCount());
+    }
+
+    @Test
+    public void testUncachedVariantsDelegated() throws SQLException {
+        StatementCachingDataSource dataSource = createDataSource(10);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("INSERT INTO T VALUES (1)", Statement.RETURN_GENERATED_KEYS).close();
+        }
+
+        Assert.assertTrue(prepared.isEmpty());
+        Assert.assertEquals(0, dataSource.getMissCount());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adapts the number of core threads of a {@link ThreadPoolExecutor} to keep the time tasks wait in its queue below a target.
+ * <p/>
+ * An exponentially weighted moving average of the queue wait times is kept, and at most once per interval the number
+ * of core threads is raised by a quarter while the average exceeds the target, or lowered by one while the average
+ * is below a quarter of the target, within the configured bounds. Adjustments are made by the threads starting tasks,
+ * so an idle executor keeps its current size.
+ */
+class AdaptivePoolSizer {
+
+    private static final long DEFAULT_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    // The weight of a new sample in the moving average, as a power of two
+    private static final int SMOOTHING_SHIFT = 3;
+
+    private final ThreadPoolExecutor executor;
+    private final int minCoreThreads;
+    private final int maxCoreThreads;
+    private final long target;
+    private final long interval;
+    private final AtomicLong nextAdjustment;
+    private volatile long averageQueueWait;
+
+    /**
+     * @param executor the executor whose core threads are adapted
+     * @param minCoreThreads the lowest number of core threads
+     * @param maxCoreThreads the highest number of core threads
+     * @param target the target queue wait time, in nanoseconds
+     */
+    AdaptivePoolSizer(ThreadPoolExecutor executor, int minCoreThreads, int maxCoreThreads, long target) {
+        this(executor, minCoreThreads, maxCoreThreads, target, DEFAULT_INTERVAL);
+    }
+
+    AdaptivePoolSizer(ThreadPoolExecutor executor, int minCoreThreads, int maxCoreThreads, long target, long interval) {
+        this.executor = executor;
+        this.minCoreThreads = minCoreThreads;
+        this.maxCoreThreads = maxCoreThreads;
+        this.target = target;
+        this.interval = interval;
+        this.nextAdjustment = new AtomicLong(System.nanoTime() + interval);
+    }
+
+    /**
+     * Records the time a task waited in the queue, and adjusts the number of core threads if due.
+     *
+     * @param queueWait the queue wait time, in nanoseconds
+     */
+    void record(long queueWait) {
+        // Racy read-modify-write: a lost sample only slightly skews the average
+        long average = this.averageQueueWait;
+        average += (queueWait - average) >> SMOOTHING_SHIFT;
+        this.averageQueueWait = average;
+
+        long now = System.nanoTime();
+        long next = this.nextAdjustment.get();
+        if ((now - next >= 0) && this.nextAdjustment.compareAndSet(next, now + this.interval)) {
+            this.adjust(average);
+        }
+    }
+
+    private void adjust(long average) {
+        int coreThreads = this.executor.getCorePoolSize();
+        if ((average > this.target) && (coreThreads < this.maxCoreThreads)) {
+            this.executor.setCorePoolSize(Math.min(coreThreads + Math.max(coreThreads >> 2, 1), this.maxCoreThreads));
+        } else if ((average < (this.target >> 2)) && (coreThreads > this.minCoreThreads)) {
+            this.executor.setCorePoolSize(coreThreads - 1);
+        }
+    }
+}
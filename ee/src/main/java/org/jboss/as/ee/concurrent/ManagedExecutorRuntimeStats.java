@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
+
+/**
+ * A view of the runtime state of a managed executor's thread pool.
+ */
+public class ManagedExecutorRuntimeStats {
+
+    private final AbstractManagedExecutorService executorService;
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final TaskMetrics taskMetrics;
+
+    ManagedExecutorRuntimeStats(AbstractManagedExecutorService executorService, ThreadPoolExecutor threadPoolExecutor, TaskMetrics taskMetrics) {
+        this.executorService = executorService;
+        this.threadPoolExecutor = threadPoolExecutor;
+        this.taskMetrics = taskMetrics;
+    }
+
+    /**
+     * @return the current number of threads in the pool
+     */
+    public int getThreadsCount() {
+        return threadPoolExecutor.getPoolSize();
+    }
+
+    /**
+     * @return the approximate number of threads actively executing tasks
+     */
+    public int getActiveThreadsCount() {
+        return threadPoolExecutor.getActiveCount();
+    }
+
+    /**
+     * @return the largest number of threads that have ever simultaneously been in the pool
+     */
+    public int getMaxThreadsCount() {
+        return threadPoolExecutor.getLargestPoolSize();
+    }
+
+    /**
+     * @return the current number of core threads, which differs from the configured one if the pool is adaptive
+     */
+    public int getCoreThreadsCount() {
+        return threadPoolExecutor.getCorePoolSize();
+    }
+
+    /**
+     * @return the number of threads executing tasks that exceeded the hung task threshold
+     */
+    public int getHungThreadsCount() {
+        final Collection<Thread> hungThreads = executorService.getHungThreads();
+        return hungThreads != null ? hungThreads.size() : 0;
+    }
+
+    /**
+     * @return the approximate total number of tasks ever scheduled for execution
+     */
+    public long getTaskCount() {
+        return threadPoolExecutor.getTaskCount();
+    }
+
+    /**
+     * @return the approximate total number of tasks that completed execution
+     */
+    public long getCompletedTaskCount() {
+        return threadPoolExecutor.getCompletedTaskCount();
+    }
+
+    /**
+     * @return the current number of tasks in the queue
+     */
+    public int getQueueSize() {
+        return threadPoolExecutor.getQueue().size();
+    }
+
+    /**
+     * @return the queue wait and execution times of tasks, or null if tasks of this executor are not timed
+     */
+    public TaskMetrics getTaskMetrics() {
+        return taskMetrics;
+    }
+}
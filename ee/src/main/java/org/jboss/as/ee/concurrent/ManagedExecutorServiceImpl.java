@@ -28,6 +28,7 @@ import static org.jboss.as.ee.concurrent.SecurityIdentityUtils.doIdentityWrap;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
@@ -40,34 +41,50 @@ import org.wildfly.extension.requestcontroller.ControlPoint;
 public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl {
 
     private final ControlPoint controlPoint;
+    private final TaskMetrics taskMetrics;
 
     public ManagedExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, ContextServiceImpl contextService, RejectPolicy rejectPolicy, BlockingQueue<Runnable> queue, ControlPoint controlPoint) {
         super(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, contextService, rejectPolicy, queue);
         this.controlPoint = controlPoint;
+        this.taskMetrics = new TaskMetrics(null);
     }
 
     public ManagedExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, ContextServiceImpl contextService, RejectPolicy rejectPolicy, ControlPoint controlPoint) {
+        this(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy, controlPoint, 0L);
+    }
+
+    /**
+     * @param queueWaitTarget if positive, the target time, in milliseconds, tasks should wait in the queue, to which
+     *                        the number of core threads is adapted, between corePoolSize and maxPoolSize
+     */
+    public ManagedExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, ContextServiceImpl contextService, RejectPolicy rejectPolicy, ControlPoint controlPoint, long queueWaitTarget) {
         super(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy);
         this.controlPoint = controlPoint;
+        final AdaptivePoolSizer sizer = (queueWaitTarget > 0L) && (maxPoolSize > corePoolSize) ? new AdaptivePoolSizer((ThreadPoolExecutor) getThreadPoolExecutor(), corePoolSize, maxPoolSize, TimeUnit.MILLISECONDS.toNanos(queueWaitTarget)) : null;
+        this.taskMetrics = new TaskMetrics(sizer);
     }
 
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return super.submit(doIdentityWrap(doWrap(task, controlPoint)));
+        return super.submit(taskMetrics.wrap(doIdentityWrap(doWrap(task, controlPoint))));
     }
 
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return super.submit(doIdentityWrap(doWrap(task, controlPoint)), result);
+        return super.submit(taskMetrics.wrap(doIdentityWrap(doWrap(task, controlPoint))), result);
     }
 
     @Override
     public Future<?> submit(Runnable task) {
-        return super.submit(doIdentityWrap(doWrap(task, controlPoint)));
+        return super.submit(taskMetrics.wrap(doIdentityWrap(doWrap(task, controlPoint))));
     }
 
     @Override
     public void execute(Runnable command) {
-        super.execute(doIdentityWrap(doWrap(command, controlPoint)));
+        super.execute(taskMetrics.wrap(doIdentityWrap(doWrap(command, controlPoint))));
+    }
+
+    public ManagedExecutorRuntimeStats getRuntimeStats() {
+        return new ManagedExecutorRuntimeStats(this, (ThreadPoolExecutor) getThreadPoolExecutor(), taskMetrics);
     }
 }
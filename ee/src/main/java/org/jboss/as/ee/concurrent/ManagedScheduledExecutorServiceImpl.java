@@ -32,6 +32,7 @@ import java.util.Date;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import static org.jboss.as.ee.concurrent.ControlPointUtils.doScheduledWrap;
@@ -105,6 +106,11 @@ public class ManagedScheduledExecutorServiceImpl extends org.glassfish.enterpris
         return super.scheduleWithFixedDelay(doIdentityWrap(doScheduledWrap(command, controlPoint)), initialDelay, delay, unit);
     }
 
+    public ManagedExecutorRuntimeStats getRuntimeStats() {
+        // Scheduled tasks wait in the queue for their delay, so their queue wait times are not tracked
+        return new ManagedExecutorRuntimeStats(this, (ThreadPoolExecutor) getThreadPoolExecutor(), null);
+    }
+
     /**
      * A {@link javax.enterprise.concurrent.Trigger} wrapper that stops scheduling if the related {@link java.util.concurrent.ScheduledFuture} is cancelled.
      */
@@ -0,0 +1,238 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.concurrent.ManagedTask;
+import javax.enterprise.concurrent.ManagedTaskListener;
+
+import org.jboss.as.ee.utils.LatencyHistogram;
+
+/**
+ * Records the time tasks submitted to an executor wait in its queue, and the time they take to execute.
+ * Tasks are timed by wrapping them on submission.
+ */
+public class TaskMetrics {
+
+    private final LatencyHistogram queueWaitTimes = new LatencyHistogram();
+    private final LatencyHistogram executionTimes = new LatencyHistogram();
+    private final AdaptivePoolSizer sizer;
+
+    /**
+     * @param sizer an optional sizer notified of each queue wait time, or null
+     */
+    TaskMetrics(AdaptivePoolSizer sizer) {
+        this.sizer = sizer;
+    }
+
+    /**
+     * @return the times tasks waited in the queue, in microseconds
+     */
+    public LatencyHistogram getQueueWaitTimes() {
+        return queueWaitTimes;
+    }
+
+    /**
+     * @return the times tasks took to execute, in microseconds
+     */
+    public LatencyHistogram getExecutionTimes() {
+        return executionTimes;
+    }
+
+    Runnable wrap(Runnable runnable) {
+        if (runnable == null) {
+            return null;
+        }
+        final TimedRunnable timedRunnable = new TimedRunnable(runnable, this);
+        return runnable instanceof ManagedTask ? new TimedManagedRunnable(timedRunnable, (ManagedTask) runnable) : timedRunnable;
+    }
+
+    <T> Callable<T> wrap(Callable<T> callable) {
+        if (callable == null) {
+            return null;
+        }
+        final TimedCallable<T> timedCallable = new TimedCallable<>(callable, this);
+        return callable instanceof ManagedTask ? new TimedManagedCallable<>(timedCallable, (ManagedTask) callable) : timedCallable;
+    }
+
+    private long starting(long submitted) {
+        final long start = System.nanoTime();
+        final long queueWait = start - submitted;
+        queueWaitTimes.record(TimeUnit.NANOSECONDS.toMicros(queueWait));
+        if (sizer != null) {
+            sizer.record(queueWait);
+        }
+        return start;
+    }
+
+    private void done(long start) {
+        executionTimes.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+    }
+
+    /**
+     * Runnable that wraps a runnable to record its queue wait and execution times.
+     */
+    static class TimedRunnable implements Runnable {
+
+        private final Runnable runnable;
+        private final TaskMetrics metrics;
+        private final long submitted = System.nanoTime();
+
+        TimedRunnable(Runnable runnable, TaskMetrics metrics) {
+            this.runnable = runnable;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void run() {
+            final long start = metrics.starting(submitted);
+            try {
+                runnable.run();
+            } finally {
+                metrics.done(start);
+            }
+        }
+    }
+
+    /**
+     * Callable that wraps a callable to record its queue wait and execution times.
+     */
+    static class TimedCallable<T> implements Callable<T> {
+
+        private final Callable<T> callable;
+        private final TaskMetrics metrics;
+        private final long submitted = System.nanoTime();
+
+        TimedCallable(Callable<T> callable, TaskMetrics metrics) {
+            this.callable = callable;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public T call() throws Exception {
+            final long start = metrics.starting(submitted);
+            try {
+                return callable.call();
+            } finally {
+                metrics.done(start);
+            }
+        }
+    }
+
+    /**
+     * A managed timed task.
+     */
+    static class TimedManagedTask implements ManagedTask {
+
+        private final ManagedTask managedTask;
+        private final TimedManagedTaskListener managedTaskListenerWrapper;
+
+        TimedManagedTask(ManagedTask managedTask) {
+            this.managedTask = managedTask;
+            this.managedTaskListenerWrapper = managedTask.getManagedTaskListener() != null ? new TimedManagedTaskListener(managedTask.getManagedTaskListener()) : null;
+        }
+
+        @Override
+        public Map<String, String> getExecutionProperties() {
+            return managedTask.getExecutionProperties();
+        }
+
+        @Override
+        public ManagedTaskListener getManagedTaskListener() {
+            return managedTaskListenerWrapper;
+        }
+    }
+
+    /**
+     * A managed timed task which is a runnable.
+     */
+    static class TimedManagedRunnable extends TimedManagedTask implements Runnable {
+
+        private final Runnable timedTask;
+
+        TimedManagedRunnable(Runnable timedTask, ManagedTask managedTask) {
+            super(managedTask);
+            this.timedTask = timedTask;
+        }
+
+        @Override
+        public void run() {
+            timedTask.run();
+        }
+    }
+
+    /**
+     * A managed timed task which is a callable.
+     */
+    static class TimedManagedCallable<T> extends TimedManagedTask implements Callable<T> {
+
+        private final Callable<T> timedTask;
+
+        TimedManagedCallable(Callable<T> timedTask, ManagedTask managedTask) {
+            super(managedTask);
+            this.timedTask = timedTask;
+        }
+
+        @Override
+        public T call() throws Exception {
+            return timedTask.call();
+        }
+    }
+
+    /**
+     * A managed task listener for managed timed tasks.
+     */
+    static class TimedManagedTaskListener implements ManagedTaskListener {
+
+        private final ManagedTaskListener managedTaskListener;
+
+        TimedManagedTaskListener(ManagedTaskListener managedTaskListener) {
+            this.managedTaskListener = managedTaskListener;
+        }
+
+        @Override
+        public void taskAborted(Future<?> future, ManagedExecutorService executor, Object task, Throwable exception) {
+            managedTaskListener.taskAborted(future, executor, ((TimedManagedTask) task).managedTask, exception);
+        }
+
+        @Override
+        public void taskDone(Future<?> future, ManagedExecutorService executor, Object task, Throwable exception) {
+            managedTaskListener.taskDone(future, executor, ((TimedManagedTask) task).managedTask, exception);
+        }
+
+        @Override
+        public void taskStarting(Future<?> future, ManagedExecutorService executor, Object task) {
+            managedTaskListener.taskStarting(future, executor, ((TimedManagedTask) task).managedTask);
+        }
+
+        @Override
+        public void taskSubmitted(Future<?> future, ManagedExecutorService executor, Object task) {
+            managedTaskListener.taskSubmitted(future, executor, ((TimedManagedTask) task).managedTask);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.glassfish.enterprise.concurrent.ContextServiceImpl;
 import org.glassfish.enterprise.concurrent.ManagedScheduledExecutorServiceAdapter;
 import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
 import org.jboss.as.ee.concurrent.ElytronManagedThreadFactory;
+import org.jboss.as.ee.concurrent.ManagedExecutorRuntimeStats;
 import org.jboss.as.ee.concurrent.ManagedScheduledExecutorServiceImpl;
 import org.jboss.as.ee.logging.EeLogger;
 import org.jboss.msc.inject.Injector;
@@ -125,6 +126,14 @@ public class ManagedScheduledExecutorServiceService extends EEConcurrentAbstract
         return executorService.getAdapter();
     }
 
+    /**
+     * @return the runtime state of the executor, or null if the service is not started
+     */
+    public ManagedExecutorRuntimeStats getRuntimeStats() {
+        final ManagedScheduledExecutorServiceImpl executorService = this.executorService;
+        return executorService != null ? executorService.getRuntimeStats() : null;
+    }
+
     public Injector<ManagedThreadFactoryImpl> getManagedThreadFactoryInjector() {
         return managedThreadFactoryInjectedValue;
     }
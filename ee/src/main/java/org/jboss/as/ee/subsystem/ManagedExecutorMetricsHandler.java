@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.subsystem;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ee.concurrent.ManagedExecutorRuntimeStats;
+import org.jboss.as.ee.concurrent.service.ManagedExecutorServiceService;
+import org.jboss.as.ee.concurrent.service.ManagedScheduledExecutorServiceService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads a runtime metric of a managed executor service or managed scheduled executor service.
+ */
+class ManagedExecutorMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    private final Function<String, ServiceName> serviceNameFactory;
+    private final Function<ManagedExecutorRuntimeStats, ModelNode> metric;
+
+    ManagedExecutorMetricsHandler(Function<String, ServiceName> serviceNameFactory, Function<ManagedExecutorRuntimeStats, ModelNode> metric) {
+        this.serviceNameFactory = serviceNameFactory;
+        this.metric = metric;
+    }
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(this.serviceNameFactory.apply(context.getCurrentAddressValue()));
+        final Service<?> service = (controller != null) ? controller.getService() : null;
+        final ManagedExecutorRuntimeStats stats;
+        if (service instanceof ManagedExecutorServiceService) {
+            stats = ((ManagedExecutorServiceService) service).getRuntimeStats();
+        } else if (service instanceof ManagedScheduledExecutorServiceService) {
+            stats = ((ManagedScheduledExecutorServiceService) service).getRuntimeStats();
+        } else {
+            stats = null;
+        }
+        if (stats != null) {
+            context.getResult().set(this.metric.apply(stats));
+        }
+    }
+}
@@ -21,6 +21,8 @@
  */
 package org.jboss.as.ee.subsystem;
 
+import java.util.function.Function;
+
 import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
@@ -40,11 +42,17 @@ import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.ee.concurrent.ManagedExecutorRuntimeStats;
+import org.jboss.as.ee.concurrent.TaskMetrics;
+import org.jboss.as.ee.concurrent.service.ConcurrentServiceNames;
 import org.jboss.as.ee.logging.EeLogger;
+import org.jboss.as.ee.utils.LatencyHistogram;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceName;
 
 /**
  * @author Eduardo Martins
@@ -61,6 +69,17 @@ public class ManagedExecutorServiceResourceDefinition extends SimpleResourceDefi
     public static final String KEEPALIVE_TIME = "keepalive-time";
     public static final String QUEUE_LENGTH = "queue-length";
     public static final String REJECT_POLICY = "reject-policy";
+    public static final String QUEUE_WAIT_TARGET = "queue-wait-target";
+
+    // metrics
+    public static final String ACTIVE_THREAD_COUNT = "active-thread-count";
+    public static final String COMPLETED_TASK_COUNT = "completed-task-count";
+    public static final String CURRENT_CORE_THREADS = "current-core-threads";
+    public static final String CURRENT_QUEUE_SIZE = "current-queue-size";
+    public static final String HUNG_THREAD_COUNT = "hung-thread-count";
+    public static final String MAX_THREAD_COUNT = "max-thread-count";
+    public static final String TASK_COUNT = "task-count";
+    public static final String THREAD_COUNT = "thread-count";
 
     public static final SimpleAttributeDefinition JNDI_NAME_AD =
             new SimpleAttributeDefinitionBuilder(JNDI_NAME, ModelType.STRING, false)
@@ -137,7 +156,31 @@ public class ManagedExecutorServiceResourceDefinition extends SimpleResourceDefi
                     .build();
 
 
-    static final SimpleAttributeDefinition[] ATTRIBUTES = {JNDI_NAME_AD, CONTEXT_SERVICE_AD, THREAD_FACTORY_AD, HUNG_TASK_THRESHOLD_AD, LONG_RUNNING_TASKS_AD, CORE_THREADS_AD, MAX_THREADS_AD, KEEPALIVE_TIME_AD, QUEUE_LENGTH_AD, REJECT_POLICY_AD};
+    public static final SimpleAttributeDefinition QUEUE_WAIT_TARGET_AD =
+            new SimpleAttributeDefinitionBuilder(QUEUE_WAIT_TARGET, ModelType.LONG, true)
+                    .setAllowExpression(true)
+                    .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .build();
+
+    static final SimpleAttributeDefinition[] ATTRIBUTES = {JNDI_NAME_AD, CONTEXT_SERVICE_AD, THREAD_FACTORY_AD, HUNG_TASK_THRESHOLD_AD, LONG_RUNNING_TASKS_AD, CORE_THREADS_AD, MAX_THREADS_AD, KEEPALIVE_TIME_AD, QUEUE_LENGTH_AD, REJECT_POLICY_AD, QUEUE_WAIT_TARGET_AD};
+
+    static final SimpleAttributeDefinition ACTIVE_THREAD_COUNT_AD = metric(ACTIVE_THREAD_COUNT, ModelType.INT).build();
+    static final SimpleAttributeDefinition COMPLETED_TASK_COUNT_AD = metric(COMPLETED_TASK_COUNT, ModelType.LONG).addFlag(AttributeAccess.Flag.COUNTER_METRIC).build();
+    static final SimpleAttributeDefinition CURRENT_CORE_THREADS_AD = metric(CURRENT_CORE_THREADS, ModelType.INT).build();
+    static final SimpleAttributeDefinition CURRENT_QUEUE_SIZE_AD = metric(CURRENT_QUEUE_SIZE, ModelType.INT).build();
+    static final SimpleAttributeDefinition HUNG_THREAD_COUNT_AD = metric(HUNG_THREAD_COUNT, ModelType.INT).build();
+    static final SimpleAttributeDefinition MAX_THREAD_COUNT_AD = metric(MAX_THREAD_COUNT, ModelType.INT).build();
+    static final SimpleAttributeDefinition TASK_COUNT_AD = metric(TASK_COUNT, ModelType.LONG).addFlag(AttributeAccess.Flag.COUNTER_METRIC).build();
+    static final SimpleAttributeDefinition THREAD_COUNT_AD = metric(THREAD_COUNT, ModelType.INT).build();
+
+    static final SimpleAttributeDefinition QUEUE_WAIT_TIME_P50_AD = percentile("queue-wait-time-p50");
+    static final SimpleAttributeDefinition QUEUE_WAIT_TIME_P99_AD = percentile("queue-wait-time-p99");
+    static final SimpleAttributeDefinition QUEUE_WAIT_TIME_P999_AD = percentile("queue-wait-time-p999");
+    static final SimpleAttributeDefinition EXECUTION_TIME_P50_AD = percentile("execution-time-p50");
+    static final SimpleAttributeDefinition EXECUTION_TIME_P99_AD = percentile("execution-time-p99");
+    static final SimpleAttributeDefinition EXECUTION_TIME_P999_AD = percentile("execution-time-p999");
 
     public static final ManagedExecutorServiceResourceDefinition INSTANCE = new ManagedExecutorServiceResourceDefinition();
 
@@ -145,12 +188,65 @@ public class ManagedExecutorServiceResourceDefinition extends SimpleResourceDefi
         super(PathElement.pathElement(EESubsystemModel.MANAGED_EXECUTOR_SERVICE), EeExtension.getResourceDescriptionResolver(EESubsystemModel.MANAGED_EXECUTOR_SERVICE), ManagedExecutorServiceAdd.INSTANCE, ManagedExecutorServiceRemove.INSTANCE);
     }
 
+    private static SimpleAttributeDefinitionBuilder metric(final String name, final ModelType type) {
+        return new SimpleAttributeDefinitionBuilder(name, type)
+                .setUndefinedMetricValue(new ModelNode(0))
+                .setStorageRuntime();
+    }
+
+    private static SimpleAttributeDefinition percentile(final String name) {
+        return metric(name, ModelType.LONG)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .build();
+    }
+
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
         OperationStepHandler writeHandler = new ValidatingWriteHandler(ATTRIBUTES);
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, writeHandler);
         }
+        if (resourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            registerThreadPoolMetrics(resourceRegistration, ConcurrentServiceNames::getManagedExecutorServiceServiceName);
+            registerMetric(resourceRegistration, CURRENT_CORE_THREADS_AD, ConcurrentServiceNames::getManagedExecutorServiceServiceName, stats -> new ModelNode(stats.getCoreThreadsCount()));
+            registerMetric(resourceRegistration, QUEUE_WAIT_TIME_P50_AD, ConcurrentServiceNames::getManagedExecutorServiceServiceName, stats -> percentile(stats, TaskMetrics::getQueueWaitTimes, 50d));
+            registerMetric(resourceRegistration, QUEUE_WAIT_TIME_P99_AD, ConcurrentServiceNames::getManagedExecutorServiceServiceName, stats -> percentile(stats, TaskMetrics::getQueueWaitTimes, 99d));
+            registerMetric(resourceRegistration, QUEUE_WAIT_TIME_P999_AD, ConcurrentServiceNames::getManagedExecutorServiceServiceName, stats -> percentile(stats, TaskMetrics::getQueueWaitTimes, 99.9d));
+            registerMetric(resourceRegistration, EXECUTION_TIME_P50_AD, ConcurrentServiceNames::getManagedExecutorServiceServiceName, stats -> percentile(stats, TaskMetrics::getExecutionTimes, 50d));
+            registerMetric(resourceRegistration, EXECUTION_TIME_P99_AD, ConcurrentServiceNames::getManagedExecutorServiceServiceName, stats -> percentile(stats, TaskMetrics::getExecutionTimes, 99d));
+            registerMetric(resourceRegistration, EXECUTION_TIME_P999_AD, ConcurrentServiceNames::getManagedExecutorServiceServiceName, stats -> percentile(stats, TaskMetrics::getExecutionTimes, 99.9d));
+        }
+    }
+
+    /**
+     * Registers the metrics common to managed executor services and managed scheduled executor services.
+     */
+    static void registerThreadPoolMetrics(final ManagementResourceRegistration resourceRegistration, final Function<String, ServiceName> serviceNameFactory) {
+        registerMetric(resourceRegistration, ACTIVE_THREAD_COUNT_AD, serviceNameFactory, stats -> new ModelNode(stats.getActiveThreadsCount()));
+        registerMetric(resourceRegistration, COMPLETED_TASK_COUNT_AD, serviceNameFactory, stats -> new ModelNode(stats.getCompletedTaskCount()));
+        registerMetric(resourceRegistration, CURRENT_QUEUE_SIZE_AD, serviceNameFactory, stats -> new ModelNode(stats.getQueueSize()));
+        registerMetric(resourceRegistration, HUNG_THREAD_COUNT_AD, serviceNameFactory, stats -> new ModelNode(stats.getHungThreadsCount()));
+        registerMetric(resourceRegistration, MAX_THREAD_COUNT_AD, serviceNameFactory, stats -> new ModelNode(stats.getMaxThreadsCount()));
+        registerMetric(resourceRegistration, TASK_COUNT_AD, serviceNameFactory, stats -> new ModelNode(stats.getTaskCount()));
+        registerMetric(resourceRegistration, THREAD_COUNT_AD, serviceNameFactory, stats -> new ModelNode(stats.getThreadsCount()));
+    }
+
+    private static void registerMetric(final ManagementResourceRegistration resourceRegistration, final AttributeDefinition metric, final Function<String, ServiceName> serviceNameFactory, final Function<ManagedExecutorRuntimeStats, ModelNode> reader) {
+        resourceRegistration.registerMetric(metric, new ManagedExecutorMetricsHandler(serviceNameFactory, reader));
+    }
+
+    private static ModelNode percentile(final ManagedExecutorRuntimeStats stats, final Function<TaskMetrics, LatencyHistogram> histogram, final double percentile) {
+        final TaskMetrics taskMetrics = stats.getTaskMetrics();
+        return new ModelNode(taskMetrics != null ? histogram.apply(taskMetrics).getValueAtPercentile(percentile) : 0L);
+    }
+
+    void registerTransformers_5_0(final ResourceTransformationDescriptionBuilder builder) {
+        final PathElement pathElement = getPathElement();
+        final ResourceTransformationDescriptionBuilder resourceBuilder = builder.addChildResource(pathElement);
+        resourceBuilder.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, QUEUE_WAIT_TARGET_AD)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, QUEUE_WAIT_TARGET_AD)
+                .end();
     }
 
     void registerTransformers_4_0(final ResourceTransformationDescriptionBuilder builder) {
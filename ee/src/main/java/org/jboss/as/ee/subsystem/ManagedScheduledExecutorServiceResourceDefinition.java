@@ -38,6 +38,7 @@ import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.ee.concurrent.service.ConcurrentServiceNames;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -130,6 +131,9 @@ public class ManagedScheduledExecutorServiceResourceDefinition extends SimpleRes
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, writeHandler);
         }
+        if (resourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            ManagedExecutorServiceResourceDefinition.registerThreadPoolMetrics(resourceRegistration, ConcurrentServiceNames::getManagedScheduledExecutorServiceServiceName);
+        }
     }
 
     void registerTransformers_4_0(final ResourceTransformationDescriptionBuilder builder) {
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies, in microseconds, with log-linear buckets in the style of an HDR histogram.
+ * <p/>
+ * Values below 32 are counted exactly, larger values fall into buckets whose width is 1/16 of their lower bound, i.e.
+ * percentiles are reported with a relative error of at most about 6%. Values over 2^32 microseconds, i.e. over an hour,
+ * are counted as 2^32 - 1.
+ * <p/>
+ * Recording never blocks and does not allocate, except for the striped counter of a bucket on its first use.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;
+    static final long MAX_VALUE = (1L << 32) - 1L;
+
+    private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(index(MAX_VALUE) + 1);
+
+    /**
+     * Records a latency.
+     *
+     * @param value a latency, in microseconds
+     */
+    public void record(long value) {
+        int index = index(Math.min(Math.max(value, 0L), MAX_VALUE));
+        LongAdder bucket = this.buckets.get(index);
+        if (bucket == null) {
+            LongAdder newBucket = new LongAdder();
+            bucket = this.buckets.compareAndSet(index, null, newBucket) ? newBucket : this.buckets.get(index);
+        }
+        bucket.increment();
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        long count = 0L;
+        for (int i = 0; i < this.buckets.length(); ++i) {
+            LongAdder bucket = this.buckets.get(i);
+            if (bucket != null) {
+                count += bucket.sum();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the latency below which the specified percentage of the recorded latencies fall.
+     *
+     * @param percentile a percentile, e.g. 99.9
+     * @return the highest latency, in microseconds, equivalent to the specified percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[this.buckets.length()];
+        long total = 0L;
+        for (int i = 0; i < counts.length; ++i) {
+            LongAdder bucket = this.buckets.get(i);
+            if (bucket != null) {
+                counts[i] = bucket.sum();
+                total += counts[i];
+            }
+        }
+        if (total == 0L) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100d) / 100d * total));
+        long cumulative = 0L;
+        for (int i = 0; i < counts.length; ++i) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // the shift that brings the value into [HALF_SUB_BUCKET_COUNT, SUB_BUCKET_COUNT)
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + ((shift - 1) * HALF_SUB_BUCKET_COUNT) + (int) ((value >>> shift) - HALF_SUB_BUCKET_COUNT);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = ((index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT) + 1;
+        long subBucket = ((index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT) + HALF_SUB_BUCKET_COUNT;
+        return Math.min(((subBucket + 1L) << shift) - 1L, MAX_VALUE);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.concurrent;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link AdaptivePoolSizer}.
+ */
+public class AdaptivePoolSizerTestCase {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private ThreadPoolExecutor executor;
+
+    @Before
+    public void setUp() {
+        this.executor = new ThreadPoolExecutor(2, 8, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(this.executor, 2, 8, TARGET, 0L);
+
+        // a sustained queue wait above the target grows the core threads up to the maximum
+        for (int i = 0; i < 100; ++i) {
+            sizer.record(TARGET * 100);
+        }
+        assertEquals(8, this.executor.getCorePoolSize());
+
+        // no queue wait shrinks the core threads down to the minimum
+        for (int i = 0; i < 1000; ++i) {
+            sizer.record(0L);
+        }
+        assertEquals(2, this.executor.getCorePoolSize());
+    }
+
+    @Test
+    public void testGrowthRate() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(this.executor, 2, 8, TARGET, 0L);
+
+        // grows by at least one thread at a time
+        sizer.record(TARGET * 100);
+        assertEquals(3, this.executor.getCorePoolSize());
+        sizer.record(TARGET * 100);
+        assertEquals(4, this.executor.getCorePoolSize());
+        // then by a quarter of the core threads
+        sizer.record(TARGET * 100);
+        assertEquals(5, this.executor.getCorePoolSize());
+        this.executor.setCorePoolSize(7);
+        sizer.record(TARGET * 100);
+        assertEquals(8, this.executor.getCorePoolSize());
+    }
+
+    @Test
+    public void testStableWithinTarget() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(this.executor, 2, 8, TARGET, 0L);
+        // let the moving average settle
+        for (int i = 0; i < 100; ++i) {
+            sizer.record(TARGET / 2);
+        }
+        assertEquals(2, this.executor.getCorePoolSize());
+        this.executor.setCorePoolSize(4);
+
+        // a queue wait between a quarter of the target and the target leaves the core threads as is
+        for (int i = 0; i < 1000; ++i) {
+            sizer.record(TARGET / 2);
+        }
+        assertEquals(4, this.executor.getCorePoolSize());
+    }
+
+    @Test
+    public void testInterval() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(this.executor, 2, 8, TARGET, TimeUnit.HOURS.toNanos(1));
+
+        for (int i = 0; i < 100; ++i) {
+            sizer.record(TARGET * 100);
+        }
+        assertEquals(2, this.executor.getCorePoolSize());
+    }
+}
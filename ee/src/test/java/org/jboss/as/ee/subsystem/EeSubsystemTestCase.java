@@ -64,7 +64,7 @@ public class EeSubsystemTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/jboss-as-ee_4_0.xsd";
+        return "schema/jboss-as-ee_5_0.xsd";
     }
 
     @Test
@@ -178,6 +178,34 @@ public class EeSubsystemTestCase extends AbstractSubsystemBaseTest {
         }
 
 
+    @Test
+    public void testTransformersEAP720Reject() throws Exception {
+        testTransformers4_0_x_reject(ModelTestControllerVersion.EAP_7_2_0);
+    }
+
+    private void testTransformers4_0_x_reject(ModelTestControllerVersion controllerVersion) throws Exception {
+        String subsystemXml = readResource("subsystem.xml");
+        //Use the non-runtime version of the extension which will happen on the HC
+        KernelServicesBuilder builder = createKernelServicesBuilder(AdditionalInitialization.MANAGEMENT);
+
+        List<ModelNode> xmlOps = builder.parseXml(subsystemXml);
+
+        ModelVersion modelVersion = ModelVersion.create(4, 0, 0);
+        // Add legacy subsystems
+        builder.createLegacyKernelServicesBuilder(null, controllerVersion, modelVersion)
+                .addMavenResourceURL("org.jboss.eap:wildfly-ee:" + controllerVersion.getMavenGavVersion());
+
+        KernelServices mainServices = builder.build();
+        Assert.assertTrue(mainServices.isSuccessfulBoot());
+        Assert.assertTrue(mainServices.getLegacyServices(modelVersion).isSuccessfulBoot());
+
+        FailedOperationTransformationConfig config = new FailedOperationTransformationConfig()
+                .addFailedAttribute(PathAddress.pathAddress(EeExtension.PATH_SUBSYSTEM, PathElement.pathElement(EESubsystemModel.MANAGED_EXECUTOR_SERVICE)),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(ManagedExecutorServiceResourceDefinition.QUEUE_WAIT_TARGET_AD));
+
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, modelVersion, xmlOps, config);
+    }
+
     @Test
     public void testTransformersDiscardsImpliedValuesEAP620() throws Exception {
         testTransformersDiscardsImpliedValues1_0_0(ModelTestControllerVersion.EAP_6_2_0);
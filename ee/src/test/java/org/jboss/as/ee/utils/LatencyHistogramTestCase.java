@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBuckets() {
+        int previous = -1;
+        for (long value = 0L; value < 1L << 20; ++value) {
+            int index = LatencyHistogram.index(value);
+            // buckets are contiguous
+            assertTrue(index == previous || index == previous + 1);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            // relative error of at most 1/16
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) - value <= value / 16L);
+            previous = index;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.index(LatencyHistogram.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getValueAtPercentile(50d));
+
+        for (long value = 1L; value <= 1000L; ++value) {
+            histogram.record(value);
+        }
+        histogram.record(-1L);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(1002L, histogram.getCount());
+        assertWithin(500L, histogram.getValueAtPercentile(50d));
+        assertWithin(990L, histogram.getValueAtPercentile(99d));
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getValueAtPercentile(100d));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " < " + expected, actual >= expected);
+        assertTrue(actual + " > " + expected, actual <= expected + expected / 16L);
+    }
+}
@@ -94,6 +94,27 @@ public interface Cache<K, V extends Identifiable<K>> extends AffinitySupport<K>,
 
     int getTotalSize();
 
+    /**
+     * Returns the number of instances awaiting expiration by a bulk scheduler.
+     */
+    default int getExpirationBacklog() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of instances awaiting eager passivation by a bulk scheduler.
+     */
+    default int getPassivationBacklog() {
+        return 0;
+    }
+
+    /**
+     * Returns the duration, in milliseconds, of the most recent sweep of the bulk scheduler.
+     */
+    default long getSchedulerSweepTime() {
+        return 0L;
+    }
+
     /**
      * Checks whether the supplied {@link Throwable} is remotable meaning it can be safely sent to the client over the wire.
      */
@@ -219,6 +219,21 @@ public class DistributableCache<K, V extends Identifiable<K> & Contextual<Batch>
         return this.manager.getActiveCount() + this.manager.getPassiveCount();
     }
 
+    @Override
+    public int getExpirationBacklog() {
+        return this.manager.getExpirationBacklog();
+    }
+
+    @Override
+    public int getPassivationBacklog() {
+        return this.manager.getPassivationBacklog();
+    }
+
+    @Override
+    public long getSchedulerSweepTime() {
+        return this.manager.getSchedulerSweepDuration().toMillis();
+    }
+
     @Override
     public boolean isRemotable(Throwable throwable) {
         return this.manager.isRemotable(throwable);
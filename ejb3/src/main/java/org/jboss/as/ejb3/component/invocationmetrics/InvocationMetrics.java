@@ -22,153 +22,136 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ee.utils.LatencyHistogram;
 
 /**
+ * Invocation statistics of a component.
+ * <p/>
+ * Totals are kept in striped counters and latencies in histograms of striped counters, so that recording an invocation
+ * neither allocates nor retries on contention.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
     public static class Values {
-        final long invocations;
-        final long executionTime;
-        final long waitTime;
-
-        private Values(final long invocations, final long waitTime, final long executionTime) {
-            this.invocations = invocations;
-            this.executionTime = executionTime;
-            this.waitTime = waitTime;
+        final LongAdder invocations = new LongAdder();
+        // in nanoseconds
+        final LongAdder executionTime = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+        final LatencyHistogram executionTimes = new LatencyHistogram();
+        final LatencyHistogram waitTimes = new LatencyHistogram();
+
+        void record(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+            waitTimes.record(TimeUnit.NANOSECONDS.toMicros(invocationWaitTime));
+            executionTimes.record(TimeUnit.NANOSECONDS.toMicros(invocationExecutionTime));
         }
 
+        /**
+         * @return the total execution time, in milliseconds
+         */
         public long getExecutionTime() {
-            return executionTime;
+            return TimeUnit.NANOSECONDS.toMillis(executionTime.sum());
         }
 
         public long getInvocations() {
-            return invocations;
+            return invocations.sum();
         }
 
+        /**
+         * @return the total wait time, in milliseconds
+         */
         public long getWaitTime() {
-            return waitTime;
+            return TimeUnit.NANOSECONDS.toMillis(waitTime.sum());
+        }
+
+        /**
+         * @return the execution times, in microseconds
+         */
+        public LatencyHistogram getExecutionTimeHistogram() {
+            return executionTimes;
+        }
+
+        /**
+         * @return the wait times, in microseconds
+         */
+        public LatencyHistogram getWaitTimeHistogram() {
+            return waitTimes;
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder executionTime = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    private final ConcurrentMap<String, Values> methods = new ConcurrentHashMap<String, Values>();
 
+    /**
+     * @param invocationWaitTime the time spent waiting for an instance, in nanoseconds
+     * @param invocationExecutionTime the time spent within the bean method, in nanoseconds
+     */
     void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
-        }
+        invocations.increment();
+        waitTime.add(invocationWaitTime);
+        executionTime.add(invocationExecutionTime);
+        values(method.getName()).record(invocationWaitTime, invocationExecutionTime);
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
-        }
-        return ref;
+    private Values values(final String name) {
+        // avoid the locking of computeIfAbsent once the method is known
+        final Values values = methods.get(name);
+        return (values != null) ? values : methods.computeIfAbsent(name, key -> new Values());
     }
 
     public long getConcurrent() {
         return concurrent.get();
     }
 
+    /**
+     * @return the total execution time, in milliseconds
+     */
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return TimeUnit.NANOSECONDS.toMillis(executionTime.sum());
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return invocations.sum();
     }
 
+    /**
+     * @return the live statistics of each method, by method name
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
-            }
-        };
+        return Collections.unmodifiableMap(methods);
     }
 
     public long getPeakConcurrent() {
         return peakConcurrent.get();
     }
 
+    /**
+     * @return the total wait time, in milliseconds
+     */
     public long getWaitTime() {
-        return values.get().waitTime;
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.sum());
     }
 
     void startInvocation() {
         final long v = concurrent.incrementAndGet();
-        // concurrent might decrement here, but we take that missing peak for granted.
         if (peakConcurrent.get() < v)
-            peakConcurrent.incrementAndGet();
+            peakConcurrent.accumulateAndGet(v, Math::max);
     }
 }
@@ -97,7 +97,12 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
             }
         }
         // try getting the lock
+        final boolean statisticsEnabled = lockableComponent.isStatisticsEnabled();
+        final long start = statisticsEnabled ? System.nanoTime() : 0L;
         boolean success = lock.tryLock(time, unit);
+        if (statisticsEnabled) {
+            lockableComponent.getLockMetrics().record(System.nanoTime() - start, success);
+        }
         if (!success) {
             throw EjbLogger.ROOT_LOGGER.concurrentAccessTimeoutException(lockableComponent.getComponentName(), time + unit.name());
         }
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ee.utils.LatencyHistogram;
+
+/**
+ * Statistics of the time spent waiting for the container managed concurrency lock of a singleton bean, which can be
+ * used to tune the {@link javax.ejb.AccessTimeout} of its methods.
+ */
+public class LockMetrics {
+
+    private final LongAdder waitTime = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+    /**
+     * Records an attempt to obtain the lock.
+     *
+     * @param lockWaitTime the time spent waiting for the lock, in nanoseconds
+     * @param acquired whether the lock was obtained within its access timeout
+     */
+    void record(final long lockWaitTime, final boolean acquired) {
+        this.waitTime.add(lockWaitTime);
+        this.waitTimes.record(TimeUnit.NANOSECONDS.toMicros(lockWaitTime));
+        if (!acquired) {
+            this.timeouts.increment();
+        }
+    }
+
+    /**
+     * @return the total time spent waiting for the lock, in milliseconds
+     */
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.waitTime.sum());
+    }
+
+    /**
+     * @return the number of attempts to obtain the lock that exceeded their access timeout
+     */
+    public long getTimeouts() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * @return the times spent waiting for the lock, in microseconds
+     */
+    public LatencyHistogram getWaitTimeHistogram() {
+        return this.waitTimes;
+    }
+}
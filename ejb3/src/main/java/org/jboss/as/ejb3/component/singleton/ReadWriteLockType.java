@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * The implementations of the lock guarding a singleton bean with container managed concurrency.
+ */
+public enum ReadWriteLockType {
+    /**
+     * An {@link EJBReadWriteLock}, i.e. a {@link java.util.concurrent.locks.ReentrantReadWriteLock}
+     */
+    REENTRANT("reentrant") {
+        @Override
+        public ReadWriteLock createLock() {
+            return new EJBReadWriteLock();
+        }
+    },
+    /**
+     * A {@link StampedEJBReadWriteLock}, i.e. a {@link java.util.concurrent.locks.StampedLock}, which is cheaper
+     * for read-mostly beans
+     */
+    STAMPED("stamped") {
+        @Override
+        public ReadWriteLock createLock() {
+            return new StampedEJBReadWriteLock();
+        }
+    },
+    ;
+
+    private final String localName;
+
+    ReadWriteLockType(final String localName) {
+        this.localName = localName;
+    }
+
+    /**
+     * @return the name of this lock type within deployment descriptors
+     */
+    public String getLocalName() {
+        return this.localName;
+    }
+
+    /**
+     * Creates a new lock of this type.
+     *
+     * @return a new lock
+     */
+    public abstract ReadWriteLock createLock();
+
+    /**
+     * Returns the lock type with the specified name.
+     *
+     * @param localName the name of a lock type within a deployment descriptor
+     * @return a lock type, or null if there is no lock type with this name
+     */
+    public static ReadWriteLockType forName(final String localName) {
+        for (ReadWriteLockType type : values()) {
+            if (type.localName.equals(localName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -74,9 +74,11 @@ public class SingletonComponent extends SessionBeanComponent {
     private final Object creationLock = new Object();
 
     /**
-     * A spec compliant {@link EJBReadWriteLock}
+     * A spec compliant {@link EJBReadWriteLock} or {@link StampedEJBReadWriteLock}
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private final ReadWriteLock readWriteLock;
+
+    private final LockMetrics lockMetrics = new LockMetrics();
 
     /**
      * Construct a new instance.
@@ -94,6 +96,7 @@ public class SingletonComponent extends SessionBeanComponent {
         this.methodLockTypes = singletonComponentCreateService.getMethodApplicableLockTypes();
         this.methodAccessTimeouts = singletonComponentCreateService.getMethodApplicableAccessTimeouts();
         this.defaultAccessTimeoutProvider = singletonComponentCreateService.getDefaultAccessTimeoutService();
+        this.readWriteLock = singletonComponentCreateService.getReadWriteLockType().createLock();
     }
 
     @Override
@@ -185,6 +188,10 @@ public class SingletonComponent extends SessionBeanComponent {
         return readWriteLock;
     }
 
+    public LockMetrics getLockMetrics() {
+        return lockMetrics;
+    }
+
     private void destroySingletonInstance() {
         synchronized (creationLock) {
             if (this.singletonComponentInstance != null) {
@@ -41,10 +41,16 @@ public class SingletonComponentCreateServiceFactory extends EJBComponentCreateSe
 
     private final boolean initOnStartup;
     private final List<ServiceName> dependsOn;
+    private final ReadWriteLockType readWriteLockType;
 
     public SingletonComponentCreateServiceFactory(final boolean initServiceOnStartup, final List<ServiceName> dependsOn) {
+        this(initServiceOnStartup, dependsOn, ReadWriteLockType.REENTRANT);
+    }
+
+    public SingletonComponentCreateServiceFactory(final boolean initServiceOnStartup, final List<ServiceName> dependsOn, final ReadWriteLockType readWriteLockType) {
         this.initOnStartup = initServiceOnStartup;
         this.dependsOn = dependsOn;
+        this.readWriteLockType = readWriteLockType;
     }
 
     @Override
@@ -60,6 +66,6 @@ public class SingletonComponentCreateServiceFactory extends EJBComponentCreateSe
                 serviceBuilder.addDependency(DefaultAccessTimeoutService.SINGLETON_SERVICE_NAME, DefaultAccessTimeoutService.class, componentCreateService.getDefaultAccessTimeoutInjector());
             }
         });
-        return new SingletonComponentCreateService(configuration, this.ejbJarConfiguration, this.initOnStartup, dependsOn);
+        return new SingletonComponentCreateService(configuration, this.ejbJarConfiguration, this.initOnStartup, dependsOn, this.readWriteLockType);
     }
 }
@@ -80,6 +80,11 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
      */
     private boolean initOnStartup;
 
+    /**
+     * The implementation of the lock used for container managed concurrency
+     */
+    private ReadWriteLockType readWriteLockType = ReadWriteLockType.REENTRANT;
+
     private final List<ServiceName> dependsOn = new ArrayList<ServiceName>();
 
     /**
@@ -111,7 +116,7 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
 
         ComponentConfiguration singletonComponentConfiguration = new ComponentConfiguration(this, classIndex, moduleClassLoader, moduleLoader);
         // setup the component create service
-        singletonComponentConfiguration.setComponentCreateServiceFactory(new SingletonComponentCreateServiceFactory(this.isInitOnStartup(), dependsOn));
+        singletonComponentConfiguration.setComponentCreateServiceFactory(new SingletonComponentCreateServiceFactory(this.isInitOnStartup(), dependsOn, this.readWriteLockType));
         if(isExplicitSecurityDomainConfigured()) {
             getConfigurators().add(new ComponentConfigurator() {
                     @Override
@@ -195,6 +200,24 @@ public class SingletonComponentDescription extends SessionBeanComponentDescripti
 
     }
 
+    /**
+     * Returns the implementation of the lock used for container managed concurrency.
+     *
+     * @return a lock type
+     */
+    public ReadWriteLockType getReadWriteLockType() {
+        return this.readWriteLockType;
+    }
+
+    /**
+     * Sets the implementation of the lock used for container managed concurrency.
+     *
+     * @param readWriteLockType a lock type
+     */
+    public void setReadWriteLockType(final ReadWriteLockType readWriteLockType) {
+        this.readWriteLockType = readWriteLockType;
+    }
+
     @Override
     public SessionBeanType getSessionBeanType() {
         return SessionBeanComponentDescription.SessionBeanType.SINGLETON;
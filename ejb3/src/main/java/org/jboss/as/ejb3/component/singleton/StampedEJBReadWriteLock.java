@@ -0,0 +1,276 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A {@link ReadWriteLock} backed by a {@link StampedLock}, with the same semantics as {@link EJBReadWriteLock}:
+ * <ul>
+ * <li>both read and write locks are reentrant</li>
+ * <li>a thread holding the write lock may obtain the read lock, and may release the write lock before the read lock (downgrade)</li>
+ * <li>a thread holding a read lock that tries to obtain the write lock fails with a {@link javax.ejb.IllegalLoopbackException}</li>
+ * </ul>
+ * Since a {@link StampedLock} is not reentrant, the locks held by each thread are tracked here, and only the first
+ * acquisition and the last release of a thread reach the delegate. Compared to a {@link java.util.concurrent.locks.ReentrantReadWriteLock},
+ * this avoids the per-thread hold counts maintained by the delegate, and lets reentrant reads bypass the delegate entirely.
+ * Every outermost read lock still updates the reader count within the state of the delegate, so concurrent readers
+ * continue to contend on that state.
+ * <p/>
+ * Optimistic reads are deliberately not used: the bean methods guarded by this lock have arbitrary side effects and
+ * can therefore not be validated and retried, and the container must exclude them while a write lock is held.
+ */
+public class StampedEJBReadWriteLock implements ReadWriteLock {
+
+    /**
+     * The locks held by the current thread, or null if it holds none
+     */
+    private final ThreadLocal<Holder> holders = new ThreadLocal<>();
+
+    private final StampedLock delegate = new StampedLock();
+
+    private final Lock readLock = new ReadLock();
+
+    private final Lock writeLock = new WriteLock();
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
+    /**
+     * The number of read and write locks held by a thread, along with the stamp returned by the delegate.
+     */
+    private static class Holder {
+        private int reads;
+        private int writes;
+        private long stamp;
+
+        Holder(final long stamp, final int reads, final int writes) {
+            this.stamp = stamp;
+            this.reads = reads;
+            this.writes = writes;
+        }
+    }
+
+    private abstract class AbstractLock implements Lock {
+
+        /**
+         * Attempts to reenter a lock already held by the current thread.
+         *
+         * @param holder the locks held by the current thread
+         */
+        abstract void reenter(Holder holder);
+
+        /**
+         * Creates the holder of the current thread after the delegate granted the specified stamp.
+         */
+        abstract Holder acquired(long stamp);
+
+        @Override
+        public void lock() {
+            Holder holder = holders.get();
+            if (holder != null) {
+                this.reenter(holder);
+            } else {
+                holders.set(this.acquired(this.acquire()));
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            Holder holder = holders.get();
+            if (holder != null) {
+                this.reenter(holder);
+            } else {
+                holders.set(this.acquired(this.acquireInterruptibly()));
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            Holder holder = holders.get();
+            if (holder != null) {
+                this.reenter(holder);
+                return true;
+            }
+            long stamp = this.tryAcquire();
+            if (stamp == 0L) {
+                return false;
+            }
+            holders.set(this.acquired(stamp));
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException {
+            Holder holder = holders.get();
+            if (holder != null) {
+                this.reenter(holder);
+                return true;
+            }
+            long stamp = this.tryAcquire(time, unit);
+            if (stamp == 0L) {
+                return false;
+            }
+            holders.set(this.acquired(stamp));
+            return true;
+        }
+
+        /**
+         * Not implemented
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+
+        abstract long acquire();
+
+        abstract long acquireInterruptibly() throws InterruptedException;
+
+        abstract long tryAcquire();
+
+        abstract long tryAcquire(long time, TimeUnit unit) throws InterruptedException;
+    }
+
+    /**
+     * A read lock which is granted without consulting the delegate if the current thread already holds the read
+     * or the write lock. This also prevents a reentrant read from queueing behind a waiting writer.
+     */
+    private class ReadLock extends AbstractLock {
+
+        @Override
+        void reenter(final Holder holder) {
+            holder.reads += 1;
+        }
+
+        @Override
+        Holder acquired(final long stamp) {
+            return new Holder(stamp, 1, 0);
+        }
+
+        @Override
+        long acquire() {
+            return delegate.readLock();
+        }
+
+        @Override
+        long acquireInterruptibly() throws InterruptedException {
+            return delegate.readLockInterruptibly();
+        }
+
+        @Override
+        long tryAcquire() {
+            return delegate.tryReadLock();
+        }
+
+        @Override
+        long tryAcquire(final long time, final TimeUnit unit) throws InterruptedException {
+            return delegate.tryReadLock(time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            Holder holder = holders.get();
+            if ((holder == null) || (holder.reads == 0)) {
+                throw new IllegalMonitorStateException();
+            }
+            holder.reads -= 1;
+            if ((holder.reads == 0) && (holder.writes == 0)) {
+                holders.remove();
+                delegate.unlockRead(holder.stamp);
+            }
+        }
+    }
+
+    /**
+     * A write lock which throws an {@link javax.ejb.IllegalLoopbackException} if the current thread holds a read lock.
+     */
+    private class WriteLock extends AbstractLock {
+
+        @Override
+        void reenter(final Holder holder) {
+            if (holder.reads > 0) {
+                throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+            }
+            holder.writes += 1;
+        }
+
+        @Override
+        Holder acquired(final long stamp) {
+            return new Holder(stamp, 0, 1);
+        }
+
+        @Override
+        long acquire() {
+            return delegate.writeLock();
+        }
+
+        @Override
+        long acquireInterruptibly() throws InterruptedException {
+            return delegate.writeLockInterruptibly();
+        }
+
+        @Override
+        long tryAcquire() {
+            return delegate.tryWriteLock();
+        }
+
+        @Override
+        long tryAcquire(final long time, final TimeUnit unit) throws InterruptedException {
+            return delegate.tryWriteLock(time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            Holder holder = holders.get();
+            if ((holder == null) || (holder.writes == 0)) {
+                throw new IllegalMonitorStateException();
+            }
+            holder.writes -= 1;
+            if (holder.writes == 0) {
+                if (holder.reads > 0) {
+                    // Downgrade, which always succeeds for a write stamp
+                    holder.stamp = delegate.tryConvertToReadLock(holder.stamp);
+                } else {
+                    holders.remove();
+                    delegate.unlockWrite(holder.stamp);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jboss.as.ejb3.component.singleton.ReadWriteLockType;
+import org.jboss.metadata.ejb.parser.jboss.ejb3.AbstractEJBBoundMetaDataParser;
+import org.jboss.metadata.property.PropertyReplacer;
+
+/**
+ * Parser for <code>urn:ejb-concurrency</code> namespace. The <code>urn:ejb-concurrency</code> namespace elements
+ * can be used to select the implementation of the lock used for container managed concurrency of singleton EJBs.
+ */
+public class EJBBoundConcurrencyMetaDataParser extends AbstractEJBBoundMetaDataParser<EJBBoundConcurrencyMetaData> {
+
+    public static final String NAMESPACE_URI = "urn:ejb-concurrency:1.0";
+
+    private static final String ROOT_ELEMENT_CONCURRENCY = "concurrency";
+    private static final String ELEMENT_READ_WRITE_LOCK = "read-write-lock";
+
+    @Override
+    public EJBBoundConcurrencyMetaData parse(final XMLStreamReader reader, final PropertyReplacer propertyReplacer) throws XMLStreamException {
+        final String element = reader.getLocalName();
+        // we only parse <concurrency> (root) element
+        if (!ROOT_ELEMENT_CONCURRENCY.equals(element)) {
+            throw unexpectedElement(reader);
+        }
+        final EJBBoundConcurrencyMetaData metaData = new EJBBoundConcurrencyMetaData();
+        this.processElements(metaData, reader, propertyReplacer);
+        return metaData;
+    }
+
+    @Override
+    protected void processElement(final EJBBoundConcurrencyMetaData metaData, final XMLStreamReader reader, final PropertyReplacer propertyReplacer) throws XMLStreamException {
+        final String namespaceURI = reader.getNamespaceURI();
+        final String elementName = reader.getLocalName();
+        // if it doesn't belong to our namespace then let the super handle this
+        if (!NAMESPACE_URI.equals(namespaceURI)) {
+            super.processElement(metaData, reader, propertyReplacer);
+            return;
+        }
+        if (ELEMENT_READ_WRITE_LOCK.equals(elementName)) {
+            final String value = getElementText(reader, propertyReplacer);
+            final ReadWriteLockType type = ReadWriteLockType.forName(value.trim());
+            if (type == null) {
+                throw new XMLStreamException("Unexpected value '" + value + "' of element " + ELEMENT_READ_WRITE_LOCK, reader.getLocation());
+            }
+            metaData.setReadWriteLockType(type);
+        } else {
+            throw unexpectedElement(reader);
+        }
+    }
+}
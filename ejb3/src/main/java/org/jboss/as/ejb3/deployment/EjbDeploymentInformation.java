@@ -25,13 +25,18 @@ package org.jboss.as.ejb3.deployment;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.iiop.EjbIIOPService;
+import org.jboss.ejb.client.EJBMethodLocator;
+import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
+import org.jboss.marshalling.cloner.ClonerConfiguration;
 import org.jboss.msc.value.InjectedValue;
 
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Runtime information about an EJB in a module
@@ -50,6 +55,8 @@ public class EjbDeploymentInformation {
 
     private final InjectedValue<EjbIIOPService> iorFactory;
     private final Set<String> remoteViewClassNames = new HashSet<String>();
+    private final Map<String, Map<EJBMethodLocator, Method>> viewMethods = new ConcurrentHashMap<>();
+    private volatile ClonerConfiguration clonerConfiguration;
 
     /**
      * @param ejbName               The EJB name
@@ -117,6 +124,33 @@ public class EjbDeploymentInformation {
         return deploymentClassLoader;
     }
 
+    /**
+     * Returns the dispatch table of the specified view, mapping the method locators of invocations to the methods of the view.
+     * The table is initially empty, and is populated by the caller as methods are resolved.
+     *
+     * @param viewClassName The fully qualified classname of the view
+     * @return a concurrent map of method locator to view method
+     */
+    public Map<EJBMethodLocator, Method> getViewMethods(final String viewClassName) {
+        return this.viewMethods.computeIfAbsent(viewClassName, name -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns the configuration of cloners that copy values passed by value into the deployment class loader of this EJB.
+     * The returned configuration is shared, and must not be modified.
+     *
+     * @return a cloner configuration
+     */
+    public ClonerConfiguration getClonerConfiguration() {
+        ClonerConfiguration configuration = this.clonerConfiguration;
+        if (configuration == null) {
+            configuration = new ClonerConfiguration();
+            configuration.setClassCloner(new ClassLoaderClassCloner(this.deploymentClassLoader));
+            this.clonerConfiguration = configuration;
+        }
+        return configuration;
+    }
+
     public EjbIIOPService getIorFactory() {
         return iorFactory.getOptionalValue();
     }
@@ -35,14 +35,20 @@ import org.jboss.as.ee.metadata.MethodAnnotationAggregator;
 import org.jboss.as.ee.metadata.RuntimeAnnotationInformation;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentDescription;
+import org.jboss.as.ejb3.component.singleton.ReadWriteLockType;
+import org.jboss.as.ejb3.component.singleton.SingletonComponentDescription;
 import org.jboss.as.ejb3.concurrency.AccessTimeoutDetails;
+import org.jboss.as.ejb3.concurrency.EJBBoundConcurrencyMetaData;
+import org.jboss.as.ejb3.deployment.EjbDeploymentAttachmentKeys;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.reflect.ClassReflectionIndex;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.metadata.ejb.spec.AssemblyDescriptorMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodsMetaData;
+import org.jboss.metadata.ejb.spec.EjbJarMetaData;
 import org.jboss.metadata.ejb.spec.NamedMethodMetaData;
 import org.jboss.metadata.ejb.spec.SessionBean31MetaData;
 import org.jboss.metadata.ejb.spec.SessionBeanMetaData;
@@ -90,6 +96,13 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
 
     protected void handleDeploymentDescriptor(final DeploymentUnit deploymentUnit, final DeploymentReflectionIndex deploymentReflectionIndex, final Class<?> componentClass, final SessionBeanComponentDescription componentConfiguration) throws DeploymentUnitProcessingException {
 
+        if (componentConfiguration instanceof SingletonComponentDescription) {
+            final ReadWriteLockType readWriteLockType = getReadWriteLockType(deploymentUnit, componentConfiguration.getEJBName());
+            if (readWriteLockType != null) {
+                ((SingletonComponentDescription) componentConfiguration).setReadWriteLockType(readWriteLockType);
+            }
+        }
+
         if (componentConfiguration.getDescriptorData() == null) {
             return;
         }
@@ -126,6 +139,33 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
         }
     }
 
+    /**
+     * Returns the lock implementation configured for the specified EJB via the <code>urn:ejb-concurrency</code>
+     * namespace of jboss-ejb3.xml, if any.
+     */
+    private static ReadWriteLockType getReadWriteLockType(final DeploymentUnit deploymentUnit, final String ejbName) {
+        final EjbJarMetaData metaData = deploymentUnit.getAttachment(EjbDeploymentAttachmentKeys.EJB_JAR_METADATA);
+        if (metaData == null) {
+            return null;
+        }
+        final AssemblyDescriptorMetaData assemblyDescriptor = metaData.getAssemblyDescriptor();
+        if (assemblyDescriptor == null) {
+            return null;
+        }
+        final List<EJBBoundConcurrencyMetaData> concurrencies = assemblyDescriptor.getAny(EJBBoundConcurrencyMetaData.class);
+        ReadWriteLockType readWriteLockType = null;
+        if (concurrencies != null) {
+            for (final EJBBoundConcurrencyMetaData concurrency : concurrencies) {
+                // an explicit ejb-name match takes precedence over the wildcard
+                if ("*".equals(concurrency.getEjbName()) && readWriteLockType == null) {
+                    readWriteLockType = concurrency.getReadWriteLockType();
+                } else if (ejbName.equals(concurrency.getEjbName())) {
+                    readWriteLockType = concurrency.getReadWriteLockType();
+                }
+            }
+        }
+        return readWriteLockType;
+    }
 
     private Method resolveMethod(final DeploymentReflectionIndex index, final Class<?> currentClass, final Class<?> componentClass, final NamedMethodMetaData methodData) throws DeploymentUnitProcessingException {
         if (currentClass == null) {
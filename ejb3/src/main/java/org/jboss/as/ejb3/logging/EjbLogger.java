@@ -3184,4 +3184,23 @@ public interface EjbLogger extends BasicLogger {
     @Message(id = 509, value = "Clustered EJBs in Node: %s are bound to INADDR_ANY(%s). Either use a non-wildcard server bind address or add client-mapping entries to the relevant socket-binding for the Remoting connector")
     void clusteredEJBsBoundToINADDRANY(String nodeName, String ip);
 
+    @LogMessage(level = ERROR)
+    @Message(id = 510, value = "Failed to execute scheduled timer task %s")
+    void failedToExecuteScheduledTask(Runnable task, @Cause Throwable cause);
+
+    @Message(id = 511, value = "Could not open timer journal in %s")
+    RuntimeException failToOpenTimerJournal(File directory, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 512, value = "Ignoring truncated or corrupt record at position %d of timer journal segment %s")
+    void ignoringCorruptTimerJournalRecord(long position, File segment);
+
+    @LogMessage(level = WARN)
+    @Message(id = 513, value = "Failed to compact timer journal in %s")
+    void failToCompactTimerJournal(File directory, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 514, value = "Failed to write timer journal segment %s, subsequent records will be written to a new segment")
+    void failToWriteTimerJournal(File segment, @Cause Throwable cause);
+
 }
@@ -0,0 +1,376 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size whose idle instances are spread over a number of stripes, one per processor.
+ * <p/>
+ * Unlike {@link StrictMaxPool}, the uncontended path never touches a shared semaphore or queue: a thread first
+ * looks in its home stripe, then steals from the other stripes, and only when no idle instance exists does it
+ * reserve one of the {@code maxSize} creation slots. Threads only block, on a shared lock, once all slots are
+ * in use and no instance is idle.
+ * <p/>
+ * Each stripe also counts its idle instances, so that an empty stripe is skipped when taking an instance and a full one
+ * when returning it. An exhausted pool therefore costs one read per stripe, rather than one per slot.
+ */
+public class StripedMaxPool<T> extends AbstractPool<T> {
+
+    // 16 compressed references per 64 byte cache line
+    private static final int SLOTS_PER_CACHE_LINE = 16;
+    // 16 ints per 64 byte cache line
+    private static final int COUNTS_PER_CACHE_LINE = 16;
+
+    private volatile int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    /**
+     * Idle instances. Stripe {@code i} owns the slots {@code [i * stride, i * stride + depth)}, the remainder
+     * of each stripe is padding so that neighbouring stripes do not share a cache line.
+     */
+    private final AtomicReferenceArray<T> slots;
+    private final int stripeMask;
+    private final int stride;
+    private final int depth;
+    /**
+     * The number of idle instances of each stripe, padded like the slots. A count is decremented before an instance is
+     * taken from the stripe and incremented after one is put back, so it never exceeds the instances actually idle
+     * there: a positive count guarantees an instance to take, and a count of {@code depth} a full stripe.
+     */
+    private final AtomicIntegerArray idle;
+
+    /**
+     * The number of instances created by this pool, and not yet destroyed, which can never exceed {@code maxSize}.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder inUse = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int processors) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        // Never use more stripes than the pool can hold instances
+        int stripes = Integer.highestOneBit(Math.max(1, Math.min(processors, maxSize)));
+        this.stripeMask = stripes - 1;
+        this.depth = (maxSize + stripes - 1) / stripes;
+        this.stride = ((this.depth + SLOTS_PER_CACHE_LINE - 1) / SLOTS_PER_CACHE_LINE) * SLOTS_PER_CACHE_LINE;
+        this.slots = new AtomicReferenceArray<>(stripes * this.stride);
+        this.idle = new AtomicIntegerArray(stripes * COUNTS_PER_CACHE_LINE);
+    }
+
+    @Override
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.inUse.decrement();
+        this.size.decrementAndGet();
+        this.signal();
+
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return this.maxSize - this.inUse.intValue();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        // Waiters may now be able to create an instance; surplus instances are destroyed as they are released
+        this.signalAll();
+    }
+
+    /**
+     * Get an instance without identity.
+     *
+     * @return an idle or newly created instance
+     */
+    @Override
+    public T get() {
+        T bean = this.poll();
+        if (bean == null) {
+            bean = this.tryCreate();
+            if (bean == null) {
+                bean = this.await();
+            }
+        }
+        this.inUse.increment();
+        return bean;
+    }
+
+    /**
+     * Return an instance after invocation.
+     *
+     * @param obj the instance
+     */
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.inUse.intValue(), this.maxSize, this);
+        }
+
+        if (this.shrink() || !this.offer(obj)) {
+            this.destroy(obj);
+        }
+        this.inUse.decrement();
+        this.signal();
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.inUse.decrement();
+        this.size.decrementAndGet();
+        this.signal();
+
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        // Claim idle instances like poll() does, so a concurrent get() never waits on a count for a cleared slot
+        for (int i = 0; i <= this.stripeMask; ++i) {
+            while (this.reserve(i)) {
+                T obj = this.take(i);
+                this.size.decrementAndGet();
+                this.destroy(obj);
+            }
+        }
+    }
+
+    /**
+     * Takes an idle instance, starting with the home stripe of the current thread and then stealing from the others.
+     */
+    private T poll() {
+        int home = homeStripe();
+        for (int i = 0; i <= this.stripeMask; ++i) {
+            int stripe = (home + i) & this.stripeMask;
+            if (this.reserve(stripe)) {
+                return this.take(stripe);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Claims one of the idle instances of a stripe.
+     *
+     * @return true if an instance was claimed, false if the stripe has none
+     */
+    private boolean reserve(int stripe) {
+        int index = stripe * COUNTS_PER_CACHE_LINE;
+        int current = this.idle.get(index);
+        while (current > 0) {
+            if (this.idle.compareAndSet(index, current, current - 1)) {
+                return true;
+            }
+            current = this.idle.get(index);
+        }
+        return false;
+    }
+
+    /**
+     * Takes the instance claimed by {@link #reserve(int)}. The stripe holds at least as many instances as there are
+     * claims, so this only needs to scan again if concurrent claimants took the instances seen by a previous scan.
+     */
+    private T take(int stripe) {
+        int offset = stripe * this.stride;
+        while (true) {
+            for (int j = 0; j < this.depth; ++j) {
+                int index = offset + j;
+                T bean = this.slots.get(index);
+                if ((bean != null) && this.slots.compareAndSet(index, bean, null)) {
+                    return bean;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an instance to the first free slot, starting with the home stripe of the current thread.
+     * The slots are sized for the initial {@code maxSize}, so there may be none left once the pool has been grown.
+     *
+     * @return true if the instance was pooled, false if there was no free slot
+     */
+    private boolean offer(T bean) {
+        int home = homeStripe();
+        for (int i = 0; i <= this.stripeMask; ++i) {
+            int stripe = (home + i) & this.stripeMask;
+            if (this.idle.get(stripe * COUNTS_PER_CACHE_LINE) >= this.depth) {
+                continue;
+            }
+            int offset = stripe * this.stride;
+            for (int j = 0; j < this.depth; ++j) {
+                int index = offset + j;
+                if ((this.slots.get(index) == null) && this.slots.compareAndSet(index, null, bean)) {
+                    this.idle.incrementAndGet(stripe * COUNTS_PER_CACHE_LINE);
+                    return true;
+                }
+            }
+        }
+        this.size.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * Gives up one creation slot while the pool holds more instances than its maximum size, which may have been reduced.
+     *
+     * @return true if the caller must destroy its instance
+     */
+    private boolean shrink() {
+        int current = this.size.get();
+        while (current > this.maxSize) {
+            if (this.size.compareAndSet(current, current - 1)) {
+                return true;
+            }
+            current = this.size.get();
+        }
+        return false;
+    }
+
+    /**
+     * Creates a new instance, if doing so would not exceed the maximum size of this pool.
+     * @return a new instance, or null if this pool is already at its maximum size
+     */
+    private T tryCreate() {
+        int current = this.size.get();
+        while (current < this.maxSize) {
+            if (this.size.compareAndSet(current, current + 1)) {
+                T bean = null;
+                try {
+                    bean = create();
+                } finally {
+                    if (bean == null) {
+                        this.size.decrementAndGet();
+                        this.signal();
+                    }
+                }
+                return bean;
+            }
+            current = this.size.get();
+        }
+        return null;
+    }
+
+    /**
+     * Slow path, used once all instances are in use: blocks until an instance is released or discarded.
+     */
+    private T await() {
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        this.lock.lock();
+        try {
+            // Must be visible before we re-check, so that a concurrent release will signal us
+            this.waiters.incrementAndGet();
+            try {
+                while (true) {
+                    T bean = this.poll();
+                    if (bean == null) {
+                        bean = this.tryCreate();
+                    }
+                    if (bean != null) {
+                        return bean;
+                    }
+                    if (remaining <= 0L) {
+                        throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                    }
+                    remaining = this.available.awaitNanos(remaining);
+                }
+            } finally {
+                this.waiters.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void signal() {
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.available.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private void signalAll() {
+        this.lock.lock();
+        try {
+            this.available.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static int homeStripe() {
+        // Spread the thread id, so that sequentially allocated ids do not cluster on neighbouring stripes
+        return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+}
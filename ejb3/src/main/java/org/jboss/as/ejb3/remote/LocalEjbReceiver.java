@@ -47,7 +47,6 @@ import org.jboss.ejb.client.SessionID;
 import org.jboss.ejb.client.StatelessEJBLocator;
 import org.jboss.ejb.client.TransactionID;
 import org.jboss.invocation.InterceptorContext;
-import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
 import org.jboss.marshalling.cloner.ClonerConfiguration;
 import org.jboss.marshalling.cloner.ObjectCloner;
 import org.jboss.marshalling.cloner.ObjectCloners;
@@ -79,6 +78,15 @@ public class LocalEjbReceiver extends EJBReceiver {
     private static final Object[] EMPTY_OBJECT_ARRAY = {};
     private static final EJBReceiverInvocationContext.ResultProducer.Immediate NULL_RESULT = new EJBReceiverInvocationContext.ResultProducer.Immediate(null);
     private static final AttachmentKey<CancellationFlag> CANCELLATION_FLAG_ATTACHMENT_KEY = new AttachmentKey<>();
+    // Configurations of cloners that copy results into the class loader of a given proxy class
+    private static final ClassValue<ClonerConfiguration> RESULT_CLONER_CONFIGURATIONS = new ClassValue<ClonerConfiguration>() {
+        @Override
+        protected ClonerConfiguration computeValue(Class<?> proxyClass) {
+            final ClonerConfiguration config = new ClonerConfiguration();
+            config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(proxyClass)));
+            return config;
+        }
+    };
 
     private final DeploymentRepository deploymentRepository;
 
@@ -105,11 +113,8 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (!ejb.isRemoteView(viewClass.getName())) {
             throw EjbLogger.ROOT_LOGGER.viewNotFound(viewClass.getName(), ejb.getEjbName());
         }
-        final ClonerConfiguration paramConfig = new ClonerConfiguration();
-        paramConfig.setClassCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
-        final ObjectCloner parameterCloner = createCloner(paramConfig);
-        //TODO: this is not very efficient
-        final Method method = view.getMethod(invocation.getInvokedMethod().getName(), DescriptorUtils.methodDescriptor(invocation.getInvokedMethod()));
+        final Method invokedMethod = invocation.getInvokedMethod();
+        final Method method = ejb.getViewMethods(viewClass.getName()).computeIfAbsent(invocation.getMethodLocator(), locator -> view.getMethod(invokedMethod.getName(), DescriptorUtils.methodDescriptor(invokedMethod)));
 
         final boolean async = view.isAsynchronous(method) || invocation.isClientAsync();
 
@@ -117,9 +122,21 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (invocation.getParameters() == null) {
             parameters = EMPTY_OBJECT_ARRAY;
         } else {
-            parameters = new Object[invocation.getParameters().length];
+            final Object[] invocationParameters = invocation.getParameters();
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            parameters = new Object[invocationParameters.length];
+            // Only create a cloner if some parameter actually needs to be cloned
+            ObjectCloner parameterCloner = null;
             for (int i = 0; i < parameters.length; ++i) {
-                parameters[i] = clone(method.getParameterTypes()[i], parameterCloner, invocation.getParameters()[i], allowPassByReference);
+                final Object parameter = invocationParameters[i];
+                if (isPassByReference(parameterTypes[i], parameter, allowPassByReference)) {
+                    parameters[i] = parameter;
+                } else {
+                    if (parameterCloner == null) {
+                        parameterCloner = createCloner(ejb.getClonerConfiguration());
+                    }
+                    parameters[i] = clone(parameterCloner, parameter);
+                }
             }
         }
 
@@ -165,9 +182,7 @@ public class LocalEjbReceiver extends EJBReceiver {
             throw EjbLogger.ROOT_LOGGER.ejbNotFoundInDeployment(locator);
         }
 
-        final ClonerConfiguration config = new ClonerConfiguration();
-        config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass())));
-        final ObjectCloner resultCloner = createCloner(config);
+        final ClonerConfiguration resultClonerConfig = RESULT_CLONER_CONFIGURATIONS.get(invocation.getInvokedProxy().getClass());
         if (async) {
             if (ejbComponent instanceof SessionBeanComponent) {
                 final CancellationFlag flag = new CancellationFlag();
@@ -204,7 +219,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                             result = view.invoke(interceptorContext);
                         } catch (Exception e) {
                             // WFLY-4331 - clone the exception of an async task
-                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                            receiverContext.resultReady(new CloningExceptionProducer(resultClonerConfig, e, allowPassByReference));
                             return;
                         }
                         // if the result is null, there is no cloning needed
@@ -225,7 +240,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                                     intr = true;
                                 } catch (ExecutionException e) {
                                     // WFLY-4331 - clone the exception of an async task
-                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                                    receiverContext.resultReady(new CloningExceptionProducer(resultClonerConfig, e, allowPassByReference));
                                     return;
                                 }
                             } finally {
@@ -236,10 +251,10 @@ public class LocalEjbReceiver extends EJBReceiver {
                                 receiverContext.resultReady(NULL_RESULT);
                                 return;
                             }
-                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference));
+                            receiverContext.resultReady(new CloningResultProducer(invocation, resultClonerConfig, asyncValue, allowPassByReference));
                             return;
                         }
-                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+                        receiverContext.resultReady(new CloningResultProducer(invocation, resultClonerConfig, result, allowPassByReference));
                     } finally {
                         StartupCountdown.restore(null);
                         clearSecurityContextOnAssociation();
@@ -267,10 +282,10 @@ public class LocalEjbReceiver extends EJBReceiver {
             } catch (Exception e) {
                 //we even have to clone the exception type
                 //to make sure it matches
-                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                receiverContext.resultReady(new CloningExceptionProducer(resultClonerConfig, e, allowPassByReference));
                 return;
             }
-            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+            receiverContext.resultReady(new CloningResultProducer(invocation, resultClonerConfig, result, allowPassByReference));
 
             for(Map.Entry<String, Object> entry : interceptorContext.getContextData().entrySet()) {
                 if (entry.getValue() instanceof Serializable) {
@@ -287,19 +302,19 @@ public class LocalEjbReceiver extends EJBReceiver {
 
     static final class CloningResultProducer implements EJBReceiverInvocationContext.ResultProducer {
         private final EJBClientInvocationContext invocation;
-        private final ObjectCloner resultCloner;
+        private final ClonerConfiguration resultClonerConfig;
         private final Object result;
         private final boolean allowPassByReference;
 
-        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectCloner resultCloner, final Object result, final boolean allowPassByReference) {
+        CloningResultProducer(final EJBClientInvocationContext invocation, final ClonerConfiguration resultClonerConfig, final Object result, final boolean allowPassByReference) {
             this.invocation = invocation;
-            this.resultCloner = resultCloner;
+            this.resultClonerConfig = resultClonerConfig;
             this.result = result;
             this.allowPassByReference = allowPassByReference;
         }
 
         public Object getResult() throws Exception {
-            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference);
+            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultClonerConfig, result, allowPassByReference);
         }
 
         public void discardResult() {
@@ -307,18 +322,18 @@ public class LocalEjbReceiver extends EJBReceiver {
     }
 
     static final class CloningExceptionProducer implements EJBReceiverInvocationContext.ResultProducer {
-        private final ObjectCloner resultCloner;
+        private final ClonerConfiguration resultClonerConfig;
         private final Exception exception;
         private final boolean allowPassByReference;
 
-        CloningExceptionProducer(final ObjectCloner resultCloner, final Exception exception, final boolean allowPassByReference) {
-            this.resultCloner = resultCloner;
+        CloningExceptionProducer(final ClonerConfiguration resultClonerConfig, final Exception exception, final boolean allowPassByReference) {
+            this.resultClonerConfig = resultClonerConfig;
             this.exception = exception;
             this.allowPassByReference = allowPassByReference;
         }
 
         public Object getResult() throws Exception {
-            throw (Exception) LocalEjbReceiver.clone(Exception.class, resultCloner, exception, allowPassByReference);
+            throw (Exception) LocalEjbReceiver.clone(Exception.class, resultClonerConfig, exception, allowPassByReference);
         }
 
         public void discardResult() {
@@ -327,7 +342,7 @@ public class LocalEjbReceiver extends EJBReceiver {
 
 
 
-    private ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
+    private static ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
         ObjectCloner parameterCloner;
         if(WildFlySecurityManager.isChecking()) {
             parameterCloner = WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig));
@@ -348,18 +363,26 @@ public class LocalEjbReceiver extends EJBReceiver {
         return ((StatefulSessionComponent) component).createSession();
     }
 
-    static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference) {
+    static Object clone(final Class<?> target, final ClonerConfiguration config, final Object object, final boolean allowPassByReference) {
+        if (isPassByReference(target, object, allowPassByReference)) {
+            return object;
+        }
+        return clone(createCloner(config), object);
+    }
+
+    static boolean isPassByReference(final Class<?> target, final Object object, final boolean allowPassByReference) {
         if (object == null) {
-            return null;
+            return true;
         }
         // don't clone primitives
         if (target.isPrimitive()) {
-            return object;
+            return true;
         }
         if (allowPassByReference && target.isAssignableFrom(object.getClass())) {
-            return object;
+            return true;
         }
-        return clone(cloner, object);
+        // don't clone values of immutable types visible to all deployments
+        return ImmutableTypes.isImmutable(object);
     }
 
     private static Object clone(final ObjectCloner cloner, final Object object) {
@@ -32,11 +32,13 @@ import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.persistence.database.RefreshStatistics;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -85,6 +87,32 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
                     .setDefaultValue(new ModelNode(true))
                     .build();
 
+    static final SimpleAttributeDefinition REFRESH_COUNT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_COUNT, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition AVERAGE_REFRESH_TIME =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.AVERAGE_REFRESH_TIME, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition MAX_REFRESH_TIME =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_REFRESH_TIME, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition LOADED_TIMER_COUNT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.LOADED_TIMER_COUNT, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
     public static final Map<String, AttributeDefinition> ATTRIBUTES ;
 
     static {
@@ -110,6 +138,10 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
         for (AttributeDefinition attr : ATTRIBUTES.values()) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        resourceRegistration.registerMetric(REFRESH_COUNT, new DatabaseDataStoreMetricsHandler(RefreshStatistics::getRefreshCount));
+        resourceRegistration.registerMetric(AVERAGE_REFRESH_TIME, new DatabaseDataStoreMetricsHandler(RefreshStatistics::getAverageRefreshTime));
+        resourceRegistration.registerMetric(MAX_REFRESH_TIME, new DatabaseDataStoreMetricsHandler(RefreshStatistics::getMaxRefreshTime));
+        resourceRegistration.registerMetric(LOADED_TIMER_COUNT, new DatabaseDataStoreMetricsHandler(RefreshStatistics::getLoadedTimerCount));
     }
 
 }
@@ -73,6 +73,7 @@ public interface EJB3SubsystemModel {
     String MAX_POOL_SIZE = "max-pool-size";
     String DERIVE_SIZE = "derive-size";
     String DERIVED_SIZE = "derived-size";
+    String STRIPED = "striped";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
 
@@ -81,6 +82,7 @@ public interface EJB3SubsystemModel {
 
     String RELATIVE_TO = "relative-to";
     String PATH = "path";
+    String JOURNAL = "journal";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
@@ -101,6 +103,11 @@ public interface EJB3SubsystemModel {
     String TIMER_SERVICE = "timer-service";
     String THREAD_POOL = "thread-pool";
     String THREAD_POOL_NAME = "thread-pool-name";
+    String SCHEDULER = "scheduler";
+    String SCHEDULED_COUNT = "scheduled-count";
+    String EXECUTION_COUNT = "execution-count";
+    String AVERAGE_SCHEDULING_LAG = "average-scheduling-lag";
+    String MAX_SCHEDULING_LAG = "max-scheduling-lag";
     String DEFAULT = "default";
 
     String USE_QUALIFIED_NAME = "use-qualified-name";
@@ -123,6 +130,12 @@ public interface EJB3SubsystemModel {
     @Deprecated String CLUSTER_PASSIVATION_STORE = "cluster-passivation-store";
     String BEAN_CACHE = "bean-cache";
     String CACHE_CONTAINER = "cache-container";
+    String COMPRESSION_THRESHOLD = "compression-threshold";
+    String COMPRESSIONS = "compressions";
+    String COMPRESSION_RATIO = "compression-ratio";
+    String COMPRESSION_TIME = "compression-time";
+    String DECOMPRESSIONS = "decompressions";
+    String DECOMPRESSION_TIME = "decompression-time";
     @Deprecated String CLIENT_MAPPINGS_CACHE = "client-mappings-cache";
     @Deprecated String PASSIVATE_EVENTS_ON_REPLICATE = "passivate-events-on-replicate";
 
@@ -135,6 +148,10 @@ public interface EJB3SubsystemModel {
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
     String ALLOW_EXECUTION = "allow-execution";
+    String REFRESH_COUNT = "refresh-count";
+    String AVERAGE_REFRESH_TIME = "average-refresh-time";
+    String MAX_REFRESH_TIME = "max-refresh-time";
+    String LOADED_TIMER_COUNT = "loaded-timer-count";
 
     String STATIC_URLS = "static-urls";
 
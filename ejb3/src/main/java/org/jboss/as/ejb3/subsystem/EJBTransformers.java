@@ -35,6 +35,7 @@ import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.DEFAULT_SFSB_PASSIV
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.EXECUTE_IN_WORKER;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.REFRESH_INTERVAL;
 import static org.jboss.as.ejb3.subsystem.StrictMaxPoolResourceDefinition.DERIVE_SIZE;
+import static org.jboss.as.ejb3.subsystem.StrictMaxPoolResourceDefinition.STRIPED;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -74,6 +75,7 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
     private static final ModelVersion VERSION_1_3_0 = ModelVersion.create(1, 3, 0);
     private static final ModelVersion VERSION_3_0_0 = ModelVersion.create(3, 0, 0);
     private static final ModelVersion VERSION_4_0_0 = ModelVersion.create(4, 0, 0);
+    private static final ModelVersion VERSION_5_0_0 = ModelVersion.create(5, 0, 0);
 
     @Override
     public String getSubsystemName() {
@@ -86,6 +88,7 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         registerTimerTransformers_1_3_0(subsystemRegistration);
         registerTransformers_3_0_0(subsystemRegistration);
         registerTransformers_4_0_0(subsystemRegistration);
+        registerTransformers_5_0_0(subsystemRegistration);
     }
 
     private static void registerTransformers_1_2_1(SubsystemTransformerRegistration subsystemRegistration) {
@@ -162,6 +165,8 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         registerMdbDeliveryGroupTransformers(builder);
         registerRemoteTransformers(builder);
         registerStrictMaxPoolTransformers(builder);
+        registerTimerServiceTransformers(builder);
+        registerPassivationStoreCompressionTransformers(builder);
         registerApplicationSecurityDomainDTransformers(builder);
         registerIdentityTransformers(builder);
 
@@ -185,6 +190,10 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         builder.getAttributeBuilder().setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(false)), EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN);
         builder.getAttributeBuilder().addRejectCheck(RejectAttributeChecker.DEFINED, EJB3SubsystemRootResourceDefinition.ENABLE_GRACEFUL_TXN_SHUTDOWN);
 
+        registerStripedPoolTransformers(builder);
+        registerTimerServiceTransformers(builder);
+        registerPassivationStoreCompressionTransformers(builder);
+
         // Rename new statistics-enabled attribute to old enable-statistics
         builder.getAttributeBuilder()
                .addRename(EJB3SubsystemModel.STATISTICS_ENABLED, EJB3SubsystemModel.ENABLE_STATISTICS);
@@ -192,6 +201,16 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         TransformationDescription.Tools.register(builder.build(), subsystemRegistration, VERSION_4_0_0);
     }
 
+    private static void registerTransformers_5_0_0(SubsystemTransformerRegistration subsystemRegistration) {
+        final ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
+
+        registerStripedPoolTransformers(builder);
+        registerTimerServiceTransformers(builder);
+        registerPassivationStoreCompressionTransformers(builder);
+
+        TransformationDescription.Tools.register(builder.build(), subsystemRegistration, VERSION_5_0_0);
+    }
+
     private static void registerRemoteTransformers(ResourceTransformationDescriptionBuilder parent) {
         ResourceTransformationDescriptionBuilder remoteService = parent.addChildResource(EJB3SubsystemModel.REMOTE_SERVICE_PATH);
         remoteService.getAttributeBuilder()
@@ -213,7 +232,44 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         parent.addChildResource(PathElement.pathElement(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL))
                 .getAttributeBuilder()
                 .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(StrictMaxPoolResourceDefinition.DeriveSize.NONE.toString())), DERIVE_SIZE)
-                .addRejectCheck(RejectAttributeChecker.DEFINED, DERIVE_SIZE);
+                .addRejectCheck(RejectAttributeChecker.DEFINED, DERIVE_SIZE)
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(false)), STRIPED)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, STRIPED);
+    }
+
+    private static void registerStripedPoolTransformers(ResourceTransformationDescriptionBuilder parent) {
+        parent.addChildResource(PathElement.pathElement(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL))
+                .getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(false)), STRIPED)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, STRIPED);
+    }
+
+    private static void registerTimerServiceTransformers(ResourceTransformationDescriptionBuilder parent) {
+        ResourceTransformationDescriptionBuilder timerService = registerTimerSchedulerTransformers(parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH));
+        registerFileDataStoreJournalTransformers(timerService.addChildResource(EJB3SubsystemModel.FILE_DATA_STORE_PATH));
+    }
+
+    private static ResourceTransformationDescriptionBuilder registerTimerSchedulerTransformers(ResourceTransformationDescriptionBuilder timerService) {
+        timerService.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(TimerServiceResourceDefinition.SCHEDULER.getDefaultValue()), TimerServiceResourceDefinition.SCHEDULER)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, TimerServiceResourceDefinition.SCHEDULER)
+                .end();
+        return timerService;
+    }
+
+    private static void registerFileDataStoreJournalTransformers(ResourceTransformationDescriptionBuilder fileDataStore) {
+        fileDataStore.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(FileDataStoreResourceDefinition.JOURNAL.getDefaultValue()), FileDataStoreResourceDefinition.JOURNAL)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileDataStoreResourceDefinition.JOURNAL)
+                .end();
+    }
+
+    private static void registerPassivationStoreCompressionTransformers(ResourceTransformationDescriptionBuilder parent) {
+        parent.addChildResource(PassivationStoreResourceDefinition.INSTANCE.getPathElement())
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, PassivationStoreResourceDefinition.COMPRESSION_THRESHOLD)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, PassivationStoreResourceDefinition.COMPRESSION_THRESHOLD)
+                .end();
     }
 
     private static void registerMdbDeliveryGroupTransformers(ResourceTransformationDescriptionBuilder parent) {
@@ -221,7 +277,7 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
     }
 
     private static void registerTimerTransformers_1_2_0(ResourceTransformationDescriptionBuilder parent) {
-        ResourceTransformationDescriptionBuilder timerService = parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        ResourceTransformationDescriptionBuilder timerService = registerTimerSchedulerTransformers(parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH));
         registerDataStoreTransformers(timerService);
     }
 
@@ -235,6 +291,7 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         timerService.setCustomResourceTransformer(dataStoreTransformer);
         timerService.rejectChildResource(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH);
         ResourceTransformationDescriptionBuilder fileDataStore = timerService.addChildRedirection(EJB3SubsystemModel.FILE_DATA_STORE_PATH, (current, builder) -> builder.getCurrent());
+        registerFileDataStoreJournalTransformers(fileDataStore);
 
         fileDataStore.addOperationTransformationOverride(ModelDescriptionConstants.ADD)
                 .inheritResourceAttributeDefinitions()
@@ -244,7 +301,8 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
     }
 
     private static void registerTimerTransformers_1_3_0(ResourceTransformationDescriptionBuilder parent) {
-        ResourceTransformationDescriptionBuilder timerService = parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        ResourceTransformationDescriptionBuilder timerService = registerTimerSchedulerTransformers(parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH));
+        registerFileDataStoreJournalTransformers(timerService.addChildResource(EJB3SubsystemModel.FILE_DATA_STORE_PATH));
         ResourceTransformationDescriptionBuilder db = timerService.addChildResource(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH);
                 db.getAttributeBuilder()
                         .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(-1)), REFRESH_INTERVAL)
@@ -295,6 +353,9 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
                     && untransformedModel.get(EJB3SubsystemModel.DATABASE_DATA_STORE).keys().size() > 0)
                     || untransformedModel.get(EJB3SubsystemModel.FILE_DATA_STORE).keys().size() > 1) {
                 rejectIncompatibleDataStores(context, address);
+            } else if (fileStore.hasDefined(EJB3SubsystemModel.JOURNAL) && !fileStore.get(EJB3SubsystemModel.JOURNAL).equals(FileDataStoreResourceDefinition.JOURNAL.getDefaultValue())) {
+                // the legacy file store has no journal mode
+                rejectIncompatibleDataStores(context, address);
             }
 
             ModelNode path = fileStore.get(EJB3SubsystemModel.PATH);
@@ -324,6 +385,8 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
                 .setValueConverter(AttributeConverter.Factory.createHardCoded(new ModelNode("default"), true), EJB3SubsystemModel.CLIENT_MAPPINGS_CACHE)
                 .setValueConverter(AttributeConverter.Factory.createHardCoded(new ModelNode().set(Long.valueOf(Integer.MAX_VALUE)), true), EJB3SubsystemModel.IDLE_TIMEOUT)
                 .setValueConverter(AttributeConverter.Factory.createHardCoded(new ModelNode().set(TimeUnit.SECONDS.name()), true), EJB3SubsystemModel.IDLE_TIMEOUT_UNIT)
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, PassivationStoreResourceDefinition.COMPRESSION_THRESHOLD)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, PassivationStoreResourceDefinition.COMPRESSION_THRESHOLD)
         ;
     }
 
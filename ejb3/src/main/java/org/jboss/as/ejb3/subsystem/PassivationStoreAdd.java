@@ -30,6 +30,7 @@ import org.jboss.as.ejb3.cache.distributable.DistributableCacheFactoryBuilderSer
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.wildfly.clustering.ejb.BeanManagerFactoryServiceConfiguratorConfiguration;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
 
 /**
  * @author Paul Ferraro
@@ -55,11 +56,18 @@ public class PassivationStoreAdd extends AbstractAddStepHandler {
         String containerName = PassivationStoreResourceDefinition.CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         ModelNode beanCacheNode = PassivationStoreResourceDefinition.BEAN_CACHE.resolveModelAttribute(context, model);
         String cacheName = beanCacheNode.isDefined() ? beanCacheNode.asString() : null;
-        this.install(context, operation, initialMaxSize, containerName, cacheName);
+        ModelNode compressionThresholdNode = PassivationStoreResourceDefinition.COMPRESSION_THRESHOLD.resolveModelAttribute(context, model);
+        Integer compressionThreshold = compressionThresholdNode.isDefined() ? compressionThresholdNode.asInt() : null;
+        this.install(context, operation, initialMaxSize, containerName, cacheName, compressionThreshold);
     }
 
     protected void install(OperationContext context, ModelNode operation, final int maxSize, final String containerName, final String cacheName) {
+        this.install(context, operation, maxSize, containerName, cacheName, null);
+    }
+
+    protected void install(OperationContext context, ModelNode operation, final int maxSize, final String containerName, final String cacheName, final Integer compressionThreshold) {
         final String name = context.getCurrentAddressValue();
+        final CompressionStatistics compressionStatistics = new CompressionStatistics();
         BeanManagerFactoryServiceConfiguratorConfiguration config = new BeanManagerFactoryServiceConfiguratorConfiguration() {
             @Override
             public String getContainerName() {
@@ -75,6 +83,16 @@ public class PassivationStoreAdd extends AbstractAddStepHandler {
             public int getMaxSize() {
                 return maxSize;
             }
+
+            @Override
+            public Integer getCompressionThreshold() {
+                return compressionThreshold;
+            }
+
+            @Override
+            public CompressionStatistics getCompressionStatistics() {
+                return compressionStatistics;
+            }
         };
         new DistributableCacheFactoryBuilderServiceConfigurator<>(name, config).build(context.getServiceTarget())
                 .setInitialMode(ServiceController.Mode.ON_DEMAND)
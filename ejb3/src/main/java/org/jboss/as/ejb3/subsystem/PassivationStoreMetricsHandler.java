@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ejb3.cache.distributable.DistributableCacheFactoryBuilder;
+import org.jboss.as.ejb3.cache.distributable.DistributableCacheFactoryBuilderServiceNameProvider;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
+
+/**
+ * Reads a metric of the compression of the bean groups of a passivation store.
+ */
+class PassivationStoreMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    private final Function<CompressionStatistics, ModelNode> metric;
+
+    PassivationStoreMetricsHandler(Function<CompressionStatistics, ModelNode> metric) {
+        this.metric = metric;
+    }
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(new DistributableCacheFactoryBuilderServiceNameProvider(context.getCurrentAddressValue()).getServiceName());
+        final DistributableCacheFactoryBuilder<?, ?> builder = (controller != null) && (controller.getState() == ServiceController.State.UP) ? (DistributableCacheFactoryBuilder<?, ?>) controller.getValue() : null;
+        if (builder != null) {
+            context.getResult().set(this.metric.apply(builder.getConfiguration().getCompressionStatistics()));
+        }
+    }
+}
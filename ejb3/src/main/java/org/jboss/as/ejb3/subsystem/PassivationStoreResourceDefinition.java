@@ -4,6 +4,8 @@
  */
 package org.jboss.as.ejb3.subsystem;
 
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathElement;
@@ -11,6 +13,7 @@ import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -46,7 +49,44 @@ public class PassivationStoreResourceDefinition extends SimpleResourceDefinition
             .build()
     ;
 
-    static final AttributeDefinition[] ATTRIBUTES = { MAX_SIZE, CACHE_CONTAINER, BEAN_CACHE };
+    static final SimpleAttributeDefinition COMPRESSION_THRESHOLD = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.COMPRESSION_THRESHOLD, ModelType.INT, true)
+            .setXmlName(EJB3SubsystemXMLAttribute.COMPRESSION_THRESHOLD.getLocalName())
+            .setAllowExpression(true)
+            .setValidator(new LongRangeValidator(1, Integer.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+            .build()
+    ;
+
+    static final AttributeDefinition[] ATTRIBUTES = { MAX_SIZE, CACHE_CONTAINER, BEAN_CACHE, COMPRESSION_THRESHOLD };
+
+    static final SimpleAttributeDefinition COMPRESSIONS = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.COMPRESSIONS, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build()
+    ;
+    static final SimpleAttributeDefinition COMPRESSION_RATIO = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.COMPRESSION_RATIO, ModelType.DOUBLE)
+            .setUndefinedMetricValue(new ModelNode(0d))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build()
+    ;
+    static final SimpleAttributeDefinition COMPRESSION_TIME = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.COMPRESSION_TIME, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build()
+    ;
+    static final SimpleAttributeDefinition DECOMPRESSIONS = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DECOMPRESSIONS, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build()
+    ;
+    static final SimpleAttributeDefinition DECOMPRESSION_TIME = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DECOMPRESSION_TIME, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build()
+    ;
 
     static final PassivationStoreAdd ADD_HANDLER = new PassivationStoreAdd(ATTRIBUTES);
 
@@ -65,5 +105,10 @@ public class PassivationStoreResourceDefinition extends SimpleResourceDefinition
         for (AttributeDefinition definition: ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(definition, null, writeHandler);
         }
+        resourceRegistration.registerMetric(COMPRESSIONS, new PassivationStoreMetricsHandler(statistics -> new ModelNode(statistics.getCompressions())));
+        resourceRegistration.registerMetric(COMPRESSION_RATIO, new PassivationStoreMetricsHandler(statistics -> new ModelNode(statistics.getCompressionRatio())));
+        resourceRegistration.registerMetric(COMPRESSION_TIME, new PassivationStoreMetricsHandler(statistics -> new ModelNode(statistics.getCompressionTime(TimeUnit.MILLISECONDS))));
+        resourceRegistration.registerMetric(DECOMPRESSIONS, new PassivationStoreMetricsHandler(statistics -> new ModelNode(statistics.getDecompressions())));
+        resourceRegistration.registerMetric(DECOMPRESSION_TIME, new PassivationStoreMetricsHandler(statistics -> new ModelNode(statistics.getDecompressionTime(TimeUnit.MILLISECONDS))));
     }
 }
@@ -32,10 +32,17 @@ import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutSchedulerStatistics;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelTimeoutScheduler;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -57,6 +64,40 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                     //.setDefaultValue(new ModelNode("default-file-store")) //for backward compatibility!
                     .build();
 
+    static final SimpleAttributeDefinition SCHEDULER =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.SCHEDULER, ModelType.STRING, true)
+                    .setDefaultValue(new ModelNode(Scheduler.TIMER.toString()))
+                    .setAllowExpression(true)
+                    .setValidator(EnumValidator.create(Scheduler.class, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final SimpleAttributeDefinition SCHEDULED_COUNT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.SCHEDULED_COUNT, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition EXECUTION_COUNT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.EXECUTION_COUNT, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition AVERAGE_SCHEDULING_LAG =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.AVERAGE_SCHEDULING_LAG, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition MAX_SCHEDULING_LAG =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_SCHEDULING_LAG, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
     public static final Map<String, AttributeDefinition> ATTRIBUTES ;
 
     private final PathManager pathManager;
@@ -65,6 +106,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         Map<String, AttributeDefinition> map = new LinkedHashMap<String, AttributeDefinition>();
         map.put(THREAD_POOL_NAME.getName(), THREAD_POOL_NAME);
         map.put(DEFAULT_DATA_STORE.getName(), DEFAULT_DATA_STORE);
+        map.put(SCHEDULER.getName(), SCHEDULER);
 
         ATTRIBUTES = Collections.unmodifiableMap(map);
     }
@@ -83,6 +125,10 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES.values()) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        resourceRegistration.registerMetric(SCHEDULED_COUNT, new TimerServiceMetricsHandler(TimeoutSchedulerStatistics::getScheduledCount));
+        resourceRegistration.registerMetric(EXECUTION_COUNT, new TimerServiceMetricsHandler(TimeoutSchedulerStatistics::getExecutionCount));
+        resourceRegistration.registerMetric(AVERAGE_SCHEDULING_LAG, new TimerServiceMetricsHandler(TimeoutSchedulerStatistics::getAverageLag));
+        resourceRegistration.registerMetric(MAX_SCHEDULING_LAG, new TimerServiceMetricsHandler(TimeoutSchedulerStatistics::getMaxLag));
     }
 
     @Override
@@ -91,4 +137,54 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(DatabaseDataStoreResourceDefinition.INSTANCE);
     }
 
+    /**
+     * The implementations of the scheduler that triggers timeouts.
+     */
+    enum Scheduler {
+        /**
+         * A single {@link java.util.Timer}, whose task queue is a binary heap guarded by a single lock.
+         */
+        TIMER("timer") {
+            @Override
+            TimeoutScheduler create() {
+                return new TimerTimeoutScheduler();
+            }
+        },
+        /**
+         * A hashed timing wheel, with constant time scheduling and cancellation.
+         */
+        TIMING_WHEEL("timing-wheel") {
+            @Override
+            TimeoutScheduler create() {
+                return new TimingWheelTimeoutScheduler();
+            }
+        };
+
+        private final String value;
+
+        Scheduler(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        abstract TimeoutScheduler create();
+
+        /**
+         * Resolves a scheduler from either its model value or its constant name, ignoring case,
+         * i.e. the same spellings accepted by the attribute's {@link EnumValidator}.
+         */
+        static Scheduler fromValue(String value) {
+            for (Scheduler scheduler : values()) {
+                if (scheduler.value.equalsIgnoreCase(value) || scheduler.name().equalsIgnoreCase(value)) {
+                    return scheduler;
+                }
+            }
+            throw new IllegalArgumentException(value);
+        }
+    }
+
 }
@@ -27,18 +27,19 @@ import java.util.Map;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ListAttributeDefinition;
 import org.jboss.as.controller.ObjectTypeAttributeDefinition;
-import org.jboss.as.controller.OperationContext;
-import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ee.utils.LatencyHistogram;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.component.singleton.SingletonComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.dmr.ModelNode;
@@ -80,7 +81,15 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
-    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME)
+    private static final AttributeDefinition EXECUTION_TIME_P50 = percentile("execution-time-p50");
+    private static final AttributeDefinition EXECUTION_TIME_P99 = percentile("execution-time-p99");
+    private static final AttributeDefinition EXECUTION_TIME_P999 = percentile("execution-time-p999");
+    private static final AttributeDefinition WAIT_TIME_P50 = percentile("wait-time-p50");
+    private static final AttributeDefinition WAIT_TIME_P99 = percentile("wait-time-p99");
+    private static final AttributeDefinition WAIT_TIME_P999 = percentile("wait-time-p999");
+
+    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME,
+                    EXECUTION_TIME_P50, EXECUTION_TIME_P99, EXECUTION_TIME_P999, WAIT_TIME_P50, WAIT_TIME_P99, WAIT_TIME_P999)
             .setRequired(false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
@@ -112,6 +121,37 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    private static final AttributeDefinition EXPIRATION_BACKLOG = new SimpleAttributeDefinitionBuilder("expiration-backlog", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition PASSIVATION_BACKLOG = new SimpleAttributeDefinitionBuilder("passivation-backlog", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition SCHEDULER_SWEEP_TIME = new SimpleAttributeDefinitionBuilder("scheduler-sweep-time", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition LOCK_WAIT_TIME = new SimpleAttributeDefinitionBuilder("lock-wait-time", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition LOCK_WAIT_TIME_P50 = percentile("lock-wait-time-p50");
+    private static final AttributeDefinition LOCK_WAIT_TIME_P99 = percentile("lock-wait-time-p99");
+    private static final AttributeDefinition LOCK_WAIT_TIME_P999 = percentile("lock-wait-time-p999");
+
+    private static final AttributeDefinition LOCK_TIMEOUTS = new SimpleAttributeDefinitionBuilder("lock-timeouts", ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
     // Pool attributes
 
     public static final SimpleAttributeDefinition POOL_AVAILABLE_COUNT = new SimpleAttributeDefinitionBuilder("pool-available-count", ModelType.INT, false)
@@ -130,6 +170,14 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
 
     private final EJBComponentType componentType;
 
+    private static AttributeDefinition percentile(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0))
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
     public AbstractEJBComponentResourceDefinition(final EJBComponentType componentType) {
         super(PathElement.pathElement(componentType.getResourceType()),
                 EJB3Extension.getResourceDescriptionResolver(componentType.getResourceType()));
@@ -159,59 +207,118 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
         if (componentType.equals(EJBComponentType.STATEFUL)) {
             resourceRegistration.registerMetric(CACHE_SIZE, new AbstractRuntimeMetricsHandler() {
                 @Override
-                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                    context.getResult().set(((StatefulSessionComponent)component).getCache().getCacheSize());
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((StatefulSessionComponent)component).getCache().getCacheSize());
                 }
             });
             resourceRegistration.registerMetric(PASSIVATED_SIZE, new AbstractRuntimeMetricsHandler() {
                 @Override
-                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                    context.getResult().set(((StatefulSessionComponent)component).getCache().getPassivatedCount());
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((StatefulSessionComponent)component).getCache().getPassivatedCount());
                 }
             });
             resourceRegistration.registerMetric(TOTAL_SIZE, new AbstractRuntimeMetricsHandler() {
                 @Override
-                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                    context.getResult().set(((StatefulSessionComponent)component).getCache().getTotalSize());
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((StatefulSessionComponent)component).getCache().getTotalSize());
+                }
+            });
+            resourceRegistration.registerMetric(EXPIRATION_BACKLOG, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((StatefulSessionComponent)component).getCache().getExpirationBacklog());
+                }
+            });
+            resourceRegistration.registerMetric(PASSIVATION_BACKLOG, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((StatefulSessionComponent)component).getCache().getPassivationBacklog());
+                }
+            });
+            resourceRegistration.registerMetric(SCHEDULER_SWEEP_TIME, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((StatefulSessionComponent)component).getCache().getSchedulerSweepTime());
+                }
+            });
+        }
+
+        if (componentType.equals(EJBComponentType.SINGLETON)) {
+            resourceRegistration.registerMetric(LOCK_WAIT_TIME, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((SingletonComponent) component).getLockMetrics().getWaitTime());
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_WAIT_TIME_P50, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((SingletonComponent) component).getLockMetrics().getWaitTimeHistogram().getValueAtPercentile(50d));
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_WAIT_TIME_P99, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((SingletonComponent) component).getLockMetrics().getWaitTimeHistogram().getValueAtPercentile(99d));
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_WAIT_TIME_P999, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((SingletonComponent) component).getLockMetrics().getWaitTimeHistogram().getValueAtPercentile(99.9d));
+                }
+            });
+            resourceRegistration.registerMetric(LOCK_TIMEOUTS, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void readMetric(final ModelNode result, final EJBComponent component) {
+                    result.set(((SingletonComponent) component).getLockMetrics().getTimeouts());
                 }
             });
         }
 
         resourceRegistration.registerMetric(EXECUTION_TIME, new AbstractRuntimeMetricsHandler() {
             @Override
-            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                context.getResult().set(component.getInvocationMetrics().getExecutionTime());
+            protected void readMetric(final ModelNode result, final EJBComponent component) {
+                result.set(component.getInvocationMetrics().getExecutionTime());
             }
         });
         resourceRegistration.registerMetric(INVOCATIONS, new AbstractRuntimeMetricsHandler() {
             @Override
-            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                context.getResult().set(component.getInvocationMetrics().getInvocations());
+            protected void readMetric(final ModelNode result, final EJBComponent component) {
+                result.set(component.getInvocationMetrics().getInvocations());
             }
         });
         resourceRegistration.registerMetric(PEAK_CONCURRENT_INVOCATIONS, new AbstractRuntimeMetricsHandler() {
             @Override
-            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                context.getResult().set(component.getInvocationMetrics().getPeakConcurrent());
+            protected void readMetric(final ModelNode result, final EJBComponent component) {
+                result.set(component.getInvocationMetrics().getPeakConcurrent());
             }
         });
         resourceRegistration.registerMetric(WAIT_TIME, new AbstractRuntimeMetricsHandler() {
             @Override
-            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                context.getResult().set(component.getInvocationMetrics().getWaitTime());
+            protected void readMetric(final ModelNode result, final EJBComponent component) {
+                result.set(component.getInvocationMetrics().getWaitTime());
             }
         });
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
-            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
-                context.getResult().setEmptyObject();
+            protected void readMetric(final ModelNode result, final EJBComponent component) {
+                result.setEmptyObject();
                 for (final Map.Entry<String, InvocationMetrics.Values> entry : component.getInvocationMetrics().getMethods().entrySet()) {
                     final InvocationMetrics.Values values = entry.getValue();
-                    final ModelNode result = new ModelNode();
-                    result.get("execution-time").set(values.getExecutionTime());
-                    result.get("invocations").set(values.getInvocations());
-                    result.get("wait-time").set(values.getWaitTime());
-                    context.getResult().get(entry.getKey()).set(result);
+                    final ModelNode method = new ModelNode();
+                    method.get("execution-time").set(values.getExecutionTime());
+                    method.get("invocations").set(values.getInvocations());
+                    method.get("wait-time").set(values.getWaitTime());
+                    final LatencyHistogram executionTimes = values.getExecutionTimeHistogram();
+                    method.get(EXECUTION_TIME_P50.getName()).set(executionTimes.getValueAtPercentile(50d));
+                    method.get(EXECUTION_TIME_P99.getName()).set(executionTimes.getValueAtPercentile(99d));
+                    method.get(EXECUTION_TIME_P999.getName()).set(executionTimes.getValueAtPercentile(99.9d));
+                    final LatencyHistogram waitTimes = values.getWaitTimeHistogram();
+                    method.get(WAIT_TIME_P50.getName()).set(waitTimes.getValueAtPercentile(50d));
+                    method.get(WAIT_TIME_P99.getName()).set(waitTimes.getValueAtPercentile(99d));
+                    method.get(WAIT_TIME_P999.getName()).set(waitTimes.getValueAtPercentile(99.9d));
+                    result.get(entry.getKey()).set(method);
                 }
             }
         });
@@ -21,6 +21,8 @@
  */
 package org.jboss.as.ejb3.subsystem.deployment;
 
+import java.util.function.Function;
+
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -31,23 +33,30 @@ import org.jboss.as.ee.component.BasicComponent;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.server.deployment.Services;
 import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
+import org.wildfly.microprofile.metrics.spi.DirectMetricReadHandler;
 /**
+ * Reads a metric of an {@link EJBComponent}.
+ * <p/>
+ * Besides the usual operation step, the metric can be read directly via {@link #readMetric(ServiceRegistry, PathAddress)},
+ * which lets metric collectors that sample every metric on each scrape skip the management operation pipeline.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
-public abstract class AbstractRuntimeMetricsHandler extends AbstractRuntimeOnlyHandler {
-    private static ServiceName componentServiceName(final OperationContext context, final ModelNode operation) {
-        final PathAddress address = PathAddress.pathAddress(operation.require(ModelDescriptionConstants.OP_ADDR));
+public abstract class AbstractRuntimeMetricsHandler extends AbstractRuntimeOnlyHandler implements DirectMetricReadHandler {
+    private static ServiceName componentServiceName(final PathAddress address, final Function<PathElement, String> runtimeNameResolver) {
         final String parent;
         final String module;
         int i = 2;
         if (address.getElement(1).getKey().equals(ModelDescriptionConstants.SUBDEPLOYMENT)) {
-            parent = resolveRuntimeName(context,address.getElement(0));
+            parent = runtimeNameResolver.apply(address.getElement(0));
             module = address.getElement(1).getValue();
             i++;
         } else {
             parent = null;
-            module = resolveRuntimeName(context,address.getElement(0));
+            module = runtimeNameResolver.apply(address.getElement(0));
         }
         final String component = address.getElement(i).getValue();
         final ServiceName deploymentUnitServiceName;
@@ -61,13 +70,35 @@ public abstract class AbstractRuntimeMetricsHandler extends AbstractRuntimeOnlyH
         return BasicComponent.serviceNameOf(deploymentUnitServiceName, component).append("START");
     }
 
-    protected abstract void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException;
+    /**
+     * Reads the metric of the given component.
+     * @param result the node into which the metric value is written
+     * @param component the component
+     */
+    protected abstract void readMetric(final ModelNode result, final EJBComponent component);
 
     @Override
     protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
-        final ServiceName componentServiceName = componentServiceName(context,operation);
+        final PathAddress address = PathAddress.pathAddress(operation.require(ModelDescriptionConstants.OP_ADDR));
+        final ServiceName componentServiceName = componentServiceName(address, element -> resolveRuntimeName(context, element));
         final EJBComponent component = (EJBComponent) context.getServiceRegistry(false).getRequiredService(componentServiceName).getValue();
-        executeReadMetricStep(context, operation, component);
+        readMetric(context.getResult(), component);
+    }
+
+    /**
+     * Reads the metric of the component at the given address, outside of any management operation.
+     * @param registry the service registry
+     * @param address the address of the component resource, whose deployment element uses the runtime name of the deployment
+     * @return the metric value, undefined if the component is not started
+     */
+    @Override
+    public ModelNode readMetric(final ServiceRegistry registry, final PathAddress address) {
+        final ModelNode result = new ModelNode();
+        final ServiceController<?> controller = registry.getService(componentServiceName(address, PathElement::getValue));
+        if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+            readMetric(result, (EJBComponent) controller.getValue());
+        }
+        return result;
     }
 
     /**
@@ -45,12 +45,12 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
@@ -58,8 +58,11 @@ import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
 import javax.transaction.NotSupportedException;
 import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.CalendarTimer;
@@ -68,6 +71,8 @@ import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerState;
 import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.ScheduledTimeout;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
 import org.jboss.as.naming.ManagedReference;
 import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.marshalling.InputStreamByteInput;
@@ -101,9 +106,15 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimeoutScheduler> timerInjectedValue = new InjectedValue<TimeoutScheduler>();
+    private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
+    private final InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistry = new InjectedValue<TransactionSynchronizationRegistry>();
 
     private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
+    /** Number of the uncompleted transaction batches writing each timer, guarded by this */
+    private final Map<String, Integer> pendingTimerIds = new HashMap<>();
+    /** Timers written by a transaction batch since the current refresh started, guarded by this */
+    private final Set<String> batchedTimerIds = new HashSet<>();
 
     /** Identifier for the database dialect to be used for the timer-sql.properties */
     private String database;
@@ -122,7 +133,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private volatile Properties sql;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
-    private RefreshTask refreshTask;
+    private ScheduledTimeout refreshTask;
+    private final RefreshStatistics refreshStatistics = new RefreshStatistics();
 
     /** Names for the different SQL commands stored in the properties*/
     private static final String CREATE_TABLE = "create-table";
@@ -130,6 +142,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String UPDATE_TIMER = "update-timer";
     private static final String LOAD_ALL_TIMERS = "load-all-timers";
     private static final String LOAD_TIMER = "load-timer";
+    private static final String LOAD_TIMER_IDS = "load-timer-ids";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     /** The format for scheduler start and end date*/
@@ -165,8 +178,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         investigateDialect();
         checkDatabase();
         if (refreshInterval > 0) {
-            refreshTask = new RefreshTask();
-            timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
+            refreshTask = timerInjectedValue.getValue().scheduleWithFixedDelay(new RefreshTask(), refreshInterval, refreshInterval);
         }
     }
 
@@ -324,14 +336,21 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
     @Override
     public void addTimer(final TimerImpl timerEntity) {
+        final TimerBatch batch = getTransactionBatch();
+        synchronized (this) {
+            knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+            if (batch != null) {
+                batched(batch, timerEntity.getId());
+            }
+        }
+        if (batch != null) {
+            batch.create(timerEntity);
+            return;
+        }
         String createTimer = sql(CREATE_TIMER);
         Connection connection = null;
         PreparedStatement statement = null;
-        ResultSet resultSet = null;
         try {
-            synchronized (this) {
-                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-            }
             connection = dataSource.getConnection();
             statement = connection.prepareStatement(createTimer);
             statementParameters(timerEntity, statement);
@@ -339,7 +358,6 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
-            safeClose(resultSet);
             safeClose(statement);
             safeClose(connection);
         }
@@ -347,48 +365,145 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
+        final boolean delete = timerEntity.getState() == TimerState.CANCELED ||
+                timerEntity.getState() == TimerState.EXPIRED;
+        final TimerBatch batch = getTransactionBatch();
+        synchronized (this) {
+            if (delete) {
+                knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+            } else {
+                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+            }
+            if (batch != null) {
+                batched(batch, timerEntity.getId());
+            }
+        }
+        if (batch != null) {
+            if (delete) {
+                batch.delete(timerEntity);
+            } else {
+                batch.update(new TimerUpdate(timerEntity));
+            }
+            return;
+        }
         Connection connection = null;
         PreparedStatement statement = null;
-        ResultSet resultSet = null;
         try {
             connection = dataSource.getConnection();
-            if (timerEntity.getState() == TimerState.CANCELED ||
-                    timerEntity.getState() == TimerState.EXPIRED) {
-                String deleteTimer = sql(DELETE_TIMER);
-                statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
-                statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
-                }
+            if (delete) {
+                statement = connection.prepareStatement(sql(DELETE_TIMER));
+                deleteParameters(timerEntity, statement);
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+                statement = connection.prepareStatement(sql(UPDATE_TIMER));
+                updateParameters(new TimerUpdate(timerEntity), statement);
+            }
+            statement.execute();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            safeClose(statement);
+            safeClose(connection);
+        }
+    }
+
+    /**
+     * Returns the timer changes of the current transaction, which are written in JDBC batches before it completes.
+     *
+     * @return the batch of the current transaction, or null if there is no active transaction
+     */
+    private TimerBatch getTransactionBatch() {
+        final TransactionSynchronizationRegistry registry = transactionSynchronizationRegistry.getOptionalValue();
+        if (registry == null || registry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            return null;
+        }
+        TimerBatch batch = (TimerBatch) registry.getResource(this);
+        if (batch == null) {
+            batch = new TimerBatch();
+            registry.putResource(this, batch);
+            registry.registerInterposedSynchronization(new TimerBatchSynchronization(batch));
+        }
+        return batch;
+    }
+
+    /**
+     * Records that a timer is written by a transaction batch. Until the transaction completes, the database and the
+     * known timer ids disagree about the timer, so the refresh must not take it for a timer added or removed by another
+     * node. Must be called holding the lock of this persistence.
+     */
+    private void batched(final TimerBatch batch, final String id) {
+        if (batch.ids.add(id)) {
+            pendingTimerIds.merge(id, 1, Integer::sum);
+        }
+        if (refreshInterval > 0) {
+            batchedTimerIds.add(id);
+        }
+    }
+
+    private synchronized void batchCompleted(final TimerBatch batch) {
+        for (String id : batch.ids) {
+            pendingTimerIds.computeIfPresent(id, (key, count) -> (count > 1) ? count - 1 : null);
+        }
+    }
+
+    private void writeBatch(final TimerBatch batch) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            if (!batch.created.isEmpty()) {
+                statement = connection.prepareStatement(sql(CREATE_TIMER));
+                for (TimerImpl timer : batch.created.values()) {
+                    statementParameters(timer, statement);
+                    statement.addBatch();
                 }
-                String updateTimer = sql(UPDATE_TIMER);
-                statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
-                statement.execute();
+                statement.executeBatch();
+                safeClose(statement);
+                statement = null;
+            }
+            if (!batch.updated.isEmpty()) {
+                statement = connection.prepareStatement(sql(UPDATE_TIMER));
+                for (TimerUpdate update : batch.updated.values()) {
+                    updateParameters(update, statement);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                safeClose(statement);
+                statement = null;
+            }
+            if (!batch.deleted.isEmpty()) {
+                statement = connection.prepareStatement(sql(DELETE_TIMER));
+                for (TimerImpl timer : batch.deleted.values()) {
+                    deleteParameters(timer, statement);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
-            safeClose(resultSet);
             safeClose(statement);
             safeClose(connection);
         }
     }
 
+    private void updateParameters(final TimerUpdate update, final PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, timestamp(update.nextExpiration));
+        statement.setTimestamp(2, timestamp(update.previousRun));
+        statement.setString(3, update.state.name());
+        setNodeName(update.state, statement, 4);
+        // WHERE CLAUSE
+        statement.setString(5, update.timedObjectId);
+        statement.setString(6, update.id);
+        statement.setString(7, partition);
+        statement.setString(8, nodeName);   // only persist if this node or empty
+    }
+
+    private void deleteParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timerEntity.getTimedObjectId());
+        statement.setString(2, timerEntity.getId());
+        statement.setString(3, partition);
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer, @Deprecated TransactionManager ignored) {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
@@ -749,10 +864,22 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return moduleLoader;
     }
 
-    public InjectedValue<Timer> getTimerInjectedValue() {
+    public InjectedValue<TimeoutScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
+    public InjectedValue<ExecutorService> getExecutorServiceInjectedValue() {
+        return executorServiceInjectedValue;
+    }
+
+    public InjectedValue<TransactionSynchronizationRegistry> getTransactionSynchronizationRegistry() {
+        return transactionSynchronizationRegistry;
+    }
+
+    public RefreshStatistics getRefreshStatistics() {
+        return refreshStatistics;
+    }
+
     private static void safeClose(final Closeable resource) {
         try {
             if (resource != null) {
@@ -793,77 +920,271 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    class RefreshTask implements Runnable {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
 
         @Override
         public void run() {
+            // the refresh queries the database, so must not run on the thread of the scheduler
+            executorServiceInjectedValue.getValue().execute(this::refresh);
+        }
+
+        /**
+         * Only fetches the ids of the timers of the partition, in a single query, and then loads the timers created
+         * since the previous refresh, rather than loading all timers along with their serialized info and primary key.
+         * A customized timer-sql.properties may not define the query of the timer ids, in which case all timers of each
+         * timed object are loaded, as before.
+         */
+        void refresh() {
             if (running.compareAndSet(false, true)) {
+                final long start = System.currentTimeMillis();
+                final String loadTimerIds = sql(LOAD_TIMER_IDS);
+                int loaded = 0;
+                Connection connection = null;
                 try {
-                    Set<String> timedObjects;
+                    // the ids known before the database is read, so that timers created meanwhile are not removed
+                    final Map<String, Set<String>> existing = new HashMap<>();
                     synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
-                    }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
-                            continue;
+                        for (Map.Entry<String, Set<String>> entry : knownTimerIds.entrySet()) {
+                            if (changeListeners.containsKey(entry.getKey())) {
+                                existing.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                            }
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                        batchedTimerIds.clear();
+                        batchedTimerIds.addAll(pendingTimerIds.keySet());
+                    }
+                    if (existing.isEmpty()) {
+                        return;
+                    }
+                    connection = dataSource.getConnection();
+                    if (loadTimerIds != null) {
+                        loaded = refreshTimerIds(connection, loadTimerIds, existing);
+                    } else {
+                        for (Map.Entry<String, Set<String>> entry : existing.entrySet()) {
+                            loaded += refreshTimers(connection, entry.getKey(), entry.getValue());
                         }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
+                    }
+                } catch (SQLException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+                } finally {
+                    safeClose(connection);
+                    refreshStatistics.refreshed(System.currentTimeMillis() - start, loaded);
+                    running.set(false);
+                }
+            }
+
+        }
+
+        /**
+         * Compares the ids of the timers stored in the partition with the existing ones, and loads the added timers.
+         * @return the number of timers loaded
+         */
+        private int refreshTimerIds(Connection connection, String loadTimerIds, Map<String, Set<String>> existing) throws SQLException {
+            final Map<String, Set<String>> stored = new HashMap<>();
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(loadTimerIds);
+                statement.setString(1, partition);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    String timedObjectId = resultSet.getString(1);
+                    if (existing.containsKey(timedObjectId)) {
+                        stored.computeIfAbsent(timedObjectId, key -> new HashSet<>()).add(resultSet.getString(2));
+                    }
+                }
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+            }
+            int loaded = 0;
+            statement = null;
+            try {
+                for (Map.Entry<String, Set<String>> entry : existing.entrySet()) {
+                    final String timedObjectId = entry.getKey();
+                    final TimerChangeListener listener = changeListeners.get(timedObjectId);
+                    if (listener == null) {
+                        continue;
+                    }
+                    final Set<String> ids = stored.getOrDefault(timedObjectId, Collections.emptySet());
+                    for (String id : ids) {
+                        if (isAdded(timedObjectId, id)) {
+                            if (statement == null) {
+                                statement = connection.prepareStatement(sql(LOAD_TIMER));
+                            }
                             statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
+                            statement.setString(2, id);
+                            statement.setString(3, partition);
                             resultSet = statement.executeQuery();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        synchronized (DatabaseTimerPersistence.this) {
-                                            knownTimerIds.get(timedObjectId).add(id);
-                                        }
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if(holder != null) {
-                                            listener.timerAdded(holder.timer);
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
+                            try {
+                                // the timer may have been removed since its id was read
+                                if (resultSet.next() && timerAdded(listener, timedObjectId, id, resultSet)) {
+                                    loaded++;
                                 }
+                            } finally {
+                                safeClose(resultSet);
                             }
-
-                            synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    timers.remove(timer);
-                                    listener.timerRemoved(timer);
-                                }
-                            }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
                     }
-                } finally {
-                    running.set(false);
+                    removeTimers(listener, timedObjectId, entry.getValue(), ids);
+                }
+            } finally {
+                safeClose(statement);
+            }
+            return loaded;
+        }
+
+        /**
+         * Loads all timers of a timed object, and compares them with the existing ones.
+         * @return the number of timers loaded
+         */
+        private int refreshTimers(Connection connection, String timedObjectId, Set<String> existing) {
+            final TimerChangeListener listener = changeListeners.get(timedObjectId);
+            if (listener == null) {
+                return 0;
+            }
+            int loaded = 0;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(sql(LOAD_ALL_TIMERS));
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                final Set<String> stored = new HashSet<>();
+                while (resultSet.next()) {
+                    String id = resultSet.getString(1);
+                    stored.add(id);
+                    if (isAdded(timedObjectId, id) && timerAdded(listener, timedObjectId, id, resultSet)) {
+                        loaded++;
+                    }
+                }
+                removeTimers(listener, timedObjectId, existing, stored);
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+            }
+            return loaded;
+        }
+
+        /**
+         * Whether a stored timer was added by another node, rather than being known, or written by a transaction of
+         * this node that has not completed yet.
+         */
+        private boolean isAdded(String timedObjectId, String id) {
+            synchronized (DatabaseTimerPersistence.this) {
+                Set<String> timers = knownTimerIds.get(timedObjectId);
+                return (timers != null) && !timers.contains(id) && !batchedTimerIds.contains(id);
+            }
+        }
+
+        /**
+         * Removes the existing timers that are no longer stored, unless a transaction of this node wrote them since the
+         * refresh started.
+         */
+        private void removeTimers(TimerChangeListener listener, String timedObjectId, Set<String> existing, Set<String> stored) {
+            synchronized (DatabaseTimerPersistence.this) {
+                Set<String> timers = knownTimerIds.get(timedObjectId);
+                if (timers == null) {
+                    return;
+                }
+                for (String id : existing) {
+                    if (!stored.contains(id) && !batchedTimerIds.contains(id) && timers.remove(id)) {
+                        listener.timerRemoved(id);
+                    }
                 }
             }
+        }
 
+        /**
+         * Reinstates a timer that was added by another node, from the current row of the result set.
+         * @return true, if the timer was reinstated, false otherwise
+         */
+        private boolean timerAdded(TimerChangeListener listener, String timedObjectId, String id, ResultSet resultSet) {
+            try {
+                synchronized (DatabaseTimerPersistence.this) {
+                    knownTimerIds.get(timedObjectId).add(id);
+                }
+                final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                if (holder != null) {
+                    listener.timerAdded(holder.timer);
+                    return true;
+                }
+            } catch (Exception e) {
+                EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+            }
+            return false;
         }
     }
 
+    /**
+     * The timer changes of a transaction, keeping only the last change of each timer.
+     */
+    private static final class TimerBatch {
+        final Set<String> ids = new HashSet<>();
+        final Map<String, TimerImpl> created = new LinkedHashMap<>();
+        final Map<String, TimerUpdate> updated = new LinkedHashMap<>();
+        final Map<String, TimerImpl> deleted = new LinkedHashMap<>();
+
+        void create(TimerImpl timer) {
+            created.put(timer.getId(), timer);
+        }
+
+        void update(TimerUpdate update) {
+            // updates are written after the creations, so also apply to a timer created by this transaction
+            updated.put(update.id, update);
+        }
+
+        void delete(TimerImpl timer) {
+            updated.remove(timer.getId());
+            // a timer created and deleted by the same transaction is never written
+            if (created.remove(timer.getId()) == null) {
+                deleted.put(timer.getId(), timer);
+            }
+        }
+    }
+
+    /**
+     * The state of a timer when it was persisted.
+     */
+    private static final class TimerUpdate {
+        final String timedObjectId;
+        final String id;
+        final Date nextExpiration;
+        final Date previousRun;
+        final TimerState state;
+
+        TimerUpdate(TimerImpl timer) {
+            this.timedObjectId = timer.getTimedObjectId();
+            this.id = timer.getId();
+            this.nextExpiration = timer.getNextExpiration();
+            this.previousRun = timer.getPreviousRun();
+            this.state = timer.getState();
+        }
+    }
+
+    private class TimerBatchSynchronization implements Synchronization {
+
+        private final TimerBatch batch;
+
+        TimerBatchSynchronization(TimerBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            // any failure rolls back the transaction
+            writeBatch(batch);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            batchCompleted(batch);
+        }
+    }
 
     static final class Holder {
         final TimerImpl timer;
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the periodic refreshes of a {@link DatabaseTimerPersistence} from the database.
+ */
+public class RefreshStatistics {
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+    private final LongAdder loadedTimers = new LongAdder();
+
+    void refreshed(long time, int loadedTimers) {
+        this.refreshes.increment();
+        this.totalTime.add(time);
+        if (time > this.maxTime.get()) {
+            this.maxTime.accumulateAndGet(time, Math::max);
+        }
+        this.loadedTimers.add(loadedTimers);
+    }
+
+    /**
+     * @return the number of refreshes
+     */
+    public long getRefreshCount() {
+        return this.refreshes.sum();
+    }
+
+    /**
+     * @return the average duration of a refresh, in milliseconds
+     */
+    public long getAverageRefreshTime() {
+        long refreshes = this.refreshes.sum();
+        return (refreshes > 0L) ? this.totalTime.sum() / refreshes : 0L;
+    }
+
+    /**
+     * @return the maximum duration of a refresh, in milliseconds
+     */
+    public long getMaxRefreshTime() {
+        return this.maxTime.get();
+    }
+
+    /**
+     * @return the number of timers created by other nodes, which refreshes loaded from the database
+     */
+    public long getLoadedTimerCount() {
+        return this.loadedTimers.sum();
+    }
+}
@@ -49,14 +49,19 @@ import javax.transaction.TransactionSynchronizationRegistry;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FilePermission;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Constructor;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
@@ -64,6 +69,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
@@ -75,6 +81,10 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 /**
  * File based persistent timer store.
  * <p/>
+ * By default, each timer is stored in its own XML file. In journal mode, timer states are instead appended to a
+ * {@link TimerJournal}, which batches concurrent writes into a single fsync. Timers found in XML files are moved
+ * to the journal when the timed object is deployed.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -83,8 +93,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private static final FilePermission FILE_PERMISSION = new FilePermission("<<ALL FILES>>", "read,write,delete");
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String JOURNAL_DIRECTORY = "journal";
 
     private final boolean createIfNotExists;
+    private final boolean journaled;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private final InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistry = new InjectedValue<TransactionSynchronizationRegistry>();
@@ -94,16 +106,22 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private final String pathRelativeTo;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private TimerJournal journal;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, false, path, pathRelativeTo);
+    }
+
+    public FileTimerPersistence(final boolean createIfNotExists, final boolean journaled, final String path, final String pathRelativeTo) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
         }
         this.createIfNotExists = createIfNotExists;
+        this.journaled = journaled;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
     }
@@ -146,10 +164,25 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        if (journaled) {
+            final File journalDir = new File(baseDir, JOURNAL_DIRECTORY);
+            final TimerJournal journal = new TimerJournal(journalDir);
+            try {
+                journal.open();
+            } catch (IOException e) {
+                journal.close();
+                throw EJB3_TIMER_LOGGER.failToOpenTimerJournal(journalDir, e);
+            }
+            this.journal = journal;
+        }
     }
 
     @Override
     public void stop(final StopContext context) {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
         locks.clear();
         directories.clear();
         if (callbackHandle != null) {
@@ -201,6 +234,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private void persistTimer(final TimerImpl timer, boolean newTimer) {
         final Lock lock = getLock(timer.getTimedObjectId());
+        CompletableFuture<Void> written = null;
         try {
             final int status = ContextTransactionManager.getInstance().getStatus();
             if (status == Status.STATUS_MARKED_ROLLBACK || status == Status.STATUS_ROLLEDBACK ||
@@ -213,6 +247,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             if (status == Status.STATUS_NO_TRANSACTION ||
                     status == Status.STATUS_UNKNOWN || isBeforeCompletion()
                     || status == Status.STATUS_COMMITTED) {
+                if (journal != null) {
+                    written = journalTimer(timer, newTimer);
+                    return;
+                }
                 Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
@@ -239,6 +277,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             throw new RuntimeException(e);
         } finally {
             lock.unlock();
+            // wait for the group commit outside of the lock, so that concurrent writes can share it
+            if (written != null) {
+                written.join();
+            }
         }
     }
 
@@ -331,9 +373,40 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        if (journal != null) {
+            return loadTimersFromJournal(timedObjectId, timerService);
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        // move any timers still stored one per file, e.g. before journal mode was enabled, into the journal
+        final Map<String, TimerImpl> fileTimers = loadTimersFromFile(timedObjectId, timerService);
+        if (!fileTimers.isEmpty()) {
+            final List<CompletableFuture<Void>> written = new ArrayList<>(fileTimers.size());
+            for (TimerImpl timer : fileTimers.values()) {
+                written.add(journal.put(timedObjectId, timer.getId(), serialize(timer), true));
+            }
+            CompletableFuture.allOf(written.toArray(new CompletableFuture[written.size()])).join();
+            for (TimerImpl timer : fileTimers.values()) {
+                fileName(timedObjectId, timer.getId()).delete();
+            }
+        }
+
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        final XMLMapper mapper = createMapper(timerService);
+        for (Map.Entry<String, byte[]> entry : journal.getTimers(timedObjectId).entrySet()) {
+            try {
+                for (TimerImpl timer : parse(mapper, new ByteArrayInputStream(entry.getValue()))) {
+                    timers.put(timer.getId(), timer);
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(new File(baseDir, JOURNAL_DIRECTORY), e);
+            }
+        }
+        return timers;
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
@@ -362,14 +435,8 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
             try {
                 in = new FileInputStream(timerFile);
-                final XMLInputFactory inputFactory = INPUT_FACTORY;
-                setIfSupported(inputFactory, XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
-                setIfSupported(inputFactory, XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
-                final XMLStreamReader streamReader = inputFactory.createXMLStreamReader(in);
                 try {
-                    List<TimerImpl> timerList = new ArrayList<>();
-                    mapper.parseDocument(timerList, streamReader);
-                    for (TimerImpl timer : timerList) {
+                    for (TimerImpl timer : parse(mapper, in)) {
                         if (timer.getId().equals("deleted-timer")) {
                             timerFile.delete();
                             break;
@@ -395,6 +462,16 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         return timers;
     }
 
+    private List<TimerImpl> parse(XMLMapper mapper, InputStream in) throws XMLStreamException {
+        final XMLInputFactory inputFactory = INPUT_FACTORY;
+        setIfSupported(inputFactory, XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+        setIfSupported(inputFactory, XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        final XMLStreamReader streamReader = inputFactory.createXMLStreamReader(in);
+        final List<TimerImpl> timerList = new ArrayList<>();
+        mapper.parseDocument(timerList, streamReader);
+        return timerList;
+    }
+
     private XMLMapper createMapper(TimerServiceImpl timerService) {
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(new QName(EjbTimerXmlParser_1_0.NAMESPACE, EjbTimerXmlPersister.TIMERS), new EjbTimerXmlParser_1_0(timerService, factory, configuration, timerService.getTimedObjectInvoker().getValue().getClassLoader()));
@@ -457,9 +534,12 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                     if (timer == null) {
                         return null;
                     }
+                    CompletableFuture<Void> written = null;
                     try {
                         lock.lock();
-                        if (status == Status.STATUS_COMMITTED) {
+                        if (status == Status.STATUS_COMMITTED && journal != null) {
+                            written = journalTimer(timer, newTimer);
+                        } else if (status == Status.STATUS_COMMITTED) {
                             final Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                             if (timer.getState() == TimerState.CANCELED ||
                                     timer.getState() == TimerState.EXPIRED) {
@@ -474,6 +554,9 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                         }
                     } finally {
                         lock.unlock();
+                        if (written != null) {
+                            written.join();
+                        }
                     }
                     return null;
                 }
@@ -498,11 +581,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             FileOutputStream out = new FileOutputStream(file);
 
             try {
-                XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
-                XMLMapper mapper = createMapper(timer.getTimerService());
-                mapper.deparseDocument(new EjbTimerXmlPersister(factory, configuration), Collections.singletonList(timer), writer);
-                writer.flush();
-                writer.close();
+                write(timer, out);
             } finally {
                 safeClose(out);
             }
@@ -511,6 +590,38 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
     }
 
+    /**
+     * Appends the new state of the timer to the journal.
+     *
+     * @return a future that completes once the new state is durable
+     */
+    private CompletableFuture<Void> journalTimer(TimerImpl timer, boolean newTimer) {
+        if (timer.getState() == TimerState.CANCELED ||
+                timer.getState() == TimerState.EXPIRED) {
+            return journal.remove(timer.getTimedObjectId(), timer.getId());
+        }
+        //if it is not a new timer and is not in the journal then it has been removed by another thread.
+        return journal.put(timer.getTimedObjectId(), timer.getId(), serialize(timer), newTimer);
+    }
+
+    private byte[] serialize(TimerImpl timer) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(timer, out);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void write(TimerImpl timer, OutputStream out) throws Exception {
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+        XMLMapper mapper = createMapper(timer.getTimerService());
+        mapper.deparseDocument(new EjbTimerXmlPersister(factory, configuration), Collections.singletonList(timer), writer);
+        writer.flush();
+        writer.close();
+    }
+
     public InjectedValue<TransactionSynchronizationRegistry> getTransactionSynchronizationRegistry() {
         return transactionSynchronizationRegistry;
     }
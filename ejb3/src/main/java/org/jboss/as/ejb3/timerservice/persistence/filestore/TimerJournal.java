@@ -0,0 +1,558 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the persistent timers of a file data store.
+ * <p/>
+ * Timer mutations are appended to the current segment of the journal by a single writer thread, which writes and
+ * forces all mutations queued since its previous write at once, so that concurrent transactions share a single fsync.
+ * Once a segment exceeds its maximum size the writer starts a new one, and every few segments the live timers are
+ * written to a snapshot in the background, after which older snapshots and segments are deleted.
+ * On startup, the journal is replayed from the most recent snapshot and the segments written after it.
+ * <p/>
+ * Each record is framed by its length and CRC-32 checksum, so that a record torn by a crash is detected and ignored.
+ * Since replay stops at the first such record of a segment, the writer never appends to a segment after a failed write,
+ * but abandons it and continues with a new one. Mutations only become visible once they are durable.
+ */
+final class TimerJournal implements Closeable {
+
+    static final long DEFAULT_SEGMENT_SIZE = 4L * 1024L * 1024L;
+    static final int DEFAULT_COMPACTION_THRESHOLD = 4;
+
+    private static final String SEGMENT_PREFIX = "timers-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private final File directory;
+    private final ChannelFactory channelFactory;
+    private final long segmentSize;
+    private final int compactionThreshold;
+
+    // timed object id -> timer id -> serialized timer, only modified by the writer thread once opened
+    private final ConcurrentMap<String, ConcurrentMap<String, byte[]>> timers = new ConcurrentHashMap<>();
+    private final BlockingQueue<Record> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+    private final ExecutorService compactor;
+    private final Thread writer;
+    private volatile boolean running = false;
+    // the index of the first segment not covered by the most recent snapshot
+    private volatile long snapshot = 0L;
+
+    // Only accessed by the writer thread, once opened; null if the next segment could not be opened yet
+    private FileChannel channel;
+    private long segment;
+
+    TimerJournal(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    TimerJournal(File directory, long segmentSize, int compactionThreshold) {
+        this(directory, segmentSize, compactionThreshold, file -> FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    TimerJournal(File directory, long segmentSize, int compactionThreshold, ChannelFactory channelFactory) {
+        this.directory = directory;
+        this.channelFactory = channelFactory;
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+        this.writer = new Thread(this::write, "EJB timer journal writer");
+        this.writer.setDaemon(true);
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "EJB timer journal compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Replays the journal and starts accepting mutations.
+     */
+    void open() throws IOException {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            throw new IOException(this.directory.getAbsolutePath());
+        }
+        // Snapshots that were still being written when the server stopped
+        for (File file : this.list(SNAPSHOT_PREFIX, TEMPORARY_SUFFIX)) {
+            file.delete();
+        }
+        long snapshot = 0L;
+        TreeSet<Long> snapshots = this.indexes(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+        if (!snapshots.isEmpty()) {
+            snapshot = snapshots.last();
+            this.read(this.file(SNAPSHOT_PREFIX, snapshot, SNAPSHOT_SUFFIX));
+        }
+        long last = snapshot - 1L;
+        for (long index : this.indexes(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (index < snapshot) {
+                // Already covered by the snapshot, the server stopped before the compaction could delete it
+                this.file(SEGMENT_PREFIX, index, SEGMENT_SUFFIX).delete();
+            } else {
+                this.read(this.file(SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+                last = index;
+            }
+        }
+        this.snapshot = snapshot;
+        // Never append to an existing segment, whose last record may be torn
+        this.segment = last + 1L;
+        this.channel = this.openSegment(this.segment);
+        this.running = true;
+        this.writer.start();
+    }
+
+    /**
+     * Returns the serialized timers of the specified timed object, indexed by timer id.
+     */
+    Map<String, byte[]> getTimers(String timedObjectId) {
+        Map<String, byte[]> timers = this.timers.get(timedObjectId);
+        return (timers != null) ? new HashMap<>(timers) : Collections.emptyMap();
+    }
+
+    /**
+     * Appends the new state of a timer.
+     *
+     * @param create whether the timer should be added if it does not exist, otherwise it was removed concurrently and
+     *               the mutation is ignored
+     * @return a future that completes once the mutation is durable
+     */
+    CompletableFuture<Void> put(String timedObjectId, String timerId, byte[] timer, boolean create) {
+        return this.append(new Record(PUT, timedObjectId, timerId, timer, create));
+    }
+
+    /**
+     * Appends the removal of a timer.
+     *
+     * @return a future that completes once the removal is durable
+     */
+    CompletableFuture<Void> remove(String timedObjectId, String timerId) {
+        return this.append(new Record(REMOVE, timedObjectId, timerId, null, false));
+    }
+
+    private CompletableFuture<Void> append(Record record) {
+        if (this.running) {
+            this.queue.add(record);
+            // if closed concurrently, the writer may already have stopped
+            if (this.running || !this.queue.remove(record)) {
+                return record.future;
+            }
+        }
+        record.future.completeExceptionally(new IllegalStateException(this.directory.getAbsolutePath()));
+        return record.future;
+    }
+
+    @Override
+    public void close() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        boolean interrupted = false;
+        while (this.writer.isAlive()) {
+            try {
+                this.writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        for (Record record = this.queue.poll(); record != null; record = this.queue.poll()) {
+            record.future.completeExceptionally(new IllegalStateException(this.directory.getAbsolutePath()));
+        }
+        this.compactor.shutdown();
+        try {
+            this.compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        this.timers.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write() {
+        List<Record> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                Record record = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (record == null) {
+                    continue;
+                }
+                batch.add(record);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            this.queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            long position = -1L;
+            try {
+                if (this.channel == null) {
+                    this.channel = this.openSegment(this.segment);
+                }
+                // Only mutations that will change the live timers once applied are recorded
+                List<Record> effective = new ArrayList<>(batch.size());
+                Map<String, Map<String, byte[]>> staged = new HashMap<>();
+                for (Record record : batch) {
+                    if (this.stage(record, staged)) {
+                        writeRecord(output, record.body);
+                        effective.add(record);
+                    }
+                }
+                if (bytes.size() > 0) {
+                    position = this.channel.position();
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                    while (buffer.hasRemaining()) {
+                        this.channel.write(buffer);
+                    }
+                    this.channel.force(false);
+                }
+                // Durable, so the mutations can now be made visible
+                for (Record record : effective) {
+                    this.apply(record);
+                }
+                for (Record record : batch) {
+                    record.future.complete(null);
+                }
+            } catch (IOException | RuntimeException e) {
+                this.abandon(position, e);
+                for (Record record : batch) {
+                    record.future.completeExceptionally(e);
+                }
+                continue;
+            } finally {
+                batch.clear();
+                bytes.reset();
+            }
+            try {
+                if (this.channel.position() >= this.segmentSize) {
+                    this.roll();
+                }
+            } catch (IOException e) {
+                this.abandon(-1L, e);
+            }
+        }
+    }
+
+    /**
+     * Abandons the current segment after a failed write, which may have left a partial record at its end.
+     * Subsequent records are written to a new segment, opened by the next write, so that they are not hidden by that
+     * record on replay. If the new segment cannot be opened either, each write fails until it can.
+     * @param position the position of the segment at which the failed write started, or -1 if unknown
+     */
+    private void abandon(long position, Exception cause) {
+        EJB3_TIMER_LOGGER.failToWriteTimerJournal(this.file(SEGMENT_PREFIX, this.segment, SEGMENT_SUFFIX), cause);
+        if (this.channel == null) {
+            // The failure was opening the new segment
+            return;
+        }
+        try {
+            if (position >= 0L) {
+                // Discard whatever part of the failed write reached the segment, on a best effort basis
+                this.channel.truncate(position);
+                this.channel.force(false);
+            }
+        } catch (IOException e) {
+            // The remainder is ignored on replay
+        }
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            // ignore
+        }
+        this.channel = null;
+        this.segment += 1L;
+    }
+
+    /**
+     * Starts a new segment, and triggers a compaction once enough segments were written since the latest snapshot.
+     */
+    private void roll() throws IOException {
+        this.channel.close();
+        this.channel = null;
+        this.segment += 1L;
+        this.channel = this.openSegment(this.segment);
+        if ((this.segment - this.snapshot >= this.compactionThreshold) && this.compacting.compareAndSet(false, true)) {
+            // The snapshot must reflect exactly the segments preceding the new one
+            final long index = this.segment;
+            final Map<String, Map<String, byte[]>> timers = new HashMap<>();
+            for (Map.Entry<String, ConcurrentMap<String, byte[]>> entry : this.timers.entrySet()) {
+                timers.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+            this.compactor.execute(() -> {
+                try {
+                    this.compact(index, timers);
+                } catch (IOException | RuntimeException e) {
+                    EJB3_TIMER_LOGGER.failToCompactTimerJournal(this.directory, e);
+                } finally {
+                    this.compacting.set(false);
+                }
+            });
+        }
+    }
+
+    private void compact(long index, Map<String, Map<String, byte[]>> timers) throws IOException {
+        File temporary = this.file(SNAPSHOT_PREFIX, index, TEMPORARY_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temporary)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out));
+            for (Map.Entry<String, Map<String, byte[]>> entry : timers.entrySet()) {
+                for (Map.Entry<String, byte[]> timer : entry.getValue().entrySet()) {
+                    writeRecord(output, new Record(PUT, entry.getKey(), timer.getKey(), timer.getValue(), true).body);
+                }
+            }
+            output.flush();
+            out.getChannel().force(false);
+        }
+        Files.move(temporary.toPath(), this.file(SNAPSHOT_PREFIX, index, SNAPSHOT_SUFFIX).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        this.snapshot = index;
+        for (long previous : this.indexes(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headSet(index)) {
+            this.file(SNAPSHOT_PREFIX, previous, SNAPSHOT_SUFFIX).delete();
+        }
+        for (long previous : this.indexes(SEGMENT_PREFIX, SEGMENT_SUFFIX).headSet(index)) {
+            this.file(SEGMENT_PREFIX, previous, SEGMENT_SUFFIX).delete();
+        }
+    }
+
+    /**
+     * Determines whether a mutation would change the live timers, given the mutations staged before it in the same
+     * batch, and if so stages it.
+     * @param staged timed object id -> timer id -> staged timer, or null if staged for removal
+     * @return true, if the mutation would change the live timers and must be recorded, false otherwise
+     */
+    private boolean stage(Record record, Map<String, Map<String, byte[]>> staged) {
+        Map<String, byte[]> timers = staged.computeIfAbsent(record.timedObjectId, key -> new HashMap<>());
+        if (record.type != PUT || !record.create) {
+            boolean exists;
+            if (timers.containsKey(record.timerId)) {
+                exists = timers.get(record.timerId) != null;
+            } else {
+                Map<String, byte[]> live = this.timers.get(record.timedObjectId);
+                exists = (live != null) && live.containsKey(record.timerId);
+            }
+            if (!exists) {
+                return false;
+            }
+        }
+        timers.put(record.timerId, (record.type == PUT) ? record.timer : null);
+        return true;
+    }
+
+    /**
+     * Applies a mutation to the live timers.
+     * @return true, if the mutation changed the live timers and must be recorded, false otherwise
+     */
+    private boolean apply(Record record) {
+        if (record.type == PUT) {
+            ConcurrentMap<String, byte[]> timers = record.create ? this.timers.computeIfAbsent(record.timedObjectId, key -> new ConcurrentHashMap<>()) : this.timers.get(record.timedObjectId);
+            if ((timers == null) || (!record.create && !timers.containsKey(record.timerId))) {
+                return false;
+            }
+            timers.put(record.timerId, record.timer);
+            return true;
+        }
+        ConcurrentMap<String, byte[]> timers = this.timers.get(record.timedObjectId);
+        if ((timers == null) || (timers.remove(record.timerId) == null)) {
+            return false;
+        }
+        if (timers.isEmpty()) {
+            this.timers.remove(record.timedObjectId, timers);
+        }
+        return true;
+    }
+
+    private void read(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            long position = 0L;
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                try {
+                    if ((length < 0) || (length > MAX_RECORD_SIZE)) {
+                        throw new IOException();
+                    }
+                    long checksum = input.readInt() & 0xFFFFFFFFL;
+                    byte[] body = new byte[length];
+                    input.readFully(body);
+                    CRC32 crc = new CRC32();
+                    crc.update(body);
+                    if (crc.getValue() != checksum) {
+                        throw new IOException();
+                    }
+                    this.apply(Record.decode(body));
+                } catch (IOException e) {
+                    EJB3_TIMER_LOGGER.ignoringCorruptTimerJournalRecord(position, file);
+                    return;
+                }
+                position += 8 + length;
+            }
+        }
+    }
+
+    private static void writeRecord(DataOutput output, byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        output.writeInt(body.length);
+        output.writeInt((int) crc.getValue());
+        output.write(body);
+    }
+
+    private FileChannel openSegment(long index) throws IOException {
+        return this.channelFactory.open(this.file(SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private File file(String prefix, long index, String suffix) {
+        return new File(this.directory, prefix + index + suffix);
+    }
+
+    private File[] list(String prefix, String suffix) {
+        File[] files = this.directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(suffix));
+        return (files != null) ? files : new File[0];
+    }
+
+    private TreeSet<Long> indexes(String prefix, String suffix) {
+        TreeSet<Long> indexes = new TreeSet<>();
+        for (File file : this.list(prefix, suffix)) {
+            String name = file.getName();
+            try {
+                indexes.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+            } catch (NumberFormatException e) {
+                // not one of ours
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Opens a segment for appending.
+     */
+    interface ChannelFactory {
+        FileChannel open(File segment) throws IOException;
+    }
+
+    private static final class Record {
+        final byte type;
+        final String timedObjectId;
+        final String timerId;
+        final byte[] timer;
+        final boolean create;
+        final byte[] body;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Record(byte type, String timedObjectId, String timerId, byte[] timer, boolean create) {
+            this.type = type;
+            this.timedObjectId = timedObjectId;
+            this.timerId = timerId;
+            this.timer = timer;
+            this.create = create;
+            // Encoded by the calling thread, to keep the writer thread busy only with I/O
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + ((timer != null) ? timer.length : 0));
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeByte(type);
+                output.writeUTF(timedObjectId);
+                output.writeUTF(timerId);
+                if (type == PUT) {
+                    output.writeInt(timer.length);
+                    output.write(timer);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            this.body = bytes.toByteArray();
+        }
+
+        static Record decode(byte[] body) throws IOException {
+            DataInput input = new DataInputStream(new ByteArrayInputStream(body));
+            byte type = input.readByte();
+            String timedObjectId = input.readUTF();
+            String timerId = input.readUTF();
+            switch (type) {
+                case PUT: {
+                    byte[] timer = new byte[input.readInt()];
+                    input.readFully(timer);
+                    return new Record(type, timedObjectId, timerId, timer, true);
+                }
+                case REMOVE: {
+                    return new Record(type, timedObjectId, timerId, null, false);
+                }
+                default: {
+                    throw new IOException(Byte.toString(type));
+                }
+            }
+        }
+    }
+}
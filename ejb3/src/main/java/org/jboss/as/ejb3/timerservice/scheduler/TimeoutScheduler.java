@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the expiration of EJB timers, and other short lived house keeping tasks of the timer service.
+ * <p/>
+ * Scheduled tasks are run by a thread owned by the scheduler, so they must hand off any blocking or long running work
+ * to an executor, as {@link org.jboss.as.ejb3.timerservice.TimerServiceImpl} does for timeout method invocations.
+ */
+public interface TimeoutScheduler extends AutoCloseable {
+
+    /**
+     * Schedules a task for a single execution after the specified delay.
+     *
+     * @param task  the task to run
+     * @param delay the delay, in milliseconds, after which the task should run
+     * @return a handle through which the task can be cancelled
+     */
+    ScheduledTimeout schedule(Runnable task, long delay);
+
+    /**
+     * Schedules a task for repeated fixed-rate execution, beginning after the specified delay.
+     *
+     * @param task   the task to run
+     * @param delay  the delay, in milliseconds, after which the task should first run
+     * @param period the time, in milliseconds, between successive executions
+     * @return a handle through which the task can be cancelled
+     */
+    ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Schedules a task for repeated fixed-delay execution, beginning after the specified delay.
+     * Unlike {@link #scheduleAtFixedRate(Runnable, long, long)}, a late execution delays all subsequent ones.
+     *
+     * @param task   the task to run
+     * @param delay  the delay, in milliseconds, after which the task should first run
+     * @param period the time, in milliseconds, between the end of one execution and the start of the next
+     * @return a handle through which the task can be cancelled
+     */
+    ScheduledTimeout scheduleWithFixedDelay(Runnable task, long delay, long period);
+
+    /**
+     * Releases any resources held on behalf of cancelled tasks.
+     */
+    void purge();
+
+    /**
+     * Returns the statistics of this scheduler.
+     *
+     * @return the statistics of this scheduler
+     */
+    TimeoutSchedulerStatistics getStatistics();
+
+    /**
+     * Stops this scheduler, discarding any scheduled tasks.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a {@link TimeoutScheduler}.
+ * The scheduling lag of an execution is the time at which it actually ran minus the time at which it was due.
+ */
+public class TimeoutSchedulerStatistics {
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+
+    void scheduled() {
+        this.scheduled.increment();
+    }
+
+    void unscheduled() {
+        this.scheduled.decrement();
+    }
+
+    void executed(long due, long now) {
+        long lag = Math.max(0L, now - due);
+        this.executions.increment();
+        this.totalLag.add(lag);
+        if (lag > this.maxLag.get()) {
+            this.maxLag.accumulateAndGet(lag, Math::max);
+        }
+    }
+
+    /**
+     * @return the number of tasks currently scheduled
+     */
+    public long getScheduledCount() {
+        return this.scheduled.sum();
+    }
+
+    /**
+     * @return the number of task executions
+     */
+    public long getExecutionCount() {
+        return this.executions.sum();
+    }
+
+    /**
+     * @return the average scheduling lag, in milliseconds
+     */
+    public long getAverageLag() {
+        long executions = this.executions.sum();
+        return (executions > 0L) ? this.totalLag.sum() / executions : 0L;
+    }
+
+    /**
+     * @return the maximum scheduling lag, in milliseconds
+     */
+    public long getMaxLag() {
+        return this.maxLag.get();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * {@link TimeoutScheduler} backed by a single {@link Timer}.
+ * Scheduling and cancellation are O(log n), and all tasks are run by a single thread.
+ */
+public class TimerTimeoutScheduler implements TimeoutScheduler {
+
+    private final Timer timer = new Timer();
+    private final TimeoutSchedulerStatistics statistics = new TimeoutSchedulerStatistics();
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        TimerTimeout timeout = new TimerTimeout(task, false);
+        this.statistics.scheduled();
+        try {
+            this.timer.schedule(timeout, delay);
+        } catch (RuntimeException e) {
+            timeout.complete();
+            throw e;
+        }
+        return timeout;
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        TimerTimeout timeout = new TimerTimeout(task, true);
+        this.statistics.scheduled();
+        try {
+            this.timer.scheduleAtFixedRate(timeout, delay, period);
+        } catch (RuntimeException e) {
+            timeout.complete();
+            throw e;
+        }
+        return timeout;
+    }
+
+    @Override
+    public ScheduledTimeout scheduleWithFixedDelay(Runnable task, long delay, long period) {
+        TimerTimeout timeout = new TimerTimeout(task, true);
+        this.statistics.scheduled();
+        try {
+            this.timer.schedule(timeout, delay, period);
+        } catch (RuntimeException e) {
+            timeout.complete();
+            throw e;
+        }
+        return timeout;
+    }
+
+    @Override
+    public void purge() {
+        this.timer.purge();
+    }
+
+    @Override
+    public TimeoutSchedulerStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public void close() {
+        this.timer.cancel();
+    }
+
+    private class TimerTimeout extends TimerTask implements ScheduledTimeout {
+        private final Runnable task;
+        private final boolean periodic;
+        private final AtomicBoolean completed = new AtomicBoolean(false);
+
+        TimerTimeout(Runnable task, boolean periodic) {
+            this.task = task;
+            this.periodic = periodic;
+        }
+
+        @Override
+        public void run() {
+            TimerTimeoutScheduler.this.statistics.executed(this.scheduledExecutionTime(), System.currentTimeMillis());
+            if (!this.periodic) {
+                this.complete();
+            }
+            try {
+                this.task.run();
+            } catch (Throwable e) {
+                // Do not let the exception kill the timer thread
+                EjbLogger.EJB3_TIMER_LOGGER.failedToExecuteScheduledTask(this.task, e);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            boolean cancelled = super.cancel();
+            this.complete();
+            return cancelled;
+        }
+
+        void complete() {
+            if (this.completed.compareAndSet(false, true)) {
+                TimerTimeoutScheduler.this.statistics.unscheduled();
+            }
+        }
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * {@link TimeoutScheduler} based on a hashed timing wheel.
+ * <p/>
+ * Scheduling and cancellation are O(1) and lock-free: new and cancelled tasks are handed to the wheel thread through
+ * concurrent queues. Every tick, the wheel thread advances to the next bucket and runs the tasks of that bucket that are
+ * due. Tasks whose delay exceeds one revolution of the wheel wait in their bucket for the appropriate number of rounds.
+ * Consequently, tasks are run at most one tick after they are due.
+ */
+public class TimingWheelTimeoutScheduler implements TimeoutScheduler, Runnable {
+
+    public static final long DEFAULT_TICK_DURATION = 10;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    // Bounds the work done per tick, so that a burst of new tasks cannot delay the expiration of existing ones
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private static final int SCHEDULED = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final TimeoutSchedulerStatistics statistics = new TimeoutSchedulerStatistics();
+    private final long startTime = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // Only accessed by the wheel thread
+    private long tick = 0;
+
+    public TimingWheelTimeoutScheduler() {
+        this(DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    public TimingWheelTimeoutScheduler(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException(Long.toString(tickDuration));
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException(Integer.toString(wheelSize));
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; ++i) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this, "EJB timing wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        return this.schedule(task, delay, 0L, true);
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.schedule(task, delay, period, true);
+    }
+
+    @Override
+    public ScheduledTimeout scheduleWithFixedDelay(Runnable task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.schedule(task, delay, period, false);
+    }
+
+    private ScheduledTimeout schedule(Runnable task, long delay, long period, boolean fixedRate) {
+        if (delay < 0) {
+            throw new IllegalArgumentException(Long.toString(delay));
+        }
+        if (!this.running) {
+            throw new IllegalStateException();
+        }
+        long deadline = System.nanoTime() - this.startTime + TimeUnit.MILLISECONDS.toNanos(delay);
+        WheelTimeout timeout = new WheelTimeout(task, deadline, TimeUnit.MILLISECONDS.toNanos(period), fixedRate);
+        this.statistics.scheduled();
+        this.pending.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void purge() {
+        // Cancelled tasks are already removed from the wheel on the next tick
+    }
+
+    @Override
+    public TimeoutSchedulerStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public void close() {
+        this.running = false;
+        this.worker.interrupt();
+        boolean interrupted = false;
+        while (this.worker.isAlive()) {
+            try {
+                this.worker.join(100);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (this.running) {
+            long deadline = this.tickNanos * (this.tick + 1);
+            long now = this.waitUntil(deadline);
+            if (now < deadline) {
+                // Interrupted by close()
+                continue;
+            }
+            this.removeCancelled();
+            this.transferPending();
+            this.wheel[(int) (this.tick & this.mask)].expire(now);
+            this.tick += 1;
+        }
+        // Discard any remaining tasks
+        for (Bucket bucket : this.wheel) {
+            bucket.clear();
+        }
+        for (WheelTimeout timeout = this.pending.poll(); timeout != null; timeout = this.pending.poll()) {
+            timeout.discard();
+        }
+        this.cancelled.clear();
+    }
+
+    /**
+     * Waits until the specified deadline, relative to the start time of this scheduler.
+     * @return the current time relative to the start time of this scheduler
+     */
+    private long waitUntil(long deadline) {
+        long now = System.nanoTime() - this.startTime;
+        while (now < deadline) {
+            try {
+                long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999999L);
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!this.running) {
+                    return now;
+                }
+            }
+            now = System.nanoTime() - this.startTime;
+        }
+        return now;
+    }
+
+    private void removeCancelled() {
+        for (WheelTimeout timeout = this.cancelled.poll(); timeout != null; timeout = this.cancelled.poll()) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+            WheelTimeout timeout = this.pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() == SCHEDULED) {
+                this.add(timeout);
+            }
+        }
+    }
+
+    private void add(WheelTimeout timeout) {
+        long ticks = timeout.deadline / this.tickNanos;
+        timeout.remainingRounds = (ticks - this.tick) / this.wheel.length;
+        // Tasks that are already due go into the current bucket
+        this.wheel[(int) (Math.max(ticks, this.tick) & this.mask)].add(timeout);
+    }
+
+    private class WheelTimeout implements ScheduledTimeout {
+        final Runnable task;
+        final long period;
+        final boolean fixedRate;
+        final AtomicInteger state = new AtomicInteger(SCHEDULED);
+        volatile long deadline;
+
+        // Only accessed by the wheel thread
+        long remainingRounds;
+        Bucket bucket;
+        WheelTimeout next;
+        WheelTimeout previous;
+
+        WheelTimeout(Runnable task, long deadline, long period, boolean fixedRate) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+            this.fixedRate = fixedRate;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (this.state.compareAndSet(SCHEDULED, CANCELLED)) {
+                TimingWheelTimeoutScheduler.this.statistics.unscheduled();
+                TimingWheelTimeoutScheduler.this.cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        void expire(long now) {
+            TimeoutSchedulerStatistics statistics = TimingWheelTimeoutScheduler.this.statistics;
+            if (this.period == 0L) {
+                if (!this.state.compareAndSet(SCHEDULED, EXPIRED)) {
+                    return;
+                }
+                statistics.unscheduled();
+            }
+            statistics.executed(TimeUnit.NANOSECONDS.toMillis(this.deadline), TimeUnit.NANOSECONDS.toMillis(now));
+            try {
+                this.task.run();
+            } catch (Throwable e) {
+                // Do not let the exception kill the wheel thread
+                EjbLogger.EJB3_TIMER_LOGGER.failedToExecuteScheduledTask(this.task, e);
+            }
+            if ((this.period > 0L) && (this.state.get() == SCHEDULED)) {
+                // Fixed rate is relative to the previous deadline, fixed delay to the end of this execution
+                this.deadline = (this.fixedRate ? this.deadline : System.nanoTime() - TimingWheelTimeoutScheduler.this.startTime) + this.period;
+                TimingWheelTimeoutScheduler.this.pending.add(this);
+            }
+        }
+
+        void discard() {
+            if (this.state.compareAndSet(SCHEDULED, CANCELLED)) {
+                TimingWheelTimeoutScheduler.this.statistics.unscheduled();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.task.toString();
+        }
+    }
+
+    /**
+     * A doubly linked list of the tasks that hash to a given slot of the wheel.
+     * Only accessed by the wheel thread.
+     */
+    private static class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.previous = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            if (timeout == this.head) {
+                this.head = (timeout == this.tail) ? null : next;
+            }
+            if (timeout == this.tail) {
+                this.tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire(long now) {
+            WheelTimeout timeout = this.head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.state.get() != SCHEDULED) {
+                    this.remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    this.remove(timeout);
+                    timeout.expire(now);
+                } else {
+                    timeout.remainingRounds -= 1;
+                }
+                timeout = next;
+            }
+        }
+
+        void clear() {
+            WheelTimeout timeout = this.head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                this.remove(timeout);
+                timeout.discard();
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.jboss.as.ejb3.component.singleton.StampedEJBReadWriteLock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StampedEJBReadWriteLock}
+ */
+public class StampedEJBReadWriteLockTest {
+
+    private StampedEJBReadWriteLock lock;
+    private ExecutorService executor;
+
+    @Before
+    public void beforeTest() {
+        this.lock = new StampedEJBReadWriteLock();
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void afterTest() {
+        this.executor.shutdownNow();
+        this.lock = null;
+    }
+
+    /**
+     * Test that a {@link javax.ejb.IllegalLoopbackException} is thrown when the thread owning a read lock
+     * tries to obtain a write lock
+     */
+    @Test
+    public void testIllegalLoopBack() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            this.lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException e) {
+            // expected
+        } finally {
+            readLock.unlock();
+        }
+        // the failed upgrade must not have leaked the read lock
+        Assert.assertTrue(this.tryLockFromOtherThread(this.lock.writeLock()));
+    }
+
+    /**
+     * Test that a thread can reenter the read lock while another thread waits for the write lock
+     */
+    @Test
+    public void testReentrantReadLock() throws Exception {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        CountDownLatch writing = new CountDownLatch(1);
+        Future<Boolean> writer = this.executor.submit(() -> {
+            writing.countDown();
+            boolean locked = this.lock.writeLock().tryLock(10, TimeUnit.SECONDS);
+            if (locked) {
+                this.lock.writeLock().unlock();
+            }
+            return locked;
+        });
+        writing.await();
+        Thread.sleep(100);
+        try {
+            Assert.assertTrue(readLock.tryLock(100, TimeUnit.MILLISECONDS));
+            readLock.unlock();
+        } finally {
+            readLock.unlock();
+        }
+        Assert.assertTrue(writer.get(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that the write lock is reentrant, and excludes readers until its last release
+     */
+    @Test
+    public void testReentrantWriteLock() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        Assert.assertTrue(writeLock.tryLock());
+        writeLock.unlock();
+        Assert.assertFalse(this.tryLockFromOtherThread(this.lock.readLock()));
+        writeLock.unlock();
+        Assert.assertTrue(this.tryLockFromOtherThread(this.lock.readLock()));
+    }
+
+    /**
+     * Test that a thread holding the write lock can obtain a read lock, and keeps it after releasing the write lock
+     */
+    @Test
+    public void testDowngrade() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        Lock readLock = this.lock.readLock();
+        writeLock.lock();
+        Assert.assertTrue(readLock.tryLock(1, TimeUnit.SECONDS));
+        writeLock.unlock();
+        try {
+            Assert.assertTrue(this.tryLockFromOtherThread(readLock));
+            Assert.assertFalse(this.tryLockFromOtherThread(writeLock));
+        } finally {
+            readLock.unlock();
+        }
+        Assert.assertTrue(this.tryLockFromOtherThread(writeLock));
+    }
+
+    /**
+     * Test that a thread fails to obtain the read lock within the timeout while another thread holds the write lock
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            Assert.assertFalse(this.tryLockFromOtherThread(this.lock.readLock()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testUnlockNotHeld() {
+        this.lock.readLock().unlock();
+    }
+
+    private boolean tryLockFromOtherThread(Lock lock) throws Exception {
+        return this.executor.submit(() -> {
+            boolean locked = lock.tryLock(100, TimeUnit.MILLISECONDS);
+            if (locked) {
+                lock.unlock();
+            }
+            return locked;
+        }).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.jboss.marshalling.cloner.ClonerConfiguration;
+import org.junit.Test;
+
+/**
+ * Unit test for the cloning of values passed by value by {@link LocalEjbReceiver}.
+ */
+public class LocalEjbReceiverTestCase {
+
+    private final ClonerConfiguration config = new ClonerConfiguration();
+
+    @Test
+    public void testNull() {
+        assertNull(LocalEjbReceiver.clone(Object.class, this.config, null, false));
+    }
+
+    @Test
+    public void testImmutable() {
+        for (Object value : new Object[] { new String("foo"), Integer.valueOf(1), new BigDecimal("1.5"), UUID.randomUUID(), LocalDate.now() }) {
+            assertSame(value, LocalEjbReceiver.clone(Object.class, this.config, value, false));
+        }
+    }
+
+    @Test
+    public void testMutable() {
+        List<String> value = new ArrayList<>();
+        value.add("foo");
+        Object result = LocalEjbReceiver.clone(List.class, this.config, value, false);
+        assertNotSame(value, result);
+        assertEquals(value, result);
+    }
+
+    @Test
+    public void testPassByReference() {
+        List<String> value = new ArrayList<>();
+        assertSame(value, LocalEjbReceiver.clone(Collection.class, this.config, value, true));
+    }
+}
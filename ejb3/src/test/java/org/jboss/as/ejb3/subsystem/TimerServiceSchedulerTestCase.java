@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import static org.junit.Assert.assertSame;
+
+import org.jboss.as.ejb3.subsystem.TimerServiceResourceDefinition.Scheduler;
+import org.junit.Test;
+
+/**
+ * Verifies that {@link Scheduler#fromValue(String)} accepts the same spellings as the attribute validator.
+ */
+public class TimerServiceSchedulerTestCase {
+
+    @Test
+    public void testModelValue() {
+        assertSame(Scheduler.TIMER, Scheduler.fromValue("timer"));
+        assertSame(Scheduler.TIMING_WHEEL, Scheduler.fromValue("timing-wheel"));
+    }
+
+    @Test
+    public void testIgnoresCase() {
+        assertSame(Scheduler.TIMER, Scheduler.fromValue("TIMER"));
+        assertSame(Scheduler.TIMING_WHEEL, Scheduler.fromValue("Timing-Wheel"));
+        assertSame(Scheduler.TIMING_WHEEL, Scheduler.fromValue("timing_wheel"));
+        assertSame(Scheduler.TIMING_WHEEL, Scheduler.fromValue("TIMING_WHEEL"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknown() {
+        Scheduler.fromValue("quartz");
+    }
+}
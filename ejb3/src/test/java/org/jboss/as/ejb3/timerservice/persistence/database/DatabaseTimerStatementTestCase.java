@@ -0,0 +1,296 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.jboss.msc.value.ImmediateValue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies the statements issued by {@link DatabaseTimerPersistence} when writing timers in a transaction, and when
+ * refreshing the timers added or removed by other nodes.
+ */
+public class DatabaseTimerStatementTestCase {
+
+    private static final String TIMED_OBJECT_ID = "timed-object";
+
+    // Each statement is its own key, so that the statements can be told apart
+    private static final String CREATE_TIMER = "create-timer";
+    private static final String UPDATE_TIMER = "update-timer";
+    private static final String DELETE_TIMER = "delete-timer";
+    private static final String LOAD_TIMER = "load-timer";
+    private static final String LOAD_ALL_TIMERS = "load-all-timers";
+    private static final String LOAD_TIMER_IDS = "load-timer-ids";
+
+    private final DatabaseTimerPersistence persistence = new DatabaseTimerPersistence("", "part", "nodeA", 1000000, true);
+    private final Properties sql = new Properties();
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        for (String key : Arrays.asList(CREATE_TIMER, UPDATE_TIMER, DELETE_TIMER, LOAD_TIMER, LOAD_ALL_TIMERS, LOAD_TIMER_IDS)) {
+            this.sql.setProperty(key, key);
+        }
+        when(this.dataSource.getConnection()).thenReturn(this.connection);
+        when(this.connection.prepareStatement(anyString())).thenAnswer(invocation -> this.statement(invocation.getArgument(0)));
+        this.set("dataSource", this.dataSource);
+        this.set("sql", this.sql);
+        this.knownTimerIds().put(TIMED_OBJECT_ID, new HashSet<>());
+    }
+
+    @Test
+    public void testTransactionBatch() throws Exception {
+        List<Synchronization> synchronizations = this.transaction();
+
+        TimerImpl created = timer("created", TimerState.CREATED);
+        TimerImpl cancelled = timer("cancelled", TimerState.CREATED);
+        TimerImpl existing = timer("existing", TimerState.ACTIVE);
+        TimerImpl expired = timer("expired", TimerState.EXPIRED);
+
+        this.persistence.addTimer(created);
+        when(created.getState()).thenReturn(TimerState.ACTIVE);
+        this.persistence.persistTimer(created);
+        this.persistence.addTimer(cancelled);
+        when(cancelled.getState()).thenReturn(TimerState.CANCELED);
+        this.persistence.persistTimer(cancelled);
+        this.persistence.persistTimer(existing);
+        when(existing.getState()).thenReturn(TimerState.IN_TIMEOUT);
+        this.persistence.persistTimer(existing);
+        this.persistence.persistTimer(expired);
+
+        // Nothing is written until the transaction completes
+        verify(this.dataSource, never()).getConnection();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).beforeCompletion();
+        verify(this.dataSource, times(1)).getConnection();
+
+        PreparedStatement create = this.statements.get(CREATE_TIMER);
+        verify(create, times(1)).addBatch();
+        verify(create).setString(1, "created");
+        verify(create).executeBatch();
+
+        // Only the last state of each timer is written
+        PreparedStatement update = this.statements.get(UPDATE_TIMER);
+        verify(update, times(2)).addBatch();
+        verify(update).setString(3, TimerState.ACTIVE.name());
+        verify(update).setString(3, TimerState.IN_TIMEOUT.name());
+        verify(update).setString(6, "created");
+        verify(update).setString(6, "existing");
+        verify(update).executeBatch();
+
+        // A timer created and cancelled by the same transaction is never written
+        PreparedStatement delete = this.statements.get(DELETE_TIMER);
+        verify(delete, times(1)).addBatch();
+        verify(delete).setString(2, "expired");
+        verify(delete).executeBatch();
+        verify(create, never()).setString(1, "cancelled");
+        verify(update, never()).setString(6, "cancelled");
+
+        for (PreparedStatement statement : this.statements.values()) {
+            verify(statement, never()).execute();
+        }
+    }
+
+    @Test
+    public void testNoTransaction() throws Exception {
+        TransactionSynchronizationRegistry registry = mock(TransactionSynchronizationRegistry.class);
+        when(registry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        this.persistence.getTransactionSynchronizationRegistry().setValue(new ImmediateValue<>(registry));
+
+        TimerImpl timer = timer("timer", TimerState.ACTIVE);
+        this.persistence.persistTimer(timer);
+
+        // Written immediately
+        PreparedStatement update = this.statements.get(UPDATE_TIMER);
+        verify(update).setString(6, "timer");
+        verify(update).execute();
+        verify(update, never()).addBatch();
+        verify(registry, never()).registerInterposedSynchronization(any());
+    }
+
+    @Test
+    public void testRefreshLoadsOnlyNewTimers() throws Exception {
+        TimerChangeListener listener = this.refreshable("known", "removed");
+        when(this.statement(LOAD_TIMER_IDS).executeQuery()).thenReturn(timerIds(TIMED_OBJECT_ID, "known", "other-timed-object", "other", TIMED_OBJECT_ID, "added"));
+        // e.g. removed concurrently, after its id was read
+        when(this.statement(LOAD_TIMER).executeQuery()).thenReturn(resultSet());
+
+        this.persistence.new RefreshTask().refresh();
+
+        // A single query of the timer ids of the partition
+        PreparedStatement ids = this.statements.get(LOAD_TIMER_IDS);
+        verify(ids, times(1)).executeQuery();
+        verify(ids).setString(1, "part");
+        PreparedStatement load = this.statements.get(LOAD_TIMER);
+        verify(load, times(1)).executeQuery();
+        verify(load).setString(2, "added");
+        verify(this.connection, never()).prepareStatement(LOAD_ALL_TIMERS);
+        verify(listener).timerRemoved("removed");
+        verify(listener, never()).timerRemoved("known");
+        verify(this.dataSource, times(1)).getConnection();
+        assertEquals(1L, this.persistence.getRefreshStatistics().getRefreshCount());
+    }
+
+    @Test
+    public void testRefreshSkipsPendingTimers() throws Exception {
+        TimerChangeListener listener = this.refreshable("deleted");
+        List<Synchronization> synchronizations = this.transaction();
+        this.persistence.addTimer(timer("created", TimerState.CREATED));
+        this.persistence.persistTimer(timer("deleted", TimerState.CANCELED));
+
+        // Until the transaction commits, the database still lacks the created timer and holds the deleted one
+        when(this.statement(LOAD_TIMER_IDS).executeQuery()).thenReturn(timerIds(TIMED_OBJECT_ID, "deleted"));
+        this.persistence.new RefreshTask().refresh();
+
+        verify(this.connection, never()).prepareStatement(LOAD_TIMER);
+        verify(listener, never()).timerRemoved(anyString());
+        assertTrue(this.knownTimerIds().get(TIMED_OBJECT_ID).contains("created"));
+
+        synchronizations.get(0).beforeCompletion();
+        synchronizations.get(0).afterCompletion(Status.STATUS_COMMITTED);
+
+        // e.g. the created timer was cancelled by another node since
+        when(this.statement(LOAD_TIMER_IDS).executeQuery()).thenReturn(timerIds());
+        this.persistence.new RefreshTask().refresh();
+
+        verify(listener).timerRemoved("created");
+        verify(listener, never()).timerRemoved("deleted");
+    }
+
+    @Test
+    public void testRefreshWithoutTimerIdsQuery() throws Exception {
+        // e.g. a timer-sql.properties customized before the query of the timer ids existed
+        this.sql.remove(LOAD_TIMER_IDS);
+        TimerChangeListener listener = this.refreshable("known", "removed");
+        when(this.statement(LOAD_ALL_TIMERS).executeQuery()).thenReturn(resultSet("known", "added"));
+
+        this.persistence.new RefreshTask().refresh();
+
+        verify(this.connection).prepareStatement(LOAD_ALL_TIMERS);
+        verify(this.connection, never()).prepareStatement(LOAD_TIMER);
+        verify(listener).timerRemoved("removed");
+        verify(listener, never()).timerRemoved("known");
+        assertTrue(this.knownTimerIds().get(TIMED_OBJECT_ID).contains("added"));
+        assertEquals(1L, this.persistence.getRefreshStatistics().getRefreshCount());
+    }
+
+    private List<Synchronization> transaction() {
+        Map<Object, Object> resources = new HashMap<>();
+        List<Synchronization> synchronizations = new ArrayList<>();
+        TransactionSynchronizationRegistry registry = mock(TransactionSynchronizationRegistry.class);
+        when(registry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(registry.getResource(any())).thenAnswer(invocation -> resources.get(invocation.getArgument(0)));
+        doAnswer(invocation -> resources.put(invocation.getArgument(0), invocation.getArgument(1))).when(registry).putResource(any(), any());
+        doAnswer(invocation -> synchronizations.add(invocation.getArgument(0))).when(registry).registerInterposedSynchronization(any());
+        this.persistence.getTransactionSynchronizationRegistry().setValue(new ImmediateValue<>(registry));
+        return synchronizations;
+    }
+
+    private TimerChangeListener refreshable(String... timerIds) throws Exception {
+        this.knownTimerIds().get(TIMED_OBJECT_ID).addAll(Arrays.asList(timerIds));
+        TimerChangeListener listener = mock(TimerChangeListener.class);
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, listener);
+        return listener;
+    }
+
+    private PreparedStatement statement(String sql) {
+        return this.statements.computeIfAbsent(sql, key -> mock(PreparedStatement.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<String>> knownTimerIds() throws Exception {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField("knownTimerIds");
+        field.setAccessible(true);
+        return (Map<String, Set<String>>) field.get(this.persistence);
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(this.persistence, value);
+    }
+
+    private static TimerImpl timer(String id, TimerState state) {
+        TimerImpl timer = mock(TimerImpl.class);
+        when(timer.getId()).thenReturn(id);
+        when(timer.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(timer.getState()).thenReturn(state);
+        return timer;
+    }
+
+    private static ResultSet resultSet(String... ids) throws Exception {
+        return resultSet(1, ids);
+    }
+
+    /**
+     * Creates a result set of the timed object and timer ids, as returned by the query of the timer ids.
+     */
+    private static ResultSet timerIds(String... values) throws Exception {
+        return resultSet(2, values);
+    }
+
+    private static ResultSet resultSet(int columns, String... values) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        AtomicInteger row = new AtomicInteger(-1);
+        when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() < values.length / columns);
+        for (int i = 0; i < columns; ++i) {
+            int column = i;
+            when(resultSet.getString(column + 1)).thenAnswer(invocation -> values[row.get() * columns + column]);
+        }
+        return resultSet;
+    }
+}
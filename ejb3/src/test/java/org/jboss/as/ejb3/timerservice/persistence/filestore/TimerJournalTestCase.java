@@ -0,0 +1,403 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final String TIMED_OBJECT_ID = "timed-object";
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("timer-journal").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        TimerJournal journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            CompletableFuture.allOf(
+                    journal.put(TIMED_OBJECT_ID, "a", bytes("a1"), true),
+                    journal.put(TIMED_OBJECT_ID, "b", bytes("b1"), true),
+                    journal.put(TIMED_OBJECT_ID, "a", bytes("a2"), false),
+                    journal.remove(TIMED_OBJECT_ID, "b")).join();
+            Map<String, byte[]> timers = journal.getTimers(TIMED_OBJECT_ID);
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("a2"), timers.get("a"));
+        } finally {
+            journal.close();
+        }
+
+        journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            Map<String, byte[]> timers = journal.getTimers(TIMED_OBJECT_ID);
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("a2"), timers.get("a"));
+            assertTrue(journal.getTimers("unknown").isEmpty());
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void testUpdateOfRemovedTimer() throws IOException {
+        TimerJournal journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            CompletableFuture.allOf(
+                    journal.put(TIMED_OBJECT_ID, "a", bytes("a1"), true),
+                    journal.remove(TIMED_OBJECT_ID, "a"),
+                    // e.g. a timeout that completed after the timer was cancelled
+                    journal.put(TIMED_OBJECT_ID, "a", bytes("a2"), false)).join();
+            assertTrue(journal.getTimers(TIMED_OBJECT_ID).isEmpty());
+        } finally {
+            journal.close();
+        }
+
+        journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            assertTrue(journal.getTimers(TIMED_OBJECT_ID).isEmpty());
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException, InterruptedException {
+        int count = 200;
+        TimerJournal journal = this.open(256, 2);
+        try {
+            for (int i = 0; i < count; ++i) {
+                journal.put(TIMED_OBJECT_ID, String.valueOf(i), bytes("timer-" + i), true).join();
+            }
+            for (int i = 0; i < count; i += 2) {
+                journal.remove(TIMED_OBJECT_ID, String.valueOf(i)).join();
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (this.list("snapshot-", ".dat").isEmpty() && (System.nanoTime() < deadline)) {
+                Thread.sleep(10);
+            }
+        } finally {
+            journal.close();
+        }
+        assertEquals(1, this.list("snapshot-", ".dat").size());
+        // Segments covered by the snapshot were deleted
+        assertTrue(this.list("timers-", ".log").size() < count / 2);
+
+        journal = this.open(256, 2);
+        try {
+            Map<String, byte[]> timers = journal.getTimers(TIMED_OBJECT_ID);
+            assertEquals(count / 2, timers.size());
+            for (int i = 1; i < count; i += 2) {
+                assertArrayEquals(bytes("timer-" + i), timers.get(String.valueOf(i)));
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        TimerJournal journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            journal.put(TIMED_OBJECT_ID, "a", bytes("a1"), true).join();
+        } finally {
+            journal.close();
+        }
+        File segment = null;
+        for (File file : this.list("timers-", ".log")) {
+            if (file.length() > 0) {
+                segment = file;
+            }
+        }
+        // Simulate a crash during a write: a record length, followed by only part of the record
+        try (FileOutputStream output = new FileOutputStream(segment, true)) {
+            output.write(new byte[] { 0, 0, 0, 64, 1, 2, 3 });
+        }
+
+        journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            journal.put(TIMED_OBJECT_ID, "b", bytes("b1"), true).join();
+        } finally {
+            journal.close();
+        }
+
+        journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            Map<String, byte[]> timers = journal.getTimers(TIMED_OBJECT_ID);
+            assertEquals(2, timers.size());
+            assertArrayEquals(bytes("a1"), timers.get("a"));
+            assertArrayEquals(bytes("b1"), timers.get("b"));
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void testPartialRecordAfterFailedWrite() throws IOException {
+        AtomicBoolean failing = new AtomicBoolean(false);
+        TimerJournal journal = new TimerJournal(this.directory, TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD, file -> new FailingFileChannel(file, failing));
+        journal.open();
+        try {
+            journal.put(TIMED_OBJECT_ID, "a", bytes("a1"), true).join();
+            // Only part of the next record reaches the segment, which cannot be truncated either
+            failing.set(true);
+            try {
+                journal.put(TIMED_OBJECT_ID, "b", bytes("b1"), true).join();
+                fail("Write should have failed");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+            failing.set(false);
+            // A failed mutation is never visible
+            assertEquals(1, journal.getTimers(TIMED_OBJECT_ID).size());
+            journal.put(TIMED_OBJECT_ID, "c", bytes("c1"), true).join();
+            journal.put(TIMED_OBJECT_ID, "a", bytes("a2"), false).join();
+        } finally {
+            journal.close();
+        }
+
+        journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            // Records acknowledged after the failure were not hidden by the partial record
+            Map<String, byte[]> timers = journal.getTimers(TIMED_OBJECT_ID);
+            assertEquals(2, timers.size());
+            assertArrayEquals(bytes("a2"), timers.get("a"));
+            assertArrayEquals(bytes("c1"), timers.get("c"));
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void testFailedRoll() throws IOException {
+        // Every write rolls to a new segment
+        TimerJournal journal = this.open(1, Integer.MAX_VALUE);
+        File next = new File(this.directory, "timers-1.log");
+        // Prevents the next segment from being opened
+        assertTrue(next.mkdir());
+        try {
+            journal.put(TIMED_OBJECT_ID, "a", bytes("a1"), true).join();
+            try {
+                journal.put(TIMED_OBJECT_ID, "b", bytes("b1"), true).join();
+                fail("Write should have failed");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+            assertEquals(1, journal.getTimers(TIMED_OBJECT_ID).size());
+            // Writes resume once the segment can be opened
+            assertTrue(next.delete());
+            journal.put(TIMED_OBJECT_ID, "c", bytes("c1"), true).join();
+            journal.remove(TIMED_OBJECT_ID, "a").join();
+        } finally {
+            journal.close();
+        }
+
+        journal = this.open(TimerJournal.DEFAULT_SEGMENT_SIZE, TimerJournal.DEFAULT_COMPACTION_THRESHOLD);
+        try {
+            Map<String, byte[]> timers = journal.getTimers(TIMED_OBJECT_ID);
+            assertEquals(1, timers.size());
+            assertArrayEquals(bytes("c1"), timers.get("c"));
+        } finally {
+            journal.close();
+        }
+    }
+
+    private TimerJournal open(long segmentSize, int compactionThreshold) throws IOException {
+        TimerJournal journal = new TimerJournal(this.directory, segmentSize, compactionThreshold);
+        journal.open();
+        return journal;
+    }
+
+    private List<File> list(String prefix, String suffix) {
+        List<File> result = new ArrayList<>();
+        for (File file : this.directory.listFiles()) {
+            if (file.getName().startsWith(prefix) && file.getName().endsWith(suffix)) {
+                result.add(file);
+            }
+        }
+        result.sort((file1, file2) -> Long.compare(index(file1, prefix, suffix), index(file2, prefix, suffix)));
+        return result;
+    }
+
+    private static long index(File file, String prefix, String suffix) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A segment channel that, while failing, writes only part of a buffer before failing, and cannot be truncated.
+     */
+    private static class FailingFileChannel extends FileChannel {
+        private final FileChannel channel;
+        private final AtomicBoolean failing;
+
+        FailingFileChannel(File file, AtomicBoolean failing) throws IOException {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.failing = failing;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            if (this.failing.get()) {
+                ByteBuffer partial = source.duplicate();
+                partial.limit(partial.position() + source.remaining() / 2);
+                this.channel.write(partial);
+                this.channel.force(false);
+                throw new IOException("No space left on device");
+            }
+            return this.channel.write(source);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (this.failing.get()) {
+                throw new IOException("No space left on device");
+            }
+            this.channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            return this.channel.read(target);
+        }
+
+        @Override
+        public long read(ByteBuffer[] targets, int offset, int length) throws IOException {
+            return this.channel.read(targets, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return this.channel.position();
+        }
+
+        @Override
+        public FileChannel position(long position) throws IOException {
+            this.channel.position(position);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return this.channel.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            this.channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return this.channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel source, long position, long count) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer target, long position) throws IOException {
+            return this.channel.read(target, position);
+        }
+
+        @Override
+        public int write(ByteBuffer source, long position) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return this.channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return this.channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return this.channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            this.channel.close();
+        }
+    }
+}
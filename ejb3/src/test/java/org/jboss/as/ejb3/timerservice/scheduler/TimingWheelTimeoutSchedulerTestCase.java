@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TimingWheelTimeoutScheduler}.
+ */
+public class TimingWheelTimeoutSchedulerTestCase {
+
+    private TimeoutScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        // A small wheel, so that tests exercise tasks spanning several rounds
+        this.scheduler = new TimingWheelTimeoutScheduler(5, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void tearDown() {
+        this.scheduler.close();
+    }
+
+    @Test
+    public void testSchedule() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        this.scheduler.schedule(latch::countDown, 100);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        assertEquals(1L, this.scheduler.getStatistics().getExecutionCount());
+        assertEquals(0L, this.scheduler.getStatistics().getScheduledCount());
+    }
+
+    @Test
+    public void testImmediate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; ++i) {
+            this.scheduler.schedule(latch::countDown, 0);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        ScheduledTimeout timeout = this.scheduler.schedule(executions::incrementAndGet, 50);
+        assertEquals(1L, this.scheduler.getStatistics().getScheduledCount());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0L, this.scheduler.getStatistics().getScheduledCount());
+        Thread.sleep(150);
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    public void testFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(5);
+        ScheduledTimeout timeout = this.scheduler.scheduleAtFixedRate(latch::countDown, 10, 20);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.cancel());
+        long executions = this.scheduler.getStatistics().getExecutionCount();
+        Thread.sleep(100);
+        assertTrue(this.scheduler.getStatistics().getExecutionCount() <= executions + 1);
+        assertEquals(0L, this.scheduler.getStatistics().getScheduledCount());
+    }
+
+    @Test
+    public void testFixedDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        long start = System.nanoTime();
+        ScheduledTimeout timeout = this.scheduler.scheduleWithFixedDelay(() -> {
+            latch.countDown();
+            try {
+                // Longer than the period, so fixed rate executions would run back to back
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0, 20);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // 2 executions and 2 delays must precede the third execution
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 2 * (30 + 20));
+        assertTrue(timeout.cancel());
+    }
+
+    @Test
+    public void testFailure() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(() -> {
+            throw new IllegalStateException();
+        }, 0);
+        this.scheduler.schedule(latch::countDown, 20);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testClose() {
+        this.scheduler.schedule(() -> { }, 1000);
+        this.scheduler.scheduleAtFixedRate(() -> { }, 1000, 1000);
+        this.scheduler.close();
+        assertEquals(0L, this.scheduler.getStatistics().getScheduledCount());
+    }
+}
@@ -18,6 +18,10 @@ package org.jboss.as.jpa.hibernate5;
 
 
 import org.hibernate.boot.archive.scan.spi.AbstractScannerImpl;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanOptions;
+import org.hibernate.boot.archive.scan.spi.ScanParameters;
+import org.hibernate.boot.archive.scan.spi.ScanResult;
 import org.hibernate.boot.archive.scan.spi.Scanner;
 
 /**
@@ -26,7 +30,31 @@ import org.hibernate.boot.archive.scan.spi.Scanner;
  * @author Steve Ebersole
  */
 public class HibernateArchiveScanner extends AbstractScannerImpl implements Scanner {
+    private final ScanResultCache cache;
+
     public HibernateArchiveScanner() {
+        this( null );
+    }
+
+    /**
+     * @param cache on-disk cache of the scan result, or null to always scan
+     */
+    public HibernateArchiveScanner(ScanResultCache cache) {
         super( VirtualFileSystemArchiveDescriptorFactory.INSTANCE );
+        this.cache = cache;
+    }
+
+    @Override
+    public ScanResult scan(ScanEnvironment environment, ScanOptions options, ScanParameters parameters) {
+        final String fingerprint = cache != null ? ScanResultCache.fingerprint( environment, options ) : null;
+        if ( fingerprint == null ) {
+            return super.scan( environment, options, parameters );
+        }
+        ScanResult result = cache.get( fingerprint );
+        if ( result == null ) {
+            result = super.scan( environment, options, parameters );
+            cache.put( fingerprint, result );
+        }
+        return result;
     }
 }
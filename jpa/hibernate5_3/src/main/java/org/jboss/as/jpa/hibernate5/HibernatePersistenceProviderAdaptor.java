@@ -19,6 +19,8 @@ package org.jboss.as.jpa.hibernate5;
 
 import static org.jboss.as.jpa.hibernate5.JpaLogger.JPA_LOGGER;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
 import java.util.Properties;
 
@@ -38,6 +40,7 @@ import org.jipijapa.plugin.spi.PersistenceProviderAdaptor;
 import org.jipijapa.plugin.spi.PersistenceUnitMetadata;
 import org.jipijapa.plugin.spi.Platform;
 import org.jipijapa.plugin.spi.TwoPhaseBootstrapCapable;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Implements the PersistenceProviderAdaptor for Hibernate
@@ -52,6 +55,12 @@ public class HibernatePersistenceProviderAdaptor implements PersistenceProviderA
     private static final String NONE = SharedCacheMode.NONE.name();
     private static final String UNSPECIFIED = SharedCacheMode.UNSPECIFIED.name();
     private static final String HIBERNATE_EXTENDED_BEANMANAGER = "org.hibernate.jpa.event.spi.jpa.ExtendedBeanManager";
+    /**
+     * Persistence unit property (or system property, for all persistence units) that enables the on-disk cache of
+     * archive scan results, stored under the server data directory.
+     */
+    public static final String SCAN_CACHE = "wildfly.jpa.scancache";
+    private static final String SERVER_DATA_DIR = "jboss.server.data.dir";
 
     @Override
     public void injectJtaManager(JtaManager jtaManager) {
@@ -72,7 +81,9 @@ public class HibernatePersistenceProviderAdaptor implements PersistenceProviderA
         putPropertyIfAbsent(pu, properties, AvailableSettings.USE_NEW_ID_GENERATOR_MAPPINGS, "true");
         putPropertyIfAbsent(pu, properties, AvailableSettings.KEYWORD_AUTO_QUOTING_ENABLED,"false");
         putPropertyIfAbsent(pu, properties, AvailableSettings.IMPLICIT_NAMING_STRATEGY, NAMING_STRATEGY_JPA_COMPLIANT_IMPL);
-        putPropertyIfAbsent(pu, properties, AvailableSettings.SCANNER, HibernateArchiveScanner.class);
+        final ScanResultCache scanResultCache = scanResultCache(pu);
+        putPropertyIfAbsent(pu, properties, AvailableSettings.SCANNER,
+                scanResultCache != null ? new HibernateArchiveScanner(scanResultCache) : HibernateArchiveScanner.class);
         properties.put(AvailableSettings.APP_CLASSLOADER, pu.getClassLoader());
         putPropertyIfAbsent(pu,properties, org.hibernate.ejb.AvailableSettings.ENTITY_MANAGER_FACTORY_NAME, pu.getScopedPersistenceUnitName());
         putPropertyIfAbsent(pu, properties, AvailableSettings.SESSION_FACTORY_NAME, pu.getScopedPersistenceUnitName());
@@ -168,6 +179,19 @@ public class HibernatePersistenceProviderAdaptor implements PersistenceProviderA
                 NONE.equals(pu.getProperties().getProperty(SHARED_CACHE_MODE));
     }
 
+    private ScanResultCache scanResultCache(PersistenceUnitMetadata pu) {
+        final String enabled = pu.getProperties().getProperty(SCAN_CACHE, WildFlySecurityManager.getPropertyPrivileged(SCAN_CACHE, "false"));
+        final String dataDir = WildFlySecurityManager.getPropertyPrivileged(SERVER_DATA_DIR, null);
+        if (!Boolean.parseBoolean(enabled) || dataDir == null) {
+            return null;
+        }
+        // the fingerprint guards against the rare collision of two sanitized persistence unit names
+        final String fileName = pu.getScopedPersistenceUnitName().replaceAll("[^A-Za-z0-9._-]", "_") + ".scan";
+        final Path file = Paths.get(dataDir, "jpa", "scan-cache", fileName);
+        JPA_LOGGER.tracef("scan cache for %s is %s", pu.getScopedPersistenceUnitName(), file);
+        return new ScanResultCache(file);
+    }
+
     private void putPropertyIfAbsent(PersistenceUnitMetadata pu, Map properties, String property, Object value) {
         if (!pu.getProperties().containsKey(property)) {
             properties.put(property, value);
@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.as.jpa.hibernate5;
+
+import static org.jboss.as.jpa.hibernate5.JpaLogger.JPA_LOGGER;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Version;
+import org.hibernate.boot.archive.scan.internal.ClassDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.MappingFileDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.PackageDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.ScanResultImpl;
+import org.hibernate.boot.archive.scan.spi.ClassDescriptor;
+import org.hibernate.boot.archive.scan.spi.MappingFileDescriptor;
+import org.hibernate.boot.archive.scan.spi.PackageDescriptor;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanOptions;
+import org.hibernate.boot.archive.scan.spi.ScanResult;
+import org.hibernate.boot.archive.spi.InputStreamAccess;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+
+/**
+ * On-disk cache of the archive scan result of a single persistence unit.
+ * <p>
+ * The cached result is only returned while the fingerprint of the scanned archives, computed from the Hibernate version
+ * and the entry names, sizes and modification times, is unchanged.  That lets an unchanged deployment skip reading and inspecting every
+ * class file of its archives on the next start.  Cached entries are resolved back to their VFS files, which keep the
+ * same path for as long as the deployment keeps its name.
+ */
+public class ScanResultCache {
+
+    private static final String FORMAT_VERSION = "1";
+    private static final String PACKAGE = "PACKAGE";
+    private static final String MAPPING_FILE = "MAPPING_FILE";
+    private static final char SEPARATOR = '\t';
+
+    private final Path file;
+
+    public ScanResultCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Compute the fingerprint of everything a scan of the given environment depends on.
+     *
+     * @return the fingerprint or null if one of the scanned URLs is not backed by the VFS
+     */
+    public static String fingerprint(ScanEnvironment environment, ScanOptions options) {
+        final List<String> lines = new ArrayList<>();
+        lines.add(FORMAT_VERSION);
+        // a different Hibernate version may categorize the same archives differently
+        lines.add(Version.getVersionString());
+        lines.add(options.canDetectUnlistedClassesInRoot() + "," + options.canDetectUnlistedClassesInNonRoot() + "," + options.canDetectHibernateMappingFiles());
+        lines.addAll(environment.getExplicitlyListedClassNames());
+        lines.addAll(environment.getExplicitlyListedMappingFiles());
+        final List<URL> urls = new ArrayList<>();
+        if (environment.getRootUrl() != null) {
+            urls.add(environment.getRootUrl());
+        }
+        urls.addAll(environment.getNonRootUrls());
+        for (URL url : urls) {
+            final VirtualFile root;
+            try {
+                root = VFS.getChild(url.toURI());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+            if (!root.exists()) {
+                return null;
+            }
+            lines.add(url.toExternalForm());
+            final List<String> entries = new ArrayList<>();
+            for (VirtualFile child : root.getChildrenRecursively()) {
+                if (!child.isDirectory()) {
+                    entries.add(child.getPathNameRelativeTo(root) + SEPARATOR + child.getSize() + SEPARATOR + child.getLastModified());
+                }
+            }
+            // directory listing order is not guaranteed to be stable
+            Collections.sort(entries);
+            lines.addAll(entries);
+        }
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @return the cached scan result for the fingerprint or null if there is none or it is stale
+     */
+    public ScanResult get(String fingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        final Set<PackageDescriptor> packages = new HashSet<>();
+        final Set<ClassDescriptor> classes = new HashSet<>();
+        final Set<MappingFileDescriptor> mappingFiles = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!FORMAT_VERSION.equals(reader.readLine()) || !fingerprint.equals(reader.readLine())) {
+                return null;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int nameStart = line.indexOf(SEPARATOR) + 1;
+                final int streamNameStart = line.indexOf(SEPARATOR, nameStart) + 1;
+                final String type = line.substring(0, nameStart - 1);
+                final String name = line.substring(nameStart, streamNameStart - 1);
+                final InputStreamAccess streamAccess = streamAccess(line.substring(streamNameStart));
+                if (PACKAGE.equals(type)) {
+                    packages.add(new PackageDescriptorImpl(name, streamAccess));
+                } else if (MAPPING_FILE.equals(type)) {
+                    mappingFiles.add(new MappingFileDescriptorImpl(name, streamAccess));
+                } else {
+                    classes.add(new ClassDescriptorImpl(name, ClassDescriptor.Categorization.valueOf(type), streamAccess));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            JPA_LOGGER.debugf(e, "Ignoring unreadable scan cache %s", file);
+            return null;
+        }
+        JPA_LOGGER.tracef("Using cached scan result %s", file);
+        return new ScanResultImpl(packages, classes, mappingFiles);
+    }
+
+    /**
+     * Store the scan result under the given fingerprint, replacing any previous entry.  Failures are only logged, as
+     * the next start simply scans again.
+     */
+    public void put(String fingerprint, ScanResult result) {
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(FORMAT_VERSION);
+                writer.newLine();
+                writer.write(fingerprint);
+                writer.newLine();
+                for (PackageDescriptor descriptor : result.getLocatedPackages()) {
+                    write(writer, PACKAGE, descriptor.getName(), descriptor.getStreamAccess());
+                }
+                for (ClassDescriptor descriptor : result.getLocatedClasses()) {
+                    write(writer, descriptor.getCategorization().name(), descriptor.getName(), descriptor.getStreamAccess());
+                }
+                for (MappingFileDescriptor descriptor : result.getLocatedMappingFiles()) {
+                    write(writer, MAPPING_FILE, descriptor.getName(), descriptor.getStreamAccess());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            JPA_LOGGER.debugf(e, "Unable to write scan cache %s", file);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignore) {
+                }
+            }
+        }
+    }
+
+    private static void write(BufferedWriter writer, String type, String name, InputStreamAccess streamAccess) throws IOException {
+        if (streamAccess == null || streamAccess.getStreamName() == null) {
+            throw new IOException("No stream to restore " + name + " from");
+        }
+        writer.write(type);
+        writer.write(SEPARATOR);
+        writer.write(name);
+        writer.write(SEPARATOR);
+        writer.write(streamAccess.getStreamName());
+        writer.newLine();
+    }
+
+    private static InputStreamAccess streamAccess(String streamName) {
+        return new VirtualFileInputStreamAccess(streamName, VFS.getChild(streamName));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.as.jpa.hibernate5.scan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.boot.archive.scan.internal.ClassDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.MappingFileDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.PackageDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.ScanResultImpl;
+import org.hibernate.boot.archive.scan.spi.ClassDescriptor;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanOptions;
+import org.hibernate.boot.archive.scan.spi.ScanResult;
+import org.jboss.as.jpa.hibernate5.ScanResultCache;
+import org.jboss.as.jpa.hibernate5.VirtualFileInputStreamAccess;
+import org.jboss.vfs.VFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ScanResultCache}.
+ */
+public class ScanResultCacheTestCase {
+
+    private Path directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("scan-cache");
+        Files.createDirectories(directory.resolve("archive/org/example"));
+        Files.write(directory.resolve("archive/org/example/Entity.class"), new byte[]{1, 2, 3});
+        Files.write(directory.resolve("archive/org/example/Entity.hbm.xml"), "<hibernate-mapping/>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        delete(directory.toFile());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ScanResultCache cache = new ScanResultCache(directory.resolve("cache/unit.scan"));
+        String fingerprint = ScanResultCache.fingerprint(environment(), options());
+        assertNotNull(fingerprint);
+        assertNull(cache.get(fingerprint));
+
+        cache.put(fingerprint, result());
+        ScanResult cached = cache.get(fingerprint);
+        assertNotNull(cached);
+        assertEquals(1, cached.getLocatedPackages().size());
+        assertEquals("org.example", cached.getLocatedPackages().iterator().next().getName());
+        assertEquals(1, cached.getLocatedClasses().size());
+        ClassDescriptor classDescriptor = cached.getLocatedClasses().iterator().next();
+        assertEquals("org.example.Entity", classDescriptor.getName());
+        assertEquals(ClassDescriptor.Categorization.MODEL, classDescriptor.getCategorization());
+        assertEquals(1, cached.getLocatedMappingFiles().size());
+        assertEquals("org/example/Entity.hbm.xml", cached.getLocatedMappingFiles().iterator().next().getName());
+        assertEquals(3, classDescriptor.getStreamAccess().accessInputStream().available());
+    }
+
+    @Test
+    public void testStaleFingerprint() throws Exception {
+        ScanResultCache cache = new ScanResultCache(directory.resolve("cache/unit.scan"));
+        String fingerprint = ScanResultCache.fingerprint(environment(), options());
+        cache.put(fingerprint, result());
+
+        Files.write(directory.resolve("archive/org/example/Other.class"), new byte[]{4});
+        String changed = ScanResultCache.fingerprint(environment(), options());
+        assertNotEquals(fingerprint, changed);
+        assertNull(cache.get(changed));
+    }
+
+    @Test
+    public void testUnreadableCache() throws Exception {
+        Path file = directory.resolve("unit.scan");
+        Files.write(file, "garbage".getBytes(StandardCharsets.UTF_8));
+        assertNull(new ScanResultCache(file).get(ScanResultCache.fingerprint(environment(), options())));
+    }
+
+    private ScanResult result() {
+        File archive = directory.resolve("archive").toFile();
+        String classFile = new File(archive, "org/example/Entity.class").getAbsolutePath();
+        String mappingFile = new File(archive, "org/example/Entity.hbm.xml").getAbsolutePath();
+        return new ScanResultImpl(
+                Collections.singleton(new PackageDescriptorImpl("org.example", new VirtualFileInputStreamAccess(classFile, VFS.getChild(classFile)))),
+                Collections.singleton(new ClassDescriptorImpl("org.example.Entity", ClassDescriptor.Categorization.MODEL, new VirtualFileInputStreamAccess(classFile, VFS.getChild(classFile)))),
+                Collections.singleton(new MappingFileDescriptorImpl("org/example/Entity.hbm.xml", new VirtualFileInputStreamAccess(mappingFile, VFS.getChild(mappingFile)))));
+    }
+
+    private ScanEnvironment environment() throws Exception {
+        final URL root = directory.resolve("archive").toUri().toURL();
+        return new ScanEnvironment() {
+            @Override
+            public URL getRootUrl() {
+                return root;
+            }
+
+            @Override
+            public List<URL> getNonRootUrls() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public List<String> getExplicitlyListedClassNames() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public List<String> getExplicitlyListedMappingFiles() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    private static ScanOptions options() {
+        return new ScanOptions() {
+            @Override
+            public boolean canDetectUnlistedClassesInRoot() {
+                return true;
+            }
+
+            @Override
+            public boolean canDetectUnlistedClassesInNonRoot() {
+                return false;
+            }
+
+            @Override
+            public boolean canDetectHibernateMappingFiles() {
+                return true;
+            }
+        };
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
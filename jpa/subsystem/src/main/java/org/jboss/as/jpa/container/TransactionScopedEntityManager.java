@@ -32,12 +32,14 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.SynchronizationType;
+import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 
 import org.jboss.as.jpa.config.Configuration;
 import org.jboss.as.jpa.messages.JpaLogger;
 import org.jboss.as.jpa.service.PersistenceUnitServiceImpl;
+import org.jboss.as.jpa.transaction.EntityManagerSlotTable;
 import org.jboss.as.jpa.transaction.TransactionUtil;
 import org.jboss.as.jpa.util.JPAServiceNames;
 import org.jboss.as.server.CurrentServiceContainer;
@@ -59,6 +61,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     private static final long serialVersionUID = 455498112L;
 
     private final String puScopedName;          // Scoped name of the persistent unit
+    private transient int puSlot;               // slot of the persistent unit in the EntityManagerSlotTable
     private final Map properties;
     private transient EntityManagerFactory emf;
     private final SynchronizationType synchronizationType;
@@ -68,6 +71,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
 
     public TransactionScopedEntityManager(String puScopedName, Map properties, EntityManagerFactory emf, SynchronizationType synchronizationType, TransactionSynchronizationRegistry transactionSynchronizationRegistry, TransactionManager transactionManager) {
         this.puScopedName = puScopedName;
+        this.puSlot = EntityManagerSlotTable.slot(puScopedName);
         this.properties = properties;
         this.emf = emf;
         this.synchronizationType = synchronizationType;
@@ -78,12 +82,18 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     @Override
     protected EntityManager getEntityManager() {
         EntityManager entityManager;
-        boolean isInTx;
+        Transaction transaction = TransactionUtil.getTransaction(transactionManager);
 
-        isInTx = TransactionUtil.isInTx(transactionManager);
+        // fast path, this thread already looked up the entity manager within this transaction, which has not
+        // completed yet, so the transaction status does not need to be checked again
+        entityManager = (transaction != null) ? EntityManagerSlotTable.get(transaction, puSlot) : null;
+        if (entityManager != null) {
+            testForMixedSynchronizationTypes(emf, entityManager, puScopedName, synchronizationType, properties);
+            return entityManager;
+        }
 
-        if (isInTx) {
-            entityManager = getOrCreateTransactionScopedEntityManager(emf, puScopedName, properties, synchronizationType);
+        if (TransactionUtil.isActive(transaction)) {
+            entityManager = getOrCreateTransactionScopedEntityManager(transaction, emf, puScopedName, properties, synchronizationType);
         } else {
             entityManager = NonTxEmCloser.get(puScopedName);
             if (entityManager == null) {
@@ -116,6 +126,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
         // read all non-transient fields
         in.defaultReadObject();
+        puSlot = EntityManagerSlotTable.slot(puScopedName);
         final ServiceController<?> controller = currentServiceContainer().getService(JPAServiceNames.getPUServiceName(puScopedName));
         final PersistenceUnitServiceImpl persistenceUnitService = (PersistenceUnitServiceImpl) controller.getService();
         transactionManager = ContextTransactionManager.getInstance();
@@ -140,6 +151,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
      * get or create a Transactional entity manager.
      * Only call while a transaction is active in the current thread.
      *
+     * @param transaction
      * @param emf
      * @param scopedPuName
      * @param properties
@@ -147,6 +159,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
      * @return
      */
     private EntityManager getOrCreateTransactionScopedEntityManager(
+            final Transaction transaction,
             final EntityManagerFactory emf,
             final String scopedPuName,
             final Map properties,
@@ -156,7 +169,7 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
             entityManager = createEntityManager(emf, properties, synchronizationType);
             if (ROOT_LOGGER.isDebugEnabled()) {
                 ROOT_LOGGER.debugf("%s: created entity manager session %s", TransactionUtil.getEntityManagerDetails(entityManager, scopedPuName),
-                        TransactionUtil.getTransaction(transactionManager).toString());
+                        transaction.toString());
             }
             TransactionUtil.registerSynchronization(entityManager, scopedPuName, transactionSynchronizationRegistry, transactionManager);
             TransactionUtil.putEntityManagerInTransactionRegistry(scopedPuName, entityManager, transactionSynchronizationRegistry);
@@ -165,9 +178,10 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
             testForMixedSynchronizationTypes(emf, entityManager, puScopedName, synchronizationType, properties);
             if (ROOT_LOGGER.isDebugEnabled()) {
                 ROOT_LOGGER.debugf("%s: reuse entity manager session already in tx %s", TransactionUtil.getEntityManagerDetails(entityManager, scopedPuName),
-                        TransactionUtil.getTransaction(transactionManager).toString());
+                        transaction.toString());
             }
         }
+        EntityManagerSlotTable.put(transaction, puSlot, entityManager, transactionSynchronizationRegistry);
         return entityManager;
     }
 
@@ -211,15 +225,17 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
      */
     private static void testForMixedSynchronizationTypes(EntityManagerFactory emf, EntityManager entityManagerFromJTA, String scopedPuName, final SynchronizationType targetSynchronizationType, Map targetProperties) {
 
-        boolean skipMixedSyncTypeChecking = Configuration.skipMixedSynchronizationTypeCheck(emf, targetProperties);  // extension to allow skipping of check based on properties of target entity manager
-        boolean allowJoinedUnsyncPersistenceContext = Configuration.allowJoinedUnsyncPersistenceContext(emf, targetProperties); // extension to allow joined unsync persistence context to be treated as sync persistence context
-
-        if (!skipMixedSyncTypeChecking &&
-                SynchronizationType.SYNCHRONIZED.equals(targetSynchronizationType) &&
+        // this is called on every entity manager call within a transaction, so only read the configuration once a mix is detected
+        if (SynchronizationType.SYNCHRONIZED.equals(targetSynchronizationType) &&
                 entityManagerFromJTA instanceof SynchronizationTypeAccess &&
-                SynchronizationType.UNSYNCHRONIZED.equals(((SynchronizationTypeAccess) entityManagerFromJTA).getSynchronizationType())
-                && (!allowJoinedUnsyncPersistenceContext || !entityManagerFromJTA.isJoinedToTransaction())) {
-            throw JpaLogger.ROOT_LOGGER.badSynchronizationTypeCombination(scopedPuName);
+                SynchronizationType.UNSYNCHRONIZED.equals(((SynchronizationTypeAccess) entityManagerFromJTA).getSynchronizationType())) {
+
+            boolean skipMixedSyncTypeChecking = Configuration.skipMixedSynchronizationTypeCheck(emf, targetProperties);  // extension to allow skipping of check based on properties of target entity manager
+            boolean allowJoinedUnsyncPersistenceContext = Configuration.allowJoinedUnsyncPersistenceContext(emf, targetProperties); // extension to allow joined unsync persistence context to be treated as sync persistence context
+
+            if (!skipMixedSyncTypeChecking && (!allowJoinedUnsyncPersistenceContext || !entityManagerFromJTA.isJoinedToTransaction())) {
+                throw JpaLogger.ROOT_LOGGER.badSynchronizationTypeCombination(scopedPuName);
+            }
         }
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.management;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.jpa.service.PersistenceUnitServiceImpl;
+import org.jboss.as.jpa.spi.PersistenceUnitService;
+import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads a bootstrap timing metric of the persistence unit addressed by the current operation.
+ */
+public class PersistenceUnitBootstrapMetricHandler extends AbstractRuntimeOnlyHandler {
+
+    private final ToLongFunction<PersistenceUnitServiceImpl> metric;
+
+    public PersistenceUnitBootstrapMetricHandler(ToLongFunction<PersistenceUnitServiceImpl> metric) {
+        this.metric = metric;
+    }
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final PersistenceUnitService persistenceUnitService = PersistenceUnitRegistryImpl.INSTANCE.getPersistenceUnitService(context.getCurrentAddressValue());
+        if (persistenceUnitService instanceof PersistenceUnitServiceImpl) {
+            context.getResult().set(this.metric.applyAsLong((PersistenceUnitServiceImpl) persistenceUnitService));
+        }
+    }
+}
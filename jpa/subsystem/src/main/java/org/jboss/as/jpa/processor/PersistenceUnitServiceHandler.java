@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import javax.persistence.SynchronizationType;
 import javax.persistence.ValidationMode;
@@ -49,6 +50,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.ee.beanvalidation.BeanValidationAttachments;
@@ -66,6 +68,7 @@ import org.jboss.as.jpa.interceptor.WebNonTxEmCloserAction;
 import org.jboss.as.jpa.messages.JpaLogger;
 import org.jboss.as.jpa.persistenceprovider.PersistenceProviderLoader;
 import org.jboss.as.jpa.processor.secondlevelcache.CacheDeploymentListener;
+import org.jboss.as.jpa.service.JPABootstrapExecutorService;
 import org.jboss.as.jpa.service.JPAService;
 import org.jboss.as.jpa.service.PersistenceUnitServiceImpl;
 import org.jboss.as.jpa.service.PhaseOnePersistenceUnitServiceImpl;
@@ -105,6 +108,7 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceRegistryException;
 import org.jboss.msc.service.ServiceTarget;
 import org.jboss.msc.value.ImmediateValue;
+import org.jboss.msc.value.InjectedValue;
 import org.jipijapa.plugin.spi.ManagementAdaptor;
 import org.jipijapa.plugin.spi.PersistenceProviderAdaptor;
 import org.jipijapa.plugin.spi.PersistenceUnitMetadata;
@@ -125,6 +129,10 @@ public class PersistenceUnitServiceHandler {
 
     private static final AttachmentKey<Map<String,PersistenceProviderAdaptor>> providerAdaptorMapKey = AttachmentKey.create(Map.class);
     public static final AttributeDefinition SCOPED_UNIT_NAME = new SimpleAttributeDefinitionBuilder("scoped-unit-name", ModelType.STRING, true).setStorageRuntime().build();
+    public static final AttributeDefinition BOOTSTRAP_TIME = new SimpleAttributeDefinitionBuilder("bootstrap-time", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS).setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build();
+    public static final AttributeDefinition BOOTSTRAP_WAIT_TIME = new SimpleAttributeDefinitionBuilder("bootstrap-wait-time", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS).setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build();
     private static final String FIRST_PHASE = "__FIRST_PHASE__";
     private static final String EE_DEFAULT_DATASOURCE = "java:comp/DefaultDataSource";
 
@@ -423,8 +431,8 @@ public class PersistenceUnitServiceHandler {
              */
             entityManagerFactoryBind(eeModuleDescription, serviceTarget, pu, puServiceName);
 
-            // get async executor from Services.addServerExecutorDependency
-            addServerExecutorDependency(builder, service.getExecutorInjector());
+            // get async executor from the jpa subsystem bootstrap pool or Services.addServerExecutorDependency
+            addBootstrapExecutorDependency(builder, service.getExecutorInjector());
 
             builder.install();
 
@@ -537,8 +545,8 @@ public class PersistenceUnitServiceHandler {
                 CacheDeploymentListener.clearInternalDeploymentSupport();
             }
 
-            // get async executor from Services.addServerExecutorDependency
-            addServerExecutorDependency(builder, service.getExecutorInjector());
+            // get async executor from the jpa subsystem bootstrap pool or Services.addServerExecutorDependency
+            addBootstrapExecutorDependency(builder, service.getExecutorInjector());
 
             builder.install();
 
@@ -667,8 +675,8 @@ public class PersistenceUnitServiceHandler {
              */
             entityManagerFactoryBind(eeModuleDescription, serviceTarget, pu, puServiceName);
 
-            // get async executor from Services.addServerExecutorDependency
-            addServerExecutorDependency(builder, service.getExecutorInjector());
+            // get async executor from the jpa subsystem bootstrap pool or Services.addServerExecutorDependency
+            addBootstrapExecutorDependency(builder, service.getExecutorInjector());
 
             builder.install();
 
@@ -1128,6 +1136,18 @@ public class PersistenceUnitServiceHandler {
         }
     }
 
+    /**
+     * Persistence unit services start on the jpa subsystem bootstrap pool, if one is configured, otherwise on the
+     * server executor.  Ordering between persistence units is left to their MSC dependencies (datasources, phase one).
+     */
+    private static void addBootstrapExecutorDependency(ServiceBuilder<?> builder, InjectedValue<ExecutorService> injector) {
+        if (JPAService.getBootstrapParallelism() > 0) {
+            builder.addDependency(JPABootstrapExecutorService.SERVICE_NAME, ExecutorService.class, injector);
+        } else {
+            addServerExecutorDependency(builder, injector);
+        }
+    }
+
     /**
      * TODO this is a temporary hack into internals until DeploymentUnit exposes a proper Resource-based API
      */
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.service;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Bounded executor that persistence unit services start and stop on, when the jpa subsystem is configured with a
+ * bootstrap parallelism.  Persistence unit services depend on this service, so they are stopped before the
+ * executor is shut down.
+ */
+public class JPABootstrapExecutorService implements Service<ExecutorService> {
+
+    public static final ServiceName SERVICE_NAME = JPAService.SERVICE_NAME.append("bootstrap-executor");
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final int parallelism;
+    private volatile ThreadPoolExecutor executor = null;
+
+    public JPABootstrapExecutorService(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        // threads are only needed while deployments boot, so let idle threads expire
+        executor = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), createThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        executor.shutdown();
+        executor = null;
+    }
+
+    @Override
+    public ExecutorService getValue() throws IllegalStateException, IllegalArgumentException {
+        return executor;
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        PrivilegedAction<ThreadFactory> action = () -> new JBossThreadFactory(new ThreadGroup("jpa-bootstrap"), Boolean.FALSE, null, "%G - %t", null, null);
+        return WildFlySecurityManager.doUnchecked(action);
+    }
+
+    public static void addService(ServiceTarget target, int parallelism) {
+        target.addService(SERVICE_NAME, new JPABootstrapExecutorService(parallelism))
+                .setInitialMode(ServiceController.Mode.ON_DEMAND)
+                .install();
+    }
+}
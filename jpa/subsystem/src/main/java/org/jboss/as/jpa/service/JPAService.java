@@ -40,6 +40,7 @@ import org.jboss.as.jpa.config.ExtendedPersistenceInheritance;
 import org.jboss.as.jpa.management.DynamicManagementStatisticsResource;
 import org.jboss.as.jpa.management.EntityManagerFactoryLookup;
 import org.jboss.as.jpa.management.ManagementResourceDefinition;
+import org.jboss.as.jpa.management.PersistenceUnitBootstrapMetricHandler;
 import org.jboss.as.jpa.processor.CacheDeploymentHelper;
 import org.jboss.as.jpa.processor.PersistenceUnitServiceHandler;
 import org.jboss.as.jpa.subsystem.JPAExtension;
@@ -68,6 +69,7 @@ public class JPAService implements Service<Void> {
 
     private static volatile String defaultDataSourceName = null;
     private static volatile ExtendedPersistenceInheritance defaultExtendedPersistenceInheritance = null;
+    private static volatile int bootstrapParallelism = 0;
     private static final Set<String> existingResourceDescriptionResolver = new HashSet<>();
     private final CacheDeploymentHelper cacheDeploymentHelper = new CacheDeploymentHelper();
 
@@ -91,13 +93,30 @@ public class JPAService implements Service<Void> {
         JPAService.defaultExtendedPersistenceInheritance = defaultExtendedPersistenceInheritance;
     }
 
+    public static void setBootstrapParallelism(int bootstrapParallelism) {
+        ROOT_LOGGER.tracef("JPAService.setBootstrapParallelism(%d), previous value = %d", bootstrapParallelism, JPAService.bootstrapParallelism);
+        JPAService.bootstrapParallelism = bootstrapParallelism;
+    }
+
+    /**
+     * Returns the number of persistence units that may be bootstrapped concurrently on the
+     * {@link JPABootstrapExecutorService}.
+     *
+     * @return the bootstrap parallelism or zero if persistence units should use the server executor
+     */
+    public static int getBootstrapParallelism() {
+        return bootstrapParallelism;
+    }
+
     public static void addService(
             final ServiceTarget target,
             final String defaultDataSourceName,
-            final ExtendedPersistenceInheritance defaultExtendedPersistenceInheritance) {
+            final ExtendedPersistenceInheritance defaultExtendedPersistenceInheritance,
+            final int bootstrapParallelism) {
         JPAService jpaService = new JPAService();
         setDefaultDataSourceName(defaultDataSourceName);
         setDefaultExtendedPersistenceInheritance(defaultExtendedPersistenceInheritance);
+        setBootstrapParallelism(bootstrapParallelism);
         final ServiceBuilder sb = target.addService(SERVICE_NAME, jpaService);
         sb.setInitialMode(ServiceController.Mode.ACTIVE);
         sb.requires(JPAUserTransactionListenerService.SERVICE_NAME);
@@ -166,10 +185,12 @@ public class JPAService implements Service<Void> {
                 ManagementResourceRegistration providerResource = deploymentSubsystemRegistration.registerSubModel(
                         new ManagementResourceDefinition(PathElement.pathElement(managementAdaptor.getIdentificationLabel()), resourceDescriptionResolver, statistics, entityManagerFactoryLookup));
                 providerResource.registerReadOnlyAttribute(PersistenceUnitServiceHandler.SCOPED_UNIT_NAME, null);
+                registerBootstrapMetrics(providerResource);
 
                 providerResource = subdeploymentSubsystemRegistration.registerSubModel(
                         new ManagementResourceDefinition(PathElement.pathElement(managementAdaptor.getIdentificationLabel()), resourceDescriptionResolver, statistics, entityManagerFactoryLookup));
                 providerResource.registerReadOnlyAttribute(PersistenceUnitServiceHandler.SCOPED_UNIT_NAME, null);
+                registerBootstrapMetrics(providerResource);
 
                 existingResourceDescriptionResolver.add(managementAdaptor.getVersion());
             }
@@ -178,6 +199,13 @@ public class JPAService implements Service<Void> {
         }
     }
 
+    private static void registerBootstrapMetrics(ManagementResourceRegistration providerResource) {
+        providerResource.registerMetric(PersistenceUnitServiceHandler.BOOTSTRAP_TIME,
+                new PersistenceUnitBootstrapMetricHandler(PersistenceUnitServiceImpl::getBootstrapTime));
+        providerResource.registerMetric(PersistenceUnitServiceHandler.BOOTSTRAP_WAIT_TIME,
+                new PersistenceUnitBootstrapMetricHandler(PersistenceUnitServiceImpl::getBootstrapWaitTime));
+    }
+
     @Override
     public void start(StartContext startContext) throws StartException {
         cacheDeploymentHelper.register();
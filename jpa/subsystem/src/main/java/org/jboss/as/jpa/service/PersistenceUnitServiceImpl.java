@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.inject.spi.BeanManager;
 import javax.persistence.EntityManagerFactory;
@@ -90,6 +91,8 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
 
     private volatile EntityManagerFactory entityManagerFactory;
     private volatile ProxyBeanManager proxyBeanManager;
+    private volatile long bootstrapTime;
+    private volatile long bootstrapWaitTime;
     private final SetupAction javaNamespaceSetup;
 
     public PersistenceUnitServiceImpl(
@@ -119,6 +122,7 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
         final ExecutorService executor = executorInjector.getValue();
         final AccessControlContext accessControlContext =
                 AccessController.doPrivileged(GetAccessControlContextAction.getInstance());
+        final long submitted = System.nanoTime();
 
         final Runnable task = new Runnable() {
             // run async in a background thread
@@ -129,6 +133,7 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                             // run as security privileged action
                             @Override
                             public Void run() {
+                                final long started = System.nanoTime();
 
                                 ClassLoader old = Thread.currentThread().getContextClassLoader();
                                 Thread.currentThread().setContextClassLoader(classLoader);
@@ -189,6 +194,13 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                         }
                                         entityManagerFactory = createContainerEntityManagerFactory();
                                     }
+                                    // include the first phase, if any, in the time reported for this persistence unit
+                                    bootstrapWaitTime = TimeUnit.NANOSECONDS.toMillis(started - submitted);
+                                    bootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                                    if (phaseOnePersistenceUnitService != null) {
+                                        bootstrapWaitTime += phaseOnePersistenceUnitService.getBootstrapWaitTime();
+                                        bootstrapTime += phaseOnePersistenceUnitService.getBootstrapTime();
+                                    }
                                     persistenceUnitRegistry.add(getScopedPersistenceUnitName(), getValue());
                                     if(wrapperBeanManagerLifeCycle != null) {
                                         beanManagerAfterDeploymentValidation.register(persistenceProviderAdaptor, wrapperBeanManagerLifeCycle);
@@ -304,6 +316,24 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
         return executorInjector;
     }
 
+    /**
+     * Get the time spent building the entity manager factory, over both bootstrap phases.
+     *
+     * @return the bootstrap time in milliseconds
+     */
+    public long getBootstrapTime() {
+        return bootstrapTime;
+    }
+
+    /**
+     * Get the time the bootstrap tasks spent waiting for an executor thread, over both bootstrap phases.
+     *
+     * @return the bootstrap wait time in milliseconds
+     */
+    public long getBootstrapWaitTime() {
+        return bootstrapWaitTime;
+    }
+
     @Override
     public PersistenceUnitServiceImpl getValue() throws IllegalStateException, IllegalArgumentException {
         return this;
@@ -30,6 +30,7 @@ import java.security.PrivilegedAction;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
@@ -74,6 +75,8 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
     private volatile EntityManagerFactoryBuilder entityManagerFactoryBuilder;
 
     private volatile boolean secondPhaseStarted = false;
+    private volatile long bootstrapTime;
+    private volatile long bootstrapWaitTime;
 
     public PhaseOnePersistenceUnitServiceImpl(
             final ClassLoader classLoader,
@@ -94,6 +97,7 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
         final ExecutorService executor = executorInjector.getValue();
         final AccessControlContext accessControlContext =
                 AccessController.doPrivileged(GetAccessControlContextAction.getInstance());
+        final long submitted = System.nanoTime();
 
         final Runnable task = new Runnable() {
             // run async in a background thread
@@ -105,6 +109,7 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
                             // run as security privileged action
                             @Override
                             public Void run() {
+                                final long started = System.nanoTime();
                                 try {
                                     ROOT_LOGGER.startingPersistenceUnitService(1, pu.getScopedPersistenceUnitName());
                                     pu.setTempClassLoaderFactory(new TempClassLoaderFactoryImpl(classLoader));
@@ -123,6 +128,8 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
 
                                     WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
                                     entityManagerFactoryBuilder = createContainerEntityManagerFactoryBuilder();
+                                    bootstrapWaitTime = TimeUnit.NANOSECONDS.toMillis(started - submitted);
+                                    bootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
                                     context.complete();
                                 } catch (Throwable t) {
                                     context.failed(new StartException(t));
@@ -203,6 +210,20 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
         return executorInjector;
     }
 
+    /**
+     * @return the time spent in the first bootstrap phase, in milliseconds
+     */
+    public long getBootstrapTime() {
+        return bootstrapTime;
+    }
+
+    /**
+     * @return the time the first bootstrap phase waited for an executor thread, in milliseconds
+     */
+    public long getBootstrapWaitTime() {
+        return bootstrapWaitTime;
+    }
+
     @Override
     public PhaseOnePersistenceUnitServiceImpl getValue() throws IllegalStateException, IllegalArgumentException {
         return this;
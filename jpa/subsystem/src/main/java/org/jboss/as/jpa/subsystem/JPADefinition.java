@@ -31,6 +31,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
@@ -91,10 +92,24 @@ public class JPADefinition extends SimpleResourceDefinition {
                     .setDefaultValue(new ModelNode(ExtendedPersistenceInheritance.DEEP.toString()))
                     .build();
 
+    /**
+     * Number of persistence units that may be bootstrapped concurrently on a dedicated executor.  When undefined,
+     * persistence units are started on the server executor.  Only read when the subsystem boots, so a change requires
+     * a reload.
+     */
+    protected static final SimpleAttributeDefinition BOOTSTRAP_PARALLELISM =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.BOOTSTRAP_PARALLELISM, ModelType.INT, true)
+                    .setAllowExpression(true)
+                    .setXmlName(CommonAttributes.BOOTSTRAP_PARALLELISM)
+                    .setValidator(new IntRangeValidator(1, true, true))
+                    .setRestartAllServices()
+                    .build();
+
     @Override
     public void registerAttributes(ManagementResourceRegistration registration) {
         registration.registerReadWriteAttribute(DEFAULT_DATASOURCE, null, new ReloadRequiredWriteAttributeHandler(DEFAULT_DATASOURCE));
         registration.registerReadWriteAttribute(DEFAULT_EXTENDEDPERSISTENCE_INHERITANCE, null, new ReloadRequiredWriteAttributeHandler(DEFAULT_EXTENDEDPERSISTENCE_INHERITANCE));
+        registration.registerReadWriteAttribute(BOOTSTRAP_PARALLELISM, null, new ReloadRequiredWriteAttributeHandler(BOOTSTRAP_PARALLELISM));
     }
 
     @Override
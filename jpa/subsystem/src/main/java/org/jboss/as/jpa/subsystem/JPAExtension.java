@@ -69,7 +69,7 @@ public class JPAExtension implements Extension {
         }
         return new StandardResourceDescriptionResolver(prefix.toString(), RESOURCE_NAME, JPAExtension.class.getClassLoader(), true, false);
     }
-    private static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(1, 2, 0);
+    static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(1, 3, 0);
 
 
     @Override
@@ -94,10 +94,14 @@ public class JPAExtension implements Extension {
 
     @Override
     public void initializeParsers(ExtensionParsingContext context) {
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JPA_1_2.getUriString(), JPASubsystemElementParser1_1::new);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JPA_1_1.getUriString(), JPASubsystemElementParser1_1::new);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JPA_1_0.getUriString(), JPASubsystemElementParser1_0::new);
     }
 
+    /**
+     * Parser for the 1.1 and 1.2 schemas, the latter only adding the {@code bootstrap-parallelism} attribute.
+     */
     static class JPASubsystemElementParser1_1 implements XMLStreamConstants, XMLElementReader<List<ModelNode>>,
         XMLElementWriter<SubsystemMarshallingContext> {
 
@@ -144,6 +148,12 @@ public class JPAExtension implements Extension {
                     case DEFAULT_EXTENDEDPERSISTENCEINHERITANCE_NAME:
                         JPADefinition.DEFAULT_EXTENDEDPERSISTENCE_INHERITANCE.parseAndSetParameter(value, operation, reader);
                         break;
+                    case BOOTSTRAP_PARALLELISM_NAME:
+                        if (readerNS != Namespace.JPA_1_2) {
+                            throw ParseUtils.unexpectedAttribute(reader, i);
+                        }
+                        JPADefinition.BOOTSTRAP_PARALLELISM.parseAndSetParameter(value, operation, reader);
+                        break;
                     default: {
                         throw ParseUtils.unexpectedAttribute(reader, i);
                     }
@@ -166,18 +176,20 @@ public class JPAExtension implements Extension {
 
             ModelNode node = context.getModelNode();
             if (node.hasDefined(CommonAttributes.DEFAULT_DATASOURCE) ||
-                    node.hasDefined(CommonAttributes.DEFAULT_EXTENDEDPERSISTENCE_INHERITANCE)
+                    node.hasDefined(CommonAttributes.DEFAULT_EXTENDEDPERSISTENCE_INHERITANCE) ||
+                    node.hasDefined(CommonAttributes.BOOTSTRAP_PARALLELISM)
                     ) {
-                context.startSubsystemElement(Namespace.JPA_1_1.getUriString(), false);
+                context.startSubsystemElement(Namespace.JPA_1_2.getUriString(), false);
                 writer.writeStartElement(Element.JPA.getLocalName());
                 JPADefinition.DEFAULT_DATASOURCE.marshallAsAttribute(node, writer);
                 JPADefinition.DEFAULT_EXTENDEDPERSISTENCE_INHERITANCE.marshallAsAttribute(node, writer);
+                JPADefinition.BOOTSTRAP_PARALLELISM.marshallAsAttribute(node, writer);
                 writer.writeEndElement();
                 writer.writeEndElement();
             } else {
                 //TODO seems to be a problem with empty elements cleaning up the queue in FormattingXMLStreamWriter.runAttrQueue
                 //context.startSubsystemElement(NewNamingExtension.NAMESPACE, true);
-                context.startSubsystemElement(Namespace.JPA_1_1.getUriString(), false);
+                context.startSubsystemElement(Namespace.JPA_1_2.getUriString(), false);
                 writer.writeEndElement();
             }
 
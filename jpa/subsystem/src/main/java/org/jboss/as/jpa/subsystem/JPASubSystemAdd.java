@@ -41,6 +41,7 @@ import org.jboss.as.jpa.processor.PersistenceBeginInstallProcessor;
 import org.jboss.as.jpa.processor.PersistenceCompleteInstallProcessor;
 import org.jboss.as.jpa.processor.PersistenceRefProcessor;
 import org.jboss.as.jpa.processor.PersistenceUnitParseProcessor;
+import org.jboss.as.jpa.service.JPABootstrapExecutorService;
 import org.jboss.as.jpa.service.JPAService;
 import org.jboss.as.jpa.service.JPAUserTransactionListenerService;
 import org.jboss.as.server.AbstractDeploymentChainStep;
@@ -71,6 +72,7 @@ class JPASubSystemAdd extends AbstractBoottimeAddStepHandler {
     protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
         JPADefinition.DEFAULT_DATASOURCE.validateAndSet(operation, model);
         JPADefinition.DEFAULT_EXTENDEDPERSISTENCE_INHERITANCE.validateAndSet(operation, model);
+        JPADefinition.BOOTSTRAP_PARALLELISM.validateAndSet(operation, model);
     }
 
     protected void performBoottime(final OperationContext context, final ModelNode operation, final ModelNode model) throws
@@ -135,9 +137,15 @@ class JPASubSystemAdd extends AbstractBoottimeAddStepHandler {
                 ExtendedPersistenceInheritance.valueOf(defaultExtendedPersistenceInheritanceNode.resolve().asString());
         }
 
+        // zero means persistence units are started on the server executor
+        final ModelNode bootstrapParallelismNode = JPADefinition.BOOTSTRAP_PARALLELISM.resolveModelAttribute(context, model);
+        final int bootstrapParallelism = bootstrapParallelismNode.isDefined() ? bootstrapParallelismNode.asInt() : 0;
 
         final ServiceTarget target = context.getServiceTarget();
-        JPAService.addService(target, dataSourceName, defaultExtendedPersistenceInheritance);
+        JPAService.addService(target, dataSourceName, defaultExtendedPersistenceInheritance, bootstrapParallelism);
+        if (bootstrapParallelism > 0) {
+            JPABootstrapExecutorService.addService(target, bootstrapParallelism);
+        }
         JPAUserTransactionListenerService.addService(target);
 
     }
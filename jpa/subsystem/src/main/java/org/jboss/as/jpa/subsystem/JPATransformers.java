@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.subsystem;
+
+import static org.jboss.as.jpa.subsystem.JPAExtension.CURRENT_MODEL_VERSION;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.ChainedTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+
+/**
+ * Transformers for the legacy versions of the JPA subsystem
+ */
+public class JPATransformers implements ExtensionTransformerRegistration {
+
+    static final ModelVersion VERSION_1_2_0 = ModelVersion.create(1, 2, 0);
+
+    @Override
+    public String getSubsystemName() {
+        return JPAExtension.SUBSYSTEM_NAME;
+    }
+
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
+        ChainedTransformationDescriptionBuilder chained = ResourceTransformationDescriptionBuilder.Factory.createChainedSubystemInstance(CURRENT_MODEL_VERSION);
+
+        ResourceTransformationDescriptionBuilder builder_1_2 = chained.createBuilder(CURRENT_MODEL_VERSION, VERSION_1_2_0);
+        builder_1_2.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, JPADefinition.BOOTSTRAP_PARALLELISM)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, JPADefinition.BOOTSTRAP_PARALLELISM);
+
+        chained.buildAndRegister(subsystemRegistration, new ModelVersion[]{
+                VERSION_1_2_0
+        });
+    }
+}
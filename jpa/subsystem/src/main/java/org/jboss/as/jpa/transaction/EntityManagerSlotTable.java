@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.transaction;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Per-thread table of the transaction scoped entity managers joined to a transaction, indexed by persistence unit slot.
+ *
+ * The TransactionSynchronizationRegistry remains the authoritative store for transaction scoped entity managers,
+ * this table only saves the registry lookup on repeated entity manager calls made by the same thread within the
+ * same transaction.  A thread keeps one table per transaction it stored an entity manager for, so a transaction
+ * suspended by a REQUIRES_NEW call finds its table again once it is resumed.  A table is created the first time a
+ * thread stores an entity manager for a transaction and is removed from the thread when that transaction completes.
+ */
+public final class EntityManagerSlotTable implements Synchronization {
+
+    private static final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextSlot = new AtomicInteger();
+    private static final ThreadLocal<Map<Transaction, EntityManagerSlotTable>> currentTables = new ThreadLocal<>();
+
+    private final Map<Transaction, EntityManagerSlotTable> tables;
+    private final Transaction transaction;
+    private volatile EntityManager[] entityManagers;
+
+    private EntityManagerSlotTable(Map<Transaction, EntityManagerSlotTable> tables, Transaction transaction, int size) {
+        this.tables = tables;
+        this.transaction = transaction;
+        this.entityManagers = new EntityManager[size];
+    }
+
+    /**
+     * Get the slot assigned to the persistence unit.  The same scoped name always maps to the same slot.
+     *
+     * @param scopedPuName
+     * @return
+     */
+    public static int slot(String scopedPuName) {
+        return slots.computeIfAbsent(scopedPuName, name -> nextSlot.getAndIncrement());
+    }
+
+    /**
+     * Get the entity manager the current thread stored for the persistence unit slot within the given transaction.
+     * A non null result also means the transaction has not completed yet.
+     *
+     * @param transaction the current transaction
+     * @param slot
+     * @return the entity manager or null if the current thread has not stored one for this transaction
+     */
+    public static EntityManager get(Transaction transaction, int slot) {
+        Map<Transaction, EntityManagerSlotTable> tables = currentTables.get();
+        if (tables == null) {
+            return null;
+        }
+        EntityManagerSlotTable table = tables.get(transaction);
+        if (table == null) {
+            return null;
+        }
+        EntityManager[] entityManagers = table.entityManagers;
+        if (entityManagers == null) {
+            // completed by another thread, release the table of this thread
+            release(tables, transaction);
+            return null;
+        }
+        return (slot < entityManagers.length) ? entityManagers[slot] : null;
+    }
+
+    /**
+     * Store the entity manager for the persistence unit slot within the given transaction.  Must only be called while
+     * the transaction is active, as the first call for a transaction registers the synchronization that clears the table.
+     *
+     * @param transaction the current (active) transaction
+     * @param slot
+     * @param entityManager
+     * @param tsr
+     */
+    public static void put(Transaction transaction, int slot, EntityManager entityManager, TransactionSynchronizationRegistry tsr) {
+        Map<Transaction, EntityManagerSlotTable> tables = currentTables.get();
+        if (tables == null) {
+            tables = new HashMap<>(4);
+            currentTables.set(tables);
+        }
+        EntityManagerSlotTable table = tables.get(transaction);
+        if (table == null || table.entityManagers == null) {
+            // drop the tables of transactions completed by another thread since this thread last looked them up
+            tables.values().removeIf(completed -> completed.entityManagers == null);
+            table = new EntityManagerSlotTable(tables, transaction, Math.max(slot + 1, nextSlot.get()));
+            tsr.registerInterposedSynchronization(table);
+            tables.put(transaction, table);
+        }
+        table.set(slot, entityManager);
+    }
+
+    private static void release(Map<Transaction, EntityManagerSlotTable> tables, Transaction transaction) {
+        tables.remove(transaction);
+        if (tables.isEmpty()) {
+            currentTables.remove();
+        }
+    }
+
+    private synchronized void set(int slot, EntityManager entityManager) {
+        EntityManager[] current = entityManagers;
+        if (current == null) {
+            // transaction already completed
+            return;
+        }
+        if (slot >= current.length) {
+            current = Arrays.copyOf(current, Math.max(slot + 1, nextSlot.get()));
+        }
+        current[slot] = entityManager;
+        entityManagers = current;
+    }
+
+    @Override
+    public void beforeCompletion() {
+    }
+
+    @Override
+    public synchronized void afterCompletion(int status) {
+        entityManagers = null;
+        // may be called by a thread other than the owner (e.g. transaction reaper), in which case the owner
+        // releases the table on its next lookup of the transaction, or when it creates its next table
+        if (currentTables.get() == tables && tables.get(transaction) == this) {
+            release(tables, transaction);
+        }
+    }
+
+    /**
+     * Get the table of the current thread for the given transaction, for testing purposes.
+     *
+     * @param transaction
+     * @return the table or null if the current thread has none for the transaction
+     */
+    static EntityManagerSlotTable current(Transaction transaction) {
+        Map<Transaction, EntityManagerSlotTable> tables = currentTables.get();
+        return (tables != null) ? tables.get(transaction) : null;
+    }
+}
@@ -53,7 +53,10 @@ public class TransactionUtil {
     private static final EnumSet<EventType> eventTypes = EnumSet.of(EventType.ASSOCIATED, EventType.DISASSOCIATING);
 
     public static boolean isInTx(TransactionManager transactionManager) {
-        Transaction tx = getTransaction(transactionManager);
+        return isActive(getTransaction(transactionManager));
+    }
+
+    public static boolean isActive(Transaction tx) {
         if (tx == null || !TxUtils.isActive(tx))
             return false;
         return true;
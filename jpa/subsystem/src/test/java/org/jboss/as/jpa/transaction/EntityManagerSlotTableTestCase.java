@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.junit.Test;
+
+/**
+ * Tests for the per-thread {@link EntityManagerSlotTable}
+ */
+public class EntityManagerSlotTableTestCase {
+
+    private final List<Synchronization> synchronizations = new ArrayList<>();
+
+    private final TransactionSynchronizationRegistry tsr = proxy(TransactionSynchronizationRegistry.class, (proxy, method, args) -> {
+        if (method.getName().equals("registerInterposedSynchronization")) {
+            synchronizations.add((Synchronization) args[0]);
+        }
+        return null;
+    });
+
+    @Test
+    public void testSlotIsStablePerPersistenceUnit() {
+        int slot = EntityManagerSlotTable.slot("test.ear#stable");
+        assertEquals(slot, EntityManagerSlotTable.slot("test.ear#stable"));
+        assertNotEquals(slot, EntityManagerSlotTable.slot("test.ear#other"));
+    }
+
+    @Test
+    public void testLookupWithinTransaction() {
+        int first = EntityManagerSlotTable.slot("test.ear#first");
+        int second = EntityManagerSlotTable.slot("test.ear#second");
+        Transaction transaction = transaction();
+        EntityManager firstEntityManager = entityManager();
+        EntityManager secondEntityManager = entityManager();
+
+        assertNull(EntityManagerSlotTable.get(transaction, first));
+        EntityManagerSlotTable.put(transaction, first, firstEntityManager, tsr);
+        EntityManagerSlotTable.put(transaction, second, secondEntityManager, tsr);
+
+        assertSame(firstEntityManager, EntityManagerSlotTable.get(transaction, first));
+        assertSame(secondEntityManager, EntityManagerSlotTable.get(transaction, second));
+        // the table is only registered once per transaction
+        assertEquals(1, synchronizations.size());
+
+        // a different transaction on this thread does not see the entity managers
+        assertNull(EntityManagerSlotTable.get(transaction(), first));
+
+        synchronizations.get(0).afterCompletion(Status.STATUS_COMMITTED);
+    }
+
+    @Test
+    public void testTableClearedOnCompletion() {
+        int slot = EntityManagerSlotTable.slot("test.ear#completion");
+        Transaction transaction = transaction();
+
+        EntityManagerSlotTable.put(transaction, slot, entityManager(), tsr);
+        assertNotNull(EntityManagerSlotTable.current(transaction));
+        synchronizations.get(0).afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        // the thread no longer references the completed transaction
+        assertNull(EntityManagerSlotTable.current(transaction));
+        assertNull(EntityManagerSlotTable.get(transaction, slot));
+    }
+
+    @Test
+    public void testTableClearedOnCompletionByOtherThread() throws InterruptedException {
+        int slot = EntityManagerSlotTable.slot("test.ear#reaper");
+        Transaction transaction = transaction();
+
+        EntityManagerSlotTable.put(transaction, slot, entityManager(), tsr);
+        Thread reaper = new Thread(() -> synchronizations.get(0).afterCompletion(Status.STATUS_ROLLEDBACK));
+        reaper.start();
+        reaper.join();
+
+        // the table no longer references the completed transaction, and the next lookup releases the table of the owning thread
+        assertNull(EntityManagerSlotTable.get(transaction, slot));
+        assertNull(EntityManagerSlotTable.current(transaction));
+    }
+
+    @Test
+    public void testSuspendedTransactionKeepsTable() {
+        int slot = EntityManagerSlotTable.slot("test.ear#suspended");
+        Transaction outer = transaction();
+        EntityManager outerEntityManager = entityManager();
+        EntityManagerSlotTable.put(outer, slot, outerEntityManager, tsr);
+
+        // the outer transaction is suspended by a series of REQUIRES_NEW calls on the same thread
+        for (int i = 1; i <= 3; i++) {
+            Transaction inner = transaction();
+            EntityManager innerEntityManager = entityManager();
+            EntityManagerSlotTable.put(inner, slot, innerEntityManager, tsr);
+            assertSame(innerEntityManager, EntityManagerSlotTable.get(inner, slot));
+            synchronizations.get(i).afterCompletion(Status.STATUS_COMMITTED);
+            assertNull(EntityManagerSlotTable.current(inner));
+
+            // once resumed, the outer transaction still finds its entity manager without registering a new table
+            assertSame(outerEntityManager, EntityManagerSlotTable.get(outer, slot));
+            EntityManagerSlotTable.put(outer, slot, outerEntityManager, tsr);
+        }
+        assertEquals(4, synchronizations.size());
+
+        synchronizations.get(0).afterCompletion(Status.STATUS_COMMITTED);
+        assertNull(EntityManagerSlotTable.current(outer));
+    }
+
+    @Test
+    public void testTablesArePerThread() throws InterruptedException {
+        int slot = EntityManagerSlotTable.slot("test.ear#thread");
+        Transaction transaction = transaction();
+        EntityManager entityManager = entityManager();
+        EntityManagerSlotTable.put(transaction, slot, entityManager, tsr);
+
+        EntityManager[] seen = new EntityManager[] { entityManager };
+        Thread thread = new Thread(() -> seen[0] = EntityManagerSlotTable.get(transaction, slot));
+        thread.start();
+        thread.join();
+
+        assertNull(seen[0]);
+        assertSame(entityManager, EntityManagerSlotTable.get(transaction, slot));
+        synchronizations.get(0).afterCompletion(Status.STATUS_COMMITTED);
+    }
+
+    private static Transaction transaction() {
+        return proxy(Transaction.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private static EntityManager entityManager() {
+        return proxy(EntityManager.class, (proxy, method, args) -> null);
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(EntityManagerSlotTableTestCase.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+}
@@ -24,6 +24,7 @@ package org.wildfly.extension.messaging.activemq;
 
 import static org.jboss.as.controller.SimpleAttributeDefinitionBuilder.create;
 import static org.jboss.as.controller.client.helpers.MeasurementUnit.MILLISECONDS;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
 import static org.jboss.as.controller.registry.AttributeAccess.Flag.STORAGE_RUNTIME;
 import static org.jboss.dmr.ModelType.LONG;
 import static org.jboss.dmr.ModelType.STRING;
@@ -102,6 +103,20 @@ public class BroadcastGroupDefinition extends PersistentResourceDefinition {
     public static final AttributeDefinition[] ATTRIBUTES = { JGROUPS_CHANNEL_FACTORY, JGROUPS_CHANNEL, JGROUPS_CLUSTER, SOCKET_BINDING,
             BROADCAST_PERIOD, CONNECTOR_REFS };
 
+    static final AttributeDefinition COALESCED_BROADCAST_COUNT = create("coalesced-broadcast-count", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition DROPPED_BROADCAST_COUNT = create("dropped-broadcast-count", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setFlags(COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition[] METRICS = { COALESCED_BROADCAST_COUNT, DROPPED_BROADCAST_COUNT };
+
     public static final String GET_CONNECTOR_PAIRS_AS_JSON = "get-connector-pairs-as-json";
 
     private final boolean registerRuntimeOnly;
@@ -128,6 +143,12 @@ public class BroadcastGroupDefinition extends PersistentResourceDefinition {
         }
 
         BroadcastGroupControlHandler.INSTANCE.registerAttributes(registry);
+
+        if (registerRuntimeOnly) {
+            for (AttributeDefinition metric : METRICS) {
+                registry.registerMetric(metric, BroadcastGroupMetricHandler.INSTANCE);
+            }
+        }
     }
 
     @Override
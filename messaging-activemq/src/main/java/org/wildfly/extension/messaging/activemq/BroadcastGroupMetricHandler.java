@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.messaging.activemq;
+
+import static org.wildfly.extension.messaging.activemq.BroadcastGroupDefinition.COALESCED_BROADCAST_COUNT;
+import static org.wildfly.extension.messaging.activemq.BroadcastGroupDefinition.DROPPED_BROADCAST_COUNT;
+import static org.wildfly.extension.messaging.activemq.CommonAttributes.JGROUPS_CLUSTER;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.extension.messaging.activemq.broadcast.BroadcastManager;
+import org.wildfly.extension.messaging.activemq.broadcast.CommandDispatcherBroadcastEndpointFactory;
+import org.wildfly.extension.messaging.activemq.logging.MessagingLogger;
+
+/**
+ * Reads the metrics of the {@link BroadcastManager} shared by the JGroups cluster of a broadcast group.
+ * Broadcast groups using a socket binding have no such manager, and report no broadcasts.
+ */
+public class BroadcastGroupMetricHandler extends AbstractRuntimeOnlyHandler {
+
+    public static final BroadcastGroupMetricHandler INSTANCE = new BroadcastGroupMetricHandler();
+
+    private BroadcastGroupMetricHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        final ModelNode cluster = JGROUPS_CLUSTER.resolveModelAttribute(context, model);
+        final BroadcastManager manager = cluster.isDefined() ? CommandDispatcherBroadcastEndpointFactory.getBroadcastManager(cluster.asString()) : null;
+
+        if (COALESCED_BROADCAST_COUNT.getName().equals(attributeName)) {
+            context.getResult().set((manager != null) ? manager.getCoalescedCount() : 0L);
+        } else if (DROPPED_BROADCAST_COUNT.getName().equals(attributeName)) {
+            context.getResult().set((manager != null) ? manager.getDroppedCount() : 0L);
+        } else {
+            throw MessagingLogger.ROOT_LOGGER.unsupportedAttribute(attributeName);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free, multi-producer/multi-consumer ring buffer.
+ * Each slot carries a sequence number indicating whether it is ready to be written or read for a given lap of the ring,
+ * so that producers and consumers only contend on their respective cursor.
+ * @param <E> the element type
+ */
+class BoundedRing<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a ring holding at least the specified number of elements.
+     * @param capacity the minimum capacity, rounded up to a power of 2
+     */
+    BoundedRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; ++i) {
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Appends the specified element, if the ring is not full.
+     * @param element a non-null element
+     * @return true, if the element was appended, false if the ring is full
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = this.tail.get();
+            int index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.elements.set(index, element);
+                    // Publish the slot to consumers
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // Slot still holds an element from the previous lap
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element, if any.
+     * @return the oldest element, or null if the ring is empty
+     */
+    E poll() {
+        while (true) {
+            long position = this.head.get();
+            int index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (this.head.compareAndSet(position, position + 1)) {
+                    E element = this.elements.getAndSet(index, null);
+                    // Release the slot to producers of the next lap
+                    this.sequences.set(index, position + this.mask + 1);
+                    return element;
+                }
+            } else if (difference < 0) {
+                // Slot not yet published
+                return null;
+            }
+        }
+    }
+}
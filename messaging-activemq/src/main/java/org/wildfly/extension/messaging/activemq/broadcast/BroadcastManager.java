@@ -24,6 +24,9 @@ package org.wildfly.extension.messaging.activemq.broadcast;
 
 import java.util.concurrent.TimeUnit;
 
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+
 /**
  * @author Paul Ferraro
  */
@@ -34,4 +37,24 @@ public interface BroadcastManager extends BroadcastReceiver {
     byte[] getBroadcast(long timeout, TimeUnit unit) throws InterruptedException;
 
     void clear();
+
+    /**
+     * Sends the specified broadcast to the group via the specified dispatcher.
+     * @param data broadcast data
+     * @param dispatcher a command dispatcher
+     * @throws CommandDispatcherException if the broadcast could not be sent
+     */
+    void broadcast(byte[] data, CommandDispatcher<BroadcastReceiver> dispatcher) throws CommandDispatcherException;
+
+    /**
+     * Returns the number of broadcasts superseded by a subsequent broadcast of the same sender before being sent or received.
+     * @return a number of broadcasts
+     */
+    long getCoalescedCount();
+
+    /**
+     * Returns the number of received broadcasts that were discarded due to lack of capacity.
+     * @return a number of broadcasts
+     */
+    long getDroppedCount();
 }
@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+
+/**
+ * A {@link BroadcastManager} that only retains the latest broadcast of each sender.
+ * <p>
+ * A broadcast received while the previous broadcast of the same sender is still pending replaces it, so the number of pending
+ * broadcasts is bounded by the number of senders, whose identifiers are queued via a bounded lock-free ring.
+ * Broadcasts received while the ring is full are dropped, which is harmless since senders broadcast periodically.
+ * Likewise, a pending broadcast of a local sender is replaced by its subsequent broadcast, though each broadcast is still sent
+ * as an individual {@link BroadcastCommand}, which members running a previous version can also receive.
+ */
+public class CoalescingBroadcastManager implements BroadcastManager {
+
+    static final int DEFAULT_CAPACITY = 256;
+
+    // Latest pending broadcast per sender
+    private final Map<Object, byte[]> received = new ConcurrentHashMap<>();
+    private final BoundedRing<Object> senders;
+    private final Semaphore available = new Semaphore(0);
+
+    private final Map<Object, byte[]> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public CoalescingBroadcastManager() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CoalescingBroadcastManager(int capacity) {
+        this.senders = new BoundedRing<>(capacity);
+    }
+
+    @Override
+    public void receive(byte[] broadcast) {
+        Object sender = sender(broadcast);
+        if (this.received.put(sender, broadcast) != null) {
+            // Sender is already queued
+            this.coalesced.increment();
+        } else if (this.senders.offer(sender)) {
+            this.available.release();
+        } else {
+            // Whichever broadcast of this sender is now pending will never be dequeued
+            this.received.remove(sender);
+            this.dropped.increment();
+        }
+    }
+
+    @Override
+    public byte[] getBroadcast() throws InterruptedException {
+        while (true) {
+            this.available.acquire();
+            byte[] broadcast = this.take();
+            if (broadcast != null) {
+                return broadcast;
+            }
+        }
+    }
+
+    @Override
+    public byte[] getBroadcast(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while (this.available.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+            byte[] broadcast = this.take();
+            if (broadcast != null) {
+                return broadcast;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        return null;
+    }
+
+    /**
+     * Takes the pending broadcast of the next queued sender.
+     * @return a broadcast, or null if the broadcasts of this sender were cleared
+     */
+    private byte[] take() {
+        Object sender = this.senders.poll();
+        while (sender == null) {
+            // Another sender was queued ahead of the one that released our permit, but is not yet visible
+            Thread.yield();
+            sender = this.senders.poll();
+        }
+        // Removing the broadcast after dequeuing its sender ensures that a subsequent broadcast of this sender is queued again
+        return this.received.remove(sender);
+    }
+
+    @Override
+    public void broadcast(byte[] broadcast, CommandDispatcher<BroadcastReceiver> dispatcher) throws CommandDispatcherException {
+        if (this.pending.put(sender(broadcast), broadcast) != null) {
+            this.coalesced.increment();
+        }
+        // Whoever wins the race sends the pending broadcasts of all local senders
+        while (!this.pending.isEmpty() && this.sending.compareAndSet(false, true)) {
+            try {
+                for (Object sender : this.pending.keySet()) {
+                    byte[] data = this.pending.remove(sender);
+                    if (data != null) {
+                        try {
+                            dispatcher.executeOnGroup(new BroadcastCommand(data));
+                        } catch (CommandDispatcherException | RuntimeException e) {
+                            // Requeue, unless superseded by a subsequent broadcast, so that it is sent along with the next broadcast
+                            this.pending.putIfAbsent(sender, data);
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                this.sending.set(false);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        // Queued senders are left in place, since each one accounts for a permit, and are skipped once dequeued
+        this.received.clear();
+        this.pending.clear();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Identifies the sender of a broadcast via the node identifier with which ActiveMQ prefixes each announcement.
+     * Broadcasts of unknown format are never coalesced.
+     */
+    private static Object sender(byte[] broadcast) {
+        try {
+            return ActiveMQBuffers.wrappedBuffer(broadcast).readString();
+        } catch (RuntimeException e) {
+            return new Object();
+        }
+    }
+}
@@ -81,7 +81,7 @@ public class CommandDispatcherBroadcastEndpoint implements BroadcastEndpoint {
     @Override
     public void broadcast(byte[] data) throws Exception {
         if (this.mode.get() == Mode.BROADCASTER) {
-            this.dispatcher.executeOnGroup(new BroadcastCommand(data));
+            this.manager.broadcast(data, this.dispatcher);
         }
     }
 
@@ -45,7 +45,16 @@ public class CommandDispatcherBroadcastEndpointFactory implements BroadcastEndpo
     public CommandDispatcherBroadcastEndpointFactory(CommandDispatcherFactory factory, String name) {
         this.factory = factory;
         this.name = name;
-        this.manager = BROADCAST_MANAGERS.computeIfAbsent(name, key -> new QueueBroadcastManager());
+        this.manager = BROADCAST_MANAGERS.computeIfAbsent(name, key -> new CoalescingBroadcastManager());
+    }
+
+    /**
+     * Returns the broadcast manager shared by the endpoints of the specified cluster, if any were created.
+     * @param name a cluster name
+     * @return a broadcast manager, or null if no endpoint factory was created for this cluster
+     */
+    public static BroadcastManager getBroadcastManager(String name) {
+        return BROADCAST_MANAGERS.get(name);
     }
 
     @Override
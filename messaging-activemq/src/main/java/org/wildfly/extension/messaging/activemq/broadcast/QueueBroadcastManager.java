@@ -26,6 +26,9 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+
 /**
  * @author Paul Ferraro
  */
@@ -51,4 +54,19 @@ public class QueueBroadcastManager implements BroadcastManager {
     public void clear() {
         this.broadcasts.clear();
     }
+
+    @Override
+    public void broadcast(byte[] data, CommandDispatcher<BroadcastReceiver> dispatcher) throws CommandDispatcherException {
+        dispatcher.executeOnGroup(new BroadcastCommand(data));
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return 0L;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return 0L;
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.group.Node;
+
+public class CoalescingBroadcastManagerTestCase {
+
+    @Test
+    public void coalesce() throws InterruptedException {
+        BroadcastManager manager = new CoalescingBroadcastManager();
+        byte[] first = broadcast("a", 1L);
+        byte[] second = broadcast("b", 1L);
+        byte[] third = broadcast("a", 2L);
+
+        manager.receive(first);
+        manager.receive(second);
+        manager.receive(third);
+
+        // Latest broadcast of a sender replaces its pending broadcast, but retains its position
+        Assert.assertSame(third, manager.getBroadcast());
+        Assert.assertSame(second, manager.getBroadcast());
+        Assert.assertNull(manager.getBroadcast(10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1L, manager.getCoalescedCount());
+        Assert.assertEquals(0L, manager.getDroppedCount());
+
+        // Sender is queued again once its broadcast was taken
+        manager.receive(first);
+        Assert.assertSame(first, manager.getBroadcast(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void drop() throws InterruptedException {
+        BroadcastManager manager = new CoalescingBroadcastManager(4);
+        for (int i = 0; i < 5; ++i) {
+            manager.receive(broadcast(String.valueOf(i), 1L));
+        }
+        Assert.assertEquals(1L, manager.getDroppedCount());
+
+        for (int i = 0; i < 4; ++i) {
+            Assert.assertNotNull(manager.getBroadcast(10, TimeUnit.MILLISECONDS));
+        }
+        Assert.assertNull(manager.getBroadcast(10, TimeUnit.MILLISECONDS));
+
+        // Dropped sender is accepted once there is capacity
+        byte[] data = broadcast("4", 2L);
+        manager.receive(data);
+        Assert.assertSame(data, manager.getBroadcast(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void clear() throws InterruptedException {
+        BroadcastManager manager = new CoalescingBroadcastManager();
+        manager.receive(broadcast("a", 1L));
+        manager.clear();
+
+        Assert.assertNull(manager.getBroadcast(10, TimeUnit.MILLISECONDS));
+
+        byte[] data = broadcast("a", 2L);
+        manager.receive(data);
+        Assert.assertSame(data, manager.getBroadcast(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void broadcast() throws CommandDispatcherException {
+        BroadcastManager manager = new CoalescingBroadcastManager();
+        TestCommandDispatcher dispatcher = new TestCommandDispatcher();
+        byte[] first = broadcast("a", 1L);
+        byte[] second = broadcast("a", 2L);
+
+        manager.broadcast(first, dispatcher);
+        manager.broadcast(second, dispatcher);
+
+        // Each broadcast is sent as an individual command
+        Assert.assertEquals(2, dispatcher.commands.size());
+        for (Command<?, ? super BroadcastReceiver> command : dispatcher.commands) {
+            Assert.assertSame(BroadcastCommand.class, command.getClass());
+        }
+    }
+
+    @Test
+    public void failedBroadcast() throws Exception {
+        BroadcastManager manager = new CoalescingBroadcastManager();
+        TestCommandDispatcher dispatcher = new TestCommandDispatcher();
+        byte[] failed = broadcast("a", 1L);
+        byte[] data = broadcast("b", 1L);
+
+        dispatcher.failure = new CommandDispatcherException(new IllegalStateException());
+        try {
+            manager.broadcast(failed, dispatcher);
+            Assert.fail();
+        } catch (CommandDispatcherException e) {
+            Assert.assertSame(dispatcher.failure, e);
+        }
+        dispatcher.failure = null;
+
+        // Failed broadcast is requeued, and sent along with the next broadcast
+        manager.broadcast(data, dispatcher);
+        Assert.assertEquals(2, dispatcher.commands.size());
+
+        BroadcastManager receiver = new CoalescingBroadcastManager();
+        for (Command<?, ? super BroadcastReceiver> command : dispatcher.commands) {
+            command.execute(receiver);
+        }
+        List<byte[]> received = new ArrayList<>();
+        received.add(receiver.getBroadcast(10, TimeUnit.MILLISECONDS));
+        received.add(receiver.getBroadcast(10, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(received.contains(failed));
+        Assert.assertTrue(received.contains(data));
+    }
+
+    private static class TestCommandDispatcher implements CommandDispatcher<BroadcastReceiver> {
+        final List<Command<?, ? super BroadcastReceiver>> commands = new ArrayList<>();
+        volatile CommandDispatcherException failure;
+
+        @Override
+        public BroadcastReceiver getContext() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <R> CompletionStage<R> executeOnMember(Command<R, ? super BroadcastReceiver> command, Node member) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super BroadcastReceiver> command, Node... excludedMembers) throws CommandDispatcherException {
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            this.commands.add(command);
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // Mimics the announcement of an ActiveMQ broadcast group, which starts with the node identifier of the server
+    private static byte[] broadcast(String nodeId, long uniqueId) {
+        ActiveMQBuffer buffer = ActiveMQBuffers.dynamicBuffer(64);
+        buffer.writeString(nodeId);
+        buffer.writeLong(uniqueId);
+        byte[] data = new byte[buffer.writerIndex()];
+        buffer.readBytes(data);
+        return data;
+    }
+}
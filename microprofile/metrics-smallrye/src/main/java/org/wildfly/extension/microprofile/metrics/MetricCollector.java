@@ -50,7 +50,9 @@ import io.prometheus.client.Collector.MetricFamilySamples;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.CounterMetricFamily;
 import io.prometheus.client.GaugeMetricFamily;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
@@ -61,7 +63,17 @@ import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
-
+import org.jboss.msc.service.ServiceRegistry;
+import org.wildfly.microprofile.metrics.spi.DirectMetricReadHandler;
+
+/**
+ * Exposes the runtime metrics of the management resources to Prometheus.
+ * <p/>
+ * A metric is sampled on every scrape. If the read handler of the metric attribute is a {@link DirectMetricReadHandler}
+ * and the attribute has no access constraints, i.e. it is readable by every management role, the metric is read directly
+ * with the address of the resource. Otherwise the metric is sampled by executing a {@code read-attribute} operation,
+ * which is subject to the authorization of the management operation pipeline.
+ */
 public class MetricCollector {
 
 
@@ -70,9 +82,11 @@ public class MetricCollector {
     private String globalPrefix;
     private final List<String> exposedSubsystems;
     private final LocalModelControllerClient modelControllerClient;
+    private final ServiceRegistry serviceRegistry;
 
-    public MetricCollector(LocalModelControllerClient modelControllerClient, List<String> exposedSubsystems, String globalPrefix) {
+    public MetricCollector(LocalModelControllerClient modelControllerClient, ServiceRegistry serviceRegistry, List<String> exposedSubsystems, String globalPrefix) {
         this.modelControllerClient = modelControllerClient;
+        this.serviceRegistry = serviceRegistry;
         this.exposedSubsystems = exposedSubsystems;
         this.exposeAnySubsystem = exposedSubsystems.remove("*");
         this.globalPrefix = globalPrefix;
@@ -88,8 +102,17 @@ public class MetricCollector {
     public MetricRegistration collectResourceMetrics(final Resource resource,
                                               ImmutableManagementResourceRegistration managementResourceRegistration,
                                               Function<PathAddress, PathAddress> resourceAddressResolver) {
+        return collectResourceMetrics(resource, managementResourceRegistration, resourceAddressResolver, resourceAddressResolver);
+    }
+
+    // collect metrics from the resources, the runtime address resolver provides the address passed to the metric handles
+    // which, unlike the resource address, uses the runtime name of the deployments
+    public MetricRegistration collectResourceMetrics(final Resource resource,
+                                              ImmutableManagementResourceRegistration managementResourceRegistration,
+                                              Function<PathAddress, PathAddress> resourceAddressResolver,
+                                              Function<PathAddress, PathAddress> runtimeAddressResolver) {
         MetricRegistration registration = new MetricRegistration();
-        collectResourceMetrics0(resource, managementResourceRegistration, EMPTY_ADDRESS, resourceAddressResolver, registration);
+        collectResourceMetrics0(resource, managementResourceRegistration, EMPTY_ADDRESS, resourceAddressResolver, runtimeAddressResolver, registration);
         return registration;
     }
 
@@ -97,6 +120,7 @@ public class MetricCollector {
                                         ImmutableManagementResourceRegistration managementResourceRegistration,
                                          PathAddress address,
                                          Function<PathAddress, PathAddress> resourceAddressResolver,
+                                         Function<PathAddress, PathAddress> runtimeAddressResolver,
                                         MetricRegistration registration) {
         if (!isExposingMetrics(address)) {
             return;
@@ -131,18 +155,9 @@ public class MetricCollector {
             } else {
                 metricFamilySamples = new GaugeMetricFamily(metricMetadata.metricName, attributeDescription, metricMetadata.labelNames);
             }
+            Supplier<ModelNode> reader = createReader(attributeAccess.getReadHandler(), attributeAccess.getAttributeDefinition(), address, resourceAddress, runtimeAddressResolver.apply(address));
             Supplier<Optional<MetricFamilySamples.Sample>> sampleSupplier = () -> {
-                final ModelNode readAttributeOp = new ModelNode();
-                readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
-                readAttributeOp.get(OP_ADDR).set(resourceAddress.toModelNode());
-                readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(true);
-                readAttributeOp.get(NAME).set(attributeName);
-                ModelNode response = modelControllerClient.execute(readAttributeOp);
-                String error = getFailureDescription(response);
-                if (error != null) {
-                    throw LOGGER.unableToReadAttribute(attributeName, address, error);
-                }
-                ModelNode result = response.get(RESULT);
+                ModelNode result = reader.get();
                 if (result.isDefined()) {
                     try {
                         double initialValue = result.asDouble();
@@ -163,12 +178,39 @@ public class MetricCollector {
                 for (Resource.ResourceEntry entry : current.getChildren(type)) {
                     final PathElement pathElement = entry.getPathElement();
                     final PathAddress childAddress = address.append(pathElement);
-                    collectResourceMetrics0(entry, managementResourceRegistration, childAddress, resourceAddressResolver, registration);
+                    collectResourceMetrics0(entry, managementResourceRegistration, childAddress, resourceAddressResolver, runtimeAddressResolver, registration);
                 }
             }
         }
     }
 
+    /**
+     * Creates the reader of a metric value.
+     * @param address the address of the resource, relative to the collected root resource
+     * @param resourceAddress the absolute address of the resource
+     * @param runtimeAddress the absolute address of the resource, using the runtime names of the deployments
+     */
+    Supplier<ModelNode> createReader(OperationStepHandler readHandler, AttributeDefinition attribute, PathAddress address, PathAddress resourceAddress, PathAddress runtimeAddress) {
+        if ((readHandler instanceof DirectMetricReadHandler) && attribute.getAccessConstraints().isEmpty()) {
+            DirectMetricReadHandler handler = (DirectMetricReadHandler) readHandler;
+            return () -> handler.readMetric(serviceRegistry, runtimeAddress);
+        }
+        final String attributeName = attribute.getName();
+        return () -> {
+            final ModelNode readAttributeOp = new ModelNode();
+            readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            readAttributeOp.get(OP_ADDR).set(resourceAddress.toModelNode());
+            readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(true);
+            readAttributeOp.get(NAME).set(attributeName);
+            ModelNode response = modelControllerClient.execute(readAttributeOp);
+            String error = getFailureDescription(response);
+            if (error != null) {
+                throw LOGGER.unableToReadAttribute(attributeName, address, error);
+            }
+            return response.get(RESULT);
+        };
+    }
+
     private boolean isExposingMetrics(PathAddress address) {
         // root resource
         if (address.size() == 0) {
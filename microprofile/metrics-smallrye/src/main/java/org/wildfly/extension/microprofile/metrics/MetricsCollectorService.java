@@ -86,7 +86,7 @@ public class MetricsCollectorService implements Service<MetricCollector> {
 
         modelControllerClient = modelControllerClientFactory.get().createClient(managementExecutor.get());
 
-        this.metricCollector = new MetricCollector(modelControllerClient, exposedSubsystems, globalPrefix);
+        this.metricCollector = new MetricCollector(modelControllerClient, context.getController().getServiceContainer(), exposedSubsystems, globalPrefix);
     }
 
     @Override
@@ -25,11 +25,13 @@ public class DeploymentMetricService implements Service {
     private final Resource rootResource;
     private final ManagementResourceRegistration managementResourceRegistration;
     private PathAddress deploymentAddress;
+    private final PathAddress deploymentRuntimeAddress;
     private final Supplier<MetricCollector> metricCollector;
     private MetricCollector.MetricRegistration registration;
 
     public static void install(ServiceTarget serviceTarget, DeploymentUnit deploymentUnit, Resource rootResource, ManagementResourceRegistration managementResourceRegistration) {
         PathAddress deploymentAddress = createDeploymentAddressPrefix(deploymentUnit);
+        PathAddress deploymentRuntimeAddress = createDeploymentRuntimeAddressPrefix(deploymentUnit);
 
         ServiceBuilder<?> sb = serviceTarget.addService(deploymentUnit.getServiceName().append("metrics"));
         Supplier<MetricCollector> metricCollector = sb.requires(MicroProfileMetricsSubsystemDefinition.WILDFLY_COLLECTOR_SERVICE);
@@ -39,14 +41,15 @@ public class DeploymentMetricService implements Service {
          * the deployment are collected and registered once the deployment services have all be properly installed.
          */
         sb.requires(DeploymentCompleteServiceProcessor.serviceName(deploymentUnit.getServiceName()));
-        sb.setInstance(new DeploymentMetricService(rootResource, managementResourceRegistration, deploymentAddress, metricCollector))
+        sb.setInstance(new DeploymentMetricService(rootResource, managementResourceRegistration, deploymentAddress, deploymentRuntimeAddress, metricCollector))
                 .install();
     }
 
-    private DeploymentMetricService(Resource rootResource, ManagementResourceRegistration managementResourceRegistration, PathAddress deploymentAddress, Supplier<MetricCollector> metricCollector) {
+    private DeploymentMetricService(Resource rootResource, ManagementResourceRegistration managementResourceRegistration, PathAddress deploymentAddress, PathAddress deploymentRuntimeAddress, Supplier<MetricCollector> metricCollector) {
         this.rootResource = rootResource;
         this.managementResourceRegistration = managementResourceRegistration;
         this.deploymentAddress = deploymentAddress;
+        this.deploymentRuntimeAddress = deploymentRuntimeAddress;
         this.metricCollector = metricCollector;
     }
 
@@ -55,7 +58,8 @@ public class DeploymentMetricService implements Service {
         registration = metricCollector.get().collectResourceMetrics(rootResource,
                 managementResourceRegistration,
                 // prepend the deployment address to the subsystem resource address
-                address -> deploymentAddress.append(address));
+                address -> deploymentAddress.append(address),
+                address -> deploymentRuntimeAddress.append(address));
 
     }
 
@@ -72,4 +76,12 @@ public class DeploymentMetricService implements Service {
         }
     }
 
+    private static PathAddress createDeploymentRuntimeAddressPrefix(DeploymentUnit deploymentUnit) {
+        if (deploymentUnit.getParent() == null) {
+            return PathAddress.pathAddress(DEPLOYMENT, deploymentUnit.getName());
+        } else {
+            return createDeploymentRuntimeAddressPrefix(deploymentUnit.getParent()).append(SUBDEPLOYMENT, deploymentUnit.getName());
+        }
+    }
+
 }
@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.microprofile.metrics.spi.DirectMetricReadHandler;
+
+/**
+ * Verifies how the {@link MetricCollector} reads the value of a metric.
+ */
+public class MetricCollectorTestCase {
+
+    private static final PathAddress RELATIVE_ADDRESS = PathAddress.pathAddress(SUBSYSTEM, "test");
+    private static final PathAddress RESOURCE_ADDRESS = PathAddress.pathAddress(DEPLOYMENT, "name").append(RELATIVE_ADDRESS);
+    private static final PathAddress RUNTIME_ADDRESS = PathAddress.pathAddress(DEPLOYMENT, "runtime-name").append(RELATIVE_ADDRESS);
+
+    private static final AttributeDefinition METRIC = new SimpleAttributeDefinitionBuilder("metric", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+    private static final AttributeDefinition SENSITIVE_METRIC = new SimpleAttributeDefinitionBuilder("sensitive-metric", ModelType.LONG)
+            .setStorageRuntime()
+            .setAccessConstraints(SensitiveTargetAccessConstraintDefinition.CREDENTIAL)
+            .build();
+
+    private final LocalModelControllerClient client = mock(LocalModelControllerClient.class);
+    private final ServiceRegistry registry = mock(ServiceRegistry.class);
+    private MetricCollector collector;
+
+    @Before
+    public void setUp() {
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set(1L);
+        when(this.client.execute(any(ModelNode.class))).thenReturn(response);
+        this.collector = new MetricCollector(this.client, this.registry, new ArrayList<>(Collections.singletonList("*")), "");
+    }
+
+    @After
+    public void tearDown() {
+        this.collector.close();
+    }
+
+    @Test
+    public void testDirectRead() {
+        TestReadHandler handler = new TestReadHandler(2L);
+        Supplier<ModelNode> reader = this.collector.createReader(handler, METRIC, RELATIVE_ADDRESS, RESOURCE_ADDRESS, RUNTIME_ADDRESS);
+
+        assertEquals(2L, reader.get().asLong());
+        assertSame(this.registry, handler.registry);
+        assertEquals(RUNTIME_ADDRESS, handler.address);
+        verify(this.client, never()).execute(any(ModelNode.class));
+    }
+
+    @Test
+    public void testOperationRead() {
+        OperationStepHandler handler = (context, operation) -> context.getResult().set(2L);
+        Supplier<ModelNode> reader = this.collector.createReader(handler, METRIC, RELATIVE_ADDRESS, RESOURCE_ADDRESS, RUNTIME_ADDRESS);
+
+        assertEquals(1L, reader.get().asLong());
+        ModelNode operation = this.verifyReadAttribute();
+        assertEquals(METRIC.getName(), operation.get(NAME).asString());
+    }
+
+    @Test
+    public void testConstrainedAttributeReadByOperation() {
+        TestReadHandler handler = new TestReadHandler(2L);
+        Supplier<ModelNode> reader = this.collector.createReader(handler, SENSITIVE_METRIC, RELATIVE_ADDRESS, RESOURCE_ADDRESS, RUNTIME_ADDRESS);
+
+        // Subject to the authorization of the management operation
+        assertEquals(1L, reader.get().asLong());
+        ModelNode operation = this.verifyReadAttribute();
+        assertEquals(SENSITIVE_METRIC.getName(), operation.get(NAME).asString());
+        assertEquals(null, handler.address);
+    }
+
+    private ModelNode verifyReadAttribute() {
+        ArgumentCaptor<ModelNode> captor = ArgumentCaptor.forClass(ModelNode.class);
+        verify(this.client).execute(captor.capture());
+        ModelNode operation = captor.getValue();
+        assertEquals(READ_ATTRIBUTE_OPERATION, operation.get(OP).asString());
+        assertEquals(RESOURCE_ADDRESS, PathAddress.pathAddress(operation.get(OP_ADDR)));
+        return operation;
+    }
+
+    private static class TestReadHandler implements DirectMetricReadHandler {
+        private final long value;
+        volatile ServiceRegistry registry;
+        volatile PathAddress address;
+
+        TestReadHandler(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) {
+            context.getResult().set(this.value);
+        }
+
+        @Override
+        public ModelNode readMetric(ServiceRegistry registry, PathAddress address) {
+            this.registry = registry;
+            this.address = address;
+            return new ModelNode(this.value);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.microprofile.metrics.spi;
+
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * The read handler of a runtime metric whose value can also be read directly, outside of a management operation.
+ * <p/>
+ * Metric collectors that sample every metric on each scrape use it instead of executing a {@code read-attribute}
+ * operation per sample. Since a direct read is not subject to the authorization of the management operation pipeline,
+ * collectors must only use it for metrics that are readable by every management role.
+ */
+public interface DirectMetricReadHandler extends OperationStepHandler {
+
+    /**
+     * Reads the metric of the resource at the given address.
+     * @param registry the service registry
+     * @param address the address of the resource, whose deployment elements use the runtime names of the deployments
+     * @return the metric value, undefined if it is not available
+     */
+    ModelNode readMetric(ServiceRegistry registry, PathAddress address);
+}
@@ -37,7 +37,10 @@ import org.wildfly.extension.undertow.deployment.UndertowAttachments;
 import org.wildfly.mod_cluster.undertow.metric.BytesReceivedHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.BytesSentHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.RequestPressureLoadMetric;
 import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.TrafficMeters;
+import org.wildfly.mod_cluster.undertow.metric.TrafficMetersHttpHandler;
 
 /**
  * {@link DeploymentUnitProcessor} which adds a dependency on {@link UndertowEventHandlerAdapterServiceConfigurator}s to web
@@ -48,6 +51,7 @@ import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler}</li>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.BytesReceivedHttpHandler}</li>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.BytesSentHttpHandler}</li>
+ * <li>{@link org.wildfly.mod_cluster.undertow.metric.TrafficMetersHttpHandler}</li>
  * </ul>
  *
  * @author Radoslav Husar
@@ -92,11 +96,26 @@ public class ModClusterUndertowDeploymentProcessor implements DeploymentUnitProc
             deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_OUTER_HANDLER_CHAIN_WRAPPERS, RunningRequestsHttpHandler::new);
         }
 
+        // Per context and per listener traffic meters
+        if (isMetricEnabled(RequestPressureLoadMetric.class)) {
+            TrafficMeters meters = TrafficMeters.registerContext(getDeploymentName(deploymentUnit));
+            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, handler -> new TrafficMetersHttpHandler(handler, meters));
+        }
+
     }
 
     @Override
     public void undeploy(DeploymentUnit context) {
-        // Do nothing.
+        if (isMetricEnabled(RequestPressureLoadMetric.class)) {
+            TrafficMeters.unregisterContext(getDeploymentName(context));
+        }
+    }
+
+    /**
+     * Returns the name of the Undertow deployment, as used by {@link UndertowContext}.
+     */
+    private static String getDeploymentName(DeploymentUnit deploymentUnit) {
+        return (deploymentUnit.getParent() == null) ? deploymentUnit.getName() : deploymentUnit.getParent().getName() + "." + deploymentUnit.getName();
     }
 
     /**
@@ -32,6 +32,7 @@ import org.wildfly.mod_cluster.undertow.metric.BytesReceivedStreamSourceConduit;
 import org.wildfly.mod_cluster.undertow.metric.BytesSentStreamSinkConduit;
 import org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.TrafficMeters;
 
 /**
  * Adapts {@link UndertowListener} to a {@link Connector}.
@@ -128,6 +129,13 @@ public class UndertowConnector implements Connector {
         return RequestCountHttpHandler.getRequestCount();
     }
 
+    /**
+     * @return the traffic meters of this listener, or null if it did not receive any metered request
+     */
+    public TrafficMeters getTrafficMeters() {
+        return TrafficMeters.forListener(this.getPort());
+    }
+
     @Override
     public String toString() {
         return this.listener.getName();
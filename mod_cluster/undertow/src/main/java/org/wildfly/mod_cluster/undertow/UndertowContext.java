@@ -34,6 +34,7 @@ import javax.servlet.http.HttpSessionListener;
 
 import org.jboss.modcluster.container.Context;
 import org.jboss.modcluster.container.Host;
+import org.wildfly.mod_cluster.undertow.metric.TrafficMeters;
 
 /**
  * Adapts {@link Deployment} to an {@link Context}.
@@ -110,6 +111,13 @@ public class UndertowContext implements Context {
         return !(this.deployment.getDeploymentInfo().getSessionManagerFactory() instanceof InMemorySessionManagerFactory);
     }
 
+    /**
+     * @return the traffic meters of this context, or null if its traffic is not metered
+     */
+    public TrafficMeters getTrafficMeters() {
+        return TrafficMeters.forContext(this.deployment.getDeploymentInfo().getDeploymentName());
+    }
+
     @Override
     public String toString() {
         return this.getPath();
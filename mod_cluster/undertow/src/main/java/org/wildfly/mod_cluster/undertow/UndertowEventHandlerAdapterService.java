@@ -47,7 +47,9 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.extension.undertow.Host;
 import org.wildfly.extension.undertow.UndertowEventListener;
+import org.wildfly.extension.undertow.UndertowListener;
 import org.wildfly.extension.undertow.UndertowService;
+import org.wildfly.mod_cluster.undertow.metric.TrafficMeters;
 
 /**
  * Builds a service exposing an Undertow subsystem adapter to mod_cluster's {@link ContainerEventHandler}.
@@ -167,6 +169,12 @@ public class UndertowEventHandlerAdapterService implements UndertowEventListener
         }
     }
 
+    @Override
+    public void onListenerStop(UndertowListener listener) {
+        // Metered lazily by the requests it received, so discard its meters with the listener
+        TrafficMeters.unregisterListener(listener.getSocketBinding().getAbsolutePort());
+    }
+
     public boolean filter(Host host) {
         return host.getServer().getName().equals(serverName);
     }
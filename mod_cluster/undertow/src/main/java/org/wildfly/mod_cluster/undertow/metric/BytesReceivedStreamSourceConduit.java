@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
 
 import org.xnio.channels.StreamSinkChannel;
 import org.xnio.conduits.AbstractSourceConduit;
@@ -41,38 +42,47 @@ import org.xnio.conduits.StreamSourceConduit;
 public class BytesReceivedStreamSourceConduit extends AbstractSourceConduit implements StreamSourceConduit {
 
     private final StreamSourceConduit next;
+    private final LongConsumer counter;
     private static final LongAdder bytesReceived = new LongAdder();
 
     public BytesReceivedStreamSourceConduit(StreamSourceConduit next) {
+        this(next, bytesReceived::add);
+    }
+
+    /**
+     * Creates a conduit that reports the number of bytes transferred to the given counter, instead of the process-wide total.
+     */
+    public BytesReceivedStreamSourceConduit(StreamSourceConduit next, LongConsumer counter) {
         super(next);
         this.next = next;
+        this.counter = counter;
     }
 
     @Override
     public long transferTo(long position, long count, FileChannel target) throws IOException {
         long bytes = next.transferTo(position, count, target);
-        bytesReceived.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
     @Override
     public long transferTo(long count, ByteBuffer throughBuffer, StreamSinkChannel target) throws IOException {
         long bytes = next.transferTo(count, throughBuffer, target);
-        bytesReceived.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
     @Override
     public int read(ByteBuffer dst) throws IOException {
         int bytes = next.read(dst);
-        bytesReceived.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
     @Override
     public long read(ByteBuffer[] dsts, int offs, int len) throws IOException {
         long bytes = next.read(dsts, offs, len);
-        bytesReceived.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
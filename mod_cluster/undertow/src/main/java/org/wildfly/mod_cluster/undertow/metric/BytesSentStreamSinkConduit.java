@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
 
 import org.xnio.channels.StreamSourceChannel;
 import org.xnio.conduits.AbstractSinkConduit;
@@ -41,17 +42,26 @@ import org.xnio.conduits.StreamSinkConduit;
 public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements StreamSinkConduit {
 
     private final StreamSinkConduit next;
+    private final LongConsumer counter;
     private static final LongAdder bytesSent = new LongAdder();
 
     public BytesSentStreamSinkConduit(StreamSinkConduit next) {
+        this(next, bytesSent::add);
+    }
+
+    /**
+     * Creates a conduit that reports the number of bytes transferred to the given counter, instead of the process-wide total.
+     */
+    public BytesSentStreamSinkConduit(StreamSinkConduit next, LongConsumer counter) {
         super(next);
         this.next = next;
+        this.counter = counter;
     }
 
     @Override
     public long transferFrom(FileChannel src, long position, long count) throws IOException {
         long bytes = next.transferFrom(src, position, count);
-        bytesSent.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
@@ -59,7 +69,7 @@ public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements S
     @Override
     public long transferFrom(StreamSourceChannel source, long count, ByteBuffer throughBuffer) throws IOException {
         long bytes = next.transferFrom(source, count, throughBuffer);
-        bytesSent.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
@@ -67,7 +77,7 @@ public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements S
     @Override
     public int write(ByteBuffer src) throws IOException {
         int bytes = next.write(src);
-        bytesSent.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
@@ -75,21 +85,21 @@ public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements S
     @Override
     public long write(ByteBuffer[] srcs, int offs, int len) throws IOException {
         long bytes = next.write(srcs, offs, len);
-        bytesSent.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
     @Override
     public int writeFinal(ByteBuffer src) throws IOException {
         int bytes = next.writeFinal(src);
-        bytesSent.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
     @Override
     public long writeFinal(ByteBuffer[] srcs, int offset, int length) throws IOException {
         long bytes = next.writeFinal(srcs, offset, length);
-        bytesSent.add(bytes);
+        this.counter.accept(bytes);
         return bytes;
     }
 
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Meters the rate of events as an exponentially weighted moving average, so that recent events weigh more than older
+ * ones. Events are accumulated in a {@link LongAdder} and folded into the average every {@value #TICK_SECONDS} seconds,
+ * on the next call to either {@link #mark(long)} or {@link #getRate(TimeUnit)}.
+ */
+public class RateMeter {
+
+    static final int TICK_SECONDS = 5;
+    static final long TICK_INTERVAL = TimeUnit.SECONDS.toNanos(TICK_SECONDS);
+
+    private final LongSupplier clock;
+    private final double alpha;
+    private final LongAdder uncounted = new LongAdder();
+    private final AtomicLong lastTick;
+    // Events per nanosecond
+    private volatile double rate = 0d;
+
+    /**
+     * Creates a meter whose average decays by a factor of e over the given window.
+     *
+     * @param window the time constant of the moving average
+     * @param unit the unit of the window
+     */
+    public RateMeter(long window, TimeUnit unit) {
+        this(window, unit, System::nanoTime);
+    }
+
+    RateMeter(long window, TimeUnit unit, LongSupplier clock) {
+        this.clock = clock;
+        this.alpha = 1d - Math.exp(-(double) TICK_INTERVAL / unit.toNanos(window));
+        this.lastTick = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Records the given number of events.
+     *
+     * @param events the number of events
+     */
+    public void mark(long events) {
+        this.tickIfNecessary();
+        this.uncounted.add(events);
+    }
+
+    /**
+     * @param unit the time unit of the returned rate
+     * @return the moving average of the number of events per given time unit
+     */
+    public double getRate(TimeUnit unit) {
+        this.tickIfNecessary();
+        return this.rate * unit.toNanos(1);
+    }
+
+    private void tickIfNecessary() {
+        long last = this.lastTick.get();
+        long age = this.clock.getAsLong() - last;
+        if (age >= TICK_INTERVAL) {
+            long ticks = age / TICK_INTERVAL;
+            // Only one thread folds the events of the elapsed ticks
+            if (this.lastTick.compareAndSet(last, last + ticks * TICK_INTERVAL)) {
+                // The events may have been recorded at any time since the previous tick, so spread them over every elapsed tick
+                double instantRate = (double) this.uncounted.sumThenReset() / (ticks * TICK_INTERVAL);
+                // Equivalent to folding that rate into the average once per elapsed tick
+                double decay = Math.pow(1d - this.alpha, ticks);
+                this.rate = instantRate + (this.rate - instantRate) * decay;
+            }
+        }
+    }
+}
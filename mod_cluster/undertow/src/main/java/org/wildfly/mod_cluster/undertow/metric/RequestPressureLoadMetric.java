@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.Locale;
+
+import org.jboss.modcluster.container.Connector;
+import org.jboss.modcluster.container.Context;
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.container.Host;
+import org.jboss.modcluster.load.metric.impl.AbstractLoadMetric;
+import org.wildfly.mod_cluster.undertow.UndertowConnector;
+import org.wildfly.mod_cluster.undertow.UndertowContext;
+
+/**
+ * Load metric based on the recent pressure of the traffic, i.e. the average number of requests processed concurrently,
+ * which reflects both the request rate and the recent processing time of the requests. The load is the sum of the
+ * pressure of each context, or of each listener if the {@code scope} property is set to {@code listener}. The capacity
+ * of this metric should be set to the number of concurrent requests that saturates the node.
+ * <p/>
+ * This metric is configured as a custom load metric of class
+ * {@code org.wildfly.mod_cluster.undertow.metric.RequestPressureLoadMetric} from module {@code org.wildfly.mod_cluster.undertow}.
+ */
+public class RequestPressureLoadMetric extends AbstractLoadMetric {
+
+    public enum Scope {
+        CONTEXT,
+        LISTENER,
+        ;
+    }
+
+    private volatile Scope scope = Scope.CONTEXT;
+
+    public String getScope() {
+        return this.scope.name().toLowerCase(Locale.ENGLISH);
+    }
+
+    public void setScope(String scope) {
+        this.scope = Scope.valueOf(scope.toUpperCase(Locale.ENGLISH));
+    }
+
+    @Override
+    public double getLoad(Engine engine) {
+        double load = 0d;
+        if (this.scope == Scope.LISTENER) {
+            for (Connector connector : engine.getConnectors()) {
+                if (connector instanceof UndertowConnector) {
+                    load += getPressure(((UndertowConnector) connector).getTrafficMeters());
+                }
+            }
+        } else {
+            for (Host host : engine.getHosts()) {
+                for (Context context : host.getContexts()) {
+                    if (context instanceof UndertowContext) {
+                        load += getPressure(((UndertowContext) context).getTrafficMeters());
+                    }
+                }
+            }
+        }
+        return load;
+    }
+
+    private static double getPressure(TrafficMeters meters) {
+        return (meters != null) ? meters.getPressure() : 0d;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate meters of the traffic of a single web context or listener, whose moving averages decay over a window of one minute.
+ * Unlike the process-wide counters of the other handlers in this package, these let a load metric tell contexts and
+ * listeners apart, and reflect the recent traffic rather than lifetime totals.
+ */
+public class TrafficMeters {
+
+    private static final long WINDOW_MINUTES = 1;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Map<String, TrafficMeters> CONTEXTS = new ConcurrentHashMap<>();
+    private static final Map<Integer, TrafficMeters> LISTENERS = new ConcurrentHashMap<>();
+
+    /**
+     * @param deploymentName the name of the Undertow deployment of a context
+     * @return the meters of the context, or null if the traffic of this context is not metered
+     */
+    public static TrafficMeters forContext(String deploymentName) {
+        return CONTEXTS.get(deploymentName);
+    }
+
+    /**
+     * @param port the port of a listener
+     * @return the meters of the listener, or null if no metered request was received by this listener
+     */
+    public static TrafficMeters forListener(int port) {
+        return LISTENERS.get(port);
+    }
+
+    /**
+     * @param deploymentName the name of the Undertow deployment of a context
+     * @return the meters of the context, created if necessary
+     */
+    public static TrafficMeters registerContext(String deploymentName) {
+        return CONTEXTS.computeIfAbsent(deploymentName, name -> new TrafficMeters());
+    }
+
+    /**
+     * Discards the meters of a context, once it is undeployed.
+     * @param deploymentName the name of the Undertow deployment of a context
+     */
+    public static void unregisterContext(String deploymentName) {
+        CONTEXTS.remove(deploymentName);
+    }
+
+    /**
+     * Discards the meters of a listener, once it is stopped.
+     * @param port the port of a listener
+     */
+    public static void unregisterListener(int port) {
+        LISTENERS.remove(port);
+    }
+
+    static TrafficMeters listener(int port) {
+        return LISTENERS.computeIfAbsent(port, key -> new TrafficMeters());
+    }
+
+    private final RateMeter requests = new RateMeter(WINDOW_MINUTES, TimeUnit.MINUTES);
+    private final RateMeter completedRequests = new RateMeter(WINDOW_MINUTES, TimeUnit.MINUTES);
+    private final RateMeter processingTime = new RateMeter(WINDOW_MINUTES, TimeUnit.MINUTES);
+    private final RateMeter bytesSent = new RateMeter(WINDOW_MINUTES, TimeUnit.MINUTES);
+    private final RateMeter bytesReceived = new RateMeter(WINDOW_MINUTES, TimeUnit.MINUTES);
+    private final LongAdder runningRequests = new LongAdder();
+
+    void requestStarted() {
+        this.requests.mark(1);
+        this.runningRequests.increment();
+    }
+
+    void requestCompleted(long processingNanos) {
+        this.runningRequests.decrement();
+        this.completedRequests.mark(1);
+        this.processingTime.mark(processingNanos);
+    }
+
+    void bytesSent(long bytes) {
+        if (bytes > 0) {
+            this.bytesSent.mark(bytes);
+        }
+    }
+
+    void bytesReceived(long bytes) {
+        if (bytes > 0) {
+            this.bytesReceived.mark(bytes);
+        }
+    }
+
+    /**
+     * @return the moving average of the number of incoming requests per second
+     */
+    public double getRequestRate() {
+        return this.requests.getRate(TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the moving average of the number of bytes sent per second
+     */
+    public double getBytesSentRate() {
+        return this.bytesSent.getRate(TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the moving average of the number of bytes received per second
+     */
+    public double getBytesReceivedRate() {
+        return this.bytesReceived.getRate(TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the number of requests currently being processed
+     */
+    public int getRunningRequestCount() {
+        return this.runningRequests.intValue();
+    }
+
+    /**
+     * @return the moving average of the processing time of the completed requests, in milliseconds
+     */
+    public double getAverageProcessingTime() {
+        double completed = this.completedRequests.getRate(TimeUnit.SECONDS);
+        return (completed > 0d) ? this.processingTime.getRate(TimeUnit.SECONDS) / completed / NANOS_PER_MILLISECOND : 0d;
+    }
+
+    /**
+     * Returns the average number of requests being processed concurrently, i.e. by Little's law the request rate multiplied
+     * by the average processing time. Since the processing time is only known once a request completes, this is never less
+     * than the number of requests currently running.
+     *
+     * @return the pressure of the traffic
+     */
+    public double getPressure() {
+        return Math.max(this.processingTime.getRate(TimeUnit.SECONDS) / NANOS_PER_SECOND, this.getRunningRequestCount());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.net.InetSocketAddress;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+
+/**
+ * {@link HttpHandler} that records the traffic of a context, and of the listener that received the request, in their
+ * {@link TrafficMeters}.
+ */
+public class TrafficMetersHttpHandler implements HttpHandler {
+
+    private final HttpHandler wrappedHandler;
+    private final TrafficMeters contextMeters;
+
+    public TrafficMetersHttpHandler(final HttpHandler handler, final TrafficMeters contextMeters) {
+        this.wrappedHandler = handler;
+        this.contextMeters = contextMeters;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        // The local address of the connection, unlike the destination address of the exchange, is not overridden by proxy headers
+        InetSocketAddress address = exchange.getConnection().getLocalAddress(InetSocketAddress.class);
+        TrafficMeters listenerMeters = (address != null) ? TrafficMeters.listener(address.getPort()) : null;
+        TrafficMeters contextMeters = this.contextMeters;
+        long start = System.nanoTime();
+
+        contextMeters.requestStarted();
+        if (listenerMeters != null) {
+            listenerMeters.requestStarted();
+        }
+
+        exchange.addRequestWrapper((factory, currentExchange) -> new BytesReceivedStreamSourceConduit(factory.create(), bytes -> {
+            contextMeters.bytesReceived(bytes);
+            if (listenerMeters != null) {
+                listenerMeters.bytesReceived(bytes);
+            }
+        }));
+        exchange.addResponseWrapper((factory, currentExchange) -> new BytesSentStreamSinkConduit(factory.create(), bytes -> {
+            contextMeters.bytesSent(bytes);
+            if (listenerMeters != null) {
+                listenerMeters.bytesSent(bytes);
+            }
+        }));
+        exchange.addExchangeCompleteListener((currentExchange, nextListener) -> {
+            long processingTime = System.nanoTime() - start;
+            contextMeters.requestCompleted(processingTime);
+            if (listenerMeters != null) {
+                listenerMeters.requestCompleted(processingTime);
+            }
+
+            // Proceed to next listener must be called!
+            nextListener.proceed();
+        });
+
+        this.wrappedHandler.handleRequest(exchange);
+    }
+}
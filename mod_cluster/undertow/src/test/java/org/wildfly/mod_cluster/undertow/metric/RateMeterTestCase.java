@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class RateMeterTestCase {
+
+    private final AtomicLong time = new AtomicLong();
+    private final RateMeter meter = new RateMeter(1, TimeUnit.MINUTES, this.time::get);
+
+    @Test
+    public void noEvents() {
+        assertEquals(0d, this.meter.getRate(TimeUnit.SECONDS), 0d);
+        this.time.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(0d, this.meter.getRate(TimeUnit.SECONDS), 0d);
+    }
+
+    @Test
+    public void eventsAreCountedOnTick() {
+        this.meter.mark(10);
+        assertEquals(0d, this.meter.getRate(TimeUnit.SECONDS), 0d);
+
+        this.time.addAndGet(RateMeter.TICK_INTERVAL);
+        double rate = this.meter.getRate(TimeUnit.SECONDS);
+        // 2 events per second during the tick, weighted by alpha
+        double alpha = 1d - Math.exp(-(double) RateMeter.TICK_SECONDS / 60);
+        assertEquals(2d * alpha, rate, 1e-9);
+    }
+
+    @Test
+    public void eventsAreSpreadOverElapsedTicks() {
+        this.meter.mark(100);
+
+        // 100 events over 4 ticks, i.e. 5 events per second, folded once per tick
+        this.time.addAndGet(4 * RateMeter.TICK_INTERVAL);
+        double alpha = 1d - Math.exp(-(double) RateMeter.TICK_SECONDS / 60);
+        double expected = 0d;
+        for (int i = 0; i < 4; ++i) {
+            expected += alpha * (5d - expected);
+        }
+        assertEquals(expected, this.meter.getRate(TimeUnit.SECONDS), 1e-9);
+    }
+
+    @Test
+    public void idleTicksDecay() {
+        this.meter.mark(100 * RateMeter.TICK_SECONDS);
+        this.time.addAndGet(RateMeter.TICK_INTERVAL);
+        double rate = this.meter.getRate(TimeUnit.SECONDS);
+
+        // Each idle tick decays the average, as if it had been folded on time
+        this.time.addAndGet(3 * RateMeter.TICK_INTERVAL);
+        double alpha = 1d - Math.exp(-(double) RateMeter.TICK_SECONDS / 60);
+        assertEquals(rate * Math.pow(1d - alpha, 3), this.meter.getRate(TimeUnit.SECONDS), 1e-9);
+    }
+
+    @Test
+    public void constantRate() {
+        // 100 events per second for 10 minutes
+        for (int i = 0; i < 120; ++i) {
+            this.meter.mark(100 * RateMeter.TICK_SECONDS);
+            this.time.addAndGet(RateMeter.TICK_INTERVAL);
+        }
+        assertEquals(100d, this.meter.getRate(TimeUnit.SECONDS), 0.1d);
+        assertEquals(6000d, this.meter.getRate(TimeUnit.MINUTES), 6d);
+    }
+
+    @Test
+    public void decay() {
+        for (int i = 0; i < 120; ++i) {
+            this.meter.mark(100 * RateMeter.TICK_SECONDS);
+            this.time.addAndGet(RateMeter.TICK_INTERVAL);
+        }
+        double rate = this.meter.getRate(TimeUnit.SECONDS);
+
+        // After an idle window, the rate decays by a factor of e
+        this.time.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        double decayed = this.meter.getRate(TimeUnit.SECONDS);
+        assertEquals(rate / Math.E, decayed, 0.5d);
+
+        // Elapsed ticks are folded lazily, so that an idle meter decays to nothing
+        this.time.addAndGet(TimeUnit.HOURS.toNanos(1));
+        assertTrue(this.meter.getRate(TimeUnit.SECONDS) < 1e-9);
+    }
+}
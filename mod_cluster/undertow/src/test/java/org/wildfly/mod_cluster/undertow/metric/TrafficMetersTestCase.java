@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class TrafficMetersTestCase {
+
+    @Test
+    public void listener() {
+        int port = 8180;
+        assertNull(TrafficMeters.forListener(port));
+
+        TrafficMeters meters = TrafficMeters.listener(port);
+        assertNotNull(meters);
+        assertSame(meters, TrafficMeters.forListener(port));
+        assertSame(meters, TrafficMeters.listener(port));
+
+        TrafficMeters.unregisterListener(port);
+        assertNull(TrafficMeters.forListener(port));
+    }
+
+    @Test
+    public void context() {
+        String deploymentName = "test.war";
+        assertNull(TrafficMeters.forContext(deploymentName));
+
+        TrafficMeters meters = TrafficMeters.registerContext(deploymentName);
+        assertSame(meters, TrafficMeters.forContext(deploymentName));
+
+        TrafficMeters.unregisterContext(deploymentName);
+        assertNull(TrafficMeters.forContext(deploymentName));
+    }
+}
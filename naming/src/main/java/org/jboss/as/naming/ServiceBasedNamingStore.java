@@ -30,6 +30,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 
 import javax.naming.Binding;
@@ -64,6 +66,8 @@ public class ServiceBasedNamingStore implements NamingStore {
     private final ServiceName serviceNameBase;
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
+    // Caches the binder service resolved for a given name, cleared whenever binder services are added or removed
+    private final ConcurrentMap<Name, ServiceController<?>> resolvedServices = new ConcurrentHashMap<>();
 
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
@@ -79,9 +83,26 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
-        final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        ServiceName lookupName = null;
+        ServiceController<?> controller = this.resolvedServices.get(name);
+        if (controller != null && controller.getState() != ServiceController.State.REMOVED) {
+            LookupCacheStatistics.INSTANCE.recordHit();
+        } else {
+            LookupCacheStatistics.INSTANCE.recordMiss();
+            if (controller != null) {
+                this.resolvedServices.remove(name, controller);
+            }
+            lookupName = buildServiceName(name);
+            controller = serviceRegistry.getService(lookupName);
+            if (controller != null) {
+                this.resolvedServices.put((Name) name.clone(), controller);
+            }
+        }
+        Object obj = (controller != null) ? lookup(name.toString(), controller, dereference) : null;
         if (obj == null) {
+            if (lookupName == null) {
+                lookupName = buildServiceName(name);
+            }
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
                 // Parent might be a reference or a link
@@ -125,29 +146,29 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        final ServiceController<?> controller = serviceRegistry.getService(lookupName);
+        return (controller != null) ? lookup(name, controller, dereference) : null;
+    }
+
+    private Object lookup(final String name, final ServiceController<?> controller, boolean dereference) throws NamingException {
         try {
-            final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
-                        final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                        return managedReference != null ? managedReference.getInstance() : null;
-                    }
+            final Object object = controller.getValue();
+            if (dereference && object instanceof ManagedReferenceFactory) {
+                if(WildFlySecurityManager.isChecking()) {
+                    //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                    return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                        @Override
+                        public Object run() {
+                            final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                            return managedReference != null ? managedReference.getInstance() : null;
+                        }
+                    });
                 } else {
-                    return object;
+                    final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                    return managedReference != null ? managedReference.getInstance() : null;
                 }
             } else {
-                return null;
+                return object;
             }
         } catch (IllegalStateException e) {
             NameNotFoundException n = new NameNotFoundException(name);
@@ -257,6 +278,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        resolvedServices.clear();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -271,10 +293,12 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        resolvedServices.clear();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        resolvedServices.clear();
     }
 
     protected ServiceName buildServiceName(final Name name) {
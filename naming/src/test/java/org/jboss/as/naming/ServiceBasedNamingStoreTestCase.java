@@ -37,8 +37,10 @@ import javax.naming.NamingException;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StabilityMonitor;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.Values;
@@ -98,6 +100,51 @@ public class ServiceBasedNamingStoreTestCase {
         assertEquals(value, obj);
     }
 
+    @Test
+    public void testLookupCachedBinding() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+
+        final long hits = LookupCacheStatistics.INSTANCE.getHits();
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+        assertEquals(hits + 1, LookupCacheStatistics.INSTANCE.getHits());
+    }
+
+    @Test
+    public void testLookupRemovedBinding() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
+        bindObject(bindingName, new Object());
+        assertNotNull(store.lookup(new CompositeName("foo/bar")));
+
+        // Replace the binder service without notifying the store
+        final ServiceController<?> controller = container.getRequiredService(bindingName);
+        controller.setMode(ServiceController.Mode.REMOVE);
+        final StabilityMonitor monitor = new StabilityMonitor();
+        monitor.addController(controller);
+        monitor.awaitStability();
+        monitor.removeController(controller);
+
+        final Object value = new Object();
+        final ServiceController<?> replacement = container.addService(bindingName, new Service<ManagedReferenceFactory>() {
+            public void start(StartContext context) throws StartException {
+            }
+
+            public void stop(StopContext context) {
+            }
+
+            public ManagedReferenceFactory getValue() throws IllegalStateException, IllegalArgumentException {
+                return new ValueManagedReferenceFactory(Values.immediateValue(value));
+            }
+        }).install();
+        monitor.addController(replacement);
+        monitor.awaitStability();
+        monitor.removeController(replacement);
+
+        assertEquals(value, store.lookup(new CompositeName("foo/bar")));
+    }
+
     @Test
     public void testLookupParentContext() throws Exception {
         final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
@@ -43,6 +43,11 @@ public interface Constants {
     String AUTHENTICATION_MANAGER_CLASS_NAME = "authentication-manager-class-name";
     String AUTHORIZATION = "authorization";
     String AUTHORIZATION_MANAGER_CLASS_NAME = "authorization-manager-class-name";
+    String CACHE_EVICTIONS = "cache-evictions";
+    String CACHE_HITS = "cache-hits";
+    String CACHE_MAX_SIZE = "cache-max-size";
+    String CACHE_MISSES = "cache-misses";
+    String CACHE_TTL = "cache-ttl";
     String CACHE_TYPE = "cache-type";
     String CIPHER_SUITES = "cipher-suites";
     String CLASSIC = "classic";
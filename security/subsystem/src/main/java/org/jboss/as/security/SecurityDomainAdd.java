@@ -136,7 +136,7 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
      * Private to ensure a singleton.
      */
     private SecurityDomainAdd() {
-        super(SecurityDomainResourceDefinition.CACHE_TYPE);
+        super(SecurityDomainResourceDefinition.CACHE_TYPE, SecurityDomainResourceDefinition.CACHE_MAX_SIZE, SecurityDomainResourceDefinition.CACHE_TTL);
     }
 
     @Override
@@ -171,9 +171,11 @@ class SecurityDomainAdd extends AbstractAddStepHandler {
         final ApplicationPolicy applicationPolicy = createApplicationPolicy(context, securityDomain, model);
         final JSSESecurityDomain jsseSecurityDomain = createJSSESecurityDomain(context, securityDomain, model);
         final String cacheType = getAuthenticationCacheType(model);
+        final int cacheMaxSize = SecurityDomainResourceDefinition.CACHE_MAX_SIZE.resolveModelAttribute(context, model).asInt();
+        final ModelNode cacheTtl = SecurityDomainResourceDefinition.CACHE_TTL.resolveModelAttribute(context, model);
 
         final SecurityDomainService securityDomainService = new SecurityDomainService(securityDomain,
-                applicationPolicy, jsseSecurityDomain, cacheType);
+                applicationPolicy, jsseSecurityDomain, cacheType, cacheMaxSize, cacheTtl.isDefined() ? cacheTtl.asLong() : 0L);
         final ServiceTarget target = context.getServiceTarget();
         ServiceBuilder<SecurityDomainContext> builder = target
                 .addService(SecurityDomainService.SERVICE_NAME.append(securityDomain), securityDomainService)
@@ -54,5 +54,7 @@ public class SecurityDomainReloadWriteHandler extends RestartParentWriteAttribut
     @Override
     protected void validateUpdatedModel(OperationContext context, Resource model) throws OperationFailedException {
         SecurityDomainResourceDefinition.CACHE_TYPE.validateOperation(model.getModel());
+        SecurityDomainResourceDefinition.CACHE_MAX_SIZE.validateOperation(model.getModel());
+        SecurityDomainResourceDefinition.CACHE_TTL.validateOperation(model.getModel());
     }
 }
@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.OperationContext;
@@ -45,11 +46,16 @@ import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.ApplicationTypeAccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.TinyLFUCache;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.SecurityDomainService;
 import org.jboss.dmr.ModelNode;
@@ -67,15 +73,32 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
 
     static final String CACHE_CONTAINER_NAME = "security";
     static final String INFINISPAN_CACHE_TYPE = "infinispan";
+    static final String LFU_CACHE_TYPE = "lfu";
     static final RuntimeCapability<Void> LEGACY_SECURITY_DOMAIN = RuntimeCapability.Builder.of("org.wildfly.security.legacy-security-domain", true)
             .setServiceType(SecurityDomainContext.class)
             .build();
 
     public static final SimpleAttributeDefinition CACHE_TYPE = new SimpleAttributeDefinitionBuilder(Constants.CACHE_TYPE, ModelType.STRING, true)
             .setAllowExpression(true)
-            .setValidator(new StringAllowedValuesValidator("default", INFINISPAN_CACHE_TYPE))
+            .setValidator(new StringAllowedValuesValidator("default", INFINISPAN_CACHE_TYPE, LFU_CACHE_TYPE))
             .build();
 
+    public static final SimpleAttributeDefinition CACHE_MAX_SIZE = new SimpleAttributeDefinitionBuilder(Constants.CACHE_MAX_SIZE, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1000))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition CACHE_TTL = new SimpleAttributeDefinitionBuilder(Constants.CACHE_TTL, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition CACHE_HITS = cacheMetric(Constants.CACHE_HITS);
+    static final SimpleAttributeDefinition CACHE_MISSES = cacheMetric(Constants.CACHE_MISSES);
+    static final SimpleAttributeDefinition CACHE_EVICTIONS = cacheMetric(Constants.CACHE_EVICTIONS);
+
     private final boolean registerRuntimeOnly;
     private final List<AccessConstraintDefinition> accessConstraints;
 
@@ -106,9 +129,26 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
         setDeprecated(SecurityExtension.DEPRECATED_SINCE);
     }
 
+    private static SimpleAttributeDefinition cacheMetric(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .setStorageRuntime()
+                .addFlag(AttributeAccess.Flag.COUNTER_METRIC)
+                .build();
+    }
+
     @Override
     public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
-        resourceRegistration.registerReadWriteAttribute(CACHE_TYPE, null, new SecurityDomainReloadWriteHandler(CACHE_TYPE));
+        SecurityDomainReloadWriteHandler writeHandler = new SecurityDomainReloadWriteHandler(CACHE_TYPE, CACHE_MAX_SIZE, CACHE_TTL);
+        resourceRegistration.registerReadWriteAttribute(CACHE_TYPE, null, writeHandler);
+        resourceRegistration.registerReadWriteAttribute(CACHE_MAX_SIZE, null, writeHandler);
+        resourceRegistration.registerReadWriteAttribute(CACHE_TTL, null, writeHandler);
+
+        if (registerRuntimeOnly) {
+            resourceRegistration.registerMetric(CACHE_HITS, new CacheMetricHandler(TinyLFUCache::getHits));
+            resourceRegistration.registerMetric(CACHE_MISSES, new CacheMetricHandler(TinyLFUCache::getMisses));
+            resourceRegistration.registerMetric(CACHE_EVICTIONS, new CacheMetricHandler(TinyLFUCache::getEvictions));
+        }
     }
 
     @Override
@@ -140,6 +180,28 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
                 .getRequiredService(SecurityDomainService.SERVICE_NAME.append(securityDomain));
     }
 
+    /**
+     * Reads a statistic of the authentication cache of a security domain. Only caches of the lfu type keep statistics.
+     */
+    static final class CacheMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final Function<TinyLFUCache<?, ?>, Long> metric;
+
+        CacheMetricHandler(Function<TinyLFUCache<?, ?>, Long> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(SecurityDomainService.SERVICE_NAME.append(context.getCurrentAddressValue()));
+            if ((controller != null) && (controller.getService() instanceof SecurityDomainService)) {
+                TinyLFUCache<?, ?> cache = ((SecurityDomainService) controller.getService()).getAuthenticationCache();
+                if (cache != null) {
+                    context.getResult().set(this.metric.apply(cache));
+                }
+            }
+        }
+    }
+
     static class ListCachePrincipals extends AbstractRuntimeOnlyHandler {
         static final ListCachePrincipals INSTANCE = new ListCachePrincipals();
         static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(Constants.LIST_CACHED_PRINCIPALS,
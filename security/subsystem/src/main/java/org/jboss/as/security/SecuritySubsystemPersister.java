@@ -69,6 +69,8 @@ public class SecuritySubsystemPersister implements XMLElementWriter<SubsystemMar
                 writer.writeAttribute(Attribute.NAME.getLocalName(), policy);
                 ModelNode policyDetails = securityDomains.get(policy);
                 SecurityDomainResourceDefinition.CACHE_TYPE.marshallAsAttribute(policyDetails, writer);
+                SecurityDomainResourceDefinition.CACHE_MAX_SIZE.marshallAsAttribute(policyDetails, writer);
+                SecurityDomainResourceDefinition.CACHE_TTL.marshallAsAttribute(policyDetails, writer);
                 writeSecurityDomainContent(writer, policyDetails);
                 writer.writeEndElement();
             }
@@ -99,6 +101,8 @@ public class SecuritySubsystemPersister implements XMLElementWriter<SubsystemMar
         Set<String> keys = policyDetails.keys();
         keys.remove(NAME);
         keys.remove(CACHE_TYPE);
+        keys.remove(CACHE_MAX_SIZE);
+        keys.remove(CACHE_TTL);
 
         for (String key : keys) {
             Element element = Element.forName(key);
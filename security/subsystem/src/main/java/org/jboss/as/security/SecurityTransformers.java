@@ -30,10 +30,11 @@ import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
 import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.ChainedTransformationDescriptionBuilder;
 import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
-import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -47,12 +48,29 @@ public class SecurityTransformers implements ExtensionTransformerRegistration {
 
     @Override
     public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
-        // only register transformers for model version 1.3.0 (EAP 6.2+).
-        registerTransformers_1_3_0(subsystemRegistration);
+        // only register transformers for model version 1.3.0 (EAP 6.2+) and later.
+        final ModelVersion v1_3_0 = ModelVersion.create(1, 3, 0);
+        final ModelVersion v2_0_0 = ModelVersion.create(2, 0, 0);
+        ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(subsystemRegistration.getCurrentSubsystemVersion());
+
+        registerTransformers_2_0_0(chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), v2_0_0));
+        registerTransformers_1_3_0(chainedBuilder.createBuilder(v2_0_0, v1_3_0));
+
+        chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[] { v1_3_0, v2_0_0 });
+    }
+
+    private void registerTransformers_2_0_0(ResourceTransformationDescriptionBuilder builder) {
+        builder.addChildResource(SecurityExtension.SECURITY_DOMAIN_PATH)
+                .getAttributeBuilder()
+                    .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(SecurityDomainResourceDefinition.CACHE_MAX_SIZE.getDefaultValue()), SecurityDomainResourceDefinition.CACHE_MAX_SIZE)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, SecurityDomainResourceDefinition.CACHE_MAX_SIZE)
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, SecurityDomainResourceDefinition.CACHE_TTL)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, SecurityDomainResourceDefinition.CACHE_TTL)
+                    .addRejectCheck(new RejectAttributeChecker.SimpleRejectAttributeChecker(new ModelNode(SecurityDomainResourceDefinition.LFU_CACHE_TYPE)), SecurityDomainResourceDefinition.CACHE_TYPE)
+                    .end();
     }
 
-    private void registerTransformers_1_3_0(SubsystemTransformerRegistration subsystemRegistration) {
-        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+    private void registerTransformers_1_3_0(ResourceTransformationDescriptionBuilder builder) {
         builder.rejectChildResource(PathElement.pathElement(Constants.ELYTRON_REALM));
         builder.rejectChildResource(PathElement.pathElement(Constants.ELYTRON_KEY_STORE));
         builder.rejectChildResource(PathElement.pathElement(Constants.ELYTRON_TRUST_STORE));
@@ -70,7 +88,5 @@ public class SecurityTransformers implements ExtensionTransformerRegistration {
                 .getAttributeBuilder()
                     .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(ModuleName.PICKETBOX.getName())), MODULE)
                     .addRejectCheck(RejectAttributeChecker.DEFINED, MODULE).end();
-
-        TransformationDescription.Tools.register(builder.build(), subsystemRegistration, ModelVersion.create(1, 3, 0));
     }
 }
@@ -0,0 +1,676 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, lock-striped cache whose eviction policy takes both the recency and the frequency of accesses into
+ * account, following the W-TinyLFU design.
+ * <p/>
+ * <p>Keys are spread over independently locked segments. Each segment admits new entries into a small LRU window.
+ * Entries leaving the window compete with the eviction victim of the main region, and only the one accessed more
+ * often, according to a compact count-min sketch of recent accesses, is retained. The main region is a segmented
+ * LRU, in which entries accessed again are promoted from a probation area to a protected area. This keeps the
+ * frequently used entries cached when a burst of new keys would flush an LRU cache.</p>
+ * <p/>
+ * <p>Entries optionally expire a fixed time after they were last written. Expired entries are removed when they are
+ * next accessed, or when they are chosen for eviction.</p>
+ * <p/>
+ * <p>Caffeine implements the same policy, but is only provided by the full feature pack, whereas this subsystem is
+ * also provisioned by the servlet feature pack.</p>
+ */
+public class TinyLFUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    // Smallest capacity of a segment, so that the window and the protected area remain meaningful
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+    private final long ttl;
+    private final RemoveCallback<K, V> removeCallback;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TinyLFUCache(int maxEntries) {
+        this(maxEntries, 0L, null);
+    }
+
+    /**
+     * @param maxEntries the maximum number of entries in the cache
+     * @param ttl the time, in milliseconds, after which an entry expires once written, or 0 if entries never expire
+     * @param removeCallback the callback notified of the entries removed from the cache, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public TinyLFUCache(int maxEntries, long ttl, RemoveCallback<K, V> removeCallback) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(String.valueOf(maxEntries));
+        }
+        int segmentCount = 1;
+        int limit = Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() << 1);
+        while ((segmentCount < limit) && ((segmentCount << 1) * MIN_SEGMENT_CAPACITY <= maxEntries)) {
+            segmentCount <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        // Distribute the capacity exactly, so that the cache never exceeds the maximum number of entries
+        for (int i = 0; i < segmentCount; ++i) {
+            this.segments[i] = new Segment<>(maxEntries / segmentCount + ((i < maxEntries % segmentCount) ? 1 : 0));
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+        this.removeCallback = removeCallback;
+    }
+
+    /**
+     * @return the number of lookups that found an entry
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find an entry, or found an expired one
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed to make room for new entries, or because they expired
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        // The high bits select the segment, the frequency sketch of a segment uses the remaining ones
+        return (this.segmentShift == 32) ? this.segments[0] : this.segments[hash >>> this.segmentShift];
+    }
+
+    private long expiration(long now) {
+        return (this.ttl > 0L) ? now + this.ttl : 0L;
+    }
+
+    private static boolean isExpired(Node<?, ?> node, long now) {
+        return (node.expiration != 0L) && (now - node.expiration >= 0L);
+    }
+
+    private void notifyRemoved(List<Node<K, V>> removed) {
+        if ((this.removeCallback != null) && (removed != null)) {
+            for (Node<K, V> node : removed) {
+                this.removeCallback.afterRemove(node.key, node.value);
+            }
+        }
+    }
+
+    private void notifyRemoved(K key, V value) {
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(key, value);
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        int hash = spread(key);
+        Segment<K, V> segment = this.segmentFor(hash);
+        Node<K, V> expired = null;
+        V value = null;
+        segment.lock.lock();
+        try {
+            Node<K, V> node = segment.index.get(key);
+            if (node != null) {
+                if (isExpired(node, System.nanoTime())) {
+                    segment.remove(node);
+                    expired = node;
+                } else {
+                    segment.onHit(node, hash);
+                    value = node.value;
+                }
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        if (value != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+            if (expired != null) {
+                this.evictions.increment();
+                this.notifyRemoved(expired.key, expired.value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Segment<K, V> segment = this.segmentFor(spread(key));
+        segment.lock.lock();
+        try {
+            Node<K, V> node = segment.index.get(key);
+            return (node != null) && !isExpired(node, System.nanoTime());
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return this.put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return this.put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean ifAbsent) {
+        Objects.requireNonNull(value);
+        int hash = spread(key);
+        Segment<K, V> segment = this.segmentFor(hash);
+        List<Node<K, V>> removed = null;
+        V old = null;
+        segment.lock.lock();
+        try {
+            long now = System.nanoTime();
+            Node<K, V> node = segment.index.get(key);
+            if ((node != null) && isExpired(node, now)) {
+                segment.remove(node);
+                removed = new ArrayList<>(2);
+                removed.add(node);
+                node = null;
+            }
+            if (node != null) {
+                old = node.value;
+                if (!ifAbsent) {
+                    node.value = value;
+                    node.expiration = this.expiration(now);
+                    segment.onHit(node, hash);
+                }
+            } else {
+                Node<K, V> evicted = segment.add(new Node<>(key, value, this.expiration(now)), hash);
+                if (evicted != null) {
+                    if (removed == null) {
+                        removed = new ArrayList<>(1);
+                    }
+                    removed.add(evicted);
+                }
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        if (removed != null) {
+            this.evictions.add(removed.size());
+            this.notifyRemoved(removed);
+        }
+        return old;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Segment<K, V> segment = this.segmentFor(spread(key));
+        Node<K, V> node;
+        segment.lock.lock();
+        try {
+            node = segment.index.get(key);
+            if (node != null) {
+                segment.remove(node);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        if (node == null) {
+            return null;
+        }
+        this.notifyRemoved(node.key, node.value);
+        return node.value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Segment<K, V> segment = this.segmentFor(spread(key));
+        Node<K, V> node;
+        segment.lock.lock();
+        try {
+            node = segment.index.get(key);
+            if ((node == null) || !node.value.equals(value)) {
+                return false;
+            }
+            segment.remove(node);
+        } finally {
+            segment.lock.unlock();
+        }
+        this.notifyRemoved(node.key, node.value);
+        return true;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        int hash = spread(key);
+        Segment<K, V> segment = this.segmentFor(hash);
+        V old;
+        segment.lock.lock();
+        try {
+            long now = System.nanoTime();
+            Node<K, V> node = segment.index.get(key);
+            if ((node == null) || isExpired(node, now)) {
+                return null;
+            }
+            old = node.value;
+            node.value = value;
+            node.expiration = this.expiration(now);
+            segment.onHit(node, hash);
+        } finally {
+            segment.lock.unlock();
+        }
+        this.notifyRemoved(key, old);
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue);
+        int hash = spread(key);
+        Segment<K, V> segment = this.segmentFor(hash);
+        segment.lock.lock();
+        try {
+            long now = System.nanoTime();
+            Node<K, V> node = segment.index.get(key);
+            if ((node == null) || isExpired(node, now) || !node.value.equals(oldValue)) {
+                return false;
+            }
+            node.value = newValue;
+            node.expiration = this.expiration(now);
+            segment.onHit(node, hash);
+        } finally {
+            segment.lock.unlock();
+        }
+        this.notifyRemoved(key, oldValue);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : this.segments) {
+            List<Node<K, V>> removed;
+            segment.lock.lock();
+            try {
+                removed = segment.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+            this.notifyRemoved(removed);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : this.segments) {
+            segment.lock.lock();
+            try {
+                size += segment.index.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the unexpired entries of this cache. Removing entries from the returned set, or through
+     * its iterator, removes them from the cache, and setting the value of an entry updates the cache.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        List<Entry<K, V>> entries = new ArrayList<>();
+        for (Segment<K, V> segment : this.segments) {
+            segment.lock.lock();
+            try {
+                long now = System.nanoTime();
+                for (Node<K, V> node : segment.index.values()) {
+                    if (!isExpired(node, now)) {
+                        entries.add(new WriteThroughEntry(node.key, node.value));
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                Iterator<Entry<K, V>> iterator = entries.iterator();
+                return new Iterator<Entry<K, V>>() {
+                    private Entry<K, V> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        this.last = iterator.next();
+                        return this.last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (this.last == null) {
+                            throw new IllegalStateException("next() not called");
+                        }
+                        iterator.remove();
+                        TinyLFUCache.this.remove(this.last.getKey());
+                        this.last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    private class WriteThroughEntry extends SimpleEntry<K, V> {
+        private static final long serialVersionUID = -2549591390003467224L;
+
+        WriteThroughEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            TinyLFUCache.this.put(this.getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private enum Region {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        long expiration;
+        Region region;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long expiration) {
+            this.key = key;
+            this.value = value;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes, from the least to the most recently used.
+     */
+    private static final class AccessOrderList<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+        private int size;
+
+        Node<K, V> first() {
+            return this.first;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.previous = this.last;
+            node.next = null;
+            if (this.last == null) {
+                this.first = node;
+            } else {
+                this.last.next = node;
+            }
+            this.last = node;
+            this.size += 1;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                this.first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                this.last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            this.size -= 1;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != this.last) {
+                this.remove(node);
+                this.addLast(node);
+            }
+        }
+
+        void clear() {
+            this.first = null;
+            this.last = null;
+            this.size = 0;
+        }
+    }
+
+    /**
+     * An independently locked part of the cache, with its own regions and frequency sketch.
+     */
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<K, Node<K, V>> index = new HashMap<>();
+        private final AccessOrderList<K, V> window = new AccessOrderList<>();
+        private final AccessOrderList<K, V> probation = new AccessOrderList<>();
+        private final AccessOrderList<K, V> protectedArea = new AccessOrderList<>();
+        private final FrequencySketch sketch;
+        private final int maxWindow;
+        private final int maxMain;
+        private final int maxProtected;
+
+        Segment(int capacity) {
+            // 1% of the capacity for the window, 80% of the main region for the protected area
+            this.maxWindow = Math.max(1, capacity / 100);
+            this.maxMain = capacity - this.maxWindow;
+            this.maxProtected = this.maxMain * 4 / 5;
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        void onHit(Node<K, V> node, int hash) {
+            this.sketch.increment(hash);
+            switch (node.region) {
+                case WINDOW:
+                    this.window.moveToLast(node);
+                    break;
+                case PROBATION:
+                    this.probation.remove(node);
+                    node.region = Region.PROTECTED;
+                    this.protectedArea.addLast(node);
+                    if (this.protectedArea.size() > this.maxProtected) {
+                        Node<K, V> demoted = this.protectedArea.first();
+                        this.protectedArea.remove(demoted);
+                        demoted.region = Region.PROBATION;
+                        this.probation.addLast(demoted);
+                    }
+                    break;
+                case PROTECTED:
+                    this.protectedArea.moveToLast(node);
+                    break;
+            }
+        }
+
+        /**
+         * Adds a node to this segment.
+         *
+         * @return the node evicted to make room for the new one, or {@code null}
+         */
+        Node<K, V> add(Node<K, V> node, int hash) {
+            this.sketch.increment(hash);
+            this.index.put(node.key, node);
+            node.region = Region.WINDOW;
+            this.window.addLast(node);
+            if (this.window.size() <= this.maxWindow) {
+                return null;
+            }
+            // The least recently used entry of the window moves to the main region
+            Node<K, V> candidate = this.window.first();
+            this.window.remove(candidate);
+            candidate.region = Region.PROBATION;
+            this.probation.addLast(candidate);
+            if (this.probation.size() + this.protectedArea.size() <= this.maxMain) {
+                return null;
+            }
+            Node<K, V> victim = this.probation.first();
+            if (victim == candidate) {
+                victim = (this.protectedArea.first() != null) ? this.protectedArea.first() : candidate;
+            }
+            // Unless expired, the candidate is only admitted if it was accessed more often than the victim
+            Node<K, V> evicted = victim;
+            if ((victim != candidate) && !isExpired(victim, System.nanoTime())) {
+                if (this.sketch.frequency(spread(candidate.key)) <= this.sketch.frequency(spread(victim.key))) {
+                    evicted = candidate;
+                }
+            }
+            this.remove(evicted);
+            return evicted;
+        }
+
+        void remove(Node<K, V> node) {
+            this.index.remove(node.key);
+            switch (node.region) {
+                case WINDOW:
+                    this.window.remove(node);
+                    break;
+                case PROBATION:
+                    this.probation.remove(node);
+                    break;
+                case PROTECTED:
+                    this.protectedArea.remove(node);
+                    break;
+            }
+        }
+
+        List<Node<K, V>> clear() {
+            List<Node<K, V>> removed = new ArrayList<>(this.index.values());
+            this.index.clear();
+            this.window.clear();
+            this.probation.clear();
+            this.protectedArea.clear();
+            return removed;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters, estimating how often keys were accessed recently. All the counters are
+     * halved once the number of accesses recorded reaches ten times the capacity, so that old accesses fade out.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = { 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(int capacity) {
+            int length = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+            this.table = new long[length];
+            this.sampleSize = 10 * Math.max(capacity, 8);
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                long h = this.hash(hash, i);
+                frequency = Math.min(frequency, (int) ((this.table[this.index(h)] >>> offset(h)) & 0xFL));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                long h = this.hash(hash, i);
+                int index = this.index(h);
+                int offset = offset(h);
+                if (((this.table[index] >>> offset) & 0xFL) != 0xFL) {
+                    this.table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && (++this.size == this.sampleSize)) {
+                this.reset();
+            }
+        }
+
+        private long hash(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            return h + (h >>> 32);
+        }
+
+        private int index(long h) {
+            return (int) h & (this.table.length - 1);
+        }
+
+        private static int offset(long h) {
+            return ((int) (h >>> 40) & 0xF) << 2;
+        }
+
+        private void reset() {
+            for (int i = 0; i < this.table.length; ++i) {
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.size >>>= 1;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.plugins;
+
+import java.security.Principal;
+
+import org.jboss.as.security.lru.TinyLFUCache;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
+
+/**
+ * Factory that creates frequency aware, optionally expiring, {@code ConcurrentMap}s for authentication cache.
+ */
+public class TinyLFUAuthenticationCacheFactory implements AuthenticationCacheFactory {
+
+    private final int maxEntries;
+    private final long ttl;
+
+    /**
+     * @param maxEntries the maximum number of entries of the caches created
+     * @param ttl the time, in milliseconds, after which cache entries expire, or 0 if they never expire
+     */
+    public TinyLFUAuthenticationCacheFactory(int maxEntries, long ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public TinyLFUCache<Principal, DomainInfo> getCache() {
+        return new TinyLFUCache<>(this.maxEntries, this.ttl, (key, value) -> {
+            if (value != null) {
+                value.logout();
+            }
+        });
+    }
+}
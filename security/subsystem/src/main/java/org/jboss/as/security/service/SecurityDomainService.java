@@ -22,16 +22,19 @@
 
 package org.jboss.as.security.service;
 
+import java.security.Principal;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.security.auth.login.Configuration;
 
 import org.jboss.as.security.SecurityExtension;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.TinyLFUCache;
 import org.jboss.as.security.plugins.AuthenticationCacheFactory;
 import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
 import org.jboss.as.security.plugins.SecurityDomainContext;
+import org.jboss.as.security.plugins.TinyLFUAuthenticationCacheFactory;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
@@ -41,6 +44,7 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.jboss.security.ISecurityManagement;
 import org.jboss.security.JSSESecurityDomain;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 import org.jboss.security.config.ApplicationPolicy;
 import org.jboss.security.config.ApplicationPolicyRegistration;
 
@@ -69,12 +73,24 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
 
     private final String cacheType;
 
+    private final int cacheMaxSize;
+
+    private final long cacheTtl;
+
+    private volatile TinyLFUCache<?, ?> authenticationCache;
+
+    /**
+     * @param cacheMaxSize the maximum number of entries of the default and lfu authentication caches
+     * @param cacheTtl the time, in milliseconds, after which entries of the lfu authentication cache expire, or 0 if they never expire
+     */
     public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
-            String cacheType) {
+            String cacheType, int cacheMaxSize, long cacheTtl) {
         this.name = name;
         this.applicationPolicy = applicationPolicy;
         this.jsseSecurityDomain = jsseSecurityDomain;
         this.cacheType = cacheType;
+        this.cacheMaxSize = cacheMaxSize;
+        this.cacheTtl = cacheTtl;
     }
 
     /** {@inheritDoc} */
@@ -91,7 +107,14 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         if ("infinispan".equals(cacheType)) {
             cacheFactory = () -> this.cacheValue.getValue();
         } else if ("default".equals(cacheType)) {
-            cacheFactory = new DefaultAuthenticationCacheFactory();
+            cacheFactory = new DefaultAuthenticationCacheFactory(cacheMaxSize);
+        } else if ("lfu".equals(cacheType)) {
+            TinyLFUAuthenticationCacheFactory lfuCacheFactory = new TinyLFUAuthenticationCacheFactory(cacheMaxSize, cacheTtl);
+            cacheFactory = () -> {
+                TinyLFUCache<Principal, DomainInfo> cache = lfuCacheFactory.getCache();
+                this.authenticationCache = cache;
+                return cache;
+            };
         }
         SecurityDomainContext sdc;
         try {
@@ -116,12 +139,22 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         SecurityLogger.ROOT_LOGGER.debugf("Stopping security domain service %s", name);
         final JNDIBasedSecurityManagement securityManagement = (JNDIBasedSecurityManagement) securityManagementValue.getValue();
         securityManagement.removeSecurityDomain(name);
+        this.authenticationCache = null;
         // TODO clear auth cache?
         final ApplicationPolicyRegistration applicationPolicyRegistration = (ApplicationPolicyRegistration) configurationValue
                 .getValue();
         applicationPolicyRegistration.removeApplicationPolicy(name);
     }
 
+    /**
+     * Returns the authentication cache of this security domain, if it is of the lfu type.
+     *
+     * @return the authentication cache, or {@code null} if the cache is not of the lfu type or the service is not started
+     */
+    public TinyLFUCache<?, ?> getAuthenticationCache() {
+        return authenticationCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public SecurityDomainContext getValue() throws IllegalStateException, IllegalArgumentException {
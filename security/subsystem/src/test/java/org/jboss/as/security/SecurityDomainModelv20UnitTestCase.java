@@ -23,7 +23,6 @@ import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
-import org.junit.Test;
 
 /**
  * Security subsystem tests for the version 2.0 of the subsystem schema.
@@ -71,13 +70,6 @@ public class SecurityDomainModelv20UnitTestCase extends AbstractSubsystemBaseTes
         return "schema/wildfly-security_2_0.xsd";
     }
 
-    @Override
-    protected String[] getSubsystemTemplatePaths() throws IOException {
-        return new String[] {
-                "/subsystem-templates/security.xml"
-        };
-    }
-
     @Override
     protected Properties getResolvedProperties() {
         Properties properties = new Properties();
@@ -85,12 +77,6 @@ public class SecurityDomainModelv20UnitTestCase extends AbstractSubsystemBaseTes
         return properties;
     }
 
-    @Test
-    @Override
-    public void testSchemaOfSubsystemTemplates() throws Exception {
-        super.testSchemaOfSubsystemTemplates();
-    }
-
     @Override
     protected AdditionalInitialization createAdditionalInitialization() {
         return AdditionalInitialization.withCapabilities("org.wildfly.clustering.infinispan.default-cache-configuration.security");
@@ -26,17 +26,20 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUB
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.function.Predicate;
 
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
+import org.jboss.as.model.test.FailedOperationTransformationConfig.AttributesPathAddressConfig;
 import org.jboss.as.model.test.ModelTestControllerVersion;
 import org.jboss.as.model.test.ModelTestUtils;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -73,6 +76,16 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
         testTransformers(ModelTestControllerVersion.EAP_7_0_0);
     }
 
+    @Test
+    public void testTransformersEAP72() throws Exception {
+        ModelVersion version = ModelVersion.create(2, 0, 0);
+        ModelTestControllerVersion controllerVersion = ModelTestControllerVersion.EAP_7_2_0;
+        String mavenGav = String.format("%s:%s:%s", controllerVersion.getMavenGroupId(), "wildfly-security", controllerVersion.getMavenGavVersion());
+
+        testTransformers(controllerVersion, version, mavenGav, "security-transformers_3.0.xml");
+        testReject_2_0_0(controllerVersion, version, mavenGav);
+    }
+
     private void testTransformers(ModelTestControllerVersion controllerVersion) throws Exception {
         ModelVersion version = ModelVersion.create(1, 3, 0);
 
@@ -87,7 +100,7 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
 
         String mavenGav = String.format("%s:%s:%s", controllerVersion.getMavenGroupId(), artifactId, controllerVersion.getMavenGavVersion());
 
-        testTransformers(controllerVersion, version, mavenGav);
+        testTransformers(controllerVersion, version, mavenGav, "security-transformers_2.0.xml");
         testReject(controllerVersion, version, mavenGav);
     }
 
@@ -134,10 +147,39 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
     }
 
 
-    private void testTransformers(ModelTestControllerVersion controllerVersion, ModelVersion targetVersion, String mavenGAV) throws Exception {
+    private void testReject_2_0_0(ModelTestControllerVersion controllerVersion, ModelVersion targetVersion, String mavenGAV) throws Exception {
+        KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization());
+        builder.createLegacyKernelServicesBuilder(null, controllerVersion, targetVersion)
+                .configureReverseControllerCheck(createAdditionalInitialization(), null)
+                .addMavenResourceURL(mavenGAV)
+                .dontPersistXml();
+
+        KernelServices mainServices = builder.build();
+        Assert.assertTrue(mainServices.isSuccessfulBoot());
+        KernelServices legacyServices = mainServices.getLegacyServices(targetVersion);
+        Assert.assertNotNull(legacyServices);
+        Assert.assertTrue(legacyServices.isSuccessfulBoot());
+
+        // the lfu cache type, a cache ttl and a non-default cache max size are not supported in model version 2.0.0.
+        PathAddress subsystemAddress = PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, getMainSubsystemName()));
+        ModelNode defaultCacheMaxSize = SecurityDomainResourceDefinition.CACHE_MAX_SIZE.getDefaultValue();
+        ModelTestUtils.checkFailedTransformedBootOperations(mainServices, targetVersion,
+                builder.parseXmlResource("security-transformers-reject_3.0.xml"),
+                new FailedOperationTransformationConfig()
+                        .addFailedAttribute(PathAddress.pathAddress(subsystemAddress, PathElement.pathElement(Constants.SECURITY_DOMAIN)),
+                                FailedOperationTransformationConfig.ChainedConfig.createBuilder(Constants.CACHE_TYPE, Constants.CACHE_MAX_SIZE, Constants.CACHE_TTL)
+                                        .addConfig(new RejectedValueConfig(Constants.CACHE_TYPE, value -> value.isDefined() && value.asString().equals(SecurityDomainResourceDefinition.LFU_CACHE_TYPE), new ModelNode("default")))
+                                        .addConfig(new RejectedValueConfig(Constants.CACHE_MAX_SIZE, value -> value.isDefined() && !value.equals(defaultCacheMaxSize), defaultCacheMaxSize))
+                                        .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(Constants.CACHE_TTL))
+                                        .build()));
+        legacyServices.shutdown();
+        mainServices.shutdown();
+    }
+
+    private void testTransformers(ModelTestControllerVersion controllerVersion, ModelVersion targetVersion, String mavenGAV, String subsystemXmlResource) throws Exception {
         //Boot up empty controllers with the resources needed for the ops coming from the xml to work
         KernelServicesBuilder builder = createKernelServicesBuilder(createAdditionalInitialization())
-                .setSubsystemXmlResource("security-transformers_2.0.xml");
+                .setSubsystemXmlResource(subsystemXmlResource);
         builder.createLegacyKernelServicesBuilder(null, controllerVersion, targetVersion)
                 .addMavenResourceURL(mavenGAV)
                 .configureReverseControllerCheck(createAdditionalInitialization(), null)
@@ -155,4 +197,33 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
     @Override
     public void testSchema() throws Exception {
     }
+
+    /**
+     * Rejects the values of an attribute matching a predicate, which are then corrected to a single accepted value.
+     */
+    private static class RejectedValueConfig extends AttributesPathAddressConfig<RejectedValueConfig> {
+        private final Predicate<ModelNode> rejection;
+        private final ModelNode correction;
+
+        RejectedValueConfig(String attribute, Predicate<ModelNode> rejection, ModelNode correction) {
+            super(attribute);
+            this.rejection = rejection;
+            this.correction = correction;
+        }
+
+        @Override
+        protected boolean isAttributeWritable(String attributeName) {
+            return true;
+        }
+
+        @Override
+        protected boolean checkValue(String attrName, ModelNode attribute, boolean isWriteAttribute) {
+            return this.rejection.test(attribute);
+        }
+
+        @Override
+        protected ModelNode correctValue(ModelNode toResolve, boolean isWriteAttribute) {
+            return this.correction;
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link TinyLFUCache}.
+ */
+public class TinyLFUCacheTestCase {
+
+    @Test
+    public void testBasicOperations() {
+        Map<String, String> removed = new HashMap<>();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(100, 0L, removed::put);
+
+        assertNull(cache.put("a", "1"));
+        assertEquals("1", cache.put("a", "2"));
+        assertEquals("2", cache.putIfAbsent("a", "3"));
+        assertEquals("2", cache.get("a"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.size());
+
+        assertEquals("2", cache.replace("a", "4"));
+        assertEquals("2", removed.remove("a"));
+        assertFalse(cache.replace("a", "2", "5"));
+        assertTrue(cache.replace("a", "4", "5"));
+        assertEquals("4", removed.remove("a"));
+
+        assertFalse(cache.remove("a", "4"));
+        assertTrue(cache.remove("a", "5"));
+        assertEquals("5", removed.remove("a"));
+        assertNull(cache.get("a"));
+        assertNull(cache.remove("a"));
+        assertEquals(0, cache.size());
+
+        assertEquals(1L, cache.getMisses());
+        assertEquals(1L, cache.getHits());
+    }
+
+    @Test
+    public void testBounded() {
+        Map<Integer, Integer> removed = new HashMap<>();
+        TinyLFUCache<Integer, Integer> cache = new TinyLFUCache<>(100, 0L, removed::put);
+        for (int i = 0; i < 10000; ++i) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= 100);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(9900L, cache.getEvictions());
+        assertEquals(9900, removed.size());
+        for (Integer key : cache.keySet()) {
+            assertFalse(removed.containsKey(key));
+        }
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        TinyLFUCache<Integer, Integer> cache = new TinyLFUCache<>(1000, 0L, null);
+        for (int round = 0; round < 5; ++round) {
+            for (int i = 0; i < 500; ++i) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        // a burst of keys accessed once would flush an LRU cache
+        for (int i = 1000; i < 100000; ++i) {
+            cache.put(i, i);
+        }
+        int retained = 0;
+        for (int i = 0; i < 500; ++i) {
+            if (cache.containsKey(i)) {
+                retained += 1;
+            }
+        }
+        assertTrue(String.valueOf(retained), retained >= 450);
+    }
+
+    /**
+     * Compares the hit ratio with that of {@link LRUCache} for a skewed workload, i.e. a Zipf distribution (s = 0.9) of
+     * 100000 principals, of which at most 1000 are cached.
+     */
+    @Test
+    public void testHitRatioComparedToLRU() {
+        int keys = 100000;
+        double[] distribution = new double[keys];
+        double sum = 0d;
+        for (int i = 0; i < keys; ++i) {
+            sum += 1d / Math.pow(i + 1, 0.9d);
+            distribution[i] = sum;
+        }
+        Random random = new Random(1L);
+        int[] workload = new int[200000];
+        for (int i = 0; i < workload.length; ++i) {
+            int index = Arrays.binarySearch(distribution, random.nextDouble() * sum);
+            workload[i] = (index < 0) ? -index - 1 : index;
+        }
+
+        double lru = hitRatio(new LRUCache<>(1000), workload);
+        double lfu = hitRatio(new TinyLFUCache<>(1000), workload);
+        // Typically 0.32 vs 0.44
+        assertTrue(String.format("lru = %f, lfu = %f", lru, lfu), lfu > lru + 0.1d);
+    }
+
+    private static double hitRatio(Map<Integer, Integer> cache, int[] workload) {
+        int hits = 0;
+        for (int key : workload) {
+            if (cache.get(key) != null) {
+                hits += 1;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return (double) hits / workload.length;
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        Map<String, String> removed = new HashMap<>();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(100, 50L, removed::put);
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+        Thread.sleep(100L);
+        assertFalse(cache.containsKey("a"));
+        assertNull(cache.get("a"));
+        assertEquals("1", removed.get("a"));
+        assertEquals(1L, cache.getEvictions());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testClearAndIteratorRemove() {
+        Map<Integer, Integer> removed = new HashMap<>();
+        TinyLFUCache<Integer, Integer> cache = new TinyLFUCache<>(100, 0L, removed::put);
+        for (int i = 0; i < 10; ++i) {
+            cache.put(i, i);
+        }
+        Iterator<Integer> keys = cache.keySet().iterator();
+        Integer key = keys.next();
+        keys.remove();
+        assertFalse(cache.containsKey(key));
+        assertEquals(9, cache.size());
+        assertEquals(key, removed.get(key));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(10, removed.size());
+    }
+}
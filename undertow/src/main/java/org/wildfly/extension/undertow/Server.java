@@ -88,6 +88,12 @@ public class Server implements Service<Server> {
                    securePortMappings.put(binding.getAbsolutePort(), -1);
                }
            }
+           getUndertowService().fireEvent(new EventInvoker() {
+               @Override
+               public void invoke(UndertowEventListener eventListener) {
+                   eventListener.onListenerStart(listener);
+               }
+           });
        }
 
        protected void unregisterListener(ListenerService listener) {
@@ -96,6 +102,12 @@ public class Server implements Service<Server> {
                SocketBinding binding = listener.getBinding().getValue();
                securePortMappings.remove(binding.getAbsolutePort());
            }
+           getUndertowService().fireEvent(new EventInvoker() {
+               @Override
+               public void invoke(UndertowEventListener eventListener) {
+                   eventListener.onListenerStop(listener);
+               }
+           });
        }
 
     protected void registerHost(final Host host) {
@@ -73,4 +73,10 @@ public interface UndertowEventListener {
 
     default void onServerStop(Server server) {
     }
+
+    default void onListenerStart(UndertowListener listener) {
+    }
+
+    default void onListenerStop(UndertowListener listener) {
+    }
 }
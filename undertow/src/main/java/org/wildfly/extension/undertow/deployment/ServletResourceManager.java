@@ -27,6 +27,9 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.vfs.VirtualFile;
 import io.undertow.server.handlers.resource.PathResourceManager;
@@ -43,10 +46,31 @@ import io.undertow.util.CanonicalPathUtils;
 public class ServletResourceManager implements ResourceManager {
 
     public static final int TRANSFER_MIN_SIZE = 1024 * 1024;
+    /**
+     * Upper bound of the number of paths remembered as missing, so that requests for random paths cannot grow it
+     * without limit.
+     */
+    private static final int MAX_CACHED_MISSES = 1024;
     private final PathResourceManager deploymentResourceManager;
     private final Collection<VirtualFile> overlays;
     private final ResourceManager[] externalOverlays;
     private final boolean explodedDeployment;
+    /**
+     * Paths that none of the deployment, its overlays or the external overlays could resolve. The caching resource
+     * manager in front of us only remembers resources that exist, so without this every request for a missing
+     * resource walks all of them again.
+     */
+    private final Map<String, Boolean> misses = new ConcurrentHashMap<>();
+    private final Map<ResourceChangeListener, ResourceChangeListener> listeners = new ConcurrentHashMap<>();
+    /**
+     * Misses can only be cached while any change to the resources is reported to us: packaged deployments and
+     * overlays never change, exploded deployments and external overlays do so only through the file watch service.
+     */
+    private volatile boolean cacheMisses;
+    /**
+     * Bumped on every change event, so that a lookup racing with a change does not cache a stale miss.
+     */
+    private final AtomicLong changeCount = new AtomicLong();
 
     public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
                                   boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
@@ -67,10 +91,29 @@ public class ServletResourceManager implements ResourceManager {
                 this.externalOverlays[i] = pr;
             }
         }
+        this.cacheMisses = !explodedDeployment && this.externalOverlays.length == 0;
     }
 
     @Override
     public Resource getResource(final String path) throws IOException {
+        if (cacheMisses && misses.containsKey(path)) {
+            return null;
+        }
+        final long changes = changeCount.get();
+        Resource res = findResource(path);
+        if (res == null && cacheMisses) {
+            if (misses.size() >= MAX_CACHED_MISSES) {
+                misses.clear();
+            }
+            misses.put(path, Boolean.TRUE);
+            if (changeCount.get() != changes) {
+                misses.remove(path);
+            }
+        }
+        return res;
+    }
+
+    private Resource findResource(final String path) throws IOException {
         Resource res = deploymentResourceManager.getResource(path);
         if (res != null) {
             return new ServletResource(this, res);
@@ -113,26 +156,58 @@ public class ServletResourceManager implements ResourceManager {
 
     @Override
     public void registerResourceChangeListener(ResourceChangeListener listener) {
-        if(explodedDeployment && deploymentResourceManager.isResourceChangeListenerSupported()) {
-            deploymentResourceManager.registerResourceChangeListener(listener);
+        //any change may add a resource we remember as missing
+        final ResourceChangeListener invalidating = changes -> {
+            resourcesChanged();
+            listener.handleChanges(changes);
+        };
+        listeners.put(listener, invalidating);
+        boolean changesReported = true;
+        if(explodedDeployment) {
+            if (deploymentResourceManager.isResourceChangeListenerSupported()) {
+                deploymentResourceManager.registerResourceChangeListener(invalidating);
+            } else {
+                changesReported = false;
+            }
         }
         for(ResourceManager external : externalOverlays) {
             if(external.isResourceChangeListenerSupported()) {
-                external.registerResourceChangeListener(listener);
+                external.registerResourceChangeListener(invalidating);
+            } else {
+                changesReported = false;
             }
         }
+        if (changesReported) {
+            cacheMisses = true;
+        }
+    }
+
+    /**
+     * Forgets all cached misses, as well as any miss being cached by a concurrent lookup.
+     */
+    void resourcesChanged() {
+        changeCount.incrementAndGet();
+        misses.clear();
     }
 
     @Override
     public void removeResourceChangeListener(ResourceChangeListener listener) {
+        final ResourceChangeListener invalidating = listeners.remove(listener);
+        if (invalidating == null) {
+            return;
+        }
         if(deploymentResourceManager.isResourceChangeListenerSupported()) {
-            deploymentResourceManager.removeResourceChangeListener(listener);
+            deploymentResourceManager.removeResourceChangeListener(invalidating);
         }
         for(ResourceManager external : externalOverlays) {
             if(external.isResourceChangeListenerSupported()) {
-                external.removeResourceChangeListener(listener);
+                external.removeResourceChangeListener(invalidating);
             }
         }
+        if (listeners.isEmpty()) {
+            cacheMisses = !explodedDeployment && externalOverlays.length == 0;
+            misses.clear();
+        }
     }
 
     @Override
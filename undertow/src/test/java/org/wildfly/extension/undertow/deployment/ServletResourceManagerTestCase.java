@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2019, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.undertow.server.handlers.resource.ResourceChangeListener;
+
+/**
+ * Tests the caching of missing resources by {@link ServletResourceManager}.
+ */
+public class ServletResourceManagerTestCase {
+
+    private static final String MISSING = "/missing.txt";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File root;
+
+    @Before
+    public void setup() throws IOException {
+        root = folder.newFolder("root");
+        Files.write(root.toPath().resolve("index.html"), "index".getBytes());
+    }
+
+    private ServletResourceManager createResourceManager(Collection<VirtualFile> overlays, boolean explodedDeployment, boolean disableFileWatchService) throws IOException {
+        return new ServletResourceManager(VFS.getChild(root.toURI()), overlays, explodedDeployment, false, disableFileWatchService, null);
+    }
+
+    private void createMissingFile() throws IOException {
+        Files.write(root.toPath().resolve(MISSING.substring(1)), "found".getBytes());
+    }
+
+    @Test
+    public void testPackagedDeploymentCachesMisses() throws IOException {
+        try (ServletResourceManager manager = createResourceManager(Collections.emptyList(), false, true)) {
+            Assert.assertNotNull(manager.getResource("/index.html"));
+            Assert.assertNull(manager.getResource(MISSING));
+
+            // a packaged deployment never changes, so the miss is remembered
+            createMissingFile();
+            Assert.assertNull(manager.getResource(MISSING));
+            Assert.assertNotNull(manager.getResource("/index.html"));
+        }
+    }
+
+    @Test
+    public void testExplodedDeploymentWithoutChangeEventsDoesNotCacheMisses() throws IOException {
+        try (ServletResourceManager manager = createResourceManager(Collections.emptyList(), true, true)) {
+            manager.registerResourceChangeListener(changes -> { });
+            Assert.assertNull(manager.getResource(MISSING));
+
+            // without the file watch service changes are not reported, so the miss must not be remembered
+            createMissingFile();
+            Assert.assertNotNull(manager.getResource(MISSING));
+        }
+    }
+
+    @Test
+    public void testExplodedDeploymentClearsMissesOnChange() throws Exception {
+        try (ServletResourceManager manager = createResourceManager(Collections.emptyList(), true, false)) {
+            CountDownLatch changed = new CountDownLatch(1);
+            manager.registerResourceChangeListener(changes -> changed.countDown());
+            Assert.assertNull(manager.getResource(MISSING));
+
+            createMissingFile();
+            Assert.assertTrue(changed.await(30, TimeUnit.SECONDS));
+            Assert.assertNotNull(manager.getResource(MISSING));
+        }
+    }
+
+    @Test
+    public void testChangeDuringLookupIsNotCached() throws IOException {
+        AtomicInteger lookups = new AtomicInteger();
+        ServletResourceManager[] manager = new ServletResourceManager[1];
+        Collection<VirtualFile> overlays = new AbstractCollection<VirtualFile>() {
+            @Override
+            public Iterator<VirtualFile> iterator() {
+                // a change is reported while the first lookup walks the overlays
+                if (lookups.getAndIncrement() == 0) {
+                    manager[0].resourcesChanged();
+                }
+                return Collections.emptyIterator();
+            }
+
+            @Override
+            public int size() {
+                return 0;
+            }
+        };
+        manager[0] = createResourceManager(overlays, false, true);
+        try {
+            Assert.assertNull(manager[0].getResource(MISSING));
+            // the miss that raced with the change was not remembered
+            Assert.assertNull(manager[0].getResource(MISSING));
+            Assert.assertEquals(2, lookups.get());
+            // whereas the miss after the change was
+            Assert.assertNull(manager[0].getResource(MISSING));
+            Assert.assertEquals(2, lookups.get());
+        } finally {
+            manager[0].close();
+        }
+    }
+
+    @Test
+    public void testRemoveResourceChangeListenerStopsCachingMisses() throws IOException {
+        try (ServletResourceManager manager = createResourceManager(Collections.emptyList(), true, false)) {
+            ResourceChangeListener listener = changes -> { };
+            manager.registerResourceChangeListener(listener);
+            Assert.assertNull(manager.getResource(MISSING));
+
+            manager.removeResourceChangeListener(listener);
+
+            // changes are no longer reported, so neither the earlier nor any later miss may be remembered
+            createMissingFile();
+            Assert.assertNotNull(manager.getResource(MISSING));
+            Files.delete(root.toPath().resolve(MISSING.substring(1)));
+            Assert.assertNull(manager.getResource(MISSING));
+            createMissingFile();
+            Assert.assertNotNull(manager.getResource(MISSING));
+        }
+    }
+}